@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient.gitlab;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultLinkHeaderReaderBenchmark {
+
+    private static final String PAGE_URL = "https://gitlab.example.com/api/v4/projects/1234/merge_requests/56/discussions?id=1234&noteable_id=56&page=%d&per_page=20";
+
+    @Param({"true", "false"})
+    public boolean lastPage;
+
+    private final DefaultLinkHeaderReader linkHeaderReader = new DefaultLinkHeaderReader();
+    private String linkHeader;
+
+    @Setup
+    public void setup() {
+        StringBuilder header = new StringBuilder()
+                .append('<').append(String.format(PAGE_URL, 2)).append(">; rel=\"prev\", ");
+        if (!lastPage) {
+            header.append('<').append(String.format(PAGE_URL, 4)).append(">; rel=\"next\", ");
+        }
+        linkHeader = header
+                .append('<').append(String.format(PAGE_URL, 1)).append(">; rel=\"first\", ")
+                .append('<').append(String.format(PAGE_URL, 10)).append(">; rel=\"last\"")
+                .toString();
+    }
+
+    @Benchmark
+    public Optional<String> findNextLink() {
+        return linkHeaderReader.findNextLink(linkHeader);
+    }
+}
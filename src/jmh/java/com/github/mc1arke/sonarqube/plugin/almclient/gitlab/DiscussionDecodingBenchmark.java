@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient.gitlab;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
+import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.model.Discussion;
+
+/**
+ * Decodes a page of merge request discussions shaped like the Gitlab API response, including the fields the plugin
+ * does not map, using a codec configured the same way as {@link DefaultGitlabClientFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscussionDecodingBenchmark {
+
+    @Param({"100", "1000"})
+    public int discussionCount;
+
+    @Param({"1", "10"})
+    public int notesPerDiscussion;
+
+    private JsonCodec jsonCodec;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
+                .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        jsonCodec = new JsonCodec(objectMapper);
+
+        List<Map<String, Object>> discussions = new ArrayList<>();
+        for (int i = 0; i < discussionCount; i++) {
+            List<Map<String, Object>> notes = new ArrayList<>();
+            for (int n = 0; n < notesPerDiscussion; n++) {
+                notes.add(note(i * notesPerDiscussion + n, n == 0 ? "sonarqube" : "reviewer" + n));
+            }
+            Map<String, Object> discussion = new LinkedHashMap<>();
+            discussion.put("id", "6a9c1750b37d513a43987b574953fceb50b03ce" + i);
+            discussion.put("individual_note", false);
+            discussion.put("notes", notes);
+            discussions.add(discussion);
+        }
+        payload = objectMapper.writeValueAsBytes(discussions);
+    }
+
+    @Benchmark
+    public List<Discussion> decodeDiscussions() throws IOException {
+        return jsonCodec.readList(new ByteArrayInputStream(payload), Discussion.class);
+    }
+
+    private static Map<String, Object> note(long id, String username) {
+        Map<String, Object> author = new LinkedHashMap<>();
+        author.put("id", username.hashCode());
+        author.put("username", username);
+        author.put("name", username);
+        author.put("state", "active");
+        author.put("avatar_url", "https://gitlab.example.com/uploads/-/system/user/avatar/1/avatar.png");
+        author.put("web_url", "https://gitlab.example.com/" + username);
+
+        Map<String, Object> position = new LinkedHashMap<>();
+        position.put("base_sha", "b5d6e7b1613fca24d250fa8e5bc7bcc3dd6002ef");
+        position.put("start_sha", "7c9c2ead8a320fb7ba0b4e234bd9529a2614e306");
+        position.put("head_sha", "4803c71e6b1833ca72b8b26ef2ecd5adc8a38031");
+        position.put("old_path", "src/main/java/com/example/File" + id + ".java");
+        position.put("new_path", "src/main/java/com/example/File" + id + ".java");
+        position.put("position_type", "text");
+        position.put("new_line", 1 + id % 500);
+
+        Map<String, Object> note = new LinkedHashMap<>();
+        note.put("id", id);
+        note.put("type", "DiffNote");
+        note.put("body", "Refactor this method to reduce its complexity from 18 to the 15 allowed.\n\n"
+                + "[View in SonarQube](https://sonarqube.example.com/project/issues?id=com.example%3Aproject&pullRequest=56&issues="
+                + id + "&open=" + id + ")");
+        note.put("attachment", null);
+        note.put("author", author);
+        note.put("created_at", "2026-10-01T09:10:32.000Z");
+        note.put("updated_at", "2026-10-01T09:10:32.000Z");
+        note.put("system", false);
+        note.put("noteable_id", 56);
+        note.put("noteable_type", "MergeRequest");
+        note.put("position", position);
+        note.put("resolvable", true);
+        note.put("resolved", false);
+        note.put("noteable_iid", 56);
+        return note;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.sonar.api.ce.posttask.QualityGate;
+
+/**
+ * Builds the analysis details read by decorators in benchmarks. Only the project and analysis lookups are stubbed, by
+ * subclassing, so calls such as filtering the reportable issues run the production code on every invocation.
+ */
+public final class BenchmarkAnalysis {
+
+    public static final String PULL_REQUEST_ID = "1";
+    public static final String COMMIT_SHA = "commit";
+    public static final String PROJECT_KEY = "com.example:project";
+
+    private BenchmarkAnalysis() {
+        super();
+    }
+
+    public static AnalysisDetails create(List<PostAnalysisIssueVisitor.ComponentIssue> issues) {
+        Date analysisDate = new Date();
+        return new AnalysisDetails(PULL_REQUEST_ID, COMMIT_SHA, issues, new PassedQualityGate(), null) {
+            @Override
+            public Date getAnalysisDate() {
+                return analysisDate;
+            }
+
+            @Override
+            public String getAnalysisId() {
+                return "AZ-benchmark";
+            }
+
+            @Override
+            public String getAnalysisProjectKey() {
+                return PROJECT_KEY;
+            }
+
+            @Override
+            public String getAnalysisProjectName() {
+                return "Project";
+            }
+        };
+    }
+
+    private static final class PassedQualityGate implements QualityGate {
+
+        @Override
+        public String getId() {
+            return "benchmark";
+        }
+
+        @Override
+        public String getName() {
+            return "Benchmark";
+        }
+
+        @Override
+        public Status getStatus() {
+            return Status.OK;
+        }
+
+        @Override
+        public Collection<Condition> getConditions() {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.sonar.api.issue.IssueStatus;
+import org.sonar.api.issue.impact.Severity;
+import org.sonar.api.issue.impact.SoftwareQuality;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.ce.task.projectanalysis.component.Component;
+import org.sonar.ce.task.projectanalysis.component.ComponentImpl;
+import org.sonar.ce.task.projectanalysis.component.ReportAttributes;
+import org.sonar.core.issue.DefaultIssue;
+
+/**
+ * Builds issues for benchmarks. The issues are collected through {@link PostAnalysisIssueVisitor} so the benchmarks
+ * read the same {@link PostAnalysisIssueVisitor.LightIssue} copies the Compute Engine does. Only the source issues are
+ * mocked, and the visitor copies them before any benchmark runs; the files they belong to are real components, since
+ * decorators look up each issue's SCM path while being measured.
+ */
+public final class BenchmarkIssues {
+
+    private static final SoftwareQuality[] QUALITIES = SoftwareQuality.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private BenchmarkIssues() {
+        super();
+    }
+
+    public static List<PostAnalysisIssueVisitor.ComponentIssue> create(int issueCount, int fileCount) {
+        Component[] components = IntStream.range(0, fileCount)
+                .mapToObj(BenchmarkIssues::createFile)
+                .toArray(Component[]::new);
+
+        PostAnalysisIssueVisitor visitor = new PostAnalysisIssueVisitor();
+        for (int i = 0; i < issueCount; i++) {
+            DefaultIssue defaultIssue = mock();
+            when(defaultIssue.key()).thenReturn(UUID.randomUUID().toString());
+            when(defaultIssue.getLine()).thenReturn(1 + i % 500);
+            when(defaultIssue.getMessage()).thenReturn("Refactor this method to reduce its complexity from " + (16 + i % 20) + " to the 15 allowed.");
+            when(defaultIssue.issueStatus()).thenReturn(IssueStatus.OPEN);
+            when(defaultIssue.getRuleKey()).thenReturn(RuleKey.of("java", "S" + (100 + i % 50)));
+            when(defaultIssue.impacts()).thenReturn(Map.of(QUALITIES[i % QUALITIES.length], SEVERITIES[i % SEVERITIES.length]));
+            visitor.onIssue(components[i % fileCount], defaultIssue);
+        }
+        return visitor.getIssues();
+    }
+
+    private static Component createFile(int index) {
+        String path = "src/main/java/com/example/File" + index + ".java";
+        return ComponentImpl.builder(Component.Type.FILE)
+                .setUuid("file-" + index)
+                .setKey(BenchmarkAnalysis.PROJECT_KEY + ":" + path)
+                .setName(path)
+                .setShortName("File" + index + ".java")
+                .setStatus(Component.Status.SAME)
+                .setReportAttributes(ReportAttributes.newBuilder(index + 1)
+                        .setScmPath(path)
+                        .build())
+                .build();
+    }
+}
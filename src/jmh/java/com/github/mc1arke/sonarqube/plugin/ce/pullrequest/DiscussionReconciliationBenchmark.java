@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.ce.task.projectanalysis.scm.ScmInfoRepository;
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisIssueSummary;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.ReportGenerator;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+
+/**
+ * Reconciles the open issues of an analysis against the discussions already on a pull request, using an in-memory
+ * decorator so only the matching of notes to issues is measured. Discussions beyond the issue count refer to issues
+ * that have since been fixed, and every tenth discussion has a reply from another user. No SCM information is
+ * available, so issues without a discussion are never attributed to the pull request and no comments are posted. The
+ * analysis, report generator and statistics are production classes rather than mocks, as the decorator calls them on
+ * every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscussionReconciliationBenchmark {
+
+    private static final String ROOT_URL = "https://sonarqube.example.com";
+    private static final String PROJECT_KEY = BenchmarkAnalysis.PROJECT_KEY;
+    private static final String CURRENT_USER = "sonarqube";
+
+    @Param({"100", "1000"})
+    public int issueCount;
+
+    @Param({"100", "1000"})
+    public int discussionCount;
+
+    private InMemoryDecorator decorator;
+    private AnalysisDetails analysisDetails;
+    private AlmSettingDto almSettingDto;
+    private ProjectAlmSettingDto projectAlmSettingDto;
+
+    @Setup
+    public void setup() {
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = BenchmarkIssues.create(issueCount, 50);
+
+        List<InMemoryDiscussion> discussions = new ArrayList<>();
+        for (int i = 0; i < discussionCount; i++) {
+            String issueKey = i < issueCount ? issues.get(i).getIssue().key() : "fixed-issue-" + i;
+            List<InMemoryNote> notes = new ArrayList<>();
+            notes.add(new InMemoryNote(CURRENT_USER, "Issue message\n\n[View in SonarQube](" + ROOT_URL + "/project/issues?id="
+                    + PROJECT_KEY + "&pullRequest=1&issues=" + issueKey + "&open=" + issueKey + ")"));
+            if (i % 10 == 0) {
+                notes.add(new InMemoryNote("reviewer", "Will fix this in a follow-up"));
+            }
+            discussions.add(new InMemoryDiscussion(notes));
+        }
+        discussions.add(new InMemoryDiscussion(List.of(new InMemoryNote(CURRENT_USER, "Summary\n\n[View in SonarQube](" + ROOT_URL
+                + "/dashboard?id=" + PROJECT_KEY + "&pullRequest=1)"))));
+
+        analysisDetails = BenchmarkAnalysis.create(issues);
+        almSettingDto = new AlmSettingDto();
+        projectAlmSettingDto = new ProjectAlmSettingDto().setMonorepo(false);
+
+        AnalysisSummary analysisSummary = AnalysisSummary.builder()
+                .withDashboardUrl(ROOT_URL + "/dashboard?id=" + PROJECT_KEY + "&pullRequest=1")
+                .withFailedQualityGateConditions(List.of())
+                .withNewIssues(new AnalysisSummary.UrlIconMetric<>("issues", "issues.png", (long) issueCount))
+                .withAcceptedIssues(new AnalysisSummary.UrlIconMetric<>("accepted", "accepted.png", 0))
+                .withFixedIssues(new AnalysisSummary.UrlIconMetric<>("fixed", "fixed.png", 0))
+                .build();
+        // the summary reads measures from the Compute Engine's repositories, so a pre-built one is returned instead
+        ReportGenerator reportGenerator = new ReportGenerator(null, null, null, null, null) {
+            @Override
+            public AnalysisSummary createAnalysisSummary(AnalysisDetails analysisDetails) {
+                return analysisSummary;
+            }
+        };
+        ScmInfoRepository scmInfoRepository = component -> Optional.empty();
+        // statistics are recorded as in production but never published, so no internal properties are needed
+        decorator = new InMemoryDecorator(scmInfoRepository, reportGenerator, new PluginStatistics(null), discussions);
+    }
+
+    @Benchmark
+    public DecorationResult reconcileDiscussions() {
+        return decorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto);
+    }
+
+    private record InMemoryDiscussion(List<InMemoryNote> notes) {
+    }
+
+    private record InMemoryNote(String author, String body) {
+    }
+
+    private static final class InMemoryDecorator extends DiscussionAwarePullRequestDecorator<Object, String, String, InMemoryDiscussion, InMemoryNote> {
+
+        private final List<InMemoryDiscussion> discussions;
+
+        private InMemoryDecorator(ScmInfoRepository scmInfoRepository, ReportGenerator reportGenerator, PluginStatistics pluginStatistics,
+                                  List<InMemoryDiscussion> discussions) {
+            super(scmInfoRepository, reportGenerator, pluginStatistics);
+            this.discussions = discussions;
+        }
+
+        @Override
+        public List<ALM> alm() {
+            return List.of();
+        }
+
+        @Override
+        protected boolean isInlineCommentsEnabled(ProjectAlmSettingDto projectAlmSettingDto) {
+            return true;
+        }
+
+        @Override
+        protected Object createClient(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto) {
+            return this;
+        }
+
+        @Override
+        protected Optional<String> createFrontEndUrl(String pullRequest, AnalysisDetails analysisDetails) {
+            return Optional.empty();
+        }
+
+        @Override
+        protected String getPullRequest(Object client, AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto, AnalysisDetails analysis) {
+            return "1";
+        }
+
+        @Override
+        protected String getCurrentUser(Object client) {
+            return CURRENT_USER;
+        }
+
+        @Override
+        protected List<String> getCommitIdsForPullRequest(Object client, String pullRequest) {
+            return List.of("commit");
+        }
+
+        @Override
+        protected void submitPipelineStatus(Object client, String pullRequest, AnalysisDetails analysis, AnalysisSummary analysisSummary, ProjectAlmSettingDto projectAlmSettingDto) {
+            // nothing to submit in memory
+        }
+
+        @Override
+        protected void submitCommitNoteForIssue(Object client, String pullRequest, PostAnalysisIssueVisitor.ComponentIssue issue, String filePath,
+                                                AnalysisDetails analysis, AnalysisIssueSummary analysisIssueSummary) {
+            // nothing to submit in memory
+        }
+
+        @Override
+        protected String getNoteContent(Object client, InMemoryNote note) {
+            return note.body();
+        }
+
+        @Override
+        protected List<InMemoryNote> getNotesForDiscussion(Object client, InMemoryDiscussion discussion) {
+            return discussion.notes();
+        }
+
+        @Override
+        protected boolean isClosed(InMemoryDiscussion discussion, List<InMemoryNote> notesInDiscussion) {
+            return false;
+        }
+
+        @Override
+        protected boolean isUserNote(InMemoryNote note) {
+            return true;
+        }
+
+        @Override
+        protected void addNoteToDiscussion(Object client, InMemoryDiscussion discussion, String pullRequest, String note) {
+            // nothing to submit in memory
+        }
+
+        @Override
+        protected void resolveDiscussion(Object client, InMemoryDiscussion discussion, String pullRequest) {
+            // nothing to submit in memory
+        }
+
+        @Override
+        protected void deleteDiscussion(Object client, InMemoryDiscussion discussion, String pullRequest, List<InMemoryNote> notesForDiscussion) {
+            // nothing to submit in memory
+        }
+
+        @Override
+        protected void submitSummaryNote(Object client, String pullRequest, AnalysisDetails analysis, AnalysisSummary analysisSummary) {
+            // nothing to submit in memory
+        }
+
+        @Override
+        protected List<InMemoryDiscussion> getDiscussions(Object client, String pullRequest) {
+            return discussions;
+        }
+
+        @Override
+        protected boolean isNoteFromCurrentUser(InMemoryNote note, String user) {
+            return user.equals(note.author());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.bitbucket;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.api.config.Configuration;
+import org.sonar.api.platform.Server;
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.CommunityBranchPlugin;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.BitbucketClient;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.BitbucketClientFactory;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.AnnotationUploadLimit;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.BuildStatus;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.CodeInsightsAnnotation;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.CodeInsightsReport;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.DataValue;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.ReportData;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.ReportStatus;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.Repository;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.server.Annotation;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.BenchmarkAnalysis;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.BenchmarkIssues;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationResult;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.ReportGenerator;
+
+/**
+ * Builds and uploads Code Insights annotations in batches against a client that discards each request, so the cost of
+ * creating annotations and splitting them into upload batches is measured without any network calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitbucketAnnotationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int issueCount;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private BitbucketPullRequestDecorator decorator;
+    private AnalysisDetails analysisDetails;
+    private AlmSettingDto almSettingDto;
+    private ProjectAlmSettingDto projectAlmSettingDto;
+
+    @Setup
+    public void setup() {
+        analysisDetails = BenchmarkAnalysis.create(BenchmarkIssues.create(issueCount, 200));
+
+        almSettingDto = new AlmSettingDto().setAlm(ALM.BITBUCKET);
+        projectAlmSettingDto = new ProjectAlmSettingDto().setMonorepo(false);
+
+        Configuration configuration = new MapConfiguration(Map.of(
+                CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED, String.valueOf(parallelism > 1),
+                CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM, String.valueOf(parallelism)));
+
+        // only read when the report generator first builds the URLs for this analysis
+        Server server = mock();
+        when(server.getPublicRootUrl()).thenReturn("https://sonarqube.example.com");
+        AnalysisSummary analysisSummary = AnalysisSummary.builder()
+                .withDashboardUrl("https://sonarqube.example.com/dashboard?id=com.example%3Aproject&pullRequest=1")
+                .withFailedQualityGateConditions(List.of())
+                .withNewIssues(new AnalysisSummary.UrlIconMetric<>("issues", "issues.png", (long) issueCount))
+                .withAcceptedIssues(new AnalysisSummary.UrlIconMetric<>("accepted", "accepted.png", 0))
+                .withFixedIssues(new AnalysisSummary.UrlIconMetric<>("fixed", "fixed.png", 0))
+                .build();
+        ReportGenerator reportGenerator = new ReportGenerator(server, configuration, null, null, null) {
+            @Override
+            public AnalysisSummary createAnalysisSummary(AnalysisDetails analysisDetails) {
+                return analysisSummary;
+            }
+        };
+
+        BitbucketClient bitbucketClient = new DiscardingBitbucketClient();
+        BitbucketClientFactory bitbucketClientFactory = (project, almSetting) -> bitbucketClient;
+        decorator = new BitbucketPullRequestDecorator(bitbucketClientFactory, reportGenerator, new IssueAnnotationBuilder(configuration));
+    }
+
+    @Benchmark
+    public DecorationResult uploadAnnotations() {
+        return decorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto);
+    }
+
+    private record MapConfiguration(Map<String, String> values) implements Configuration {
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.ofNullable(values.get(key));
+        }
+
+        @Override
+        public boolean hasKey(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public String[] getStringArray(String key) {
+            return get(key).map(value -> value.split(",")).orElse(new String[0]);
+        }
+    }
+
+    private static final class DiscardingBitbucketClient implements BitbucketClient {
+
+        private static final AnnotationUploadLimit UPLOAD_LIMIT = new AnnotationUploadLimit(1000, 1000);
+
+        @Override
+        public CodeInsightsAnnotation createCodeInsightsAnnotation(String issueKey, int line, String issueUrl, String message, String path, String severity, String type) {
+            return new Annotation(issueKey, line, issueUrl, message, path, severity, type);
+        }
+
+        @Override
+        public CodeInsightsReport createCodeInsightsReport(List<ReportData> reportData, String reportDescription, Instant creationDate,
+                                                           String dashboardUrl, String logoUrl, ReportStatus reportStatus) {
+            return null;
+        }
+
+        @Override
+        public void deleteAnnotations(String commitSha, String reportKey) {
+            // requests are discarded
+        }
+
+        @Override
+        public void uploadAnnotations(String commitSha, Set<CodeInsightsAnnotation> annotations, String reportKey) {
+            // requests are discarded
+        }
+
+        @Override
+        public DataValue createLinkDataValue(String dashboardUrl) {
+            return new DataValue.Link("Go to SonarQube", dashboardUrl);
+        }
+
+        @Override
+        public void uploadReport(String commitSha, CodeInsightsReport codeInsightReport, String reportKey) {
+            // requests are discarded
+        }
+
+        @Override
+        public boolean supportsCodeInsights() {
+            return true;
+        }
+
+        @Override
+        public AnnotationUploadLimit getAnnotationUploadLimit() {
+            return UPLOAD_LIMIT;
+        }
+
+        @Override
+        public Repository retrieveRepository() {
+            return null;
+        }
+
+        @Override
+        public void submitBuildStatus(String commitSha, BuildStatus buildStatus) {
+            // requests are discarded
+        }
+
+        @Override
+        public String normaliseReportKey(String reportKey) {
+            return reportKey;
+        }
+    }
+}
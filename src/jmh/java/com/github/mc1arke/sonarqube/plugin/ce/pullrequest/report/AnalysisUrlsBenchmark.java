@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisUrlsBenchmark {
+
+    private static final String ROOT_URL = "https://sonarqube.example.com/root";
+    private static final String PROJECT_KEY = "com.example:project with spaces";
+    private static final String PULL_REQUEST_ID = "4321";
+
+    @Param({"100", "10000"})
+    public int issueCount;
+
+    private String[] issueKeys;
+    private AnalysisUrls analysisUrls;
+
+    @Setup
+    public void setup() {
+        issueKeys = IntStream.range(0, issueCount)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toArray(String[]::new);
+
+        AnalysisDetails analysisDetails = mock();
+        when(analysisDetails.getAnalysisProjectKey()).thenReturn(PROJECT_KEY);
+        when(analysisDetails.getPullRequestId()).thenReturn(PULL_REQUEST_ID);
+        analysisUrls = new AnalysisUrls(ROOT_URL, analysisDetails);
+    }
+
+    @Benchmark
+    public void formatPerIssue(Blackhole blackhole) {
+        for (String issueKey : issueKeys) {
+            blackhole.consume(String.format("%s/project/issues?id=%s&pullRequest=%s&issues=%s&open=%s", ROOT_URL,
+                    URLEncoder.encode(PROJECT_KEY, StandardCharsets.UTF_8), PULL_REQUEST_ID, issueKey, issueKey));
+        }
+    }
+
+    @Benchmark
+    public void appendToPrefix(Blackhole blackhole) {
+        for (String issueKey : issueKeys) {
+            blackhole.consume(analysisUrls.issueUrl(issueKey));
+        }
+    }
+}
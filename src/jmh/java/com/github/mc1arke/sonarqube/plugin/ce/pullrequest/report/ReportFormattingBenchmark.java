@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.FormatterFactory;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.MarkdownFormatterFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportFormattingBenchmark {
+
+    private static final String ROOT_URL = "https://sonarqube.example.com";
+
+    @Param({"100", "10000"})
+    public int issueCount;
+
+    @Param({"0", "10"})
+    public int failedConditionCount;
+
+    private final FormatterFactory formatterFactory = new MarkdownFormatterFactory();
+    private AnalysisSummary analysisSummary;
+    private AnalysisIssueSummary[] issueSummaries;
+
+    @Setup
+    public void setup() {
+        List<String> failedConditions = IntStream.range(0, failedConditionCount)
+                .mapToObj(i -> (i + 1) + ".00% Coverage on New Code (is less than 80.00%)")
+                .toList();
+        analysisSummary = AnalysisSummary.builder()
+                .withSummaryImageUrl(ROOT_URL + "/static/communityBranchPlugin/summary.png")
+                .withProjectKey("com.example:project")
+                .withStatusDescription(failedConditions.isEmpty() ? "Passed" : "Failed")
+                .withStatusImageUrl(ROOT_URL + "/static/communityBranchPlugin/checks/QualityGateBadge/passed.svg")
+                .withFailedQualityGateConditions(failedConditions)
+                .withDashboardUrl(ROOT_URL + "/dashboard?id=com.example%3Aproject&pullRequest=1")
+                .withNewCoverage(BigDecimal.valueOf(78.5))
+                .withCoverage(new AnalysisSummary.UrlIconMetric<>(ROOT_URL + "/coverage", ROOT_URL + "/coverage.png", BigDecimal.valueOf(81.2)))
+                .withNewDuplications(BigDecimal.valueOf(1.5))
+                .withDuplications(new AnalysisSummary.UrlIconMetric<>(ROOT_URL + "/duplications", ROOT_URL + "/duplications.png", BigDecimal.valueOf(2.1)))
+                .withNewIssues(new AnalysisSummary.UrlIconMetric<>(ROOT_URL + "/issues", ROOT_URL + "/issues.png", (long) issueCount))
+                .withAcceptedIssues(new AnalysisSummary.UrlIconMetric<>(ROOT_URL + "/accepted", ROOT_URL + "/accepted.png", 3))
+                .withFixedIssues(new AnalysisSummary.UrlIconMetric<>(ROOT_URL + "/fixed", ROOT_URL + "/fixed.png", 12))
+                .withSecurityHotspots(new AnalysisSummary.UrlIconMetric<>(ROOT_URL + "/hotspots", ROOT_URL + "/hotspots.png", 1))
+                .build();
+
+        issueSummaries = IntStream.range(0, issueCount)
+                .mapToObj(i -> AnalysisIssueSummary.builder()
+                        .withIssueUrl(ROOT_URL + "/project/issues?id=com.example%3Aproject&pullRequest=1&issues=issue-" + i + "&open=issue-" + i)
+                        .withMessage("Refactor this method to reduce its complexity from " + (16 + i % 20) + " to the 15 allowed.")
+                        .build())
+                .toArray(AnalysisIssueSummary[]::new);
+    }
+
+    @Benchmark
+    public String formatAnalysisSummary() {
+        return analysisSummary.format(formatterFactory);
+    }
+
+    @Benchmark
+    public void formatIssueSummaries(Blackhole blackhole) {
+        for (AnalysisIssueSummary issueSummary : issueSummaries) {
+            blackhole.consume(issueSummary.format(formatterFactory));
+        }
+    }
+
+    @Benchmark
+    public StringBuilder appendIssueSummaries() throws IOException {
+        StringBuilder output = new StringBuilder();
+        for (AnalysisIssueSummary issueSummary : issueSummaries) {
+            issueSummary.format(formatterFactory, output);
+        }
+        return output;
+    }
+}
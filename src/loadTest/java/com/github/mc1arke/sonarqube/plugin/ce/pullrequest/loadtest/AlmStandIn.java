@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import org.sonar.api.config.Configuration;
+import org.sonar.api.config.internal.Settings;
+import org.sonar.ce.task.projectanalysis.scm.ScmInfoRepository;
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestBuildStatusDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.ReportGenerator;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+/**
+ * Stubs the subset of an ALM's API that pull request decoration calls, and wires up the production decorator and
+ * client factory for that ALM against the stubs.
+ */
+abstract class AlmStandIn {
+
+    private final String name;
+    private final ALM alm;
+
+    AlmStandIn(String name, ALM alm) {
+        this.name = name;
+        this.alm = alm;
+    }
+
+    ALM getAlm() {
+        return alm;
+    }
+
+    abstract void stub(WireMockServer server);
+
+    abstract void configure(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto, String baseUrl);
+
+    abstract PullRequestBuildStatusDecorator createDecorator(Dependencies dependencies);
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    record Dependencies(Settings settings, Configuration configuration, ScmInfoRepository scmInfoRepository,
+                        ReportGenerator reportGenerator, PluginStatistics pluginStatistics,
+                        HttpClientInstrumentation httpClientInstrumentation, String baseUrl) {
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.patch;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.DefaultAzureDevopsClientFactory;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestBuildStatusDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.azuredevops.AzureDevOpsPullRequestDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.MarkdownFormatterFactory;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+final class AzureDevopsStandIn extends AlmStandIn {
+
+    private static final String PULL_REQUEST_PATH = "/project/_apis/git/repositories/repository/pullRequests/" + SyntheticAnalysis.PULL_REQUEST_ID;
+
+    AzureDevopsStandIn() {
+        super("Azure DevOps", ALM.AZURE_DEVOPS);
+    }
+
+    @Override
+    void stub(WireMockServer server) {
+        server.stubFor(get(urlPathEqualTo("/_apis/ConnectionData"))
+                .willReturn(okJson("{\"authenticatedUser\": {\"id\": \"sonarqube\"}}")));
+        server.stubFor(get(urlPathEqualTo(PULL_REQUEST_PATH))
+                .willReturn(okJson("{\"pullRequestId\": " + SyntheticAnalysis.PULL_REQUEST_ID + ", \"supportsIterations\": true, "
+                        + "\"repository\": {\"name\": \"repository\", \"remoteUrl\": \"" + server.baseUrl() + "/project/_git/repository\", \"project\": {\"name\": \"project\"}}}")));
+        server.stubFor(get(urlPathEqualTo(PULL_REQUEST_PATH + "/commits"))
+                .willReturn(okJson("{\"value\": [{\"commitId\": \"" + SyntheticAnalysis.COMMIT_SHA + "\"}]}")));
+        server.stubFor(get(urlPathEqualTo(PULL_REQUEST_PATH + "/iterations"))
+                .willReturn(okJson("{\"value\": [{\"id\": 1, \"sourceRefCommit\": {\"commitId\": \"" + SyntheticAnalysis.COMMIT_SHA + "\"}}]}")));
+        server.stubFor(get(urlPathEqualTo(PULL_REQUEST_PATH + "/threads"))
+                .willReturn(okJson("{\"value\": []}")));
+        server.stubFor(post(urlPathEqualTo(PULL_REQUEST_PATH + "/threads"))
+                .willReturn(okJson("{\"id\": 1, \"status\": \"active\", \"isDeleted\": false, "
+                        + "\"comments\": [{\"id\": 1, \"content\": \"comment\", \"author\": {\"id\": \"sonarqube\"}, \"commentType\": \"text\"}]}")));
+        server.stubFor(patch(urlPathMatching(PULL_REQUEST_PATH + "/threads/[0-9]+"))
+                .willReturn(ok()));
+        server.stubFor(post(urlPathEqualTo(PULL_REQUEST_PATH + "/statuses"))
+                .willReturn(ok()));
+    }
+
+    @Override
+    void configure(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto, String baseUrl) {
+        when(almSettingDto.getUrl()).thenReturn(baseUrl);
+        when(almSettingDto.getDecryptedPersonalAccessToken(any())).thenReturn("token");
+        when(projectAlmSettingDto.getAlmSlug()).thenReturn("project");
+        when(projectAlmSettingDto.getAlmRepo()).thenReturn("repository");
+    }
+
+    @Override
+    PullRequestBuildStatusDecorator createDecorator(Dependencies dependencies) {
+        return new AzureDevOpsPullRequestDecorator(dependencies.scmInfoRepository(),
+                new DefaultAzureDevopsClientFactory(dependencies.settings(), dependencies.httpClientInstrumentation()),
+                dependencies.reportGenerator(), new MarkdownFormatterFactory(), dependencies.pluginStatistics());
+    }
+}
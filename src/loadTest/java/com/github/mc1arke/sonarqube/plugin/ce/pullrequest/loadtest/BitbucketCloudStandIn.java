@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.noContent;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.DefaultBitbucketClientFactory;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.HttpClientBuilderFactory;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestBuildStatusDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.bitbucket.BitbucketPullRequestDecorator;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+
+/**
+ * The Bitbucket Cloud client has its hosts fixed, so requests are redirected to the stand-in by rewriting each URL to
+ * the stand-in's base URL followed by the original host and path.
+ */
+final class BitbucketCloudStandIn extends AlmStandIn {
+
+    private static final String COMMIT_PATH = "/api.bitbucket.org/2.0/repositories/workspace/repository/commit/" + SyntheticAnalysis.COMMIT_SHA;
+
+    BitbucketCloudStandIn() {
+        super("Bitbucket Cloud", ALM.BITBUCKET_CLOUD);
+    }
+
+    @Override
+    void stub(WireMockServer server) {
+        server.stubFor(post(urlPathEqualTo("/bitbucket.org/site/oauth2/access_token"))
+                .willReturn(okJson("{\"access_token\": \"token\"}")));
+        server.stubFor(put(urlPathMatching(COMMIT_PATH + "/reports/[^/]+"))
+                .willReturn(okJson("{}")));
+        server.stubFor(delete(urlPathMatching(COMMIT_PATH + "/reports/[^/]+"))
+                .willReturn(noContent()));
+        server.stubFor(post(urlPathMatching(COMMIT_PATH + "/reports/[^/]+/annotations"))
+                .willReturn(okJson("[]")));
+        server.stubFor(post(urlPathEqualTo(COMMIT_PATH + "/statuses/build"))
+                .willReturn(okJson("{}")));
+    }
+
+    @Override
+    void configure(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto, String baseUrl) {
+        when(almSettingDto.getAppId()).thenReturn("workspace");
+        when(almSettingDto.getClientId()).thenReturn("client");
+        when(almSettingDto.getDecryptedClientSecret(any())).thenReturn("secret");
+        when(projectAlmSettingDto.getAlmRepo()).thenReturn("repository");
+    }
+
+    @Override
+    PullRequestBuildStatusDecorator createDecorator(Dependencies dependencies) {
+        return new BitbucketPullRequestDecorator(new DefaultBitbucketClientFactory(dependencies.settings(), new RedirectingHttpClientBuilderFactory(dependencies.baseUrl()),
+                dependencies.httpClientInstrumentation()),
+                dependencies.reportGenerator(), new IssueAnnotationBuilder(dependencies.configuration()));
+    }
+
+    private static final class RedirectingHttpClientBuilderFactory extends HttpClientBuilderFactory {
+
+        private final HttpUrl baseUrl;
+
+        RedirectingHttpClientBuilderFactory(String baseUrl) {
+            this.baseUrl = HttpUrl.get(baseUrl);
+        }
+
+        @Override
+        public OkHttpClient.Builder createClientBuilder() {
+            return super.createClientBuilder().addInterceptor(chain -> {
+                HttpUrl original = chain.request().url();
+                HttpUrl redirected = baseUrl.newBuilder()
+                        .addPathSegment(original.host())
+                        .addEncodedPathSegments(original.encodedPath().substring(1))
+                        .encodedQuery(original.encodedQuery())
+                        .build();
+                return chain.proceed(chain.request().newBuilder().url(redirected).build());
+            });
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.noContent;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.DefaultBitbucketClientFactory;
+import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.HttpClientBuilderFactory;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestBuildStatusDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.bitbucket.BitbucketPullRequestDecorator;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+final class BitbucketServerStandIn extends AlmStandIn {
+
+    private static final String REPORT_PATH = "/rest/insights/1.0/projects/PROJECT/repos/repository/commits/" + SyntheticAnalysis.COMMIT_SHA + "/reports/[^/]+";
+
+    BitbucketServerStandIn() {
+        super("Bitbucket Server", ALM.BITBUCKET);
+    }
+
+    @Override
+    void stub(WireMockServer server) {
+        server.stubFor(get(urlPathEqualTo("/rest/api/1.0/application-properties"))
+                .willReturn(okJson("{\"version\": \"8.9.0\"}")));
+        server.stubFor(put(urlPathMatching(REPORT_PATH))
+                .willReturn(okJson("{}")));
+        server.stubFor(delete(urlPathMatching(REPORT_PATH + "/annotations"))
+                .willReturn(noContent()));
+        server.stubFor(post(urlPathMatching(REPORT_PATH + "/annotations"))
+                .willReturn(noContent()));
+    }
+
+    @Override
+    void configure(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto, String baseUrl) {
+        when(almSettingDto.getUrl()).thenReturn(baseUrl);
+        when(almSettingDto.getDecryptedPersonalAccessToken(any())).thenReturn("token");
+        when(projectAlmSettingDto.getAlmSlug()).thenReturn("PROJECT");
+        when(projectAlmSettingDto.getAlmRepo()).thenReturn("repository");
+    }
+
+    @Override
+    PullRequestBuildStatusDecorator createDecorator(Dependencies dependencies) {
+        return new BitbucketPullRequestDecorator(new DefaultBitbucketClientFactory(dependencies.settings(), new HttpClientBuilderFactory(),
+                dependencies.httpClientInstrumentation()),
+                dependencies.reportGenerator(), new IssueAnnotationBuilder(dependencies.configuration()));
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.sonar.api.config.Configuration;
+import org.sonar.api.config.internal.Settings;
+import org.sonar.api.platform.Server;
+import org.sonar.db.DbClient;
+import org.sonar.db.alm.setting.AlmSettingDao;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDao;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+import org.sonar.db.component.BranchDao;
+import org.sonar.server.property.InternalProperties;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationOutbox;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestAnalysisQueue;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestPostAnalysisTask;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.ReportGenerator;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Decorates synthetic pull request analyses through {@link PullRequestPostAnalysisTask} against WireMock stand-ins for
+ * each supported ALM, recording wall time, the number of requests sent and the bytes allocated by the decorating
+ * thread. Issue counts, latency and the request rate limit are taken from system properties so the same suite can be
+ * run against a quick CI profile or a 100k issue analysis on a slow ALM.
+ */
+class DecorationLoadTest {
+
+    private static final int LATENCY_MILLIS = Integer.getInteger("loadTest.latencyMillis", 0);
+    private static final int REQUESTS_PER_SECOND = Integer.getInteger("loadTest.requestsPerSecond", 0);
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final ThrottlingTransformer THROTTLING_TRANSFORMER = new ThrottlingTransformer(LATENCY_MILLIS, REQUESTS_PER_SECOND);
+    private static final WireMockServer SERVER = new WireMockServer(options()
+            .dynamicPort()
+            .disableRequestJournal()
+            .extensions(THROTTLING_TRANSFORMER));
+    private static final List<Result> RESULTS = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeAll
+    static void startServer() {
+        SERVER.start();
+    }
+
+    @AfterAll
+    static void stopServerAndWriteResults() throws IOException {
+        SERVER.stop();
+        Path reportDirectory = Path.of(System.getProperty("loadTest.reportDirectory", "build/reports/loadTest"));
+        Files.createDirectories(reportDirectory);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportDirectory.resolve("results.json").toFile(), RESULTS);
+    }
+
+    static Stream<Arguments> scenarios() {
+        int[] issueCounts = Arrays.stream(System.getProperty("loadTest.issueCounts", "10,1000,10000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        return Stream.of(new GitlabStandIn(), new AzureDevopsStandIn(), new BitbucketServerStandIn(), new BitbucketCloudStandIn(), new GithubStandIn())
+                .flatMap(almStandIn -> Arrays.stream(issueCounts).mapToObj(issueCount -> Arguments.of(almStandIn, issueCount)));
+    }
+
+    @ParameterizedTest(name = "{0} with {1} issues")
+    @MethodSource("scenarios")
+    void shouldDecoratePullRequestWithinStandIn(AlmStandIn almStandIn, int issueCount) {
+        SERVER.resetAll();
+        UUID unmatchedStubId = SERVER.stubFor(WireMock.any(WireMock.anyUrl())
+                .atPriority(10)
+                .willReturn(WireMock.notFound())).getId();
+        almStandIn.stub(SERVER);
+        THROTTLING_TRANSFORMER.reset(unmatchedStubId);
+
+        SyntheticAnalysis analysis = SyntheticAnalysis.create(issueCount);
+        PluginStatistics pluginStatistics = new PluginStatistics(mock(InternalProperties.class));
+        PullRequestPostAnalysisTask task = createTask(almStandIn, analysis, pluginStatistics);
+
+        long allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+        task.finished(analysis.getContext());
+        long wallTimeMillis = (System.nanoTime() - startTime) / 1_000_000;
+        long allocatedBytes = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        RESULTS.add(new Result(almStandIn.toString(), issueCount, LATENCY_MILLIS, REQUESTS_PER_SECOND, wallTimeMillis,
+                THROTTLING_TRANSFORMER.getRequestCount(), allocatedBytes));
+
+        assertThat(THROTTLING_TRANSFORMER.getUnmatchedRequestCount()).isZero();
+        assertThat(pluginStatistics.snapshot().counters())
+                .containsEntry("decorations." + almStandIn.getAlm().name().toLowerCase(Locale.ENGLISH) + ".succeeded", 1L);
+    }
+
+    private static PullRequestPostAnalysisTask createTask(AlmStandIn almStandIn, SyntheticAnalysis analysis, PluginStatistics pluginStatistics) {
+        AlmSettingDto almSettingDto = mock();
+        when(almSettingDto.getAlm()).thenReturn(almStandIn.getAlm());
+        ProjectAlmSettingDto projectAlmSettingDto = mock();
+        when(projectAlmSettingDto.getAlmSettingUuid()).thenReturn("alm-setting-uuid");
+        almStandIn.configure(almSettingDto, projectAlmSettingDto, SERVER.baseUrl());
+
+        ProjectAlmSettingDao projectAlmSettingDao = mock();
+        when(projectAlmSettingDao.selectByProject(any(), anyString())).thenReturn(Optional.of(projectAlmSettingDto));
+        AlmSettingDao almSettingDao = mock();
+        when(almSettingDao.selectByUuid(any(), anyString())).thenReturn(Optional.of(almSettingDto));
+        BranchDao branchDao = mock();
+        when(branchDao.selectByPullRequestKey(any(), anyString(), anyString())).thenReturn(Optional.empty());
+        DbClient dbClient = mock();
+        when(dbClient.openSession(anyBoolean())).thenReturn(mock());
+        when(dbClient.projectAlmSettingDao()).thenReturn(projectAlmSettingDao);
+        when(dbClient.almSettingDao()).thenReturn(almSettingDao);
+        when(dbClient.branchDao()).thenReturn(branchDao);
+
+        Settings settings = mock();
+        when(settings.getEncryption()).thenReturn(mock());
+        Configuration configuration = mock(Configuration.class, withSettings().stubOnly());
+        AlmStandIn.Dependencies dependencies = new AlmStandIn.Dependencies(settings, configuration, analysis.getScmInfoRepository(),
+                createReportGenerator(configuration), pluginStatistics, new HttpClientInstrumentation(pluginStatistics), SERVER.baseUrl());
+
+        return new PullRequestPostAnalysisTask(List.of(almStandIn.createDecorator(dependencies)), analysis.getPostAnalysisIssueVisitor(),
+                dbClient, pluginStatistics, configuration, new DecorationOutbox(mock()), new PullRequestAnalysisQueue(dbClient));
+    }
+
+    private static ReportGenerator createReportGenerator(Configuration configuration) {
+        String rootUrl = "https://sonarqube.example.com";
+        Server server = mock(Server.class, withSettings().stubOnly());
+        when(server.getPublicRootUrl()).thenReturn(rootUrl);
+        AnalysisSummary analysisSummary = AnalysisSummary.builder()
+                .withProjectKey(SyntheticAnalysis.PROJECT_KEY)
+                .withSummaryImageUrl(rootUrl + "/summary.png")
+                .withStatusDescription("Passed")
+                .withStatusImageUrl(rootUrl + "/passed.png")
+                .withDashboardUrl(rootUrl + "/dashboard?id=com.example%3Aproject&pullRequest=" + SyntheticAnalysis.PULL_REQUEST_ID)
+                .withFailedQualityGateConditions(List.of())
+                .withNewCoverage(BigDecimal.TEN)
+                .withCoverage(new AnalysisSummary.UrlIconMetric<>(rootUrl + "/coverage", rootUrl + "/coverage.png", BigDecimal.TEN))
+                .withNewDuplications(BigDecimal.ONE)
+                .withDuplications(new AnalysisSummary.UrlIconMetric<>(rootUrl + "/duplications", rootUrl + "/duplications.png", BigDecimal.ONE))
+                .withSecurityHotspots(new AnalysisSummary.UrlIconMetric<>(rootUrl + "/hotspots", rootUrl + "/hotspots.png", 0))
+                .withNewIssues(new AnalysisSummary.UrlIconMetric<>(rootUrl + "/issues", rootUrl + "/issues.png", 0L))
+                .withFixedIssues(new AnalysisSummary.UrlIconMetric<>(rootUrl + "/fixed", rootUrl + "/fixed.png", 0))
+                .withAcceptedIssues(new AnalysisSummary.UrlIconMetric<>(rootUrl + "/accepted", rootUrl + "/accepted.png", 0))
+                .build();
+
+        // the summary reads measures from the Compute Engine's repositories, which don't exist outside a real analysis,
+        // so a pre-built summary is returned while per-issue summaries are still generated by the production code
+        return new ReportGenerator(server, configuration, null, null, null) {
+            @Override
+            public AnalysisSummary createAnalysisSummary(AnalysisDetails analysisDetails) {
+                return analysisSummary;
+            }
+        };
+    }
+
+    record Result(String alm, int issueCount, int latencyMillis, int requestsPerSecond, long wallTimeMillis,
+                  long requestCount, long allocatedBytes) {
+    }
+}
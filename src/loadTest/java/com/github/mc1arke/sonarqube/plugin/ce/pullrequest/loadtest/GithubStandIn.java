@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.jsonResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.patch;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.almclient.github.GithubClientFactory;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestBuildStatusDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.github.GithubPullRequestDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.MarkdownFormatterFactory;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+final class GithubStandIn extends AlmStandIn {
+
+    private static final String REPOSITORY_PATH = "/repos/owner/repository";
+
+    private final String privateKey = createPrivateKey();
+
+    GithubStandIn() {
+        super("GitHub", ALM.GITHUB);
+    }
+
+    @Override
+    void stub(WireMockServer server) {
+        server.stubFor(get(urlPathEqualTo("/app"))
+                .willReturn(okJson("{\"id\": 1, \"slug\": \"sonarqube\", \"name\": \"SonarQube\", \"owner\": {\"login\": \"owner\"}}")));
+        server.stubFor(get(urlPathEqualTo(REPOSITORY_PATH + "/installation"))
+                .willReturn(okJson("{\"id\": 1, \"app_id\": 1, \"account\": {\"login\": \"owner\"}}")));
+        server.stubFor(post(urlPathEqualTo("/app/installations/1/access_tokens"))
+                .willReturn(jsonResponse("{\"token\": \"token\", \"expires_at\": \"2099-01-01T00:00:00Z\"}", 201)));
+        server.stubFor(get(urlPathEqualTo(REPOSITORY_PATH))
+                .willReturn(okJson("{\"id\": 1, \"name\": \"repository\", \"full_name\": \"owner/repository\", \"owner\": {\"login\": \"owner\"}}")));
+        server.stubFor(post(urlPathEqualTo(REPOSITORY_PATH + "/check-runs"))
+                .willReturn(jsonResponse("{\"id\": 1, \"name\": \"SonarQube Code Analysis\", \"head_sha\": \"" + SyntheticAnalysis.COMMIT_SHA + "\"}", 201)));
+        server.stubFor(patch(urlPathEqualTo(REPOSITORY_PATH + "/check-runs/1"))
+                .willReturn(okJson("{\"id\": 1, \"name\": \"SonarQube Code Analysis\", \"head_sha\": \"" + SyntheticAnalysis.COMMIT_SHA + "\"}")));
+        server.stubFor(get(urlPathEqualTo(REPOSITORY_PATH + "/pulls/" + SyntheticAnalysis.PULL_REQUEST_ID))
+                .willReturn(okJson("{\"id\": 1, \"number\": " + SyntheticAnalysis.PULL_REQUEST_ID + ", "
+                        + "\"html_url\": \"" + server.baseUrl() + "/owner/repository/pull/" + SyntheticAnalysis.PULL_REQUEST_ID + "\"}")));
+    }
+
+    @Override
+    void configure(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto, String baseUrl) {
+        when(almSettingDto.getUrl()).thenReturn(baseUrl);
+        when(almSettingDto.getAppId()).thenReturn("1");
+        when(almSettingDto.getDecryptedPrivateKey(any())).thenReturn(privateKey);
+        when(projectAlmSettingDto.getAlmRepo()).thenReturn("owner/repository");
+    }
+
+    @Override
+    PullRequestBuildStatusDecorator createDecorator(Dependencies dependencies) {
+        Clock clock = Clock.systemUTC();
+        return new GithubPullRequestDecorator(new GithubClientFactory(clock, dependencies.settings(), dependencies.httpClientInstrumentation()), dependencies.reportGenerator(),
+                new MarkdownFormatterFactory(), clock, new IssueAnnotationBuilder(dependencies.configuration()));
+    }
+
+    private static String createPrivateKey() {
+        StringWriter stringWriter = new StringWriter();
+        try (JcaPEMWriter pemWriter = new JcaPEMWriter(stringWriter)) {
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+            keyPairGenerator.initialize(2048);
+            pemWriter.writeObject(keyPairGenerator.generateKeyPair().getPrivate());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not generate a private key", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return stringWriter.toString();
+    }
+}
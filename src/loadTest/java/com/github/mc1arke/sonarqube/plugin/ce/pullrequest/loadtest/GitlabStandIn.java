@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.jsonResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultGitlabClientFactory;
+import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultLinkHeaderReader;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestBuildStatusDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.gitlab.GitlabMergeRequestDecorator;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.MarkdownFormatterFactory;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+final class GitlabStandIn extends AlmStandIn {
+
+    private static final String MERGE_REQUEST_PATH = "/api/v4/projects/42/merge_requests/" + SyntheticAnalysis.PULL_REQUEST_ID;
+
+    GitlabStandIn() {
+        super("GitLab", ALM.GITLAB);
+    }
+
+    @Override
+    void stub(WireMockServer server) {
+        server.stubFor(get(urlPathEqualTo("/api/v4/user"))
+                .willReturn(okJson("{\"id\": 1, \"username\": \"sonarqube\"}")));
+        server.stubFor(get(urlPathEqualTo("/api/v4/projects/load-test/merge_requests/" + SyntheticAnalysis.PULL_REQUEST_ID))
+                .willReturn(okJson("{\"id\": 1, \"iid\": " + SyntheticAnalysis.PULL_REQUEST_ID + ", \"source_project_id\": 42, \"target_project_id\": 42, "
+                        + "\"web_url\": \"" + server.baseUrl() + "/group/load-test/-/merge_requests/" + SyntheticAnalysis.PULL_REQUEST_ID + "\", "
+                        + "\"diff_refs\": {\"base_sha\": \"base\", \"head_sha\": \"" + SyntheticAnalysis.COMMIT_SHA + "\", \"start_sha\": \"start\"}}")));
+        server.stubFor(get(urlPathEqualTo(MERGE_REQUEST_PATH + "/commits"))
+                .willReturn(okJson("[{\"id\": \"" + SyntheticAnalysis.COMMIT_SHA + "\"}]")));
+        server.stubFor(get(urlPathEqualTo(MERGE_REQUEST_PATH + "/discussions"))
+                .willReturn(okJson("[]")));
+        server.stubFor(post(urlPathEqualTo(MERGE_REQUEST_PATH + "/discussions"))
+                .willReturn(jsonResponse("{\"id\": \"discussion\", \"individual_note\": false, \"notes\": [{\"id\": 1, \"type\": \"DiffNote\", \"body\": \"note\", "
+                        + "\"author\": {\"id\": 1, \"username\": \"sonarqube\"}, \"system\": false, \"resolved\": false, \"resolvable\": true}]}", 201)));
+        server.stubFor(put(urlPathMatching(MERGE_REQUEST_PATH + "/discussions/[^/]+"))
+                .willReturn(ok()));
+        server.stubFor(post(urlPathEqualTo("/api/v4/projects/42/statuses/" + SyntheticAnalysis.COMMIT_SHA))
+                .willReturn(jsonResponse("{}", 201)));
+    }
+
+    @Override
+    void configure(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto, String baseUrl) {
+        when(almSettingDto.getUrl()).thenReturn(baseUrl + "/api/v4");
+        when(almSettingDto.getDecryptedPersonalAccessToken(any())).thenReturn("token");
+        when(projectAlmSettingDto.getAlmRepo()).thenReturn("load-test");
+    }
+
+    @Override
+    PullRequestBuildStatusDecorator createDecorator(Dependencies dependencies) {
+        return new GitlabMergeRequestDecorator(dependencies.scmInfoRepository(),
+                new DefaultGitlabClientFactory(new DefaultLinkHeaderReader(), dependencies.settings(), dependencies.httpClientInstrumentation()),
+                dependencies.reportGenerator(), new MarkdownFormatterFactory(), dependencies.pluginStatistics());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.sonar.api.ce.posttask.Analysis;
+import org.sonar.api.ce.posttask.Branch;
+import org.sonar.api.ce.posttask.PostProjectAnalysisTask;
+import org.sonar.api.ce.posttask.Project;
+import org.sonar.api.ce.posttask.QualityGate;
+import org.sonar.api.issue.IssueStatus;
+import org.sonar.api.issue.impact.Severity;
+import org.sonar.api.issue.impact.SoftwareQuality;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.ce.task.projectanalysis.component.Component;
+import org.sonar.ce.task.projectanalysis.component.ReportAttributes;
+import org.sonar.ce.task.projectanalysis.scm.Changeset;
+import org.sonar.ce.task.projectanalysis.scm.ScmInfo;
+import org.sonar.ce.task.projectanalysis.scm.ScmInfoRepository;
+import org.sonar.core.issue.DefaultIssue;
+import org.sonar.db.protobuf.DbIssues;
+
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PostAnalysisIssueVisitor;
+
+/**
+ * A pull request analysis with a configurable number of open issues, all attributed to the commit being analysed so
+ * every issue is eligible for decoration. Mocks that are called once per issue are created as stub-only so the
+ * invocation history Mockito would otherwise keep does not distort the allocation figures for large analyses.
+ */
+final class SyntheticAnalysis {
+
+    static final String PULL_REQUEST_ID = "1";
+    static final String COMMIT_SHA = "3c2b6b8a9f1e4d7c0a5b2e8f6d4c1a9b7e5f3d2c";
+    static final String PROJECT_KEY = "com.example:project";
+
+    private static final int FILE_COUNT = 200;
+    private static final SoftwareQuality[] QUALITIES = SoftwareQuality.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private final PostAnalysisIssueVisitor postAnalysisIssueVisitor;
+    private final ScmInfoRepository scmInfoRepository;
+    private final PostProjectAnalysisTask.Context context;
+
+    private SyntheticAnalysis(PostAnalysisIssueVisitor postAnalysisIssueVisitor, ScmInfoRepository scmInfoRepository,
+                              PostProjectAnalysisTask.Context context) {
+        this.postAnalysisIssueVisitor = postAnalysisIssueVisitor;
+        this.scmInfoRepository = scmInfoRepository;
+        this.context = context;
+    }
+
+    static SyntheticAnalysis create(int issueCount) {
+        return new SyntheticAnalysis(createIssues(issueCount), createScmInfoRepository(), createContext());
+    }
+
+    PostAnalysisIssueVisitor getPostAnalysisIssueVisitor() {
+        return postAnalysisIssueVisitor;
+    }
+
+    ScmInfoRepository getScmInfoRepository() {
+        return scmInfoRepository;
+    }
+
+    PostProjectAnalysisTask.Context getContext() {
+        return context;
+    }
+
+    private static PostAnalysisIssueVisitor createIssues(int issueCount) {
+        Component[] components = IntStream.range(0, FILE_COUNT)
+                .mapToObj(SyntheticAnalysis::createFile)
+                .toArray(Component[]::new);
+
+        // the visitor copies every field it needs into a LightIssue, so a single issue mock can be re-pointed at each
+        // index in turn rather than creating one mock per issue
+        int[] current = new int[1];
+        DbIssues.Locations locations = DbIssues.Locations.newBuilder().build();
+        DefaultIssue defaultIssue = mock(DefaultIssue.class, withSettings().stubOnly());
+        when(defaultIssue.key()).thenAnswer(invocation -> "issue-" + current[0]);
+        when(defaultIssue.getLine()).thenAnswer(invocation -> 1 + current[0] % 500);
+        when(defaultIssue.getMessage()).thenAnswer(invocation -> "Refactor this method to reduce its complexity from " + (16 + current[0] % 20) + " to the 15 allowed.");
+        when(defaultIssue.issueStatus()).thenReturn(IssueStatus.OPEN);
+        when(defaultIssue.getRuleKey()).thenAnswer(invocation -> RuleKey.of("java", "S" + (100 + current[0] % 50)));
+        when(defaultIssue.impacts()).thenAnswer(invocation -> Map.of(QUALITIES[current[0] % QUALITIES.length], SEVERITIES[current[0] % SEVERITIES.length]));
+        when(defaultIssue.getLocations()).thenReturn(locations);
+
+        PostAnalysisIssueVisitor visitor = new PostAnalysisIssueVisitor();
+        for (int i = 0; i < issueCount; i++) {
+            current[0] = i;
+            visitor.onIssue(components[i % FILE_COUNT], defaultIssue);
+        }
+        return visitor;
+    }
+
+    private static Component createFile(int index) {
+        ReportAttributes reportAttributes = mock(ReportAttributes.class, withSettings().stubOnly());
+        when(reportAttributes.getScmPath()).thenReturn(Optional.of("src/main/java/com/example/File" + index + ".java"));
+        Component component = mock(Component.class, withSettings().stubOnly());
+        when(component.getType()).thenReturn(Component.Type.FILE);
+        when(component.getReportAttributes()).thenReturn(reportAttributes);
+        return component;
+    }
+
+    private static ScmInfoRepository createScmInfoRepository() {
+        Changeset changeset = mock(Changeset.class, withSettings().stubOnly());
+        when(changeset.getRevision()).thenReturn(COMMIT_SHA);
+        ScmInfo scmInfo = mock(ScmInfo.class, withSettings().stubOnly());
+        when(scmInfo.hasChangesetForLine(anyInt())).thenReturn(true);
+        when(scmInfo.getChangesetForLine(anyInt())).thenReturn(changeset);
+        ScmInfoRepository scmInfoRepository = mock(ScmInfoRepository.class, withSettings().stubOnly());
+        when(scmInfoRepository.getScmInfo(any())).thenReturn(Optional.of(scmInfo));
+        return scmInfoRepository;
+    }
+
+    private static PostProjectAnalysisTask.Context createContext() {
+        Branch branch = mock();
+        when(branch.getType()).thenReturn(Branch.Type.PULL_REQUEST);
+        when(branch.getName()).thenReturn(Optional.of(PULL_REQUEST_ID));
+
+        Analysis analysis = mock(Analysis.class, withSettings().stubOnly());
+        when(analysis.getAnalysisUuid()).thenReturn("AZ-load-test");
+        when(analysis.getDate()).thenReturn(new Date());
+        when(analysis.getRevision()).thenReturn(Optional.of(COMMIT_SHA));
+
+        QualityGate qualityGate = mock();
+        when(qualityGate.getStatus()).thenReturn(QualityGate.Status.OK);
+
+        Project project = mock(Project.class, withSettings().stubOnly());
+        when(project.getUuid()).thenReturn("project-uuid");
+        when(project.getKey()).thenReturn(PROJECT_KEY);
+        when(project.getName()).thenReturn("Project");
+
+        PostProjectAnalysisTask.ProjectAnalysis projectAnalysis = mock(PostProjectAnalysisTask.ProjectAnalysis.class, withSettings().stubOnly());
+        when(projectAnalysis.getBranch()).thenReturn(Optional.of(branch));
+        when(projectAnalysis.getAnalysis()).thenReturn(Optional.of(analysis));
+        when(projectAnalysis.getQualityGate()).thenReturn(qualityGate);
+        when(projectAnalysis.getProject()).thenReturn(project);
+
+        PostProjectAnalysisTask.Context context = mock();
+        when(context.getProjectAnalysis()).thenReturn(projectAnalysis);
+        return context;
+    }
+}
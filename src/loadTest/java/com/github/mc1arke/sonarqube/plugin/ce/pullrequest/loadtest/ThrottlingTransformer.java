@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.loadtest;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+/**
+ * Applies a fixed latency to every stubbed response and limits throughput to a number of requests per second. Requests
+ * over the limit are held until their slot comes round rather than rejected, since none of the ALM clients retry a
+ * rejected request, and a rejection would end the decoration instead of showing how long it takes under the limit.
+ */
+final class ThrottlingTransformer implements ResponseDefinitionTransformerV2 {
+
+    private final int latencyMillis;
+    private final long intervalNanos;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong unmatchedRequestCount = new AtomicLong();
+    private volatile UUID unmatchedStubId;
+    private long nextSlot = System.nanoTime();
+
+    ThrottlingTransformer(int latencyMillis, int requestsPerSecond) {
+        this.latencyMillis = latencyMillis;
+        this.intervalNanos = requestsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / requestsPerSecond : 0;
+    }
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        requestCount.incrementAndGet();
+        if (serveEvent.getStubMapping().getId().equals(unmatchedStubId)) {
+            unmatchedRequestCount.incrementAndGet();
+        }
+
+        long delayMillis = latencyMillis + TimeUnit.NANOSECONDS.toMillis(reserveSlot());
+        if (delayMillis == 0) {
+            return serveEvent.getResponseDefinition();
+        }
+        return ResponseDefinitionBuilder.like(serveEvent.getResponseDefinition())
+                .withFixedDelay((int) delayMillis)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "throttling";
+    }
+
+    synchronized void reset(UUID unmatchedStubId) {
+        this.unmatchedStubId = unmatchedStubId;
+        nextSlot = System.nanoTime();
+        requestCount.set(0);
+        unmatchedRequestCount.set(0);
+    }
+
+    long getRequestCount() {
+        return requestCount.get();
+    }
+
+    long getUnmatchedRequestCount() {
+        return unmatchedRequestCount.get();
+    }
+
+    private synchronized long reserveSlot() {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long slot = nextSlot - now > 0 ? nextSlot : now;
+        nextSlot = slot + intervalNanos;
+        return slot - now;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Stores the classes the agent has transformed so later starts can skip compiling them. Entries are keyed on a hash of
+ * the original class bytes and the agent build, so upgrading either SonarQube or the plugin results in the classes
+ * being transformed again. The cache lives under SonarQube's data directory by default, since the temp directory is
+ * cleared on every start. That directory is taken from the {@value #DATA_PATH_PROPERTY} or {@value #HOME_PATH_PROPERTY}
+ * system properties when either is passed to the process, and is otherwise assumed to be {@code data} under the working
+ * directory, which is the SonarQube installation for processes started by SonarQube itself. The cache can be moved or
+ * disabled (by setting an empty value) with the {@value #DIRECTORY_PROPERTY} system property. Caching is disabled when
+ * the agent isn't running from a versioned jar.
+ */
+final class BytecodeCache {
+
+    static final String DIRECTORY_PROPERTY = "communityBranchPlugin.agent.cacheDirectory";
+    static final String DATA_PATH_PROPERTY = "sonar.path.data";
+    static final String HOME_PATH_PROPERTY = "sonar.path.home";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BytecodeCache.class);
+    private static final String ENTRY_SUFFIX = ".class";
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+    private final Path directory;
+    private final String agentBuild;
+
+    BytecodeCache(Path directory, String agentBuild) {
+        this.directory = directory;
+        this.agentBuild = agentBuild;
+    }
+
+    static BytecodeCache fromSystemProperties() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY, defaultDirectory(System::getProperty).toString());
+        String version = CommunityBranchAgent.class.getPackage().getImplementationVersion();
+        Optional<Path> agentJar = Optional.ofNullable(CommunityBranchAgent.class.getProtectionDomain().getCodeSource())
+                .map(CodeSource::getLocation)
+                .flatMap(location -> {
+                    try {
+                        return Optional.of(Path.of(location.toURI()));
+                    } catch (URISyntaxException | RuntimeException ex) {
+                        return Optional.empty();
+                    }
+                })
+                .filter(Files::isRegularFile);
+        if (directory.isBlank() || null == version || agentJar.isEmpty()) {
+            return new BytecodeCache(null, null);
+        }
+        try {
+            // snapshot builds keep the same version across changes, so the jar's size and timestamp identify the build
+            return new BytecodeCache(Path.of(directory), version + ":" + Files.size(agentJar.get()) + ":" + Files.getLastModifiedTime(agentJar.get()).toMillis());
+        } catch (IOException ex) {
+            LOGGER.debug("Could not read agent jar attributes, class transformations will not be cached", ex);
+            return new BytecodeCache(null, null);
+        }
+    }
+
+    static Path defaultDirectory(UnaryOperator<String> systemProperties) {
+        return Optional.ofNullable(systemProperties.apply(DATA_PATH_PROPERTY))
+                .filter(path -> !path.isBlank())
+                .map(Path::of)
+                .or(() -> Optional.ofNullable(systemProperties.apply(HOME_PATH_PROPERTY))
+                        .filter(path -> !path.isBlank())
+                        .map(home -> Path.of(home, "data")))
+                .orElseGet(() -> Path.of("data"))
+                .resolve(Path.of("community-branch-plugin", "agent-cache"));
+    }
+
+    Optional<byte[]> read(String className, byte[] originalByteCode) {
+        if (null == directory) {
+            return Optional.empty();
+        }
+        Path entry = directory.resolve(entryName(className, originalByteCode));
+        try {
+            if (!Files.isRegularFile(entry)) {
+                return Optional.empty();
+            }
+            byte[] byteCode = Files.readAllBytes(entry);
+            if (byteCode.length < 4 || ((byteCode[0] & 0xFF) << 24 | (byteCode[1] & 0xFF) << 16 | (byteCode[2] & 0xFF) << 8 | (byteCode[3] & 0xFF)) != CLASS_FILE_MAGIC) {
+                LOGGER.warn("Discarding invalid cached transformation of class {}", className);
+                Files.deleteIfExists(entry);
+                return Optional.empty();
+            }
+            return Optional.of(byteCode);
+        } catch (IOException ex) {
+            LOGGER.warn("Could not read cached transformation of class {}", className, ex);
+            return Optional.empty();
+        }
+    }
+
+    void write(String className, byte[] originalByteCode, byte[] transformedByteCode) {
+        if (null == directory) {
+            return;
+        }
+        String entryName = entryName(className, originalByteCode);
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> staleEntries = Files.newDirectoryStream(directory, className + "-*" + ENTRY_SUFFIX)) {
+                for (Path staleEntry : staleEntries) {
+                    Files.deleteIfExists(staleEntry);
+                }
+            }
+            Path temporaryFile = Files.createTempFile(directory, className, ".tmp");
+            Files.write(temporaryFile, transformedByteCode);
+            try {
+                Files.move(temporaryFile, directory.resolve(entryName), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile, directory.resolve(entryName), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            LOGGER.warn("Could not cache transformation of class {}", className, ex);
+        }
+    }
+
+    private String entryName(String className, byte[] originalByteCode) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(agentBuild.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(originalByteCode);
+            return className + "-" + HexFormat.of().formatHex(messageDigest.digest()) + ENTRY_SUFFIX;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -18,28 +18,28 @@
  */
 package com.github.mc1arke.sonarqube.plugin;
 
-import javassist.CannotCompileException;
-import javassist.ClassPool;
-import javassist.CtClass;
-import javassist.CtConstructor;
-import javassist.CtMethod;
-import javassist.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.sonar.core.platform.EditionProvider;
 
-import java.io.IOException;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public final class CommunityBranchAgent {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CommunityBranchAgent.class);
+    private static final String PLUGIN_BOOTSTRAP_CLASS_NAME = "com.github.mc1arke.sonarqube.plugin.CommunityBranchPluginBootstrap";
 
     private CommunityBranchAgent() {
         super();
@@ -50,72 +50,93 @@ public final class CommunityBranchAgent {
 
         Component component = Component.fromString(args).orElseThrow(() -> new IllegalArgumentException("Invalid/missing agent argument"));
 
+        List<Target> targets = new ArrayList<>();
         if (component == Component.CE) {
-            redefineEdition(instrumentation, "com.github.mc1arke.sonarqube.plugin.CommunityBranchPluginBootstrap", redefineIsAvailableFlag());
-            redefineEdition(instrumentation, "org.sonar.core.platform.PlatformEditionProvider", redefineOptionalEditionGetMethod());
-            redefineEdition(instrumentation, "org.sonar.server.almsettings.MultipleAlmFeature", redefineIsAvailableFlag());
+            targets.add(new Target(PLUGIN_BOOTSTRAP_CLASS_NAME, Patch.AVAILABLE_FLAG));
+            targets.add(new Target("org.sonar.core.platform.PlatformEditionProvider", Patch.DEVELOPER_EDITION));
+            targets.add(new Target("org.sonar.server.almsettings.MultipleAlmFeature", Patch.AVAILABLE_FLAG));
         } else if (component == Component.WEB) {
-            redefineEdition(instrumentation, "com.github.mc1arke.sonarqube.plugin.CommunityBranchPluginBootstrap", redefineIsAvailableFlag());
-            redefineEdition(instrumentation, "org.sonar.server.almsettings.MultipleAlmFeature", redefineIsAvailableFlag());
-            redefineEdition(instrumentation, "org.sonar.server.newcodeperiod.ws.SetAction", redefineConstructorEditionProviderField(EditionProvider.Edition.DEVELOPER));
-            redefineEdition(instrumentation, "org.sonar.server.newcodeperiod.ws.UnsetAction", redefineConstructorEditionProviderField(EditionProvider.Edition.DEVELOPER));
+            targets.add(new Target(PLUGIN_BOOTSTRAP_CLASS_NAME, Patch.AVAILABLE_FLAG));
+            targets.add(new Target("org.sonar.server.almsettings.MultipleAlmFeature", Patch.AVAILABLE_FLAG));
+            targets.add(new Target("org.sonar.server.newcodeperiod.ws.SetAction", Patch.DEVELOPER_EDITION_PROVIDER_FIELD));
+            targets.add(new Target("org.sonar.server.newcodeperiod.ws.UnsetAction", Patch.DEVELOPER_EDITION_PROVIDER_FIELD));
         }
-    }
-
-    private static void redefineEdition(Instrumentation instrumentation, String targetClassName, Redefiner redefiner) throws ClassNotFoundException, UnmodifiableClassException {
-        instrumentation.addTransformer(new ClassFileTransformer() {
 
-            @Override
-            public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
-                                    ProtectionDomain protectionDomain, byte[] byteCode) {
+        instrumentation.addTransformer(new EditionTransformer(instrumentation, targets, BytecodeCache.fromSystemProperties()));
+        for (Target target : targets) {
+            instrumentation.retransformClasses(Class.forName(target.className()));
+        }
+    }
 
-                String finalTargetClassName = targetClassName.replace(".", "/");
+    /**
+     * A single transformer for all target classes, since every registered transformer is called for every class the
+     * JVM loads. Targets are looked up by their internal name so non-target classes cost one hash lookup, and the
+     * transformer removes itself once every target has been patched so the rest of start-up isn't slowed by it at all.
+     * The plugin bootstrap is loaded once by this agent and again by the plugin's own class loader, so it's only
+     * treated as patched once a class loader other than the agent's has loaded it.
+     */
+    static final class EditionTransformer implements ClassFileTransformer {
+
+        private final Instrumentation instrumentation;
+        private final Map<String, Target> targets;
+        private final Set<String> pendingTargets;
+        private final BytecodeCache bytecodeCache;
+
+        EditionTransformer(Instrumentation instrumentation, List<Target> targets, BytecodeCache bytecodeCache) {
+            this.instrumentation = instrumentation;
+            this.targets = targets.stream().collect(Collectors.toUnmodifiableMap(Target::internalName, Function.identity()));
+            this.pendingTargets = ConcurrentHashMap.newKeySet();
+            this.pendingTargets.addAll(this.targets.keySet());
+            this.bytecodeCache = bytecodeCache;
+        }
 
-                if (!className.equals(finalTargetClassName)) {
-                    return byteCode;
-                }
+        @Override
+        public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                                ProtectionDomain protectionDomain, byte[] byteCode) {
+            Target target = null == className ? null : targets.get(className);
+            if (null == target) {
+                return byteCode;
+            }
 
-                LOGGER.debug("Transforming class {}", targetClassName);
+            byte[] transformedByteCode = bytecodeCache.read(target.className(), byteCode).orElse(null);
+            if (null == transformedByteCode) {
+                LOGGER.debug("Transforming class {}", target.className());
+                transformedByteCode = byteCode;
+                // Javassist failures are caught generically so this class doesn't reference any Javassist types, which
+                // means Javassist is never loaded when every target is served from the cache
                 try {
-                    ClassPool cp = ClassPool.getDefault();
-                    CtClass cc = cp.get(targetClassName);
-
-                    redefiner.redefine(cc);
-
-                    byteCode = cc.toBytecode();
-                    cc.detach();
-                } catch (NotFoundException | CannotCompileException | IOException e) {
-                    LOGGER.error("Could not transform class {}}, will use default class definition", targetClassName, e);
+                    transformedByteCode = JavassistPatcher.patch(target.patch(), loader, byteCode);
+                    bytecodeCache.write(target.className(), byteCode, transformedByteCode);
+                } catch (Exception e) {
+                    LOGGER.error("Could not transform class {}, will use default class definition", target.className(), e);
                 }
-
-                return byteCode;
+            } else {
+                LOGGER.debug("Using cached transformation of class {}", target.className());
             }
 
-        });
+            if (!PLUGIN_BOOTSTRAP_CLASS_NAME.equals(target.className()) || loader != CommunityBranchAgent.class.getClassLoader()) {
+                markPatched(className);
+            }
+            return transformedByteCode;
+        }
 
-        instrumentation.retransformClasses(Class.forName(targetClassName));
+        private void markPatched(String internalName) {
+            if (pendingTargets.remove(internalName) && pendingTargets.isEmpty()) {
+                LOGGER.debug("All target classes transformed, removing transformer");
+                instrumentation.removeTransformer(this);
+            }
+        }
     }
 
+    record Target(String className, String internalName, Patch patch) {
 
-    private static Redefiner redefineOptionalEditionGetMethod() {
-        return ctClass -> {
-            CtMethod ctMethod = ctClass.getDeclaredMethod("get");
-            ctMethod.setBody("return java.util.Optional.of(org.sonar.core.platform.EditionProvider.Edition.DEVELOPER);");
-        };
-    }
-
-    private static Redefiner redefineIsAvailableFlag() {
-        return ctClass -> {
-            CtMethod ctMethod = ctClass.getDeclaredMethod("isAvailable");
-            ctMethod.setBody("return true;");
-        };
+        Target(String className, Patch patch) {
+            this(className, className.replace('.', '/'), patch);
+        }
     }
 
-    private static Redefiner redefineConstructorEditionProviderField(EditionProvider.Edition edition) {
-        return ctClass -> {
-            CtConstructor ctConstructor = ctClass.getDeclaredConstructors()[0];
-            ctConstructor.insertAfter("this.editionProvider = new com.github.mc1arke.sonarqube.plugin.CommunityPlatformEditionProvider(org.sonar.core.platform.EditionProvider.Edition." + edition.name() + ");");
-        };
+    enum Patch {
+        AVAILABLE_FLAG, DEVELOPER_EDITION, DEVELOPER_EDITION_PROVIDER_FIELD
     }
 
     private enum Component {
@@ -126,9 +147,4 @@ public final class CommunityBranchAgent {
         }
     }
 
-    @FunctionalInterface
-    private interface Redefiner {
-        void redefine(CtClass ctClass) throws CannotCompileException, NotFoundException;
-    }
-
 }
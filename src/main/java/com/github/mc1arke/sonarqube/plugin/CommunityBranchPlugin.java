@@ -18,6 +18,7 @@
  */
 package com.github.mc1arke.sonarqube.plugin;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.DefaultAzureDevopsClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.DefaultBitbucketClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.HttpClientBuilderFactory;
@@ -25,6 +26,10 @@ import com.github.mc1arke.sonarqube.plugin.almclient.github.GithubClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultGitlabClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultLinkHeaderReader;
 import com.github.mc1arke.sonarqube.plugin.ce.CommunityReportAnalysisComponentProvider;
+import com.github.mc1arke.sonarqube.plugin.ce.ProjectBranchCache;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationOutbox;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestAnalysisQueue;
 import com.github.mc1arke.sonarqube.plugin.scanner.BranchConfigurationFactory;
 import com.github.mc1arke.sonarqube.plugin.scanner.CommunityBranchConfigurationLoader;
 import com.github.mc1arke.sonarqube.plugin.scanner.CommunityBranchParamsValidator;
@@ -40,8 +45,12 @@ import com.github.mc1arke.sonarqube.plugin.scanner.autoconfiguration.JenkinsAuto
 import com.github.mc1arke.sonarqube.plugin.server.CommunityBranchFeatureExtension;
 import com.github.mc1arke.sonarqube.plugin.server.CommunityBranchSupportDelegate;
 import com.github.mc1arke.sonarqube.plugin.server.MonoRepoFeature;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestBulkDeleter;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestListCache;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.AzureDevopsValidator;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BindingValidationCache;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BitbucketValidator;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BulkBindingValidator;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.GithubValidator;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.GitlabValidator;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.DeleteBindingAction;
@@ -52,10 +61,16 @@ import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.SetGitlabBindingAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.ValidateBindingAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.PullRequestWs;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action.BulkDeleteAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action.BulkDeleteStatusAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action.DeleteAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action.ListAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.SupportWs;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action.InfoWsAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action.MetricsWsAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action.ValidateBindingsReportWsAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action.ValidateBindingsWsAction;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 import org.sonar.api.CoreProperties;
 import org.sonar.api.Plugin;
 import org.sonar.api.PropertyType;
@@ -71,6 +86,11 @@ import org.sonar.core.extension.CoreExtension;
 public class CommunityBranchPlugin implements Plugin, CoreExtension {
 
     public static final String IMAGE_URL_BASE = "com.github.mc1arke.sonarqube.plugin.branch.image-url-base";
+    public static final String PARALLEL_ANNOTATIONS_ENABLED = "com.github.mc1arke.sonarqube.plugin.decoration.parallel-annotations.enabled";
+    public static final String PARALLEL_ANNOTATIONS_PARALLELISM = "com.github.mc1arke.sonarqube.plugin.decoration.parallel-annotations.parallelism";
+    public static final String DECORATION_RETRY_ATTEMPTS = "com.github.mc1arke.sonarqube.plugin.decoration.retry.attempts";
+    public static final String DECORATION_RETRY_INITIAL_DELAY = "com.github.mc1arke.sonarqube.plugin.decoration.retry.initial-delay";
+    public static final String DECORATION_TIMEOUT = "com.github.mc1arke.sonarqube.plugin.decoration.timeout";
 
     @Override
     public String getName() {
@@ -80,7 +100,9 @@ public class CommunityBranchPlugin implements Plugin, CoreExtension {
     @Override
     public void load(CoreExtension.Context context) {
         if (SonarQubeSide.COMPUTE_ENGINE == context.getRuntime().getSonarQubeSide()) {
-            context.addExtensions(CommunityReportAnalysisComponentProvider.class);
+            context.addExtensions(CommunityReportAnalysisComponentProvider.class, ProjectBranchCache.class,
+                    PluginStatistics.class, HttpClientInstrumentation.class, HttpClientBuilderFactory.class,
+                    IssueAnnotationBuilder.class, DecorationOutbox.class, PullRequestAnalysisQueue.class);
         } else if (SonarQubeSide.SERVER == context.getRuntime().getSonarQubeSide()) {
             context.addExtensions(CommunityBranchFeatureExtension.class, CommunityBranchSupportDelegate.class,
                                   DeleteBindingAction.class,
@@ -89,11 +111,18 @@ public class CommunityBranchPlugin implements Plugin, CoreExtension {
                                   SetBitbucketBindingAction.class,
                                   SetBitbucketCloudBindingAction.class,
                                   SetGitlabBindingAction.class,
+                    BindingValidationCache.class,
                     ValidateBindingAction.class,
+                    PullRequestListCache.class,
+                    PullRequestBulkDeleter.class,
                     DeleteAction.class,
                     ListAction.class,
+                    BulkDeleteAction.class,
+                    BulkDeleteStatusAction.class,
                     PullRequestWs.class,
 
+                    PluginStatistics.class,
+                    HttpClientInstrumentation.class,
                     GithubValidator.class,
                     GithubClientFactory.class,
                     DefaultLinkHeaderReader.class,
@@ -105,7 +134,11 @@ public class CommunityBranchPlugin implements Plugin, CoreExtension {
                     DefaultAzureDevopsClientFactory.class,
                     AzureDevopsValidator.class,
 
+                    BulkBindingValidator.class,
                     InfoWsAction.class,
+                    MetricsWsAction.class,
+                    ValidateBindingsWsAction.class,
+                    ValidateBindingsReportWsAction.class,
                     SupportWs.class,
 
                 /* org.sonar.db.purge.PurgeConfiguration uses the value for the this property if it's configured, so it only
@@ -153,6 +186,50 @@ public class CommunityBranchPlugin implements Plugin, CoreExtension {
                                           .description("Base URL used to load the images for the PR comments (please use this only if images are not displayed properly).")
                                           .type(PropertyType.STRING)
                                           .build(),
+                PropertyDefinition.builder(PARALLEL_ANNOTATIONS_ENABLED)
+                                          .category(CoreProperties.CATEGORY_GENERAL)
+                                          .subCategory(CoreProperties.SUBCATEGORY_GENERAL)
+                                          .onConfigScopes(ConfigScope.APP)
+                                          .name("Build pull request annotations in parallel")
+                                          .description("Build the issue annotations for Bitbucket and Github decoration on multiple threads when a pull request has a large number of issues.")
+                                          .type(PropertyType.BOOLEAN)
+                                          .defaultValue("false")
+                                          .build(),
+                PropertyDefinition.builder(PARALLEL_ANNOTATIONS_PARALLELISM)
+                                          .category(CoreProperties.CATEGORY_GENERAL)
+                                          .subCategory(CoreProperties.SUBCATEGORY_GENERAL)
+                                          .onConfigScopes(ConfigScope.APP)
+                                          .name("Parallel annotation threads")
+                                          .description("Number of threads used to build pull request annotations when parallel building is enabled. Defaults to the number of available processors.")
+                                          .type(PropertyType.INTEGER)
+                                          .build(),
+                PropertyDefinition.builder(DECORATION_RETRY_ATTEMPTS)
+                                          .category(CoreProperties.CATEGORY_GENERAL)
+                                          .subCategory(CoreProperties.SUBCATEGORY_GENERAL)
+                                          .onConfigScopes(ConfigScope.APP)
+                                          .name("Decoration retry attempts")
+                                          .description("Number of times a pull request decoration is retried when the ALM can't be reached, doesn't respond in time, or responds with a server error or rate limit. Other error responses are not retried.")
+                                          .type(PropertyType.INTEGER)
+                                          .defaultValue("3")
+                                          .build(),
+                PropertyDefinition.builder(DECORATION_RETRY_INITIAL_DELAY)
+                                          .category(CoreProperties.CATEGORY_GENERAL)
+                                          .subCategory(CoreProperties.SUBCATEGORY_GENERAL)
+                                          .onConfigScopes(ConfigScope.APP)
+                                          .name("Decoration retry delay")
+                                          .description("Seconds to wait before the first decoration retry. The delay doubles for each later retry.")
+                                          .type(PropertyType.INTEGER)
+                                          .defaultValue("5")
+                                          .build(),
+                PropertyDefinition.builder(DECORATION_TIMEOUT)
+                                          .category(CoreProperties.CATEGORY_GENERAL)
+                                          .subCategory(CoreProperties.SUBCATEGORY_GENERAL)
+                                          .onConfigScopes(ConfigScope.APP)
+                                          .name("Decoration timeout")
+                                          .description("Seconds a pull request decoration, including retries, may run for. Once passed, no further inline comments are posted but the summary and status still are. Set to 0 to disable.")
+                                          .type(PropertyType.INTEGER)
+                                          .defaultValue("600")
+                                          .build(),
                 MonoRepoFeature.class);
 
         }
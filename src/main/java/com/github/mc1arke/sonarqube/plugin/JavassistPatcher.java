@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Applies the agent's patches with Javassist. Kept apart from {@link CommunityBranchAgent} so Javassist is only loaded
+ * when a class actually needs compiling, rather than whenever the agent starts.
+ */
+final class JavassistPatcher {
+
+    private JavassistPatcher() {
+        super();
+    }
+
+    static byte[] patch(CommunityBranchAgent.Patch patch, ClassLoader loader, byte[] byteCode) throws IOException, CannotCompileException, NotFoundException {
+        ClassPool classPool = new ClassPool(false);
+        classPool.appendClassPath(new LoaderClassPath(null == loader ? ClassLoader.getSystemClassLoader() : loader));
+        CtClass ctClass = classPool.makeClass(new ByteArrayInputStream(byteCode));
+        try {
+            switch (patch) {
+                case AVAILABLE_FLAG -> ctClass.getDeclaredMethod("isAvailable").setBody("return true;");
+                case DEVELOPER_EDITION -> ctClass.getDeclaredMethod("get")
+                        .setBody("return java.util.Optional.of(org.sonar.core.platform.EditionProvider.Edition.DEVELOPER);");
+                case DEVELOPER_EDITION_PROVIDER_FIELD -> ctClass.getDeclaredConstructors()[0]
+                        .insertAfter("this.editionProvider = new com.github.mc1arke.sonarqube.plugin.CommunityPlatformEditionProvider(org.sonar.core.platform.EditionProvider.Edition.DEVELOPER);");
+            }
+            return ctClass.toBytecode();
+        } finally {
+            ctClass.detach();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient;
+
+/**
+ * Thrown when an ALM responds with a status other than the one expected, carrying that status so callers can tell a
+ * failure worth retrying, such as a gateway error or rate limit, from one that will fail again, such as a missing pull
+ * request or rejected credentials.
+ */
+public class AlmResponseException extends IllegalStateException {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int INTERNAL_SERVER_ERROR = 500;
+
+    private final int statusCode;
+
+    public AlmResponseException(String message, int statusCode) {
+        this(message, statusCode, null);
+    }
+
+    public AlmResponseException(String message, int statusCode, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isTransient() {
+        return statusCode == TOO_MANY_REQUESTS || statusCode >= INTERNAL_SERVER_ERROR;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Holds the deadline of the decoration running on the current thread, so each request an ALM client sends can have its
+ * timeouts capped to the time the decoration has left, and decorators can skip outdated discussions and inline comments
+ * once it has passed. Requests are never given less than {@link #MINIMUM_REQUEST_TIMEOUT}, so the summary and status
+ * can still be posted after the deadline. The deadline is checked between the ALM calls a decorator makes per issue or
+ * discussion, not within a paginated fetch, so a decoration can still run past it by the requests already under way.
+ */
+public final class DecorationDeadline {
+
+    static final Duration MINIMUM_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private DecorationDeadline() {
+        super();
+    }
+
+    public static <T> T callWithin(Duration budget, Supplier<T> action) {
+        Long previousDeadline = DEADLINE_NANOS.get();
+        DEADLINE_NANOS.set(System.nanoTime() + budget.toNanos());
+        try {
+            return action.get();
+        } finally {
+            if (null == previousDeadline) {
+                DEADLINE_NANOS.remove();
+            } else {
+                DEADLINE_NANOS.set(previousDeadline);
+            }
+        }
+    }
+
+    public static Optional<Duration> remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+        return null == deadline ? Optional.empty() : Optional.of(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+    }
+
+    public static boolean isExceeded() {
+        return remaining().map(Duration::isZero).orElse(false);
+    }
+
+    /**
+     * Caps a client's configured timeout to the time remaining for the current decoration, where a configured timeout
+     * of zero or less means the client would otherwise wait indefinitely.
+     */
+    static int requestTimeoutMillis(int configuredTimeoutMillis) {
+        return remaining()
+                .map(remaining -> (int) Math.min(Integer.MAX_VALUE, Math.max(remaining.toMillis(), MINIMUM_REQUEST_TIMEOUT.toMillis())))
+                .map(budget -> configuredTimeoutMillis > 0 ? Math.min(configuredTimeoutMillis, budget) : budget)
+                .orElse(configuredTimeoutMillis);
+    }
+}
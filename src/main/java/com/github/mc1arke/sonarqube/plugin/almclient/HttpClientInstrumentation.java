@@ -0,0 +1,436 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient;
+
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.sonar.api.ce.ComputeEngineSide;
+import org.sonar.api.server.ServerSide;
+import org.sonar.db.alm.setting.ALM;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Records latency, status class, request and response size, and rate limiting for every request an ALM client sends,
+ * keyed on the request method and a normalised endpoint template such as
+ * {@code GET /api/v4/projects/{id}/merge_requests/{id}/discussions}. A rate limited response also records the wait the
+ * ALM asked for before the next request, which the Github client sleeps through before retrying.
+ * Templates are built in a single pass over the request path and each distinct template resolves its statistic names
+ * once, so recording a request does not format any strings beyond the template itself.
+ */
+@ServerSide
+@ComputeEngineSide
+public class HttpClientInstrumentation {
+
+    static final int MAX_ENDPOINTS_PER_ALM = 200;
+    static final String OVERFLOW_ENDPOINT = "other";
+
+    private static final String ENDPOINT_ATTRIBUTE = HttpClientInstrumentation.class.getName() + ".endpoint";
+    private static final String START_TIME_ATTRIBUTE = HttpClientInstrumentation.class.getName() + ".startTime";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RATE_LIMIT_RESET_HEADER = "X-RateLimit-Reset";
+    private static final String IDENTIFIER = "{id}";
+    private static final String API_SEGMENT = "_apis";
+    private static final Set<String> COLLECTIONS = Set.of("access_tokens", "annotations", "builds", "check-runs", "comments",
+            "commit", "commits", "discussions", "installation", "installations", "issues", "iterations", "merge_requests",
+            "notes", "projects", "pullRequests", "pulls", "reports", "repos", "repositories", "statuses", "threads", "users",
+            "workspaces");
+
+    private final PluginStatistics pluginStatistics;
+    private final Map<ALM, Instrument> instruments = new ConcurrentHashMap<>();
+
+    public HttpClientInstrumentation(PluginStatistics pluginStatistics) {
+        this.pluginStatistics = pluginStatistics;
+    }
+
+    /**
+     * Adds interceptors to the builder that record each response against the given ALM. The response interceptor is
+     * added first so it sees the entity before any content decoding is applied, meaning the recorded size is the number
+     * of bytes received from the ALM. Request bodies are counted when their length is declared. Requests that fail before
+     * a response is received are not recorded. Requests sent during a decoration have their timeouts capped to the time
+     * left before the {@link DecorationDeadline}.
+     */
+    public HttpClientBuilder instrument(HttpClientBuilder httpClientBuilder, ALM alm) {
+        Instrument instrument = instruments.computeIfAbsent(alm, Instrument::new);
+        return httpClientBuilder
+                .addInterceptorFirst((HttpRequestInterceptor) (request, context) -> {
+                    applyDecorationDeadline(HttpClientContext.adapt(context));
+                    Endpoint endpoint = instrument.endpoint(request.getRequestLine().getMethod(), request.getRequestLine().getUri());
+                    if (request instanceof HttpEntityEnclosingRequest entityEnclosingRequest && null != entityEnclosingRequest.getEntity()) {
+                        endpoint.recordRequestBytes(entityEnclosingRequest.getEntity().getContentLength());
+                    }
+                    context.setAttribute(ENDPOINT_ATTRIBUTE, endpoint);
+                    context.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+                })
+                .addInterceptorFirst((HttpResponseInterceptor) (response, context) -> {
+                    Endpoint endpoint = (Endpoint) context.getAttribute(ENDPOINT_ATTRIBUTE);
+                    Long startTime = (Long) context.getAttribute(START_TIME_ATTRIBUTE);
+                    if (null == endpoint || null == startTime) {
+                        return;
+                    }
+                    int status = response.getStatusLine().getStatusCode();
+                    endpoint.recordResponse(System.nanoTime() - startTime, status);
+                    rateLimitWait(status, name -> Optional.ofNullable(response.getFirstHeader(name)).map(Header::getValue).orElse(null), System.currentTimeMillis())
+                            .ifPresent(endpoint::recordRateLimit);
+                    HttpEntity entity = response.getEntity();
+                    if (null == entity) {
+                        return;
+                    }
+                    if (entity.getContentLength() >= 0) {
+                        endpoint.recordBytes(entity.getContentLength());
+                    } else {
+                        response.setEntity(new CountingEntity(entity, endpoint));
+                    }
+                });
+    }
+
+    /**
+     * Creates an interceptor that records each response against the given ALM. Request bodies are counted when their
+     * length is declared, and requests that fail with an {@link IOException} are timed and counted as failures. Requests sent during a decoration have their timeouts capped
+     * to the time left before the {@link DecorationDeadline}.
+     */
+    public Interceptor interceptor(ALM alm) {
+        Instrument instrument = instruments.computeIfAbsent(alm, Instrument::new);
+        return originalChain -> {
+            Interceptor.Chain chain = originalChain;
+            if (DecorationDeadline.remaining().isPresent()) {
+                chain = chain.withConnectTimeout(DecorationDeadline.requestTimeoutMillis(chain.connectTimeoutMillis()), TimeUnit.MILLISECONDS)
+                        .withReadTimeout(DecorationDeadline.requestTimeoutMillis(chain.readTimeoutMillis()), TimeUnit.MILLISECONDS)
+                        .withWriteTimeout(DecorationDeadline.requestTimeoutMillis(chain.writeTimeoutMillis()), TimeUnit.MILLISECONDS);
+            }
+            Request request = chain.request();
+            Endpoint endpoint = instrument.endpoint(request.method(), request.url().encodedPath());
+            RequestBody requestBody = request.body();
+            if (null != requestBody) {
+                endpoint.recordRequestBytes(requestBody.contentLength());
+            }
+            long startTime = System.nanoTime();
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException ex) {
+                endpoint.recordFailure(System.nanoTime() - startTime);
+                throw ex;
+            }
+            endpoint.recordResponse(System.nanoTime() - startTime, response.code());
+            rateLimitWait(response.code(), response::header, System.currentTimeMillis()).ifPresent(endpoint::recordRateLimit);
+            ResponseBody body = response.body();
+            if (null == body) {
+                return response;
+            }
+            if (body.contentLength() >= 0) {
+                endpoint.recordBytes(body.contentLength());
+                return response;
+            }
+            return response.newBuilder()
+                    .body(ResponseBody.create(Okio.buffer(new CountingSource(body.source(), endpoint)), body.contentType(), -1))
+                    .build();
+        };
+    }
+
+    private static void applyDecorationDeadline(HttpClientContext context) {
+        if (DecorationDeadline.remaining().isEmpty()) {
+            return;
+        }
+        RequestConfig requestConfig = context.getRequestConfig();
+        context.setRequestConfig(RequestConfig.copy(requestConfig)
+                .setConnectionRequestTimeout(DecorationDeadline.requestTimeoutMillis(requestConfig.getConnectionRequestTimeout()))
+                .setConnectTimeout(DecorationDeadline.requestTimeoutMillis(requestConfig.getConnectTimeout()))
+                .setSocketTimeout(DecorationDeadline.requestTimeoutMillis(requestConfig.getSocketTimeout()))
+                .build());
+    }
+
+    /**
+     * Reads the wait a rate limited response asks for, from a {@code Retry-After} header in seconds or, as Github sends
+     * for its primary rate limit, the epoch second in {@code X-RateLimit-Reset}. A response is rate limited if it has a
+     * 429 status, or a 403 status with no requests remaining in the current window. Returns an empty Optional for any
+     * other response.
+     */
+    static Optional<Duration> rateLimitWait(int status, UnaryOperator<String> headers, long currentTimeMillis) {
+        if (status != 429 && (status != 403 || !"0".equals(headers.apply(RATE_LIMIT_REMAINING_HEADER)))) {
+            return Optional.empty();
+        }
+        try {
+            String retryAfter = headers.apply(RETRY_AFTER_HEADER);
+            if (null != retryAfter) {
+                return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim()))));
+            }
+            String reset = headers.apply(RATE_LIMIT_RESET_HEADER);
+            if (null != reset) {
+                return Optional.of(Duration.ofMillis(Math.max(0, Long.parseLong(reset.trim()) * 1000 - currentTimeMillis)));
+            }
+        } catch (NumberFormatException ex) {
+            // a Retry-After date, or a malformed header, is recorded as a rate limit without a known wait
+        }
+        return Optional.of(Duration.ZERO);
+    }
+
+    /**
+     * Reduces a request to its method and path, replacing identifiers with {@value #IDENTIFIER}. Once a known
+     * collection (such as {@code projects} or {@code merge_requests}) has been seen, every segment that isn't itself a
+     * collection is treated as an identifier, which covers multi-segment keys such as a GitHub owner and repository.
+     * Segments that precede the Azure DevOps {@code _apis} segment, look like a number or commit hash, or contain
+     * encoded characters are also identifiers. Any query string is dropped.
+     */
+    static String template(String method, String uri) {
+        int pathStart = uri.indexOf("://");
+        pathStart = pathStart < 0 ? 0 : uri.indexOf('/', pathStart + 3);
+        if (pathStart < 0 || pathStart >= uri.length()) {
+            return method + " /";
+        }
+        int pathEnd = uri.length();
+        for (int i = pathStart; i < pathEnd; i++) {
+            char character = uri.charAt(i);
+            if (character == '?' || character == '#') {
+                pathEnd = i;
+                break;
+            }
+        }
+
+        StringBuilder template = new StringBuilder(method.length() + 1 + pathEnd - pathStart).append(method).append(' ');
+        boolean followsCollection = false;
+        int segmentStart = uri.charAt(pathStart) == '/' ? pathStart + 1 : pathStart;
+        while (segmentStart <= pathEnd) {
+            int segmentEnd = uri.indexOf('/', segmentStart);
+            if (segmentEnd < 0 || segmentEnd > pathEnd) {
+                segmentEnd = pathEnd;
+            }
+            template.append('/');
+            if (segmentEnd > segmentStart) {
+                String segment = uri.substring(segmentStart, segmentEnd);
+                boolean collection = COLLECTIONS.contains(segment);
+                if (!collection && (followsCollection || precedesApiSegment(uri, segmentEnd, pathEnd) || isIdentifier(segment))) {
+                    template.append(IDENTIFIER);
+                } else {
+                    template.append(segment);
+                }
+                followsCollection |= collection;
+            }
+            segmentStart = segmentEnd + 1;
+        }
+        return template.toString();
+    }
+
+    private static boolean precedesApiSegment(String uri, int segmentEnd, int pathEnd) {
+        return segmentEnd + 1 + API_SEGMENT.length() <= pathEnd
+                && uri.startsWith(API_SEGMENT, segmentEnd + 1)
+                && (segmentEnd + 1 + API_SEGMENT.length() == pathEnd || uri.charAt(segmentEnd + 1 + API_SEGMENT.length()) == '/');
+    }
+
+    private static boolean isIdentifier(String segment) {
+        boolean digits = true;
+        boolean hex = segment.length() >= 7;
+        for (int i = 0; i < segment.length() && (digits || hex); i++) {
+            char character = segment.charAt(i);
+            boolean digit = character >= '0' && character <= '9';
+            digits &= digit;
+            hex &= digit || (character >= 'a' && character <= 'f') || (character >= 'A' && character <= 'F');
+        }
+        return digits || hex || segment.indexOf('%') >= 0;
+    }
+
+    private final class Instrument {
+
+        private final String prefix;
+        private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+        private final Endpoint overflow;
+
+        private Instrument(ALM alm) {
+            this.prefix = "http." + alm.name().toLowerCase(Locale.ENGLISH) + ".";
+            this.overflow = new Endpoint(prefix + OVERFLOW_ENDPOINT);
+        }
+
+        private Endpoint endpoint(String method, String uri) {
+            String template = template(method, uri);
+            Endpoint endpoint = endpoints.get(template);
+            if (null != endpoint) {
+                return endpoint;
+            }
+            if (endpoints.size() >= MAX_ENDPOINTS_PER_ALM) {
+                return overflow;
+            }
+            return endpoints.computeIfAbsent(template, key -> new Endpoint(prefix + key));
+        }
+    }
+
+    private final class Endpoint {
+
+        private final String timer;
+        private final String requestBytes;
+        private final String responseBytes;
+        private final String rateLimited;
+        private final String rateLimitWait;
+        private final String failed;
+        private final String[] statuses;
+
+        private Endpoint(String name) {
+            this.timer = name;
+            this.requestBytes = name + ".request_bytes";
+            this.responseBytes = name + ".response_bytes";
+            this.rateLimited = name + ".rate_limited";
+            this.rateLimitWait = name + ".rate_limit_wait";
+            this.failed = name + ".failed";
+            this.statuses = new String[] {name + ".status.other", name + ".status.1xx", name + ".status.2xx",
+                    name + ".status.3xx", name + ".status.4xx", name + ".status.5xx"};
+        }
+
+        private void recordResponse(long nanos, int status) {
+            pluginStatistics.record(timer, Duration.ofNanos(nanos));
+            int statusClass = status / 100;
+            pluginStatistics.increment(statuses[statusClass > 0 && statusClass < statuses.length ? statusClass : 0]);
+        }
+
+        private void recordFailure(long nanos) {
+            pluginStatistics.record(timer, Duration.ofNanos(nanos));
+            pluginStatistics.increment(failed);
+        }
+
+        private void recordRequestBytes(long bytes) {
+            if (bytes >= 0) {
+                pluginStatistics.add(requestBytes, bytes);
+            }
+        }
+
+        private void recordBytes(long bytes) {
+            pluginStatistics.add(responseBytes, bytes);
+        }
+
+        private void recordRateLimit(Duration wait) {
+            pluginStatistics.increment(rateLimited);
+            pluginStatistics.record(rateLimitWait, wait);
+        }
+    }
+
+    /**
+     * Counts the bytes read from a response whose length isn't declared up front, recording the total once the body is
+     * exhausted or closed.
+     */
+    private static final class ByteCount {
+
+        private final Endpoint endpoint;
+        private long bytes;
+        private boolean recorded;
+
+        private ByteCount(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void add(long count) {
+            if (count < 0) {
+                record();
+            } else {
+                bytes += count;
+            }
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                endpoint.recordBytes(bytes);
+            }
+        }
+    }
+
+    private static final class CountingEntity extends HttpEntityWrapper {
+
+        private final Endpoint endpoint;
+
+        private CountingEntity(HttpEntity wrappedEntity, Endpoint endpoint) {
+            super(wrappedEntity);
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            ByteCount byteCount = new ByteCount(endpoint);
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int value = super.read();
+                    byteCount.add(value < 0 ? -1 : 1);
+                    return value;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int count = super.read(buffer, offset, length);
+                    byteCount.add(count);
+                    return count;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    byteCount.record();
+                    super.close();
+                }
+            };
+        }
+    }
+
+    private static final class CountingSource extends ForwardingSource {
+
+        private final ByteCount byteCount;
+
+        private CountingSource(Source delegate, Endpoint endpoint) {
+            super(delegate);
+            this.byteCount = new ByteCount(endpoint);
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long count = super.read(sink, byteCount);
+            this.byteCount.add(count);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            byteCount.record();
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads ALM API responses directly from the response stream, rather than buffering each payload into an intermediate
+ * String, and serialises request payloads straight to bytes. Readers and writers are resolved once per type from the supplied
+ * {@link ObjectMapper} and reused across requests, so a codec should be shared by all clients created from the same
+ * factory.
+ */
+public class JsonCodec {
+
+    private static final MediaType APPLICATION_JSON_MEDIA_TYPE = MediaType.get("application/json");
+
+    private final ObjectMapper objectMapper;
+    private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> T read(InputStream input, Class<T> type) throws IOException {
+        return reader(objectMapper.constructType(type)).readValue(input);
+    }
+
+    public <T> List<T> readList(InputStream input, Class<T> elementType) throws IOException {
+        return reader(objectMapper.getTypeFactory().constructCollectionType(List.class, elementType)).readValue(input);
+    }
+
+    public void write(Object value, OutputStream output) throws IOException {
+        writer(value).writeValue(output, value);
+    }
+
+    public String writeAsString(Object value) throws JsonProcessingException {
+        return writer(value).writeValueAsString(value);
+    }
+
+    /**
+     * Creates an Apache HTTP entity holding the serialised value, so the request is sent with a content length and can
+     * be repeated if the client retries it.
+     */
+    public HttpEntity toHttpEntity(Object value) throws JsonProcessingException {
+        return new ByteArrayEntity(writeAsBytes(value), ContentType.APPLICATION_JSON);
+    }
+
+    /**
+     * Creates an OkHttp request body holding the serialised value, so the request is sent with a content length and can
+     * be repeated if the client retries it.
+     */
+    public RequestBody toRequestBody(Object value) throws JsonProcessingException {
+        return RequestBody.create(writeAsBytes(value), APPLICATION_JSON_MEDIA_TYPE);
+    }
+
+    private byte[] writeAsBytes(Object value) throws JsonProcessingException {
+        return writer(value).writeValueAsBytes(value);
+    }
+
+    private ObjectReader reader(JavaType type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    private ObjectWriter writer(Object value) {
+        // the target stream belongs to the HTTP client, so must be left open once the value has been written
+        return writers.computeIfAbsent(value.getClass(), type -> objectMapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+}
@@ -18,7 +18,8 @@
  */
 package com.github.mc1arke.sonarqube.plugin.almclient.azuredevops;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.model.CommentThread;
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.model.CommentThreadResponse;
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.model.Commit;
@@ -33,10 +34,10 @@ import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.model.PullReque
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.model.Repository;
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.model.UpdateCommentThreadStatusRequest;
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.model.enums.CommentThreadStatus;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
@@ -59,21 +60,21 @@ public class AzureDevopsRestClient implements AzureDevopsClient {
 
     private final String authToken;
     private final String apiUrl;
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
     private final Supplier<CloseableHttpClient> httpClientFactory;
 
-    AzureDevopsRestClient(String apiUrl, String authToken, ObjectMapper objectMapper, Supplier<CloseableHttpClient> httpClientFactory) {
+    AzureDevopsRestClient(String apiUrl, String authToken, JsonCodec jsonCodec, Supplier<CloseableHttpClient> httpClientFactory) {
         super();
         this.apiUrl = apiUrl;
         this.authToken = authToken;
-        this.objectMapper = objectMapper;
+        this.jsonCodec = jsonCodec;
         this.httpClientFactory = httpClientFactory;
     }
 
     @Override
     public void submitPullRequestStatus(String projectId, String repositoryName, int pullRequestId, GitPullRequestStatus status) throws IOException {
         String url = String.format("%s/%s/_apis/git/repositories/%s/pullRequests/%s/statuses?api-version=%s", apiUrl, encode(projectId), encode(repositoryName), pullRequestId, API_VERSION_PREVIEW);
-        execute(url, "post", objectMapper.writeValueAsString(status), null);
+        execute(url, "post", jsonCodec.toHttpEntity(status), null);
     }
 
     @Override
@@ -91,13 +92,13 @@ public class AzureDevopsRestClient implements AzureDevopsClient {
     @Override
     public CommentThread createThread(String projectId, String repositoryName, int pullRequestId, CreateCommentThreadRequest thread) throws IOException {
         String url = String.format("%s/%s/_apis/git/repositories/%s/pullRequests/%s/threads?api-version=%s", apiUrl, encode(projectId), encode(repositoryName), pullRequestId, API_VERSION);
-        return execute(url, "post", objectMapper.writeValueAsString(thread), CommentThread.class);
+        return execute(url, "post", jsonCodec.toHttpEntity(thread), CommentThread.class);
     }
 
     @Override
     public void addCommentToThread(String projectId, String repositoryName, int pullRequestId, int threadId, CreateCommentRequest comment) throws IOException {
         String url = String.format("%s/%s/_apis/git/repositories/%s/pullRequests/%s/threads/%s/comments?api-version=%s", apiUrl, encode(projectId), encode(repositoryName), pullRequestId, threadId, API_VERSION);
-        execute(url, "post", objectMapper.writeValueAsString(comment), null);
+        execute(url, "post", jsonCodec.toHttpEntity(comment), null);
     }
 
     @Override
@@ -105,7 +106,7 @@ public class AzureDevopsRestClient implements AzureDevopsClient {
         String url = String.format("%s/%s/_apis/git/repositories/%s/pullRequests/%s/threads/%s?api-version=%s", apiUrl, encode(projectId), encode(repositoryName), pullRequestId, threadId, API_VERSION);
 
         UpdateCommentThreadStatusRequest commentThread = new UpdateCommentThreadStatusRequest(CommentThreadStatus.CLOSED);
-        execute(url, "patch", objectMapper.writeValueAsString(commentThread), null);
+        execute(url, "patch", jsonCodec.toHttpEntity(commentThread), null);
     }
 
     @Override
@@ -145,13 +146,13 @@ public class AzureDevopsRestClient implements AzureDevopsClient {
     }
 
 
-    private <T> T execute(String url, String method, String content, Class<T> type) throws IOException {
+    private <T> T execute(String url, String method, HttpEntity content, Class<T> type) throws IOException {
         RequestBuilder requestBuilder = RequestBuilder.create(method.toUpperCase(Locale.ENGLISH))
                 .setUri(url)
                 .addHeader("Authorization", "Basic " + authToken)
                 .addHeader("Content-type", ContentType.APPLICATION_JSON.withCharset(StandardCharsets.UTF_8).toString());
 
-        Optional.ofNullable(content).ifPresent(body -> requestBuilder.setEntity(new StringEntity(body, StandardCharsets.UTF_8)));
+        Optional.ofNullable(content).ifPresent(requestBuilder::setEntity);
         Optional.ofNullable(type).ifPresent(responseType -> requestBuilder.addHeader("Accept", ContentType.APPLICATION_JSON.getMimeType()));
 
         try (CloseableHttpClient httpClient = httpClientFactory.get()) {
@@ -162,7 +163,7 @@ public class AzureDevopsRestClient implements AzureDevopsClient {
             if (null == type) {
                 return null;
             }
-            return objectMapper.readValue(EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8), type);
+            return jsonCodec.read(httpResponse.getEntity().getContent(), type);
         }
     }
 
@@ -186,7 +187,8 @@ public class AzureDevopsRestClient implements AzureDevopsClient {
                 .log();
 
 
-        throw new IllegalStateException("An unexpected response code was returned from the Azure Devops API - Expected: 200, Got: " + httpResponse.getStatusLine().getStatusCode());
+        throw new AlmResponseException("An unexpected response code was returned from the Azure Devops API - Expected: 200, Got: " + httpResponse.getStatusLine().getStatusCode(),
+                httpResponse.getStatusLine().getStatusCode());
     }
 
     private static String encode(String input) {
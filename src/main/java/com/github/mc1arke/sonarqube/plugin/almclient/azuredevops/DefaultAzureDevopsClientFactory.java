@@ -22,11 +22,14 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.sonar.api.ce.ComputeEngineSide;
 import org.sonar.api.config.internal.Settings;
 import org.sonar.api.server.ServerSide;
+import org.sonar.db.alm.setting.ALM;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
@@ -38,23 +41,26 @@ import java.util.Optional;
 @ComputeEngineSide
 public class DefaultAzureDevopsClientFactory implements AzureDevopsClientFactory {
 
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
     private final Settings settings;
+    private final HttpClientInstrumentation httpClientInstrumentation;
 
-    public DefaultAzureDevopsClientFactory(Settings settings) {
+    public DefaultAzureDevopsClientFactory(Settings settings, HttpClientInstrumentation httpClientInstrumentation) {
         this.settings = settings;
-        objectMapper = new ObjectMapper()
+        this.httpClientInstrumentation = httpClientInstrumentation;
+        jsonCodec = new JsonCodec(new ObjectMapper()
                 .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true)
                 .configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
                 .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL));
     }
 
     @Override
     public AzureDevopsClient createClient(ProjectAlmSettingDto projectAlmSettingDto, AlmSettingDto almSettingDto) {
         String apiUrl = Optional.ofNullable(almSettingDto.getUrl()).map(StringUtils::trimToNull).orElseThrow(() -> new IllegalStateException("ALM URL must be provided"));
         String accessToken = Optional.ofNullable(almSettingDto.getDecryptedPersonalAccessToken(settings.getEncryption())).map(StringUtils::trimToNull).orElseThrow(() -> new IllegalStateException("Personal Access Token must be provided"));
-        return new AzureDevopsRestClient(apiUrl, Base64.getEncoder().encodeToString((":" + accessToken).getBytes(StandardCharsets.UTF_8)), objectMapper, HttpClients::createSystem);
+        HttpClientBuilder builder = httpClientInstrumentation.instrument(HttpClientBuilder.create().useSystemProperties(), ALM.AZURE_DEVOPS);
+        return new AzureDevopsRestClient(apiUrl, Base64.getEncoder().encodeToString((":" + accessToken).getBytes(StandardCharsets.UTF_8)), jsonCodec, builder::build);
     }
 }
@@ -20,7 +20,7 @@ package com.github.mc1arke.sonarqube.plugin.almclient.bitbucket;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.AnnotationUploadLimit;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.BitbucketConfiguration;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.BuildStatus;
@@ -54,23 +54,22 @@ import static java.lang.String.format;
 class BitbucketCloudClient implements BitbucketClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BitbucketCloudClient.class);
-    private static final MediaType APPLICATION_JSON_MEDIA_TYPE = MediaType.get("application/json");
     private static final String TITLE = "SonarQube";
     private static final String REPORTER = "SonarQube";
     private static final String LINK_TEXT = "Go to SonarQube";
 
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
     private final OkHttpClient okHttpClient;
     private final BitbucketConfiguration bitbucketConfiguration;
 
 
-    BitbucketCloudClient(ObjectMapper objectMapper, OkHttpClient okHttpClient, BitbucketConfiguration bitbucketConfiguration) {
-        this.objectMapper = objectMapper;
+    BitbucketCloudClient(JsonCodec jsonCodec, OkHttpClient okHttpClient, BitbucketConfiguration bitbucketConfiguration) {
+        this.jsonCodec = jsonCodec;
         this.okHttpClient = okHttpClient;
         this.bitbucketConfiguration = bitbucketConfiguration;
     }
 
-    static String negotiateBearerToken(String clientId, String clientSecret, ObjectMapper objectMapper, OkHttpClient okHttpClient) {
+    static String negotiateBearerToken(String clientId, String clientSecret, JsonCodec jsonCodec, OkHttpClient okHttpClient) {
         Request request = new Request.Builder()
                 .header("Authorization", "Basic " + Base64.getEncoder().encodeToString((clientId + ":" + clientSecret).getBytes(StandardCharsets.UTF_8)))
                 .url("https://bitbucket.org/site/oauth2/access_token")
@@ -78,7 +77,7 @@ class BitbucketCloudClient implements BitbucketClient {
                 .build();
 
         try (Response response = okHttpClient.newCall(request).execute()) {
-            BitbucketCloudClient.AuthToken authToken = objectMapper.readValue(response.body().string(), BitbucketCloudClient.AuthToken.class);
+            BitbucketCloudClient.AuthToken authToken = jsonCodec.read(response.body().byteStream(), BitbucketCloudClient.AuthToken.class);
             return authToken.getAccessToken();
         } catch (IOException ex) {
             throw new IllegalStateException("Could not retrieve bearer token", ex);
@@ -128,14 +127,14 @@ class BitbucketCloudClient implements BitbucketClient {
         }
 
         Request req = new Request.Builder()
-                .post(RequestBody.create(objectMapper.writeValueAsString(annotations), APPLICATION_JSON_MEDIA_TYPE))
+                .post(jsonCodec.toRequestBody(annotations))
                 .url(format("https://api.bitbucket.org/2.0/repositories/%s/%s/commit/%s/reports/%s/annotations", bitbucketConfiguration.getProject(), bitbucketConfiguration.getRepository(), commit, reportKey))
                 .build();
 
         LOGGER.info("Creating annotations on bitbucket cloud");
         LOGGER.atDebug().setMessage("Create annotations: {}").addArgument(() -> {
             try {
-                return objectMapper.writeValueAsString(annotations);
+                return jsonCodec.writeAsString(annotations);
             } catch (JsonProcessingException e) {
                 return "An error occurred whilst converting annotations to JSON: " + e.getClass().getName() + ": " + e.getMessage();
             }
@@ -157,14 +156,19 @@ class BitbucketCloudClient implements BitbucketClient {
         deleteExistingReport(commit, reportKey);
 
         String targetUrl = format("https://api.bitbucket.org/2.0/repositories/%s/%s/commit/%s/reports/%s", bitbucketConfiguration.getProject(), bitbucketConfiguration.getRepository(), commit, reportKey);
-        String body = objectMapper.writeValueAsString(codeInsightReport);
         Request req = new Request.Builder()
-                .put(RequestBody.create(body, APPLICATION_JSON_MEDIA_TYPE))
+                .put(jsonCodec.toRequestBody(codeInsightReport))
                 .url(targetUrl)
                 .build();
 
         LOGGER.info("Create report on bitbucket cloud: {}", targetUrl);
-        LOGGER.debug("Create report: {}", body);
+        LOGGER.atDebug().setMessage("Create report: {}").addArgument(() -> {
+            try {
+                return jsonCodec.writeAsString(codeInsightReport);
+            } catch (JsonProcessingException e) {
+                return "An error occurred whilst converting report to JSON: " + e.getClass().getName() + ": " + e.getMessage();
+            }
+        }).log();
 
         try (Response response = okHttpClient.newCall(req).execute()) {
             validate(response);
@@ -190,15 +194,14 @@ class BitbucketCloudClient implements BitbucketClient {
         try (Response response = okHttpClient.newCall(req).execute()) {
             validate(response);
 
-            return objectMapper.reader().forType(Repository.class)
-                    .readValue(response.body().string());
+            return jsonCodec.read(response.body().byteStream(), Repository.class);
         }
     }
 
     @Override
     public void submitBuildStatus(String commitSha, BuildStatus buildStatus) throws IOException {
         Request req = new Request.Builder()
-                .post(RequestBody.create(objectMapper.writeValueAsString(buildStatus), APPLICATION_JSON_MEDIA_TYPE))
+                .post(jsonCodec.toRequestBody(buildStatus))
                 .url(format("https://api.bitbucket.org/2.0/repositories/%s/%s/commit/%s/statuses/build", bitbucketConfiguration.getProject(), bitbucketConfiguration.getRepository(), commitSha))
                 .build();
 
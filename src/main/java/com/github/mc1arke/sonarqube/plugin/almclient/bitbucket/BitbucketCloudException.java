@@ -18,21 +18,22 @@
  */
 package com.github.mc1arke.sonarqube.plugin.almclient.bitbucket;
 
-public class BitbucketCloudException extends RuntimeException {
-    private final int code;
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
+
+public class BitbucketCloudException extends AlmResponseException {
     private final String error;
 
     BitbucketCloudException(int code, String error) {
-        this.code = code;
+        super(null, code);
         this.error = error;
     }
 
     public boolean isError(int code) {
-        return this.code == code;
+        return getStatusCode() == code;
     }
 
     @Override
     public String getMessage() {
-        return "HTTP Status Code: " + code + "; Message:" + error;
+        return "HTTP Status Code: " + getStatusCode() + "; Message:" + error;
     }
 }
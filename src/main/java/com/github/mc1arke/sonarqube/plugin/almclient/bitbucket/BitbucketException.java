@@ -18,24 +18,24 @@
  */
 package com.github.mc1arke.sonarqube.plugin.almclient.bitbucket;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.server.ErrorResponse;
 
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-public class BitbucketException extends RuntimeException {
+public class BitbucketException extends AlmResponseException {
     public static final int PAYLOAD_TOO_LARGE = 413;
 
-    private final int code;
     private final ErrorResponse errors;
 
     BitbucketException(int code, ErrorResponse errors) {
-        this.code = code;
+        super(null, code);
         this.errors = errors;
     }
 
     public boolean isError(int code) {
-        return this.code == code;
+        return getStatusCode() == code;
     }
 
     @Override
@@ -45,6 +45,6 @@ public class BitbucketException extends RuntimeException {
                 .map(e -> e.stream()
                         .map(ErrorResponse.Error::getMessage)
                         .collect(Collectors.joining(System.lineSeparator())))
-                .orElse(String.format("Bitbucket responded with an error status (%d)", code));
+                .orElse(String.format("Bitbucket responded with an error status (%d)", getStatusCode()));
     }
 }
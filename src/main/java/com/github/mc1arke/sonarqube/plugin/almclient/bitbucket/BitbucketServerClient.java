@@ -18,7 +18,7 @@
  */
 package com.github.mc1arke.sonarqube.plugin.almclient.bitbucket;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.AnnotationUploadLimit;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.BuildStatus;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.CodeInsightsAnnotation;
@@ -33,10 +33,8 @@ import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.server.Crea
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.server.CreateReportRequest;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.server.ErrorResponse;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.server.ServerProperties;
-import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import org.slf4j.Logger;
@@ -52,7 +50,6 @@ import static java.lang.String.format;
 
 class BitbucketServerClient implements BitbucketClient {
     private static final Logger LOGGER = LoggerFactory.getLogger(BitbucketServerClient.class);
-    private static final MediaType APPLICATION_JSON_MEDIA_TYPE = MediaType.get("application/json");
     private static final String TITLE = "SonarQube";
     private static final String REPORTER = "SonarQube";
     private static final String LINK_TEXT = "Go to SonarQube";
@@ -60,12 +57,12 @@ class BitbucketServerClient implements BitbucketClient {
     private static final String NO_CHECK_HEADER_VALUE = "no-check";
 
     private final BitbucketServerConfiguration config;
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
     private final OkHttpClient okHttpClient;
 
-    BitbucketServerClient(BitbucketServerConfiguration config, ObjectMapper objectMapper, OkHttpClient okHttpClient) {
+    BitbucketServerClient(BitbucketServerConfiguration config, JsonCodec jsonCodec, OkHttpClient okHttpClient) {
         this.config = config;
-        this.objectMapper = objectMapper;
+        this.jsonCodec = jsonCodec;
         this.okHttpClient = okHttpClient;
     }
 
@@ -114,7 +111,7 @@ class BitbucketServerClient implements BitbucketClient {
         Set<Annotation> annotationSet = annotations.stream().map(Annotation.class::cast).collect(Collectors.toSet());
         CreateAnnotationsRequest request = new CreateAnnotationsRequest(annotationSet);
         Request req = new Request.Builder()
-                .post(RequestBody.create(objectMapper.writeValueAsString(request), APPLICATION_JSON_MEDIA_TYPE))
+                .post(jsonCodec.toRequestBody(request))
                 .url(format("%s/rest/insights/1.0/projects/%s/repos/%s/commits/%s/reports/%s/annotations", config.getUrl(), config.getProject(), config.getRepository(), commit, reportKey))
                 .build();
         try (Response response = okHttpClient.newCall(req).execute()) {
@@ -129,9 +126,8 @@ class BitbucketServerClient implements BitbucketClient {
 
     @Override
     public void uploadReport(String commit, CodeInsightsReport codeInsightReport, String reportKey) throws IOException {
-        String body = objectMapper.writeValueAsString(codeInsightReport);
         Request req = new Request.Builder()
-                .put(RequestBody.create(body, APPLICATION_JSON_MEDIA_TYPE))
+                .put(jsonCodec.toRequestBody(codeInsightReport))
                 .url(format("%s/rest/insights/1.0/projects/%s/repos/%s/commits/%s/reports/%s", config.getUrl(), config.getProject(), config.getRepository(), commit, reportKey))
                 .build();
 
@@ -178,8 +174,7 @@ class BitbucketServerClient implements BitbucketClient {
             validate(response);
 
             try (ResponseBody responseBody = response.body()) {
-                return objectMapper.reader().forType(Repository.class)
-                        .readValue(responseBody.string());
+                return jsonCodec.read(responseBody.byteStream(), Repository.class);
             }
         }
     }
@@ -187,7 +182,7 @@ class BitbucketServerClient implements BitbucketClient {
     @Override
     public void submitBuildStatus(String commitSha, BuildStatus buildStatus) throws IOException {
         Request req = new Request.Builder()
-                .post(RequestBody.create(objectMapper.writeValueAsString(buildStatus), APPLICATION_JSON_MEDIA_TYPE))
+                .post(jsonCodec.toRequestBody(buildStatus))
                 .url(format("%s/rest/api/1.0/projects/%s/repos/%s/commits/%s/builds", config.getUrl(), config.getProject(), config.getRepository(), commitSha))
                 .build();
 
@@ -214,8 +209,7 @@ class BitbucketServerClient implements BitbucketClient {
             validate(response);
 
             try (ResponseBody responseBody = response.body()) {
-                return objectMapper.reader().forType(ServerProperties.class)
-                        .readValue(responseBody.string());
+                return jsonCodec.read(responseBody.byteStream(), ServerProperties.class);
             }
         }
     }
@@ -223,8 +217,7 @@ class BitbucketServerClient implements BitbucketClient {
     void validate(Response response) throws IOException {
         if (!response.isSuccessful()) {
             try (ResponseBody responseBody = response.body()) {
-                ErrorResponse errors = objectMapper.reader().forType(ErrorResponse.class)
-                        .readValue(responseBody.string());
+                ErrorResponse errors = jsonCodec.read(responseBody.byteStream(), ErrorResponse.class);
                 throw new BitbucketException(response.code(), errors);
             }
         }
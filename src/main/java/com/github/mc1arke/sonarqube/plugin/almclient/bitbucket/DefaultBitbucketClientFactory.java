@@ -22,6 +22,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.BitbucketConfiguration;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.server.BitbucketServerConfiguration;
 import okhttp3.OkHttpClient;
@@ -49,10 +51,15 @@ public class DefaultBitbucketClientFactory implements BitbucketClientFactory {
 
     private final HttpClientBuilderFactory httpClientBuilderFactory;
     private final Settings settings;
+    private final JsonCodec jsonCodec;
+    private final HttpClientInstrumentation httpClientInstrumentation;
 
-    public DefaultBitbucketClientFactory(Settings settings, HttpClientBuilderFactory httpClientBuilderFactory) {
+    public DefaultBitbucketClientFactory(Settings settings, HttpClientBuilderFactory httpClientBuilderFactory,
+                                         HttpClientInstrumentation httpClientInstrumentation) {
         this.httpClientBuilderFactory = httpClientBuilderFactory;
         this.settings = settings;
+        this.httpClientInstrumentation = httpClientInstrumentation;
+        this.jsonCodec = new JsonCodec(createObjectMapper());
     }
 
     @Override
@@ -60,18 +67,18 @@ public class DefaultBitbucketClientFactory implements BitbucketClientFactory {
         String almRepo = Optional.ofNullable(StringUtils.trimToNull(projectAlmSettingDto.getAlmRepo()))
                 .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.PROJECT, "ALM Repo must be set in configuration"));
 
-        ObjectMapper objectMapper = createObjectMapper();
-        OkHttpClient.Builder clientBuilder = createBaseClientBuilder(httpClientBuilderFactory);
+        ALM alm = almSettingDto.getAlm() == ALM.BITBUCKET_CLOUD ? ALM.BITBUCKET_CLOUD : ALM.BITBUCKET;
+        OkHttpClient.Builder clientBuilder = createBaseClientBuilder(alm);
 
-        if (almSettingDto.getAlm() == ALM.BITBUCKET_CLOUD) {
+        if (alm == ALM.BITBUCKET_CLOUD) {
             String appId = Optional.ofNullable(StringUtils.trimToNull(almSettingDto.getAppId()))
                     .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.GLOBAL, "App ID must be set in configuration"));
             String clientId = Optional.ofNullable(StringUtils.trimToNull(almSettingDto.getClientId()))
                     .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.GLOBAL, "Client ID must be set in configuration"));
             String clientSecret = Optional.ofNullable(StringUtils.trimToNull(almSettingDto.getDecryptedClientSecret(settings.getEncryption())))
                     .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.GLOBAL, "Client Secret must be set in configuration"));
-            String bearerToken = BitbucketCloudClient.negotiateBearerToken(clientId, clientSecret, objectMapper, clientBuilder.build());
-            return new BitbucketCloudClient(objectMapper, createAuthorisingClient(clientBuilder, bearerToken), new BitbucketConfiguration(appId, almRepo));
+            String bearerToken = BitbucketCloudClient.negotiateBearerToken(clientId, clientSecret, jsonCodec, clientBuilder.build());
+            return new BitbucketCloudClient(jsonCodec, createAuthorisingClient(clientBuilder, bearerToken), new BitbucketConfiguration(appId, almRepo));
         } else {
             String almSlug = Optional.ofNullable(StringUtils.trimToNull(projectAlmSettingDto.getAlmSlug()))
                     .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.PROJECT, "ALM slug must be set in configuration"));
@@ -79,7 +86,7 @@ public class DefaultBitbucketClientFactory implements BitbucketClientFactory {
                     .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.GLOBAL, "URL must be set in configuration"));
             String personalAccessToken = Optional.ofNullable(StringUtils.trimToNull(almSettingDto.getDecryptedPersonalAccessToken(settings.getEncryption())))
                     .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.PROJECT, "Personal access token must be set in configuration"));
-            return new BitbucketServerClient(new BitbucketServerConfiguration(almRepo, almSlug, url), objectMapper, createAuthorisingClient(clientBuilder, personalAccessToken));
+            return new BitbucketServerClient(new BitbucketServerConfiguration(almRepo, almSlug, url), jsonCodec, createAuthorisingClient(clientBuilder, personalAccessToken));
         }
     }
 
@@ -90,10 +97,13 @@ public class DefaultBitbucketClientFactory implements BitbucketClientFactory {
                 .findAndRegisterModules();
     }
 
-    private static OkHttpClient.Builder createBaseClientBuilder(HttpClientBuilderFactory httpClientBuilderFactory) {
+    private OkHttpClient.Builder createBaseClientBuilder(ALM alm) {
+        // the logging interceptor buffers every body it logs, so only log bodies when they'll actually be written out
         HttpLoggingInterceptor httpLoggingInterceptor = new HttpLoggingInterceptor(LOGGER::debug);
-        httpLoggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        return httpClientBuilderFactory.createClientBuilder().addInterceptor(httpLoggingInterceptor);
+        httpLoggingInterceptor.setLevel(LOGGER.isDebugEnabled() ? HttpLoggingInterceptor.Level.BODY : HttpLoggingInterceptor.Level.NONE);
+        return httpClientBuilderFactory.createClientBuilder()
+                .addInterceptor(httpClientInstrumentation.interceptor(alm))
+                .addInterceptor(httpLoggingInterceptor);
     }
 
     private static OkHttpClient createAuthorisingClient(OkHttpClient.Builder clientBuilder, String bearerToken) {
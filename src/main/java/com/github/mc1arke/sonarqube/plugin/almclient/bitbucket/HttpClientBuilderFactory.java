@@ -26,7 +26,13 @@ import org.sonar.api.server.ServerSide;
 @ComputeEngineSide
 public class HttpClientBuilderFactory {
 
+    private final OkHttpClient baseClient = new OkHttpClient();
+
+    /**
+     * Builders derived from one base client share its connection pool and dispatcher, so every Bitbucket client created
+     * in this process reuses open connections rather than each starting its own pool.
+     */
     public OkHttpClient.Builder createClientBuilder() {
-        return new OkHttpClient.Builder();
+        return baseClient.newBuilder();
     }
 }
@@ -38,11 +38,13 @@ import org.kohsuke.github.extras.okhttp3.OkHttpGitHubConnector;
 import org.sonar.api.ce.ComputeEngineSide;
 import org.sonar.api.config.internal.Settings;
 import org.sonar.api.server.ServerSide;
+import org.sonar.db.alm.setting.ALM;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
 
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.impl.DefaultJwtBuilder;
@@ -55,23 +57,27 @@ public class GithubClientFactory {
     private final Clock clock;
     private final Settings settings;
     private final Supplier<GitHubBuilder> gitHubBuilderSupplier;
+    private final OkHttpClient okHttpClient;
 
     @Autowired
-    public GithubClientFactory(Clock clock, Settings settings) {
-        this(clock, settings, GitHubBuilder::new);
+    public GithubClientFactory(Clock clock, Settings settings, HttpClientInstrumentation httpClientInstrumentation) {
+        this(clock, settings, httpClientInstrumentation, GitHubBuilder::new);
     }
 
-    GithubClientFactory(Clock clock, Settings settings, Supplier<GitHubBuilder> gitHubBuilderSupplier) {
+    GithubClientFactory(Clock clock, Settings settings, HttpClientInstrumentation httpClientInstrumentation, Supplier<GitHubBuilder> gitHubBuilderSupplier) {
         this.clock = clock;
         this.settings = settings;
         this.gitHubBuilderSupplier = gitHubBuilderSupplier;
+        this.okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(httpClientInstrumentation.interceptor(ALM.GITHUB))
+                .build();
     }
 
     public GitHub createClient(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto) throws IOException {
             GHAppInstallationToken repositoryAuthenticationToken = authenticate(projectAlmSettingDto, almSettingDto);
 
             return gitHubBuilderSupplier.get()
-                .withConnector(new OkHttpGitHubConnector(new OkHttpClient()))
+                .withConnector(new OkHttpGitHubConnector(okHttpClient))
                 .withEndpoint(almSettingDto.getUrl())
                 .withAppInstallationToken(repositoryAuthenticationToken.getToken())
                 .build();
@@ -104,7 +110,7 @@ public class GithubClientFactory {
         String repo = projectPath.split("/")[1];
         GitHub github = gitHubBuilderSupplier.get()
             .withEndpoint(apiUrl)
-            .withConnector(new OkHttpGitHubConnector(new OkHttpClient()))
+            .withConnector(new OkHttpGitHubConnector(okHttpClient))
             .withJwtToken(jwtToken)
             .build();
 
@@ -23,12 +23,15 @@ import java.util.Optional;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.sonar.api.ce.ComputeEngineSide;
 import org.sonar.api.config.internal.Settings;
 import org.sonar.api.server.ServerSide;
+import org.sonar.db.alm.setting.ALM;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
@@ -36,18 +39,20 @@ import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 @ComputeEngineSide
 public class DefaultGitlabClientFactory implements GitlabClientFactory {
 
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
     private final LinkHeaderReader linkHeaderReader;
     private final Settings settings;
+    private final HttpClientInstrumentation httpClientInstrumentation;
 
-    public DefaultGitlabClientFactory(LinkHeaderReader linkHeaderReader, Settings settings) {
+    public DefaultGitlabClientFactory(LinkHeaderReader linkHeaderReader, Settings settings, HttpClientInstrumentation httpClientInstrumentation) {
         super();
         this.linkHeaderReader = linkHeaderReader;
         this.settings = settings;
-        this.objectMapper = new ObjectMapper()
+        this.httpClientInstrumentation = httpClientInstrumentation;
+        this.jsonCodec = new JsonCodec(new ObjectMapper()
                 .configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
                 .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
     }
 
     @Override
@@ -61,6 +66,7 @@ public class DefaultGitlabClientFactory implements GitlabClientFactory {
                 .setConnectTimeout(30_000)
                 .setSocketTimeout(30_000)
                 .build());
-        return new GitlabRestClient(apiURL, apiToken, linkHeaderReader, objectMapper, builder::build);
+        httpClientInstrumentation.instrument(builder, ALM.GITLAB);
+        return new GitlabRestClient(apiURL, apiToken, linkHeaderReader, jsonCodec, builder::build);
     }
 }
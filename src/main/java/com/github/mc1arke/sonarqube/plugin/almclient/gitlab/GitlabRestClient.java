@@ -18,7 +18,8 @@
  */
 package com.github.mc1arke.sonarqube.plugin.almclient.gitlab;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.model.Commit;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.model.CommitNote;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.model.Discussion;
@@ -59,15 +60,15 @@ class GitlabRestClient implements GitlabClient {
 
     private final String baseGitlabApiUrl;
     private final String authToken;
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
     private final LinkHeaderReader linkHeaderReader;
     private final Supplier<CloseableHttpClient> httpClientFactory;
 
-    GitlabRestClient(String baseGitlabApiUrl, String authToken, LinkHeaderReader linkHeaderReader, ObjectMapper objectMapper, Supplier<CloseableHttpClient> httpClientFactory) {
+    GitlabRestClient(String baseGitlabApiUrl, String authToken, LinkHeaderReader linkHeaderReader, JsonCodec jsonCodec, Supplier<CloseableHttpClient> httpClientFactory) {
         this.baseGitlabApiUrl = baseGitlabApiUrl;
         this.authToken = authToken;
         this.linkHeaderReader = linkHeaderReader;
-        this.objectMapper = objectMapper;
+        this.jsonCodec = jsonCodec;
         this.httpClientFactory = httpClientFactory;
     }
 
@@ -186,7 +187,7 @@ class GitlabRestClient implements GitlabClient {
             if (null == type) {
                 return null;
             }
-            return objectMapper.readValue(EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8), type);
+            return jsonCodec.read(httpResponse.getEntity().getContent(), type);
         }
     }
 
@@ -202,8 +203,7 @@ class GitlabRestClient implements GitlabClient {
 
             responseValidator.accept(httpResponse);
 
-            List<X> entities = new ArrayList<>(objectMapper.readValue(EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8),
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, type)));
+            List<X> entities = new ArrayList<>(jsonCodec.readList(httpResponse.getEntity().getContent(), type));
 
             Optional<String> nextURL = Optional.ofNullable(httpResponse.getFirstHeader("Link"))
                     .map(NameValuePair::getValue)
@@ -236,7 +236,8 @@ class GitlabRestClient implements GitlabClient {
                 }).orElse(""))
                 .log();
 
-        throw new IllegalStateException("An unexpected response code was returned from the Gitlab API - Expected: " + expectedStatus + ", Got: " + httpResponse.getStatusLine().getStatusCode());
+        throw new AlmResponseException("An unexpected response code was returned from the Gitlab API - Expected: " + expectedStatus + ", Got: " + httpResponse.getStatusLine().getStatusCode(),
+                httpResponse.getStatusLine().getStatusCode());
 
     }
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds values per project for a fixed time, for data another process can change without this one being told, so the
+ * time to live bounds how long such a change goes unseen. Keys can come from request parameters, so both the number of
+ * projects and the number of entries per project are bounded: a project's expired entries are swept whenever one is
+ * added to it, and the entry closest to expiry is dropped if the project is still full. Other projects' expired entries
+ * are swept once the number of projects reaches its limit, and every project is dropped if none have expired by then.
+ */
+public final class ExpiringProjectCache<V> {
+
+    private final Clock clock;
+    private final long timeToLiveMillis;
+    private final int maximumProjects;
+    private final int maximumEntriesPerProject;
+    private final Map<String, Map<String, Entry<V>>> entriesByProjectUuid = new ConcurrentHashMap<>();
+    private final Map<String, Long> uncachedUntilByProjectUuid = new ConcurrentHashMap<>();
+
+    public ExpiringProjectCache(Clock clock, Duration timeToLive, int maximumProjects, int maximumEntriesPerProject) {
+        this.clock = clock;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.maximumProjects = maximumProjects;
+        this.maximumEntriesPerProject = maximumEntriesPerProject;
+    }
+
+    /**
+     * Returns the value held for the key, or loads it, holding the loaded value only if one was found. A value loaded
+     * whilst the project is invalidated, or during a hold off requested on invalidation, is returned to this caller but
+     * not held for anyone else.
+     */
+    public Optional<V> get(String projectUuid, String key, Supplier<Optional<V>> loader) {
+        long now = clock.millis();
+        if (entriesByProjectUuid.size() >= maximumProjects && !entriesByProjectUuid.containsKey(projectUuid)) {
+            evictExpired(now);
+        }
+
+        Map<String, Entry<V>> projectEntries = entriesByProjectUuid.computeIfAbsent(projectUuid, k -> new ConcurrentHashMap<>());
+        Entry<V> cached = projectEntries.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return Optional.of(cached.value());
+        }
+
+        Optional<V> value = loader.get();
+        if (isHeldOff(projectUuid, now)) {
+            return value;
+        }
+        value.ifPresentOrElse(v -> put(projectEntries, key, new Entry<>(v, now + timeToLiveMillis), now),
+                () -> projectEntries.remove(key));
+        return value;
+    }
+
+    public void invalidate(String projectUuid) {
+        entriesByProjectUuid.remove(projectUuid);
+    }
+
+    /**
+     * Invalidates the project and stops holding newly loaded values for it until the hold off has passed, for changes
+     * made in a transaction that the caller commits later, where values loaded before the commit would not include them.
+     * This is a fixed time rather than the commit itself: if the commit lands after the hold off, a value loaded in
+     * between is held as usual, so the change can go unseen until up to the time to live after the commit.
+     */
+    public void invalidateWithHoldOff(String projectUuid, Duration holdOff) {
+        uncachedUntilByProjectUuid.merge(projectUuid, clock.millis() + holdOff.toMillis(), Math::max);
+        entriesByProjectUuid.remove(projectUuid);
+    }
+
+    private boolean isHeldOff(String projectUuid, long now) {
+        Long uncachedUntil = uncachedUntilByProjectUuid.get(projectUuid);
+        if (uncachedUntil == null) {
+            return false;
+        }
+        if (uncachedUntil <= now) {
+            uncachedUntilByProjectUuid.remove(projectUuid, uncachedUntil);
+            return false;
+        }
+        return true;
+    }
+
+    private void put(Map<String, Entry<V>> projectEntries, String key, Entry<V> entry, long now) {
+        projectEntries.values().removeIf(existing -> existing.expiresAt() <= now);
+        if (projectEntries.size() >= maximumEntriesPerProject && !projectEntries.containsKey(key)) {
+            projectEntries.entrySet().stream()
+                    .min(Comparator.comparingLong(existing -> existing.getValue().expiresAt()))
+                    .ifPresent(oldest -> projectEntries.remove(oldest.getKey(), oldest.getValue()));
+        }
+        projectEntries.put(key, entry);
+    }
+
+    private void evictExpired(long now) {
+        entriesByProjectUuid.values().forEach(entries -> entries.values().removeIf(entry -> entry.expiresAt() <= now));
+        entriesByProjectUuid.values().removeIf(Map::isEmpty);
+        uncachedUntilByProjectUuid.values().removeIf(uncachedUntil -> uncachedUntil <= now);
+        if (entriesByProjectUuid.size() >= maximumProjects) {
+            entriesByProjectUuid.clear();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -24,7 +24,6 @@ import org.sonar.ce.task.projectanalysis.analysis.MutableAnalysisMetadataHolder;
 import org.sonar.ce.task.projectanalysis.component.BranchLoaderDelegate;
 import org.sonar.db.DbClient;
 import org.sonar.db.DbSession;
-import org.sonar.db.component.BranchDto;
 import org.sonar.db.component.BranchType;
 import org.sonar.scanner.protocol.output.ScannerReport;
 import org.sonar.server.project.Project;
@@ -39,30 +38,36 @@ public class CommunityBranchLoaderDelegate implements BranchLoaderDelegate {
 
     private final DbClient dbClient;
     private final MutableAnalysisMetadataHolder metadataHolder;
+    private final ProjectBranchCache projectBranchCache;
 
-    public CommunityBranchLoaderDelegate(DbClient dbClient, MutableAnalysisMetadataHolder analysisMetadataHolder) {
+    public CommunityBranchLoaderDelegate(DbClient dbClient, MutableAnalysisMetadataHolder analysisMetadataHolder,
+                                         ProjectBranchCache projectBranchCache) {
         this.dbClient = dbClient;
         this.metadataHolder = analysisMetadataHolder;
+        this.projectBranchCache = projectBranchCache;
     }
 
     @Override
     public void load(@Nonnull ScannerReport.Metadata metadata) {
-        Branch branch = load(metadata, metadataHolder.getProject(), dbClient);
+        Branch branch;
+        try (DbSession dbSession = dbClient.openSession(false)) {
+            branch = load(metadata, metadataHolder.getProject(), new BranchFinder(dbSession));
+        }
 
         metadataHolder.setBranch(branch);
         metadataHolder.setPullRequestKey(metadata.getPullRequestKey());
     }
 
-    private static Branch load(ScannerReport.Metadata metadata, Project project, DbClient dbClient) {
+    private static Branch load(ScannerReport.Metadata metadata, Project project, BranchFinder branchFinder) {
         String targetBranchName = StringUtils.trimToNull(metadata.getTargetBranchName());
         String branchName = StringUtils.trimToNull(metadata.getBranchName());
         String projectUuid = StringUtils.trimToNull(project.getUuid());
 
         if (null == branchName) {
-            Optional<BranchDto> branchDto = findBranchByUuid(projectUuid, dbClient);
+            Optional<ProjectBranchCache.BranchReference> branchDto = branchFinder.findMainBranch(projectUuid);
             if (branchDto.isPresent()) {
-                BranchDto dto = branchDto.get();
-                return new CommunityBranch(dto.getKey(), dto.getBranchType(), dto.isMain(), null, null,
+                ProjectBranchCache.BranchReference dto = branchDto.get();
+                return new CommunityBranch(dto.key(), dto.branchType(), dto.main(), null, null,
                                            targetBranchName);
             } else {
                 throw new IllegalStateException("Could not find main branch");
@@ -75,23 +80,23 @@ public class CommunityBranchLoaderDelegate implements BranchLoaderDelegate {
             }
 
             if (ScannerReport.Metadata.BranchType.PULL_REQUEST == branchType) {
-                return createPullRequest(metadata, dbClient, branchName, projectUuid, targetBranch, targetBranchName);
+                return createPullRequest(metadata, branchFinder, branchName, projectUuid, targetBranch, targetBranchName);
             } else if (ScannerReport.Metadata.BranchType.BRANCH == branchType) {
-                return createBranch(dbClient, branchName, projectUuid, targetBranch);
+                return createBranch(branchFinder, branchName, projectUuid, targetBranch);
             } else {
                 throw new IllegalStateException(String.format("Invalid branch type '%s'", branchType.name()));
             }
         }
     }
 
-    private static Branch createPullRequest(ScannerReport.Metadata metadata, DbClient dbClient, String branchName,
+    private static Branch createPullRequest(ScannerReport.Metadata metadata, BranchFinder branchFinder, String branchName,
                                             String projectUuid, String targetBranch, String targetBranchName) {
-        Optional<BranchDto> branchDto = findBranchByKey(projectUuid, targetBranch, dbClient);
+        Optional<ProjectBranchCache.BranchReference> branchDto = branchFinder.findBranch(projectUuid, targetBranch);
         if (branchDto.isPresent()) {
             String pullRequestKey = metadata.getPullRequestKey();
 
-            BranchDto dto = branchDto.get();
-            return new CommunityBranch(branchName, BranchType.PULL_REQUEST, false, dto.getUuid(), pullRequestKey,
+            ProjectBranchCache.BranchReference dto = branchDto.get();
+            return new CommunityBranch(branchName, BranchType.PULL_REQUEST, false, dto.uuid(), pullRequestKey,
                                        targetBranchName);
         } else {
             throw new IllegalStateException(
@@ -99,38 +104,57 @@ public class CommunityBranchLoaderDelegate implements BranchLoaderDelegate {
         }
     }
 
-    private static Branch createBranch(DbClient dbClient, String branchName, String projectUuid, String targetBranch) {
+    private static Branch createBranch(BranchFinder branchFinder, String branchName, String projectUuid, String targetBranch) {
+        Optional<ProjectBranchCache.BranchReference> existingBranch = branchFinder.findBranch(projectUuid, branchName);
         String targetUuid;
-        if (null == targetBranch) {
-            Optional<BranchDto> branchDto = findBranchByKey(projectUuid, branchName, dbClient);
-            if (branchDto.isPresent()) {
-                targetUuid = branchDto.get().getUuid();
-            } else {
+        if (null == targetBranch || targetBranch.equals(branchName)) {
+            if (existingBranch.isPresent()) {
+                targetUuid = existingBranch.get().uuid();
+            } else if (null == targetBranch) {
                 throw new IllegalStateException(String.format("There is no main branch for project '%s'", projectUuid));
+            } else {
+                throw new IllegalStateException(
+                        String.format("Could not find target branch '%s' in project", targetBranch));
             }
         } else {
-            Optional<BranchDto> branchDto = findBranchByKey(projectUuid, targetBranch, dbClient);
+            Optional<ProjectBranchCache.BranchReference> branchDto = branchFinder.findBranch(projectUuid, targetBranch);
             if (branchDto.isPresent()) {
-                targetUuid = branchDto.get().getUuid();
+                targetUuid = branchDto.get().uuid();
             } else {
                 throw new IllegalStateException(
                         String.format("Could not find target branch '%s' in project", targetBranch));
             }
         }
-        return new CommunityBranch(branchName, BranchType.BRANCH,
-                                   findBranchByKey(projectUuid, branchName, dbClient).map(BranchDto::isMain)
-                                           .orElse(false), targetUuid, null, null);
+        return new CommunityBranch(branchName, BranchType.BRANCH, existingBranch.map(ProjectBranchCache.BranchReference::main).orElse(false),
+                                   targetUuid, null, null);
     }
 
-    private static Optional<BranchDto> findBranchByUuid(String projectUuid, DbClient dbClient) {
-        try (DbSession dbSession = dbClient.openSession(false)) {
-            return dbClient.branchDao().selectMainBranchByProjectUuid(dbSession, projectUuid);
+    /**
+     * Resolves branches by key through the {@link ProjectBranchCache}, falling back to the session opened for the
+     * current task. A branch being analysed for the first time will be created by this task, so finding it missing
+     * drops the project's cached branches rather than letting other lookups be served from before it existed. The main
+     * branch is always read from the session, since its key may have been renamed since it was last resolved.
+     */
+    private final class BranchFinder {
+
+        private final DbSession dbSession;
+
+        private BranchFinder(DbSession dbSession) {
+            this.dbSession = dbSession;
         }
-    }
 
-    private static Optional<BranchDto> findBranchByKey(String projectUuid, String key, DbClient dbClient) {
-        try (DbSession dbSession = dbClient.openSession(false)) {
-            return dbClient.branchDao().selectByBranchKey(dbSession, projectUuid, key);
+        private Optional<ProjectBranchCache.BranchReference> findMainBranch(String projectUuid) {
+            return dbClient.branchDao().selectMainBranchByProjectUuid(dbSession, projectUuid)
+                    .map(ProjectBranchCache.BranchReference::of);
+        }
+
+        private Optional<ProjectBranchCache.BranchReference> findBranch(String projectUuid, String key) {
+            Optional<ProjectBranchCache.BranchReference> branchDto = projectBranchCache.getBranch(projectUuid, key,
+                    () -> dbClient.branchDao().selectByBranchKey(dbSession, projectUuid, key));
+            if (branchDto.isEmpty()) {
+                projectBranchCache.invalidate(projectUuid);
+            }
+            return branchDto;
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2019-2024 Michael Clarke
+ * Copyright (C) 2019-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -25,7 +25,6 @@ import org.sonar.ce.task.projectanalysis.container.ReportAnalysisComponentProvid
 
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.DefaultAzureDevopsClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.DefaultBitbucketClientFactory;
-import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.HttpClientBuilderFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.github.GithubClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultGitlabClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultLinkHeaderReader;
@@ -50,7 +49,7 @@ public class CommunityReportAnalysisComponentProvider implements ReportAnalysisC
                              PostAnalysisIssueVisitor.class, DefaultLinkHeaderReader.class, ReportGenerator.class,
                              MarkdownFormatterFactory.class,
                              GithubClientFactory.class, GithubPullRequestDecorator.class,
-                             HttpClientBuilderFactory.class, DefaultBitbucketClientFactory.class, BitbucketPullRequestDecorator.class,
+                             DefaultBitbucketClientFactory.class, BitbucketPullRequestDecorator.class,
                              DefaultGitlabClientFactory.class, GitlabMergeRequestDecorator.class,
                              DefaultAzureDevopsClientFactory.class, AzureDevOpsPullRequestDecorator.class,
                              PullRequestFixedIssuesIssueVisitor.class);
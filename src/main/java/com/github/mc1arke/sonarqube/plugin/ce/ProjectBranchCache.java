@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.sonar.api.ce.ComputeEngineSide;
+import org.sonar.db.component.BranchDto;
+import org.sonar.db.component.BranchType;
+
+import com.github.mc1arke.sonarqube.plugin.cache.ExpiringProjectCache;
+
+/**
+ * Holds the branches the Compute Engine has recently resolved by key for a project, shared by all of its workers, so
+ * consecutive tasks against the same project do not have to look up the same target branches again. Only the
+ * identifying fields of branches that were found are held, and the entries for a project are dropped whenever a task is
+ * about to create a new branch for it. Branches deleted, recreated or renamed through the web server cannot be signalled
+ * to this process, so a task may resolve a branch as it was up to {@link #TIME_TO_LIVE} earlier. The main branch is not
+ * held, since a task on it persists the key it resolves and would undo a rename made in the meantime.
+ */
+@ComputeEngineSide
+public class ProjectBranchCache {
+
+    static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+    static final int MAXIMUM_PROJECTS = 1000;
+    static final int MAXIMUM_ENTRIES_PER_PROJECT = 100;
+
+    private final ExpiringProjectCache<BranchReference> branches;
+
+    public ProjectBranchCache(Clock clock) {
+        this.branches = new ExpiringProjectCache<>(clock, TIME_TO_LIVE, MAXIMUM_PROJECTS, MAXIMUM_ENTRIES_PER_PROJECT);
+    }
+
+    public Optional<BranchReference> getBranch(String projectUuid, String branchKey, Supplier<Optional<BranchDto>> branchSupplier) {
+        return branches.get(projectUuid, branchKey, () -> branchSupplier.get().map(BranchReference::of));
+    }
+
+    public void invalidate(String projectUuid) {
+        branches.invalidate(projectUuid);
+    }
+
+    public record BranchReference(String uuid, String key, BranchType branchType, boolean main) {
+
+        static BranchReference of(BranchDto branchDto) {
+            return new BranchReference(branchDto.getUuid(), branchDto.getKey(), branchDto.getBranchType(), branchDto.isMain());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2025 Michael Clarke
+ * Copyright (C) 2020-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -19,8 +19,11 @@
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
 
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.sonar.api.ce.posttask.Analysis;
@@ -37,6 +40,7 @@ public class AnalysisDetails {
     private final List<PostAnalysisIssueVisitor.ComponentIssue> issues;
     private final QualityGate qualityGate;
     private final PostProjectAnalysisTask.ProjectAnalysis projectAnalysis;
+    private final Map<String, QualityGate.Condition> qualityGateConditionsByMetricKey;
 
     AnalysisDetails(String pullRequestId, String commitId, List<PostAnalysisIssueVisitor.ComponentIssue> issues,
                     QualityGate qualityGate, PostProjectAnalysisTask.ProjectAnalysis projectAnalysis) {
@@ -46,6 +50,7 @@ public class AnalysisDetails {
         this.issues = issues;
         this.qualityGate = qualityGate;
         this.projectAnalysis = projectAnalysis;
+        this.qualityGateConditionsByMetricKey = indexConditionsByMetricKey(qualityGate);
     }
 
     public String getPullRequestId() {
@@ -100,7 +105,7 @@ public class AnalysisDetails {
     }
 
     public Optional<QualityGate.Condition> findQualityGateCondition(String metricKey) {
-        return qualityGate.getConditions().stream().filter(c -> metricKey.equals(c.getMetricKey())).findFirst();
+        return Optional.ofNullable(qualityGateConditionsByMetricKey.get(metricKey));
     }
 
     private Analysis getAnalysis() {
@@ -111,4 +116,14 @@ public class AnalysisDetails {
         return projectAnalysis.getProject();
     }
 
+    private static Map<String, QualityGate.Condition> indexConditionsByMetricKey(QualityGate qualityGate) {
+        Map<String, QualityGate.Condition> conditions = new HashMap<>();
+        for (QualityGate.Condition condition : qualityGate.getConditions()) {
+            if (null != condition.getMetricKey()) {
+                conditions.putIfAbsent(condition.getMetricKey(), condition);
+            }
+        }
+        return Collections.unmodifiableMap(conditions);
+    }
+
 }
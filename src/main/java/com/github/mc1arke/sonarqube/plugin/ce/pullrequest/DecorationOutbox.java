@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.Startable;
+import org.sonar.api.ce.ComputeEngineSide;
+import org.sonar.server.property.InternalProperties;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records pull request decorations that still failed after being retried, so they survive a Compute Engine restart
+ * and are listed by {@code api/support/info} rather than only appearing in a task log. Entries are held in an internal
+ * property and keyed on the project and pull request, so a failure for a newer analysis of the same pull request
+ * replaces the older one, and a successful decoration of the pull request removes it. A decoration relies on the
+ * analysis report, which is removed once the analysis task finishes, so an entry is resolved by the pull request's next
+ * analysis rather than replayed. Pull requests that are deleted or never analysed again would otherwise stay forever,
+ * so entries are dropped after {@link #MAXIMUM_AGE}, and the oldest are dropped beyond {@link #MAXIMUM_ENTRIES}.
+ */
+@ComputeEngineSide
+public class DecorationOutbox implements Startable {
+
+    public static final String INTERNAL_PROPERTY_KEY = "communityBranchPlugin.decorationOutbox";
+
+    static final int MAXIMUM_ENTRIES = 500;
+    static final Duration MAXIMUM_AGE = Duration.ofDays(30);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DecorationOutbox.class);
+    private static final TypeReference<List<PendingDecoration>> PENDING_DECORATIONS_TYPE = new TypeReference<>() {
+    };
+
+    private final InternalProperties internalProperties;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Map<String, PendingDecoration> pendingDecorations;
+
+    public DecorationOutbox(InternalProperties internalProperties) {
+        this(internalProperties, Clock.systemUTC());
+    }
+
+    DecorationOutbox(InternalProperties internalProperties, Clock clock) {
+        this.internalProperties = internalProperties;
+        this.clock = clock;
+    }
+
+    @Override
+    public void start() {
+        List<PendingDecoration> pending = getPendingDecorations();
+        if (!pending.isEmpty()) {
+            LOGGER.warn("{} pull request(s) could not be decorated before the last shutdown and will be decorated by their next analysis", pending.size());
+        }
+    }
+
+    @Override
+    public void stop() {
+        // the outbox is persisted on every change, so there is nothing to flush
+    }
+
+    public synchronized List<PendingDecoration> getPendingDecorations() {
+        return List.copyOf(load().values());
+    }
+
+    public synchronized void add(PendingDecoration pendingDecoration) {
+        PendingDecoration superseded = load().put(key(pendingDecoration.projectUuid(), pendingDecoration.pullRequestId()), pendingDecoration);
+        if (null != superseded && !superseded.analysisUuid().equals(pendingDecoration.analysisUuid())) {
+            LOGGER.debug("Pending decoration of analysis {} superseded by analysis {}", superseded.analysisUuid(), pendingDecoration.analysisUuid());
+        }
+        prune();
+        persist();
+    }
+
+    public synchronized void remove(String projectUuid, String pullRequestId) {
+        if (null != load().remove(key(projectUuid, pullRequestId))) {
+            persist();
+        }
+    }
+
+    private Map<String, PendingDecoration> load() {
+        if (null == pendingDecorations) {
+            pendingDecorations = new LinkedHashMap<>();
+            try {
+                List<PendingDecoration> stored = objectMapper.readValue(internalProperties.read(INTERNAL_PROPERTY_KEY).orElse("[]"), PENDING_DECORATIONS_TYPE);
+                stored.forEach(pendingDecoration -> pendingDecorations.put(key(pendingDecoration.projectUuid(), pendingDecoration.pullRequestId()), pendingDecoration));
+            } catch (JsonProcessingException | RuntimeException ex) {
+                LOGGER.warn("Could not read pending pull request decorations, they will be discarded", ex);
+            }
+            if (prune()) {
+                persist();
+            }
+        }
+        return pendingDecorations;
+    }
+
+    private boolean prune() {
+        long oldestRetainedFailure = clock.millis() - MAXIMUM_AGE.toMillis();
+        boolean pruned = pendingDecorations.values().removeIf(pendingDecoration -> pendingDecoration.failedAt() < oldestRetainedFailure);
+        while (pendingDecorations.size() > MAXIMUM_ENTRIES) {
+            pendingDecorations.values().stream()
+                    .min(Comparator.comparingLong(PendingDecoration::failedAt))
+                    .ifPresent(oldest -> pendingDecorations.remove(key(oldest.projectUuid(), oldest.pullRequestId())));
+            pruned = true;
+        }
+        return pruned;
+    }
+
+    private void persist() {
+        try {
+            internalProperties.write(INTERNAL_PROPERTY_KEY, objectMapper.writeValueAsString(new ArrayList<>(pendingDecorations.values())));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            LOGGER.warn("Could not persist pending pull request decorations", ex);
+        }
+    }
+
+    private static String key(String projectUuid, String pullRequestId) {
+        return projectUuid + ":" + pullRequestId;
+    }
+
+    public record PendingDecoration(String projectUuid, String projectKey, String pullRequestId, String analysisUuid,
+                                    String commitSha, String alm, int attempts, long failedAt, String failure) {
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+
+/**
+ * Times the phases of a single decoration so a slow decoration can be attributed to the calls made to the ALM or to the
+ * work done locally. A phase is recorded when it completes or fails, so a decoration that fails part way through still
+ * reports the phases it reached.
+ */
+final class DecorationPhases {
+
+    private final Map<String, Duration> durations = new LinkedHashMap<>();
+
+    <T> T time(String phase, Supplier<T> action) {
+        long startTime = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            durations.merge(phase, Duration.ofNanos(System.nanoTime() - startTime), Duration::plus);
+        }
+    }
+
+    void run(String phase, Runnable action) {
+        time(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    void recordTo(PluginStatistics pluginStatistics, String prefix) {
+        durations.forEach((phase, duration) -> pluginStatistics.record(prefix + "." + phase, duration));
+    }
+
+    @Override
+    public String toString() {
+        return durations.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue().toMillis() + "ms")
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -18,15 +18,19 @@
  */
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.DecorationDeadline;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisIssueSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.ReportGenerator;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.utils.URLEncodedUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.sonar.ce.task.projectanalysis.scm.Changeset;
 import org.sonar.ce.task.projectanalysis.scm.ScmInfoRepository;
 import org.sonar.db.alm.setting.AlmSettingDto;
@@ -39,6 +43,7 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -56,68 +61,118 @@ public abstract class DiscussionAwarePullRequestDecorator<C, P, U, D, N> impleme
     private static final String VIEW_IN_SONARQUBE_LABEL = "View in SonarQube";
     private static final Pattern NOTE_MARKDOWN_VIEW_LINK_PATTERN = Pattern.compile("^\\[" + VIEW_IN_SONARQUBE_LABEL + "]\\((.*?)\\)$");
     private static final String DECORATOR_SUMMARY_COMMENT = "decorator-summary-comment";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiscussionAwarePullRequestDecorator.class);
 
     private final ScmInfoRepository scmInfoRepository;
     private final ReportGenerator reportGenerator;
+    private final PluginStatistics pluginStatistics;
 
-    protected DiscussionAwarePullRequestDecorator(ScmInfoRepository scmInfoRepository, ReportGenerator reportGenerator) {
+    protected DiscussionAwarePullRequestDecorator(ScmInfoRepository scmInfoRepository, ReportGenerator reportGenerator,
+                                                  PluginStatistics pluginStatistics) {
         super();
         this.scmInfoRepository = scmInfoRepository;
         this.reportGenerator = reportGenerator;
+        this.pluginStatistics = pluginStatistics;
     }
 
     @Override
     public DecorationResult decorateQualityGateStatus(AnalysisDetails analysis, AlmSettingDto almSettingDto,
                                                       ProjectAlmSettingDto projectAlmSettingDto) {
-        C client = createClient(almSettingDto, projectAlmSettingDto);
-        
-        P pullRequest = getPullRequest(client, almSettingDto, projectAlmSettingDto, analysis);
+        DecorationPhases phases = new DecorationPhases();
+        try {
+            return decorateQualityGateStatus(analysis, almSettingDto, projectAlmSettingDto, phases);
+        } finally {
+            LOGGER.atInfo().setMessage("Decoration phases for pull request {}: {}")
+                    .addArgument(analysis::getPullRequestId)
+                    .addArgument(phases)
+                    .log();
+            phases.recordTo(pluginStatistics, alm().stream()
+                    .findFirst()
+                    .map(alm -> "decorations." + alm.name().toLowerCase(Locale.ENGLISH) + ".phases")
+                    .orElse("decorations.phases"));
+        }
+    }
+
+    private DecorationResult decorateQualityGateStatus(AnalysisDetails analysis, AlmSettingDto almSettingDto,
+                                                       ProjectAlmSettingDto projectAlmSettingDto, DecorationPhases phases) {
+        C client = phases.time("create_client", () -> createClient(almSettingDto, projectAlmSettingDto));
+
+        P pullRequest = phases.time("fetch_pull_request", () -> getPullRequest(client, almSettingDto, projectAlmSettingDto, analysis));
 
         if (isInlineCommentsEnabled(projectAlmSettingDto)) {
-            U user = getCurrentUser(client);
-
-            List<PostAnalysisIssueVisitor.ComponentIssue> openSonarqubeIssues = analysis.getScmReportableIssues();
-
-            List<Triple<D, N, Optional<ProjectIssueIdentifier>>> currentProjectSonarqubeComments = findOpenSonarqubeComments(client,
-                    pullRequest,
-                    user)
-                    .stream()
-                    .filter(comment -> !projectAlmSettingDto.getMonorepo() || isCommentFromCurrentProject(comment, analysis.getAnalysisProjectKey()))
-                    .toList();
-
-            List<String> commentKeysForOpenComments = closeOldDiscussionsAndExtractRemainingKeys(client,
-                    user,
-                    currentProjectSonarqubeComments,
-                    openSonarqubeIssues,
-                    pullRequest);
-
-            List<String> commitIds = getCommitIdsForPullRequest(client, pullRequest);
-            List<Pair<PostAnalysisIssueVisitor.ComponentIssue, String>> uncommentedIssues = findIssuesWithoutComments(openSonarqubeIssues,
-                    commentKeysForOpenComments)
-                    .stream()
-                    .map(DiscussionAwarePullRequestDecorator::loadScmPathsForIssues)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .filter(issue -> isIssueFromCommitInCurrentRequest(issue.getLeft(), commitIds, scmInfoRepository))
-                    .toList();
-
-            uncommentedIssues.forEach(issue -> submitCommitNoteForIssue(client,
-                    pullRequest,
-                    issue.getLeft(),
-                    issue.getRight(),
-                    analysis,
-                    reportGenerator.createAnalysisIssueSummary(issue.getLeft(), analysis)));
+            decorateIssues(client, pullRequest, analysis, projectAlmSettingDto, phases);
         }
 
-        AnalysisSummary analysisSummary = reportGenerator.createAnalysisSummary(analysis);
-        submitSummaryNote(client, pullRequest, analysis, analysisSummary);
-        submitPipelineStatus(client, pullRequest, analysis, analysisSummary, projectAlmSettingDto);
+        AnalysisSummary analysisSummary = phases.time("generate_report", () -> reportGenerator.createAnalysisSummary(analysis));
+        phases.run("post_summary", () -> submitSummaryNote(client, pullRequest, analysis, analysisSummary));
+        phases.run("pipeline_status", () -> submitPipelineStatus(client, pullRequest, analysis, analysisSummary, projectAlmSettingDto));
 
         DecorationResult.Builder builder = DecorationResult.builder();
         createFrontEndUrl(pullRequest, analysis).ifPresent(builder::withPullRequestUrl);
         return builder.build();
     }
 
+    private void decorateIssues(C client, P pullRequest, AnalysisDetails analysis, ProjectAlmSettingDto projectAlmSettingDto,
+                                DecorationPhases phases) {
+        if (DecorationDeadline.isExceeded()) {
+            LOGGER.warn("Decoration deadline passed, skipping inline comments for pull request {}", analysis.getPullRequestId());
+            return;
+        }
+
+        U user = phases.time("fetch_user", () -> getCurrentUser(client));
+
+        List<PostAnalysisIssueVisitor.ComponentIssue> openSonarqubeIssues = analysis.getScmReportableIssues();
+
+        List<Triple<D, N, Optional<ProjectIssueIdentifier>>> currentProjectSonarqubeComments = phases.time("fetch_discussions", () -> findOpenSonarqubeComments(client,
+                pullRequest,
+                user)
+                .stream()
+                .filter(comment -> !projectAlmSettingDto.getMonorepo() || isCommentFromCurrentProject(comment, analysis.getAnalysisProjectKey()))
+                .toList());
+
+        List<String> commentKeysForOpenComments = phases.time("reconcile_discussions", () -> closeOldDiscussionsAndExtractRemainingKeys(client,
+                user,
+                currentProjectSonarqubeComments,
+                openSonarqubeIssues,
+                pullRequest));
+
+        if (DecorationDeadline.isExceeded()) {
+            LOGGER.warn("Decoration deadline passed, skipping inline comments for pull request {}", analysis.getPullRequestId());
+            return;
+        }
+
+        List<String> commitIds = phases.time("fetch_commits", () -> getCommitIdsForPullRequest(client, pullRequest));
+        List<Pair<PostAnalysisIssueVisitor.ComponentIssue, String>> uncommentedIssues = phases.time("match_issues", () -> findIssuesWithoutComments(openSonarqubeIssues,
+                commentKeysForOpenComments)
+                .stream()
+                .map(DiscussionAwarePullRequestDecorator::loadScmPathsForIssues)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .filter(issue -> isIssueFromCommitInCurrentRequest(issue.getLeft(), commitIds, scmInfoRepository))
+                .toList());
+
+        List<AnalysisIssueSummary> issueSummaries = phases.time("generate_report", () -> uncommentedIssues.stream()
+                .map(issue -> reportGenerator.createAnalysisIssueSummary(issue.getLeft(), analysis))
+                .toList());
+
+        phases.run("post_comments", () -> {
+            for (int i = 0; i < uncommentedIssues.size(); i++) {
+                if (DecorationDeadline.isExceeded()) {
+                    LOGGER.warn("Decoration deadline passed, skipping the remaining {} inline comments for pull request {}",
+                            uncommentedIssues.size() - i, analysis.getPullRequestId());
+                    break;
+                }
+                Pair<PostAnalysisIssueVisitor.ComponentIssue, String> issue = uncommentedIssues.get(i);
+                submitCommitNoteForIssue(client,
+                        pullRequest,
+                        issue.getLeft(),
+                        issue.getRight(),
+                        analysis,
+                        issueSummaries.get(i));
+            }
+        });
+    }
+
     protected abstract boolean isInlineCommentsEnabled(ProjectAlmSettingDto projectAlmSettingDto);
 
     protected abstract C createClient(AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto);
@@ -208,6 +263,7 @@ public abstract class DiscussionAwarePullRequestDecorator<C, P, U, D, N> impleme
                 .toList();
 
         List<String> remainingCommentKeys = new ArrayList<>();
+        int skippedDiscussions = 0;
 
         for (Triple<D, N, Optional<ProjectIssueIdentifier>> openSonarqubeComment : openSonarqubeComments) {
             Optional<ProjectIssueIdentifier> noteIdentifier = openSonarqubeComment.getRight();
@@ -217,7 +273,10 @@ public abstract class DiscussionAwarePullRequestDecorator<C, P, U, D, N> impleme
             }
 
             String issueKey = noteIdentifier.get().getIssueKey();
-            if (DECORATOR_SUMMARY_COMMENT.equals(issueKey)) {
+            boolean outdated = DECORATOR_SUMMARY_COMMENT.equals(issueKey) || !openIssueKeys.contains(issueKey);
+            if (outdated && DecorationDeadline.isExceeded()) {
+                skippedDiscussions++;
+            } else if (DECORATOR_SUMMARY_COMMENT.equals(issueKey)) {
                 deleteOrPlaceFinalCommentOnDiscussion(client, currentUser, discussion, pullRequest);
             } else if (!openIssueKeys.contains(issueKey)) {
                 resolveOrPlaceFinalCommentOnDiscussion(client, currentUser, discussion, pullRequest);
@@ -226,6 +285,9 @@ public abstract class DiscussionAwarePullRequestDecorator<C, P, U, D, N> impleme
             }
         }
 
+        if (skippedDiscussions > 0) {
+            LOGGER.warn("Decoration deadline passed, leaving {} outdated discussions open", skippedDiscussions);
+        }
         return remainingCommentKeys;
     }
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.Startable;
+import org.sonar.api.ce.ComputeEngineSide;
+import org.sonar.api.config.Configuration;
+import org.sonar.ce.task.projectanalysis.component.Component;
+
+import com.github.mc1arke.sonarqube.plugin.CommunityBranchPlugin;
+
+/**
+ * Builds the annotations for a decoration's issues, splitting large issue lists across a pool shared by every Compute
+ * Engine worker so the threads are created once per process rather than once per decoration. The pool is sized to the
+ * configured parallelism when first needed, and replaced if that setting has changed since. A replaced pool, or the
+ * pool in use when this component stops, is only shut down once the builds holding it have finished, so a build is
+ * never handed a pool that rejects its work.
+ */
+@ComputeEngineSide
+public class IssueAnnotationBuilder implements Startable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IssueAnnotationBuilder.class);
+
+    static final int MINIMUM_PARALLEL_ISSUE_COUNT = 500;
+    private static final int MAXIMUM_PARTITION_SIZE = 250;
+
+    private final Configuration configuration;
+    private SharedPool pool;
+    private boolean stopped;
+
+    public IssueAnnotationBuilder(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public void start() {
+        // the pool is created by the first build that runs in parallel
+    }
+
+    @Override
+    public synchronized void stop() {
+        stopped = true;
+        if (null != pool) {
+            pool.retire();
+            pool = null;
+        }
+    }
+
+    public <T> List<T> build(List<PostAnalysisIssueVisitor.ComponentIssue> issues, Function<PostAnalysisIssueVisitor.ComponentIssue, T> annotationFactory) {
+        int parallelism = getParallelism();
+        if (parallelism <= 1 || issues.size() < MINIMUM_PARALLEL_ISSUE_COUNT) {
+            return issues.stream().map(annotationFactory).toList();
+        }
+
+        SharedPool sharedPool = acquirePool(parallelism);
+        if (null == sharedPool) {
+            return issues.stream().map(annotationFactory).toList();
+        }
+
+        LOGGER.debug("Building annotations for {} issues with parallelism {}", issues.size(), parallelism);
+        Object[] annotations = new Object[issues.size()];
+        List<int[]> partitions = partitionByComponent(issues);
+        try {
+            sharedPool.forkJoinPool.invoke(new BuildAnnotationsAction(issues, annotationFactory, annotations, partitions));
+        } finally {
+            releasePool(sharedPool);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) (List<?>) Arrays.asList(annotations);
+        return Collections.unmodifiableList(result);
+    }
+
+    private synchronized SharedPool acquirePool(int parallelism) {
+        if (stopped) {
+            // builds started while the Compute Engine shuts down run on the calling thread instead
+            return null;
+        }
+        if (null == pool || pool.forkJoinPool.getParallelism() != parallelism) {
+            if (null != pool) {
+                pool.retire();
+            }
+            pool = new SharedPool(new ForkJoinPool(parallelism));
+        }
+        pool.users++;
+        return pool;
+    }
+
+    private synchronized void releasePool(SharedPool sharedPool) {
+        sharedPool.users--;
+        sharedPool.shutdownIfIdle();
+    }
+
+    private int getParallelism() {
+        if (!configuration.getBoolean(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED).orElse(false)) {
+            return 1;
+        }
+        return configuration.getInt(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM)
+                .filter(value -> value > 0)
+                .orElseGet(() -> Runtime.getRuntime().availableProcessors());
+    }
+
+    private static List<int[]> partitionByComponent(List<PostAnalysisIssueVisitor.ComponentIssue> issues) {
+        Map<Component, List<Integer>> indexesByComponent = new LinkedHashMap<>();
+        for (int i = 0; i < issues.size(); i++) {
+            indexesByComponent.computeIfAbsent(issues.get(i).getComponent(), k -> new ArrayList<>()).add(i);
+        }
+
+        List<int[]> partitions = new ArrayList<>();
+        for (List<Integer> indexes : indexesByComponent.values()) {
+            for (int start = 0; start < indexes.size(); start += MAXIMUM_PARTITION_SIZE) {
+                partitions.add(indexes.subList(start, Math.min(start + MAXIMUM_PARTITION_SIZE, indexes.size())).stream()
+                        .mapToInt(Integer::intValue)
+                        .toArray());
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Counts the builds running on a pool, so a pool that is no longer handed out is shut down once the last of them
+     * finishes. Only accessed while holding the builder's lock.
+     */
+    private static final class SharedPool {
+
+        private final ForkJoinPool forkJoinPool;
+        private int users;
+        private boolean retired;
+
+        private SharedPool(ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+        }
+
+        private void retire() {
+            retired = true;
+            shutdownIfIdle();
+        }
+
+        private void shutdownIfIdle() {
+            if (retired && users == 0) {
+                forkJoinPool.shutdown();
+            }
+        }
+    }
+
+    private static final class BuildAnnotationsAction extends RecursiveAction {
+
+        private final transient List<PostAnalysisIssueVisitor.ComponentIssue> issues;
+        private final transient Function<PostAnalysisIssueVisitor.ComponentIssue, ?> annotationFactory;
+        private final transient Object[] annotations;
+        private final transient List<int[]> partitions;
+
+        private BuildAnnotationsAction(List<PostAnalysisIssueVisitor.ComponentIssue> issues,
+                                       Function<PostAnalysisIssueVisitor.ComponentIssue, ?> annotationFactory,
+                                       Object[] annotations, List<int[]> partitions) {
+            this.issues = issues;
+            this.annotationFactory = annotationFactory;
+            this.annotations = annotations;
+            this.partitions = partitions;
+        }
+
+        @Override
+        protected void compute() {
+            if (partitions.size() == 1) {
+                for (int index : partitions.get(0)) {
+                    annotations[index] = annotationFactory.apply(issues.get(index));
+                }
+                return;
+            }
+            int middle = partitions.size() / 2;
+            invokeAll(new BuildAnnotationsAction(issues, annotationFactory, annotations, partitions.subList(0, middle)),
+                    new BuildAnnotationsAction(issues, annotationFactory, annotations, partitions.subList(middle, partitions.size())));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import org.sonar.api.ce.ComputeEngineSide;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.ce.CeQueueDto;
+import org.sonar.db.component.BranchDto;
+
+import java.util.Optional;
+
+/**
+ * Checks the Compute Engine queue for a newer analysis of a pull request, so a decoration for an older analysis can be
+ * skipped, or stop retrying, once a newer one has been submitted. Only the newest commit's result is shown on a pull
+ * request, so decorating older analyses only adds traffic to the ALM. The Compute Engine runs one task at a time for a
+ * project, and decoration runs inside the analysis task, so a newer analysis of the same pull request can only be
+ * pending while a decoration runs, never running alongside it.
+ */
+@ComputeEngineSide
+public class PullRequestAnalysisQueue {
+
+    private final DbClient dbClient;
+
+    public PullRequestAnalysisQueue(DbClient dbClient) {
+        this.dbClient = dbClient;
+    }
+
+    public boolean isNewerAnalysisQueued(String projectUuid, String pullRequestKey) {
+        try (DbSession dbSession = dbClient.openSession(false)) {
+            Optional<String> branchUuid = dbClient.branchDao().selectByPullRequestKey(dbSession, projectUuid, pullRequestKey)
+                    .map(BranchDto::getUuid);
+            // the task running this decoration is in progress, so any pending task for the same pull request is newer
+            return branchUuid.isPresent() && dbClient.ceQueueDao().selectByEntityUuid(dbSession, projectUuid).stream()
+                    .anyMatch(task -> task.getStatus() == CeQueueDto.Status.PENDING && branchUuid.get().equals(task.getComponentUuid()));
+        }
+    }
+}
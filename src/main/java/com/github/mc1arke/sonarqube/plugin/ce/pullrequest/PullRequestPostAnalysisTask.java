@@ -18,12 +18,19 @@
  */
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
 
+import com.github.mc1arke.sonarqube.plugin.CommunityBranchPlugin;
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
+import com.github.mc1arke.sonarqube.plugin.almclient.DecorationDeadline;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.ce.posttask.Analysis;
 import org.sonar.api.ce.posttask.Branch;
 import org.sonar.api.ce.posttask.PostProjectAnalysisTask;
 import org.sonar.api.ce.posttask.QualityGate;
+import org.sonar.api.config.Configuration;
 import org.sonar.db.DbClient;
 import org.sonar.db.DbSession;
 import org.sonar.db.alm.setting.ALM;
@@ -33,23 +40,41 @@ import org.sonar.db.component.BranchDao;
 import org.sonar.db.component.BranchDto;
 import org.sonar.db.protobuf.DbProjectBranches;
 
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 public class PullRequestPostAnalysisTask implements PostProjectAnalysisTask {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PullRequestPostAnalysisTask.class);
+    private static final int DEFAULT_RETRY_ATTEMPTS = 3;
+    private static final int DEFAULT_RETRY_INITIAL_DELAY_SECONDS = 5;
+    private static final int DEFAULT_TIMEOUT_SECONDS = 600;
 
     private final List<PullRequestBuildStatusDecorator> pullRequestDecorators;
     private final PostAnalysisIssueVisitor postAnalysisIssueVisitor;
     private final DbClient dbClient;
+    private final PluginStatistics pluginStatistics;
+    private final Configuration configuration;
+    private final DecorationOutbox decorationOutbox;
+    private final PullRequestAnalysisQueue pullRequestAnalysisQueue;
 
     public PullRequestPostAnalysisTask(List<PullRequestBuildStatusDecorator> pullRequestDecorators,
-                                       PostAnalysisIssueVisitor postAnalysisIssueVisitor, DbClient dbClient) {
+                                       PostAnalysisIssueVisitor postAnalysisIssueVisitor, DbClient dbClient,
+                                       PluginStatistics pluginStatistics, Configuration configuration,
+                                       DecorationOutbox decorationOutbox,
+                                       PullRequestAnalysisQueue pullRequestAnalysisQueue) {
         super();
         this.pullRequestDecorators = pullRequestDecorators;
         this.postAnalysisIssueVisitor = postAnalysisIssueVisitor;
         this.dbClient = dbClient;
+        this.pluginStatistics = pluginStatistics;
+        this.configuration = configuration;
+        this.decorationOutbox = decorationOutbox;
+        this.pullRequestAnalysisQueue = pullRequestAnalysisQueue;
     }
 
     @Override
@@ -136,11 +161,109 @@ public class PullRequestPostAnalysisTask implements PostProjectAnalysisTask {
 
         PullRequestBuildStatusDecorator pullRequestDecorator = optionalPullRequestDecorator.get();
         LOGGER.info("Using pull request decorator {}", pullRequestDecorator.getClass().getName());
-        DecorationResult decorationResult = pullRequestDecorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto);
+        String statisticsPrefix = "decorations." + almSettingDto.getAlm().name().toLowerCase(Locale.ENGLISH);
+        pluginStatistics.add("issues.processed", analysisDetails.getIssues().size());
+        String projectUuid = projectAnalysis.getProject().getUuid();
+        if (pullRequestAnalysisQueue.isNewerAnalysisQueued(projectUuid, optionalPullRequestId.get())) {
+            LOGGER.info("Skipping decoration of pull request {} since a newer analysis of it is queued", optionalPullRequestId.get());
+            pluginStatistics.increment(statisticsPrefix + ".superseded");
+            pluginStatistics.publish();
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        AttemptCounter attempts = new AttemptCounter();
+        Optional<DecorationResult> decorationResult;
+        try {
+            int timeoutSeconds = configuration.getInt(CommunityBranchPlugin.DECORATION_TIMEOUT).orElse(DEFAULT_TIMEOUT_SECONDS);
+            if (timeoutSeconds > 0) {
+                decorationResult = DecorationDeadline.callWithin(Duration.ofSeconds(timeoutSeconds),
+                        () -> decorate(pullRequestDecorator, analysisDetails, almSettingDto, projectAlmSettingDto, statisticsPrefix, projectUuid, attempts));
+            } else {
+                decorationResult = decorate(pullRequestDecorator, analysisDetails, almSettingDto, projectAlmSettingDto, statisticsPrefix, projectUuid, attempts);
+            }
+            if (decorationResult.isPresent()) {
+                pluginStatistics.increment(statisticsPrefix + ".succeeded");
+                decorationOutbox.remove(projectUuid, analysisDetails.getPullRequestId());
+            } else {
+                pluginStatistics.increment(statisticsPrefix + ".superseded");
+            }
+        } catch (RuntimeException ex) {
+            pluginStatistics.increment(statisticsPrefix + ".failed");
+            decorationOutbox.add(new DecorationOutbox.PendingDecoration(projectUuid, analysisDetails.getAnalysisProjectKey(),
+                    analysisDetails.getPullRequestId(), analysisDetails.getAnalysisId(), commitId, almSettingDto.getAlm().name(),
+                    attempts.count(), System.currentTimeMillis(), String.valueOf(ex.getMessage())));
+            throw ex;
+        } finally {
+            pluginStatistics.record(statisticsPrefix, Duration.ofNanos(System.nanoTime() - startTime));
+            pluginStatistics.publish();
+        }
 
-        decorationResult.getPullRequestUrl().ifPresent(pullRequestUrl -> persistPullRequestUrl(pullRequestUrl, projectAnalysis, optionalPullRequestId.get()));
+        decorationResult.flatMap(DecorationResult::getPullRequestUrl)
+                .ifPresent(pullRequestUrl -> persistPullRequestUrl(pullRequestUrl, projectAnalysis, optionalPullRequestId.get()));
     }
 
+    /**
+     * Retries decorations that failed talking to the ALM, doubling the delay after each attempt, since the analysis
+     * report the decoration is built from is removed once this task finishes and the decoration can't be repeated later.
+     * Only failures that are likely to pass are retried, such as a gateway error or the ALM not being reachable, and retrying stops
+     * without a result if a newer analysis of the pull request has been queued by the time the next attempt is due, or with the last
+     * failure if the decoration's deadline would pass before the next attempt.
+     */
+    private Optional<DecorationResult> decorate(PullRequestBuildStatusDecorator pullRequestDecorator, AnalysisDetails analysisDetails,
+                                                AlmSettingDto almSettingDto, ProjectAlmSettingDto projectAlmSettingDto,
+                                                String statisticsPrefix, String projectUuid, AttemptCounter attempts) {
+        int maximumRetries = Math.max(0, configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_ATTEMPTS).orElse(DEFAULT_RETRY_ATTEMPTS));
+        long delayMillis = Duration.ofSeconds(Math.max(0, configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_INITIAL_DELAY)
+                .orElse(DEFAULT_RETRY_INITIAL_DELAY_SECONDS))).toMillis();
+        while (true) {
+            attempts.increment();
+            try {
+                return Optional.of(pullRequestDecorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto));
+            } catch (RuntimeException ex) {
+                if (attempts.count() > maximumRetries || !isTransientFailure(ex)) {
+                    throw ex;
+                }
+                long retryDelayMillis = delayMillis;
+                if (DecorationDeadline.remaining().filter(remaining -> remaining.toMillis() <= retryDelayMillis).isPresent()) {
+                    LOGGER.warn("Not retrying decoration of pull request {} since its deadline would pass before the next attempt", analysisDetails.getPullRequestId());
+                    throw ex;
+                }
+                LOGGER.warn("Could not decorate pull request {} on attempt {}, retrying in {}ms", analysisDetails.getPullRequestId(), attempts.count(), delayMillis, ex);
+                pluginStatistics.increment(statisticsPrefix + ".retried");
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+                if (pullRequestAnalysisQueue.isNewerAnalysisQueued(projectUuid, analysisDetails.getPullRequestId())) {
+                    LOGGER.info("Not retrying decoration of pull request {} since a newer analysis of it has been queued", analysisDetails.getPullRequestId());
+                    return Optional.empty();
+                }
+                delayMillis *= 2;
+            }
+        }
+    }
+
+    /**
+     * Treats server errors and rate limiting as transient, along with the ALM not accepting a connection or not
+     * responding in time. Any other response, such as a missing pull request or rejected credentials, would fail the
+     * same way on every attempt. Decorators wrap the client's failure, so the first failure in the chain that carries
+     * one of these outcomes decides.
+     */
+    private static boolean isTransientFailure(Throwable failure) {
+        for (Throwable cause = failure; null != cause; cause = cause.getCause()) {
+            if (cause instanceof AlmResponseException almResponseException) {
+                return almResponseException.isTransient();
+            }
+            if (cause instanceof ConnectException || cause instanceof SocketTimeoutException
+                    || cause instanceof ConnectTimeoutException || cause instanceof NoHttpResponseException) {
+                return true;
+            }
+        }
+        return false;
+    }
 
     private static Optional<PullRequestBuildStatusDecorator> findCurrentPullRequestStatusDecorator(
             AlmSettingDto almSetting, List<PullRequestBuildStatusDecorator> pullRequestDecorators) {
@@ -171,4 +294,20 @@ public class PullRequestPostAnalysisTask implements PostProjectAnalysisTask {
             }
         }
     }
+
+    /**
+     * Counts the attempts made at a decoration, so the count is still available when the last attempt fails.
+     */
+    private static final class AttemptCounter {
+
+        private int count;
+
+        void increment() {
+            count++;
+        }
+
+        int count() {
+            return count;
+        }
+    }
 }
@@ -60,6 +60,7 @@ import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.MarkdownFormatt
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisIssueSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.ReportGenerator;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 
 public class AzureDevOpsPullRequestDecorator extends DiscussionAwarePullRequestDecorator<AzureDevopsClient, PullRequest, String, CommentThread, Comment> implements PullRequestBuildStatusDecorator {
 
@@ -70,8 +71,9 @@ public class AzureDevOpsPullRequestDecorator extends DiscussionAwarePullRequestD
 
     public AzureDevOpsPullRequestDecorator(ScmInfoRepository scmInfoRepository,
                                            AzureDevopsClientFactory azureDevopsClientFactory,
-                                           ReportGenerator reportGenerator, MarkdownFormatterFactory markdownFormatterFactory) {
-        super(scmInfoRepository, reportGenerator);
+                                           ReportGenerator reportGenerator, MarkdownFormatterFactory markdownFormatterFactory,
+                                           PluginStatistics pluginStatistics) {
+        super(scmInfoRepository, reportGenerator, pluginStatistics);
         this.azureDevopsClientFactory = azureDevopsClientFactory;
         this.markdownFormatterFactory = markdownFormatterFactory;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2025 Mathias Åhsberg, Michael Clarke
+ * Copyright (C) 2020-2026 Mathias Åhsberg, Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -41,6 +41,7 @@ import org.sonar.db.alm.setting.ALM;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.DecorationDeadline;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.BitbucketClient;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.BitbucketClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.BitbucketException;
@@ -53,6 +54,7 @@ import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.ReportData;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.ReportStatus;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationResult;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestBuildStatusDecorator;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisIssueSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
@@ -68,10 +70,13 @@ public class BitbucketPullRequestDecorator implements PullRequestBuildStatusDeco
 
     private final BitbucketClientFactory bitbucketClientFactory;
     private final ReportGenerator reportGenerator;
+    private final IssueAnnotationBuilder issueAnnotationBuilder;
 
-    public BitbucketPullRequestDecorator(BitbucketClientFactory bitbucketClientFactory, ReportGenerator reportGenerator) {
+    public BitbucketPullRequestDecorator(BitbucketClientFactory bitbucketClientFactory, ReportGenerator reportGenerator,
+                                         IssueAnnotationBuilder issueAnnotationBuilder) {
         this.bitbucketClientFactory = bitbucketClientFactory;
         this.reportGenerator = reportGenerator;
+        this.issueAnnotationBuilder = issueAnnotationBuilder;
     }
 
     @Override
@@ -106,7 +111,7 @@ public class BitbucketPullRequestDecorator implements PullRequestBuildStatusDeco
                 client.submitBuildStatus(analysisDetails.getCommitSha(),buildStatus);
             }
         } catch (IOException e) {
-            LOGGER.error("Could not decorate pull request for project {}", analysisDetails.getAnalysisProjectKey(), e);
+            throw new IllegalStateException("Could not decorate pull request for project " + analysisDetails.getAnalysisProjectKey(), e);
         }
 
         return DEFAULT_DECORATION_RESULT;
@@ -140,8 +145,8 @@ public class BitbucketPullRequestDecorator implements PullRequestBuildStatusDeco
 
         AnnotationUploadLimit uploadLimit = client.getAnnotationUploadLimit();
 
-        Map<Integer, Set<CodeInsightsAnnotation>> annotationChunks = analysisDetails.getScmReportableIssues().stream()
-                .map(componentIssue -> {
+        List<CodeInsightsAnnotation> annotations = issueAnnotationBuilder.build(analysisDetails.getScmReportableIssues(),
+                componentIssue -> {
                     String path = componentIssue.getComponent().getReportAttributes().getScmPath().orElseThrow();
                     AnalysisIssueSummary analysisIssueSummary = reportGenerator.createAnalysisIssueSummary(componentIssue, analysisDetails);
                     Map.Entry<SoftwareQuality, Severity> highestSeverity = findHighestSeverity(componentIssue.getIssue().impacts());
@@ -152,18 +157,25 @@ public class BitbucketPullRequestDecorator implements PullRequestBuildStatusDeco
                             path,
                             toBitbucketSeverity(highestSeverity.getValue()),
                             toBitbucketType(highestSeverity.getKey()));
-                }).collect(Collectors.groupingBy(s -> chunkCounter.getAndIncrement() / uploadLimit.getAnnotationBatchSize(), toSet()));
+                });
+
+        Map<Integer, Set<CodeInsightsAnnotation>> annotationChunks = annotations.stream()
+                .collect(Collectors.groupingBy(s -> chunkCounter.getAndIncrement() / uploadLimit.getAnnotationBatchSize(), toSet()));
 
         int totalAnnotationsCounter = 1;
-        for (Set<CodeInsightsAnnotation> annotations : annotationChunks.values()) {
+        for (Set<CodeInsightsAnnotation> annotationChunk : annotationChunks.values()) {
             try {
                 if (exceedsMaximumNumberOfAnnotations(totalAnnotationsCounter++, uploadLimit)) {
                     LOGGER.warn("This project has too many issues. The provider only supports {}." +
                             " The remaining annotations will be truncated.", uploadLimit.getTotalAllowedAnnotations());
                     break;
                 }
+                if (DecorationDeadline.isExceeded()) {
+                    LOGGER.warn("Decoration deadline passed. The remaining annotations will be truncated.");
+                    break;
+                }
 
-                client.uploadAnnotations(analysisDetails.getCommitSha(), annotations, reportKey);
+                client.uploadAnnotations(analysisDetails.getCommitSha(), annotationChunk, reportKey);
             } catch (BitbucketException e) {
                 if (e.isError(BitbucketException.PAYLOAD_TOO_LARGE)) {
                     LOGGER.warn("The annotations will be truncated since the maximum number of annotations for this report has been reached.");
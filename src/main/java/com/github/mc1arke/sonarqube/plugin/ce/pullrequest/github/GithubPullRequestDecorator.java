@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2025 Michael Clarke
+ * Copyright (C) 2020-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -24,6 +24,8 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.kohsuke.github.GHCheckRun;
 import org.kohsuke.github.GHCheckRunBuilder;
@@ -31,16 +33,18 @@ import org.kohsuke.github.GHIssueComment;
 import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
 import org.sonar.api.ce.posttask.QualityGate;
 import org.sonar.api.issue.impact.Severity;
 import org.sonar.db.alm.setting.ALM;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
 import com.github.mc1arke.sonarqube.plugin.almclient.github.GithubClientFactory;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationResult;
-import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PostAnalysisIssueVisitor;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestBuildStatusDecorator;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Bold;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Document;
@@ -56,13 +60,17 @@ public class GithubPullRequestDecorator implements PullRequestBuildStatusDecorat
     private final ReportGenerator reportGenerator;
     private final MarkdownFormatterFactory markdownFormatterFactory;
     private final Clock clock;
+    private final IssueAnnotationBuilder issueAnnotationBuilder;
+    private final Set<String> attemptedCheckRunAnalysisIds = ConcurrentHashMap.newKeySet();
 
     public GithubPullRequestDecorator(GithubClientFactory githubClientFactory, ReportGenerator reportGenerator,
-                                      MarkdownFormatterFactory markdownFormatterFactory, Clock clock) {
+                                      MarkdownFormatterFactory markdownFormatterFactory, Clock clock,
+                                      IssueAnnotationBuilder issueAnnotationBuilder) {
         this.githubClientFactory = githubClientFactory;
         this.reportGenerator = reportGenerator;
         this.markdownFormatterFactory = markdownFormatterFactory;
         this.clock = clock;
+        this.issueAnnotationBuilder = issueAnnotationBuilder;
     }
 
     @Override
@@ -78,6 +86,12 @@ public class GithubPullRequestDecorator implements PullRequestBuildStatusDecorat
             return DecorationResult.builder()
                     .withPullRequestUrl(pullRequest.getHtmlUrl().toExternalForm())
                     .build();
+        } catch (HttpException ex) {
+            // a response code of -1 means no response was received, so the failure is left to the connection error causing it
+            if (ex.getResponseCode() > 0) {
+                throw new AlmResponseException("Could not decorate Pull Request on Github", ex.getResponseCode(), ex);
+            }
+            throw new IllegalStateException("Could not decorate Pull Request on Github", ex);
         } catch (Exception ex) {
             throw new IllegalStateException("Could not decorate Pull Request on Github", ex);
         }
@@ -96,27 +110,32 @@ public class GithubPullRequestDecorator implements PullRequestBuildStatusDecorat
         String summary = analysisSummary.format(markdownFormatterFactory);
 
         GHCheckRunBuilder.Output output = new GHCheckRunBuilder.Output("Quality Gate " + (analysisDetails.getQualityGateStatus() == QualityGate.Status.OK ? "success" : "failed"), summary);
-        for (PostAnalysisIssueVisitor.ComponentIssue componentIssue : analysisDetails.getScmReportableIssues()) {
-            output.add(new GHCheckRunBuilder.Annotation(
+        List<GHCheckRunBuilder.Annotation> annotations = issueAnnotationBuilder.build(analysisDetails.getScmReportableIssues(),
+            componentIssue -> new GHCheckRunBuilder.Annotation(
                 componentIssue.getScmPath().orElseThrow(),
                 Optional.ofNullable(componentIssue.getIssue().getLine()).orElse(0),
                 mapToGithubAnnotationLevel(componentIssue.getIssue().impacts().values()),
-                Optional.ofNullable(componentIssue.getIssue().getMessage()).orElseThrow())
-            );
+                Optional.ofNullable(componentIssue.getIssue().getMessage()).orElseThrow()));
+        for (GHCheckRunBuilder.Annotation annotation : annotations) {
+            output.add(annotation);
         }
 
         String checkRunName = isMonorepo
             ? String.format("[%s] %s", analysisDetails.getAnalysisProjectName(), DEFAULT_CHECK_RUN_NAME)
             : DEFAULT_CHECK_RUN_NAME;
-        repository.createCheckRun(checkRunName, analysisDetails.getCommitSha())
-            .withStartedAt(analysisDetails.getAnalysisDate())
-            .withCompletedAt(Date.from(clock.instant()))
-            .withStatus(GHCheckRun.Status.COMPLETED)
-            .withConclusion(analysisDetails.getQualityGateStatus() == QualityGate.Status.OK ? GHCheckRun.Conclusion.SUCCESS : GHCheckRun.Conclusion.FAILURE)
-            .withDetailsURL(analysisSummary.getDashboardUrl())
-            .withExternalID(analysisDetails.getAnalysisId())
-            .add(output)
-            .create();
+        // Github creates a new check run for every request, so a retried decoration first looks for the check run an
+        // earlier attempt created before failing, such as when a later annotation batch or the pull request look-up failed
+        if (attemptedCheckRunAnalysisIds.add(analysisDetails.getAnalysisId()) || !hasCheckRun(repository, analysisDetails)) {
+            repository.createCheckRun(checkRunName, analysisDetails.getCommitSha())
+                .withStartedAt(analysisDetails.getAnalysisDate())
+                .withCompletedAt(Date.from(clock.instant()))
+                .withStatus(GHCheckRun.Status.COMPLETED)
+                .withConclusion(analysisDetails.getQualityGateStatus() == QualityGate.Status.OK ? GHCheckRun.Conclusion.SUCCESS : GHCheckRun.Conclusion.FAILURE)
+                .withDetailsURL(analysisSummary.getDashboardUrl())
+                .withExternalID(analysisDetails.getAnalysisId())
+                .add(output)
+                .create();
+        }
 
         GHPullRequest pullRequest = repository.getPullRequest(Integer.parseInt(analysisDetails.getPullRequestId()));
         if (postSummaryComment) {
@@ -125,6 +144,15 @@ public class GithubPullRequestDecorator implements PullRequestBuildStatusDecorat
         return pullRequest;
     }
 
+    private static boolean hasCheckRun(GHRepository repository, AnalysisDetails analysisDetails) throws IOException {
+        for (GHCheckRun checkRun : repository.getCheckRuns(analysisDetails.getCommitSha())) {
+            if (analysisDetails.getAnalysisId().equals(checkRun.getExternalId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void postSummaryComment(GHPullRequest pullRequest, String summary, String projectId) throws IOException {
         String projectCommentMarker = markdownFormatterFactory.documentFormatter().format(new Document(new Bold(new Text("Project ID:")), new Text(" " + projectId)));
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2019-2025 Michael Clarke
+ * Copyright (C) 2019-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -18,33 +18,35 @@
  */
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup;
 
+import java.io.IOException;
+
 abstract class BaseFormatterFactory implements FormatterFactory {
 
-    protected String childContents(Node node) {
-        StringBuilder output = new StringBuilder();
-        node.getChildren().forEach(n -> output.append(format(n)));
-        return output.toString();
+    protected void childContents(Node node, Appendable output) throws IOException {
+        for (Node child : node.getChildren()) {
+            format(child, output);
+        }
     }
 
-    protected String format(Node node) {
+    protected void format(Node node, Appendable output) throws IOException {
         if (node instanceof Document document) {
-            return documentFormatter().format(document);
+            documentFormatter().format(document, output);
         } else if (node instanceof Heading heading) {
-            return headingFormatter().format(heading);
+            headingFormatter().format(heading, output);
         } else if (node instanceof Image image) {
-            return imageFormatter().format(image);
+            imageFormatter().format(image, output);
         } else if (node instanceof List list) {
-            return listFormatter().format(list);
+            listFormatter().format(list, output);
         } else if (node instanceof ListItem listItem) {
-            return listItemFormatter().format(listItem);
+            listItemFormatter().format(listItem, output);
         } else if (node instanceof Paragraph paragraph) {
-            return paragraphFormatter().format(paragraph);
+            paragraphFormatter().format(paragraph, output);
         } else if (node instanceof Text text) {
-            return textFormatter().format(text);
+            textFormatter().format(text, output);
         } else if (node instanceof Link link) {
-            return linkFormatter().format(link);
+            linkFormatter().format(link, output);
         } else if (node instanceof Bold bold) {
-            return boldFormatter().format(bold);
+            boldFormatter().format(bold, output);
         } else {
             throw new IllegalArgumentException("Unknown node type: " + node.getClass().getName());
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2019-2022 Michael Clarke
+ * Copyright (C) 2019-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -18,7 +18,20 @@
  */
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 public interface Formatter<N extends Node> {
 
-    String format(N node);
+    void format(N node, Appendable output) throws IOException;
+
+    default String format(N node) {
+        StringBuilder output = new StringBuilder();
+        try {
+            format(node, output);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not format node", ex);
+        }
+        return output.toString();
+    }
 }
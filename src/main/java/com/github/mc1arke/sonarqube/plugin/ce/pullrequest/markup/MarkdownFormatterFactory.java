@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2019-2024 Michael Clarke
+ * Copyright (C) 2019-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -18,7 +18,6 @@
  */
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup;
 
-import java.util.stream.IntStream;
 import static com.google.common.html.HtmlEscapers.htmlEscaper;
 
 public final class MarkdownFormatterFactory extends BaseFormatterFactory {
@@ -30,38 +29,47 @@ public final class MarkdownFormatterFactory extends BaseFormatterFactory {
 
     @Override
     public Formatter<Heading> headingFormatter() {
-        return node -> {
-            StringBuilder output = new StringBuilder();
-            IntStream.range(0, node.getLevel()).forEach(i -> output.append("#"));
-            return output.append(" ").append(childContents(node)).append(System.lineSeparator())
-                    .toString();
+        return (node, output) -> {
+            for (int i = 0; i < node.getLevel(); i++) {
+                output.append('#');
+            }
+            output.append(' ');
+            childContents(node, output);
+            output.append(System.lineSeparator());
         };
     }
 
     @Override
     public Formatter<Image> imageFormatter() {
-        return node -> String.format("![%s](%s)", node.getAltText(), node.getSource());
+        return (node, output) -> output.append("![").append(node.getAltText()).append("](").append(node.getSource()).append(')');
     }
 
     @Override
     public Formatter<Link> linkFormatter() {
-        return node -> String.format("[%s](%s)", node.getChildren().isEmpty() ? node.getUrl() : childContents(node), node.getUrl());
+        return (node, output) -> {
+            output.append('[');
+            if (node.getChildren().isEmpty()) {
+                output.append(node.getUrl());
+            } else {
+                childContents(node, output);
+            }
+            output.append("](").append(node.getUrl()).append(')');
+        };
     }
 
     @Override
     public Formatter<List> listFormatter() {
-        return node -> {
-            StringBuilder output = new StringBuilder();
-            node.getChildren().forEach(i -> {
+        return (node, output) -> {
+            for (Node item : node.getChildren()) {
                 if (node.getStyle() == List.Style.BULLET) {
-                    output.append("- ").append(format(i));
+                    output.append("- ");
+                    format(item, output);
                 } else {
                     throw new IllegalArgumentException("Unknown list type: " + node.getStyle());
                 }
                 output.append(System.lineSeparator());
-            });
+            }
             output.append(System.lineSeparator());
-            return output.toString();
         };
     }
 
@@ -72,16 +80,23 @@ public final class MarkdownFormatterFactory extends BaseFormatterFactory {
 
     @Override
     public Formatter<Paragraph> paragraphFormatter() {
-        return node -> childContents(node) + System.lineSeparator() + System.lineSeparator();
+        return (node, output) -> {
+            childContents(node, output);
+            output.append(System.lineSeparator()).append(System.lineSeparator());
+        };
     }
 
     @Override
     public Formatter<Text> textFormatter() {
-        return node -> htmlEscaper().escape(node.getContent());
+        return (node, output) -> output.append(htmlEscaper().escape(node.getContent()));
     }
 
     @Override
     public Formatter<Bold> boldFormatter() {
-        return node -> String.format("**%s**", childContents(node));
+        return (node, output) -> {
+            output.append("**");
+            childContents(node, output);
+            output.append("**");
+        };
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022-2024 Michael Clarke
+ * Copyright (C) 2022-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -24,6 +24,8 @@ import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Link;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Paragraph;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Text;
 
+import java.io.IOException;
+
 public final class AnalysisIssueSummary {
 
     private final String issueUrl;
@@ -43,12 +45,18 @@ public final class AnalysisIssueSummary {
     }
 
     public String format(FormatterFactory formatterFactory) {
-        Document document = new Document(
+        return formatterFactory.documentFormatter().format(createDocument());
+    }
+
+    public void format(FormatterFactory formatterFactory, Appendable output) throws IOException {
+        formatterFactory.documentFormatter().format(createDocument(), output);
+    }
+
+    private Document createDocument() {
+        return new Document(
                 new Paragraph(new Text(getMessage())),
                 new Paragraph(new Link(getIssueUrl(), new Text("View in SonarQube")))
         );
-
-        return formatterFactory.documentFormatter().format(document);
     }
 
     public static Builder builder() {
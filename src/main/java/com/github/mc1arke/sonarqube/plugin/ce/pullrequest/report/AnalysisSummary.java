@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022-2024 Michael Clarke
+ * Copyright (C) 2022-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -28,6 +28,7 @@ import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.ListItem;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Paragraph;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Text;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
@@ -132,12 +133,20 @@ public final class AnalysisSummary {
     }
 
     public String format(FormatterFactory formatterFactory) {
+        return formatterFactory.documentFormatter().format(createDocument());
+    }
+
+    public void format(FormatterFactory formatterFactory, Appendable output) throws IOException {
+        formatterFactory.documentFormatter().format(createDocument(), output);
+    }
+
+    private Document createDocument() {
         NumberFormat decimalFormat = new DecimalFormat("#0.00", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
 
         List<String> failedConditions = getFailedQualityGateConditions();
 
         if (failedConditions.isEmpty()) {
-            Document document = new Document(new Heading(3, new Image(getStatusDescription(), getStatusImageUrl()),
+            return new Document(new Heading(3, new Image(getStatusDescription(), getStatusImageUrl()),
                 new Text(" "),
                 new Text("Quality Gate passed")),
                 new Heading(4, new Text("Issues")),
@@ -170,10 +179,8 @@ public final class AnalysisSummary {
                         .orElse(""))))),
                 new Paragraph(new Bold(new Text("Project ID:")), new Text(" "), new Text(getProjectKey())),
                 new Paragraph(new Link(getDashboardUrl(), new Text("View in SonarQube"))));
-
-            return formatterFactory.documentFormatter().format(document);
         } else {
-            Document document = new Document(new Heading(3, new Image(getStatusDescription(), getStatusImageUrl()),
+            return new Document(new Heading(3, new Image(getStatusDescription(), getStatusImageUrl()),
                 new Text(" "),
                 new Text("Quality Gate failed")),
                 new com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.List(
@@ -184,8 +191,6 @@ public final class AnalysisSummary {
                         .toArray(ListItem[]::new)),
                 new Paragraph(new Bold(new Text("Project ID:")), new Text(" "), new Text(getProjectKey())),
                 new Paragraph(new Link(getDashboardUrl(), new Text("View in SonarQube"))));
-
-            return formatterFactory.documentFormatter().format(document);
         }
     }
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
+
+final class AnalysisUrls {
+
+    private final AnalysisDetails analysisDetails;
+    private final String rootUrl;
+    private final String projectKey;
+    private final String pullRequestId;
+    private final String issueUrlPrefix;
+    private final String hotspotUrlPrefix;
+
+    AnalysisUrls(String rootUrl, AnalysisDetails analysisDetails) {
+        this.analysisDetails = analysisDetails;
+        this.rootUrl = rootUrl;
+        this.projectKey = URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8);
+        this.pullRequestId = URLEncoder.encode(analysisDetails.getPullRequestId(), StandardCharsets.UTF_8);
+        this.issueUrlPrefix = projectUrl("/project/issues") + "&pullRequest=" + pullRequestId + "&issues=";
+        this.hotspotUrlPrefix = projectUrl("/security_hotspots") + "&pullRequest=" + pullRequestId + "&hotspots=";
+    }
+
+    boolean isFor(AnalysisDetails analysisDetails) {
+        return this.analysisDetails == analysisDetails;
+    }
+
+    String issueUrl(String issueKey) {
+        return issueUrlPrefix + issueKey + "&open=" + issueKey;
+    }
+
+    String hotspotUrl(String issueKey) {
+        return hotspotUrlPrefix + issueKey;
+    }
+
+    String dashboardUrl() {
+        return projectUrl("/dashboard") + "&pullRequest=" + pullRequestId;
+    }
+
+    String componentMeasuresUrl(String metricKey) {
+        return projectUrl("/component_measures") + "&metric=" + metricKey + "&pullRequest=" + pullRequestId + "&view=list";
+    }
+
+    String securityHotspotsUrl() {
+        return projectUrl("/security_hotspots") + "&pullRequest=" + pullRequestId;
+    }
+
+    String newIssuesUrl() {
+        return projectUrl("/project/issues") + "&pullRequest=" + pullRequestId + "&resolved=false";
+    }
+
+    String acceptedIssuesUrl() {
+        return projectUrl("/project/issues") + "&pullRequest=" + pullRequestId + "&issueStatus=ACCEPTED";
+    }
+
+    String fixedIssuesUrl() {
+        return projectUrl("/project/issues") + "&fixedInPullRequest=" + pullRequestId;
+    }
+
+    private String projectUrl(String path) {
+        return rootUrl + path + "?id=" + projectKey;
+    }
+}
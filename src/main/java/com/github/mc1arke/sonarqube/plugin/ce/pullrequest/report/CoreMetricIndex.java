@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.measures.Metric;
+import org.sonar.server.metric.StandardToMQRMetrics;
+
+final class CoreMetricIndex {
+
+    private CoreMetricIndex() {
+        super();
+    }
+
+    static Optional<Metric<?>> findMetric(String key) {
+        return Optional.ofNullable(Holder.METRICS_BY_KEY.get(key));
+    }
+
+    static Map<String, Metric<?>> buildIndex(Iterable<? extends Metric> metrics) {
+        Map<String, Metric<?>> metricsByKey = new HashMap<>();
+        for (Metric<?> metric : metrics) {
+            metricsByKey.putIfAbsent(metric.getKey(), metric);
+        }
+        for (Metric<?> metric : metrics) {
+            StandardToMQRMetrics.getEquivalentMetric(metric.getKey())
+                    .ifPresent(equivalentKey -> metricsByKey.putIfAbsent(equivalentKey, metric));
+        }
+        return Collections.unmodifiableMap(metricsByKey);
+    }
+
+    private static final class Holder {
+
+        private static final Map<String, Metric<?>> METRICS_BY_KEY = buildIndex(CoreMetrics.getMetrics());
+
+    }
+}
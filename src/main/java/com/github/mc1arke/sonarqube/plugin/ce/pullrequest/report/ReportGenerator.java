@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022-2025 Michael Clarke
+ * Copyright (C) 2022-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -19,8 +19,6 @@
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report;
 
 import java.math.BigDecimal;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
@@ -47,7 +45,6 @@ import org.sonar.server.measure.Rating;
 import com.github.mc1arke.sonarqube.plugin.CommunityBranchPlugin;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PostAnalysisIssueVisitor;
-import org.sonar.server.metric.StandardToMQRMetrics;
 
 public class ReportGenerator {
 
@@ -61,6 +58,7 @@ public class ReportGenerator {
     private final MeasureRepository measureRepository;
     private final MetricRepository metricRepository;
     private final TreeRootHolder treeRootHolder;
+    private volatile AnalysisUrls currentAnalysisUrls;
 
     public ReportGenerator(Server server, Configuration configuration, MeasureRepository measureRepository, MetricRepository metricRepository, TreeRootHolder treeRootHolder) {
         this.server = server;
@@ -113,14 +111,15 @@ public class ReportGenerator {
         List<QualityGate.Condition> failedConditions = analysisDetails.findFailedQualityGateConditions();
 
         String baseImageUrl = getBaseImageUrl();
+        AnalysisUrls analysisUrls = getAnalysisUrls(analysisDetails);
 
         return AnalysisSummary.builder()
                 .withProjectKey(analysisDetails.getAnalysisProjectKey())
                 .withSummaryImageUrl(baseImageUrl + "/common/icon.png")
-                .withCoverage(new AnalysisSummary.UrlIconMetric<>(getComponentMeasuresUrlForCodeMetrics(analysisDetails, CoreMetrics.NEW_COVERAGE_KEY), baseImageUrl + "/" + (newCoverage == null ? NO_DATA_IMAGE_PATH : PASSED_IMAGE_PATH), coverage))
+                .withCoverage(new AnalysisSummary.UrlIconMetric<>(analysisUrls.componentMeasuresUrl(CoreMetrics.NEW_COVERAGE_KEY), baseImageUrl + "/" + (newCoverage == null ? NO_DATA_IMAGE_PATH : PASSED_IMAGE_PATH), coverage))
                 .withNewCoverage(newCoverage)
-                .withDashboardUrl(getDashboardUrl(analysisDetails))
-                .withDuplications(new AnalysisSummary.UrlIconMetric<>(getComponentMeasuresUrlForCodeMetrics(analysisDetails, CoreMetrics.NEW_DUPLICATED_LINES_DENSITY_KEY), baseImageUrl + "/" + (newDuplications == null ? NO_DATA_IMAGE_PATH : PASSED_IMAGE_PATH), duplications))
+                .withDashboardUrl(analysisUrls.dashboardUrl())
+                .withDuplications(new AnalysisSummary.UrlIconMetric<>(analysisUrls.componentMeasuresUrl(CoreMetrics.NEW_DUPLICATED_LINES_DENSITY_KEY), baseImageUrl + "/" + (newDuplications == null ? NO_DATA_IMAGE_PATH : PASSED_IMAGE_PATH), duplications))
                 .withNewDuplications(newDuplications)
                 .withFailedQualityGateConditions(failedConditions.stream()
                         .map(ReportGenerator::formatQualityGateCondition)
@@ -131,24 +130,15 @@ public class ReportGenerator {
                 .withStatusImageUrl(QualityGate.Status.OK == analysisDetails.getQualityGateStatus()
                         ? baseImageUrl + "/checks/QualityGateBadge/passed-16px.png"
                         : baseImageUrl + "/checks/QualityGateBadge/failed-16px.png")
-                .withSecurityHotspots(new UrlIconMetric<>(String.format("%s/security_hotspots?id=%s&pullRequest=%s", server.getPublicRootUrl(), URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8), URLEncoder.encode(analysisDetails.getPullRequestId(), StandardCharsets.UTF_8)),
+                .withSecurityHotspots(new UrlIconMetric<>(analysisUrls.securityHotspotsUrl(),
                     baseImageUrl + "/" + PASSED_IMAGE_PATH,
                     findMeasure(CoreMetrics.SECURITY_HOTSPOTS_KEY).map(Measure::getIntValue).orElse(0)))
-                .withFixedIssues(new UrlIconMetric<>(String.format("%s/project/issues?id=%s&fixedInPullRequest=%s", server.getPublicRootUrl(), URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8), URLEncoder.encode(analysisDetails.getPullRequestId(), StandardCharsets.UTF_8)), baseImageUrl + "/common/fixed-16px.png", fixedIssues))
-                .withNewIssues(new UrlIconMetric<>(String.format("%s/project/issues?id=%s&pullRequest=%s&resolved=false", server.getPublicRootUrl(), URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8), URLEncoder.encode(analysisDetails.getPullRequestId(), StandardCharsets.UTF_8)), baseImageUrl + "/" + PASSED_IMAGE_PATH, newIssues))
-                .withAcceptedIssues(new UrlIconMetric<>(String.format("%s/project/issues?id=%s&pullRequest=%s&issueStatus=ACCEPTED", server.getPublicRootUrl(), URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8), URLEncoder.encode(analysisDetails.getPullRequestId(), StandardCharsets.UTF_8)), baseImageUrl + "/common/accepted-16px.png", acceptedIssues))
+                .withFixedIssues(new UrlIconMetric<>(analysisUrls.fixedIssuesUrl(), baseImageUrl + "/common/fixed-16px.png", fixedIssues))
+                .withNewIssues(new UrlIconMetric<>(analysisUrls.newIssuesUrl(), baseImageUrl + "/" + PASSED_IMAGE_PATH, newIssues))
+                .withAcceptedIssues(new UrlIconMetric<>(analysisUrls.acceptedIssuesUrl(), baseImageUrl + "/common/accepted-16px.png", acceptedIssues))
                 .build();
     }
 
-    private String getComponentMeasuresUrlForCodeMetrics(AnalysisDetails analysisDetails, String codeMetricsKey) {
-        // https://my-server:port/component_measures?id=some-key&metric=new_coverage&pullRequest=341&view=list
-        return server.getPublicRootUrl() +
-                "/component_measures?id=" + URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8) +
-                "&metric=" + codeMetricsKey +
-                "&pullRequest=" + analysisDetails.getPullRequestId() +
-                "&view=list";
-    }
-
     private String getBaseImageUrl() {
         return configuration.get(CommunityBranchPlugin.IMAGE_URL_BASE)
                 .orElse(server.getPublicRootUrl() + "/static/communityBranchPlugin")
@@ -156,35 +146,32 @@ public class ReportGenerator {
     }
 
     private String getIssueUrl(PostAnalysisIssueVisitor.LightIssue issue, AnalysisDetails analysisDetails) {
+        AnalysisUrls analysisUrls = getAnalysisUrls(analysisDetails);
         if (issue.impacts().containsKey(SoftwareQuality.SECURITY)) {
-            return String.format("%s/security_hotspots?id=%s&pullRequest=%s&hotspots=%s", server.getPublicRootUrl(), URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8), analysisDetails.getPullRequestId(), issue.key());
+            return analysisUrls.hotspotUrl(issue.key());
         } else {
-            return String.format("%s/project/issues?id=%s&pullRequest=%s&issues=%s&open=%s", server.getPublicRootUrl(), URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8), analysisDetails.getPullRequestId(), issue.key(), issue.key());
+            return analysisUrls.issueUrl(issue.key());
         }
     }
 
-    private Optional<Measure> findMeasure(String metricKey) {
-        return measureRepository.getRawMeasure(treeRootHolder.getRoot(), metricRepository.getByKey(metricKey));
+    private AnalysisUrls getAnalysisUrls(AnalysisDetails analysisDetails) {
+        AnalysisUrls urls = currentAnalysisUrls;
+        if (null == urls || !urls.isFor(analysisDetails)) {
+            urls = new AnalysisUrls(server.getPublicRootUrl(), analysisDetails);
+            currentAnalysisUrls = urls;
+        }
+        return urls;
     }
 
-    private String getDashboardUrl(AnalysisDetails analysisDetails) {
-        return server.getPublicRootUrl() + "/dashboard?id=" + URLEncoder.encode(analysisDetails.getAnalysisProjectKey(), StandardCharsets.UTF_8) + "&pullRequest=" + analysisDetails.getPullRequestId();
+    private Optional<Measure> findMeasure(String metricKey) {
+        return measureRepository.getRawMeasure(treeRootHolder.getRoot(), metricRepository.getByKey(metricKey));
     }
 
     private static Optional<String> formatQualityGateCondition(QualityGate.Condition condition) {
         String key = condition.getMetricKey();
-        Optional<Metric<?>> optionalMetric = findMetric(key);
-        if (optionalMetric.isEmpty()) {
-            LOGGER.info("No metric found for key {}, trying to map from MQR to Core equivalent", key);
-            Optional<String> alternativeKey = StandardToMQRMetrics.getEquivalentMetric(key);
-            if (alternativeKey.isPresent()) {
-                String alternative = alternativeKey.get();
-                LOGGER.info("Found alternative metric {} for key {}", alternative, key);
-                optionalMetric = findMetric(alternative);
-            }
-        }
+        Optional<Metric<?>> optionalMetric = CoreMetricIndex.findMetric(key);
         if (optionalMetric.isEmpty()) {
-            LOGGER.warn("No alternative metric found for key {}", key);
+            LOGGER.warn("No metric or MQR equivalent found for key {}", key);
             return Optional.empty();
         }
         Metric<?> metric = optionalMetric.get();
@@ -206,8 +193,4 @@ public class ReportGenerator {
         }
     }
 
-    private static Optional<Metric<?>> findMetric(String key) {
-        return CoreMetrics.getMetrics().stream().filter(metric -> metric.getKey().equals(key)).findFirst().map(metric -> (Metric<?>) metric);
-    }
-
 }
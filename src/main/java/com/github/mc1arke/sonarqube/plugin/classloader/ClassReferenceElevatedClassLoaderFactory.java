@@ -20,6 +20,9 @@ package com.github.mc1arke.sonarqube.plugin.classloader;
 
 import org.sonar.api.Plugin;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A {@link ElevatedClassLoaderFactory} that uses a ClassLoader from an exposed SonarQube core class as a delegate for
  * attempting to load any classes that are not found from the plugin's ClassLoader.
@@ -29,6 +32,7 @@ import org.sonar.api.Plugin;
 public class ClassReferenceElevatedClassLoaderFactory implements ElevatedClassLoaderFactory {
 
     private final String className;
+    private final Map<ClassLoader, ClassLoader> elevatedClassLoaders = new ConcurrentHashMap<>();
 
     public ClassReferenceElevatedClassLoaderFactory(String className) {
         super();
@@ -39,7 +43,10 @@ public class ClassReferenceElevatedClassLoaderFactory implements ElevatedClassLo
     public ClassLoader createClassLoader(Class<? extends Plugin> pluginClass) {
         try {
             Class<?> coreClass = Class.forName(className);
-            return createClassLoader(pluginClass.getClassLoader(), coreClass.getClassLoader());
+            // the scanner defines the plugin for every module, so the elevated ClassLoader is reused rather than
+            // re-opening the plugin's jars and losing the look-ups it has already resolved each time
+            return elevatedClassLoaders.computeIfAbsent(pluginClass.getClassLoader(),
+                    pluginClassLoader -> createClassLoader(pluginClassLoader, coreClass.getClassLoader()));
         } catch (ClassNotFoundException e) {
             throw new IllegalStateException(
                     String.format("Could not load class '%s' from Plugin Classloader", className), e);
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.classloader;
+
+import java.net.URLClassLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads classes from a copy of the plugin's jars backed by SonarQube's core ClassLoader, falling back to the plugin's
+ * original ClassLoader for classes from sibling plugins. The copy of the plugin's jars is always asked first, so the
+ * same class is loaded whichever class asked for it first. Classes the copy could not find are remembered so repeated
+ * look-ups go straight to the plugin's ClassLoader, and classes that neither loader could find are remembered so
+ * repeated look-ups fail without asking either loader again. The loader only delegates and never defines classes
+ * itself, so it's registered as parallel capable and takes no locks.
+ */
+final class ElevatedClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final ClassLoader pluginJarClassLoader;
+    private final ClassLoader pluginClassLoader;
+    private final Set<String> pluginJarMissingClasses = ConcurrentHashMap.newKeySet();
+    private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+
+    ElevatedClassLoader(URLClassLoader pluginClassLoader, ClassLoader coreClassLoader) {
+        super();
+        /*
+        Sonar analysis wants us to use try-with-resources to close the following Classloader after use. Unfortunately
+        Sonar doesn't give us any indication of the plugin being closed/unloaded and the plugin doesn't upload all its
+        classes upfront, so the ClassLoader can't be closed outside of the JVM shutting down. The following line is
+        therefore marked as 'NOSONAR' to suppress the warning.
+         */
+        this.pluginJarClassLoader = URLClassLoader.newInstance(pluginClassLoader.getURLs(), coreClassLoader); //NOSONAR
+        this.pluginClassLoader = pluginClassLoader;
+    }
+
+    @Override
+    public Class<?> loadClass(String name) throws ClassNotFoundException {
+        return loadClass(name, false);
+    }
+
+    @Override
+    public Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (missingClasses.contains(name)) {
+            throw new ClassNotFoundException(name);
+        }
+
+        if (!pluginJarMissingClasses.contains(name)) {
+            try {
+                return pluginJarClassLoader.loadClass(name);
+            } catch (ClassNotFoundException ex) {
+                pluginJarMissingClasses.add(name);
+            }
+        }
+
+        try {
+            return pluginClassLoader.loadClass(name);
+        } catch (ClassNotFoundException ex) {
+            missingClasses.add(name);
+            throw ex;
+        }
+    }
+}
@@ -43,7 +43,8 @@ public interface ElevatedClassLoaderFactory {
      * <code>pluginClassLoader</code> but using the <code>coreClassLoader</code> as a fall back if the requested class
      * could not be found, and then falling back to the original <code>pluginClassLoader</code> if the class still could
      * not be found. This allows loading classes from the plugin, from SonarQube core, and from any sibling plugins that
-     * have been defined as dependencies of the current plugin.
+     * have been defined as dependencies of the current plugin. The returned ClassLoader remembers which classes each of
+     * the two ClassLoaders could not find, so should be reused where possible.
      *
      * @param pluginClassLoader the ClassLoader to find the current Plugin's classes from, and to fall back to in the
      *                          event a class from a dependent plugin is required
@@ -58,30 +59,6 @@ public interface ElevatedClassLoaderFactory {
                                                           pluginClassLoader.getClass().getName()));
         }
 
-        /*
-        Sonar analysis wants us to use try-with-resources to close the following Classloader after use. Unfortunately
-        Sonar doesn't give us any indication of the plugin being closed/unloaded and the plugin doesn't upload all its
-        classes upfront, so the ClassLoader can't be closed outside of the JVM shutting down. The following line is
-        therefore marked as 'NOSONAR' to suppress the warning.
-         */
-        ClassLoader newPluginClassLoader =
-                URLClassLoader.newInstance(((URLClassLoader) pluginClassLoader).getURLs(), coreClassLoader); //NOSONAR
-        return new ClassLoader() {
-            @Override
-            public Class<?> loadClass(String name) throws ClassNotFoundException {
-                return loadClass(name, false);
-            }
-
-            @Override
-            public Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
-                try {
-                    return newPluginClassLoader.loadClass(name);
-                } catch (ClassNotFoundException ex) {
-                    return pluginClassLoader.loadClass(name);
-                }
-            }
-        };
-
-
+        return new ElevatedClassLoader((URLClassLoader) pluginClassLoader, coreClassLoader);
     }
 }
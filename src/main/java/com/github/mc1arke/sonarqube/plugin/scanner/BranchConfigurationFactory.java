@@ -25,7 +25,9 @@ import org.sonar.scanner.scan.branch.BranchInfo;
 import org.sonar.scanner.scan.branch.BranchType;
 import org.sonar.scanner.scan.branch.ProjectBranches;
 
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 
 @ScannerSide
 public class BranchConfigurationFactory {
@@ -41,24 +43,36 @@ public class BranchConfigurationFactory {
 
     public BranchConfiguration createPullRequestConfiguration(String pullRequestKey, String pullRequestBranch, String pullRequestBase, ProjectBranches branches) {
         String targetBranch = Optional.ofNullable(pullRequestBase).orElse(branches.defaultBranchName());
-        String referenceBranch = findReferenceBranch(Optional.ofNullable(branches.get(targetBranch)).map(BranchInfo::name).orElse(branches.defaultBranchName()), branches);
+        BranchInfo target = Optional.ofNullable(branches.get(targetBranch))
+                .or(() -> Optional.ofNullable(branches.get(branches.defaultBranchName())))
+                .orElseThrow(() -> MessageException.of("No branch exists in Sonarqube with the name " + branches.defaultBranchName()));
+        String referenceBranch = findReferenceBranch(target, branches);
         return new CommunityBranchConfiguration(pullRequestBranch, BranchType.PULL_REQUEST, referenceBranch, targetBranch, pullRequestKey);
     }
 
-    private static String findReferenceBranch(String targetBranch, ProjectBranches branches) {
-        BranchInfo target = Optional.ofNullable(branches.get(targetBranch))
-                .orElseThrow(() -> MessageException.of("No branch exists in Sonarqube with the name " + targetBranch));
+    /**
+     * Follows the targets of a pull request, or of a chain of pull requests raised against each other, until a branch is
+     * reached. Each branch in the chain is looked up once, and a chain that returns to a branch it has already passed
+     * through is rejected rather than followed indefinitely.
+     */
+    private static String findReferenceBranch(BranchInfo target, ProjectBranches branches) {
+        Set<String> visited = new LinkedHashSet<>();
+        BranchInfo current = target;
+        while (current.type() != BranchType.BRANCH) {
+            if (!visited.add(current.name())) {
+                throw MessageException.of(String.format("The branch '%s' has a cyclic chain of targets: %s", target.name(),
+                        String.join(" -> ", visited) + " -> " + current.name()));
+            }
 
-        if (target.type() == BranchType.BRANCH) {
-            return targetBranch;
-        }
+            String currentTarget = current.branchTargetName();
+            if (currentTarget == null) {
+                throw MessageException.of(String.format("The branch '%s' of type %s does not have a target", current.name(), current.type()));
+            }
 
-        String targetBranchTarget = target.branchTargetName();
-        if (targetBranchTarget == null) {
-            throw MessageException.of(String.format("The branch '%s' of type %s does not have a target", target.name(), target.type()));
+            BranchInfo previous = current;
+            current = Optional.ofNullable(branches.get(currentTarget))
+                    .orElseThrow(() -> MessageException.of(String.format("The branch '%s' of type %s has a target '%s' which does not exist", previous.name(), previous.type(), currentTarget)));
         }
-
-        return Optional.ofNullable(branches.get(targetBranchTarget)).map(BranchInfo::name)
-                .orElseThrow(() -> MessageException.of(String.format("The branch '%s' of type %s has a target '%s' which does not exist", target.name(), target.type(), targetBranchTarget)));
+        return current.name();
     }
 }
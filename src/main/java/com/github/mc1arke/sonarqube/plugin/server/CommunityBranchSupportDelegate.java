@@ -19,9 +19,11 @@
 package com.github.mc1arke.sonarqube.plugin.server;
 
 import java.time.Clock;
-import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
@@ -38,23 +40,30 @@ import org.sonar.server.ce.queue.BranchSupport;
 import org.sonar.server.ce.queue.BranchSupportDelegate;
 import org.sonar.server.setting.ProjectConfigurationLoader;
 
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestListCache;
+
 /**
  * @author Michael Clarke
  */
 public class CommunityBranchSupportDelegate implements BranchSupportDelegate {
 
+    private static final int MAXIMUM_RETAINED_BRANCH_MATCHERS = 100;
+
     private final UuidFactory uuidFactory;
     private final DbClient dbClient;
     private final Clock clock;
     private final ProjectConfigurationLoader projectConfigurationLoader;
+    private final PullRequestListCache pullRequestListCache;
+    private final Map<List<String>, Predicate<String>> retainedBranchMatchers = new ConcurrentHashMap<>();
 
     public CommunityBranchSupportDelegate(UuidFactory uuidFactory, DbClient dbClient, Clock clock,
-                                          ProjectConfigurationLoader projectConfigurationLoader) {
+                                          ProjectConfigurationLoader projectConfigurationLoader, PullRequestListCache pullRequestListCache) {
         super();
         this.uuidFactory = uuidFactory;
         this.dbClient = dbClient;
         this.clock = clock;
         this.projectConfigurationLoader = projectConfigurationLoader;
+        this.pullRequestListCache = pullRequestListCache;
     }
 
     @Override
@@ -111,15 +120,48 @@ public class CommunityBranchSupportDelegate implements BranchSupportDelegate {
             .setKey(branchName)
             .setIsMain(false));
         dbClient.branchDao().insert(dbSession, branchDto);
+        if (branchDto.getBranchType() == BranchType.PULL_REQUEST) {
+            // the caller commits this session later, so a listing built before then would not include the new pull request
+            pullRequestListCache.invalidateWithHoldOff(branchDto.getProjectUuid());
+        }
 
         return componentDto;
     }
 
-    private static boolean isBranchExcludedFromPurge(Configuration projectConfiguration, String branchName) {
-        return Arrays.stream(projectConfiguration.getStringArray(PurgeConstants.BRANCHES_TO_KEEP_WHEN_INACTIVE))
-            .map(Pattern::compile)
+    private boolean isBranchExcludedFromPurge(Configuration projectConfiguration, String branchName) {
+        List<String> patterns = List.of(projectConfiguration.getStringArray(PurgeConstants.BRANCHES_TO_KEEP_WHEN_INACTIVE));
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        if (retainedBranchMatchers.size() >= MAXIMUM_RETAINED_BRANCH_MATCHERS && !retainedBranchMatchers.containsKey(patterns)) {
+            retainedBranchMatchers.clear();
+        }
+        return retainedBranchMatchers.computeIfAbsent(patterns, CommunityBranchSupportDelegate::compileRetainedBranchMatcher)
+            .test(branchName);
+    }
+
+    /**
+     * Builds one predicate for a set of retention patterns. Most patterns are joined into a single alternation so a
+     * branch name is scanned once. Patterns with capturing groups are kept separate so back references still refer to the
+     * groups the user wrote, as are patterns containing an unterminated quote or a comment that could swallow the rest of
+     * the alternation.
+     */
+    private static Predicate<String> compileRetainedBranchMatcher(List<String> patterns) {
+        List<Pattern> compiledPatterns = patterns.stream().map(Pattern::compile).toList();
+        List<Pattern> standalonePatterns = compiledPatterns.stream()
+            .filter(pattern -> pattern.matcher("").groupCount() > 0 || pattern.pattern().contains("\\Q") || pattern.pattern().contains("#"))
+            .toList();
+
+        Predicate<String> combined = compiledPatterns.stream()
+            .filter(pattern -> !standalonePatterns.contains(pattern))
+            .map(pattern -> "(?:" + pattern.pattern() + ")")
+            .reduce((left, right) -> left + "|" + right)
+            .map(alternation -> Pattern.compile(alternation).asMatchPredicate())
+            .orElse(branchName -> false);
+
+        return standalonePatterns.stream()
             .map(Pattern::asMatchPredicate)
-            .anyMatch(p -> p.test(branchName));
+            .reduce(combined, Predicate::or);
     }
 
 }
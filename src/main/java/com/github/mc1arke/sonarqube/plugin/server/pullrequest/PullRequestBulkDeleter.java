@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.Startable;
+import org.sonar.api.server.ServerSide;
+import org.sonar.core.util.UuidFactory;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.component.BranchDto;
+import org.sonar.server.component.ComponentCleanerService;
+
+/**
+ * Deletes batches of pull requests away from the request thread. Pull requests are purged in chunks, each chunk using
+ * its own database session, and a job's progress can be read back by its ID whilst it runs. Jobs are only held in this
+ * server's memory, so progress does not survive a restart and finished jobs are dropped once too many are held.
+ */
+@ServerSide
+public class PullRequestBulkDeleter implements Startable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PullRequestBulkDeleter.class);
+
+    static final int CHUNK_SIZE = 50;
+    static final int MAXIMUM_RETAINED_JOBS = 100;
+
+    private final DbClient dbClient;
+    private final ComponentCleanerService componentCleanerService;
+    private final PullRequestListCache pullRequestListCache;
+    private final UuidFactory uuidFactory;
+    private final ExecutorService executorService;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public PullRequestBulkDeleter(DbClient dbClient, ComponentCleanerService componentCleanerService,
+                                  PullRequestListCache pullRequestListCache, UuidFactory uuidFactory) {
+        this(dbClient, componentCleanerService, pullRequestListCache, uuidFactory, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pull-request-bulk-delete");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    PullRequestBulkDeleter(DbClient dbClient, ComponentCleanerService componentCleanerService,
+                           PullRequestListCache pullRequestListCache, UuidFactory uuidFactory, ExecutorService executorService) {
+        this.dbClient = dbClient;
+        this.componentCleanerService = componentCleanerService;
+        this.pullRequestListCache = pullRequestListCache;
+        this.uuidFactory = uuidFactory;
+        this.executorService = executorService;
+    }
+
+    @Override
+    public void start() {
+        // the executor is created with this component, so there is nothing further to start
+    }
+
+    @Override
+    public void stop() {
+        executorService.shutdownNow();
+    }
+
+    public Job submit(String projectUuid, List<BranchDto> pullRequests) {
+        evictCompletedJobs();
+        Job job = new Job(uuidFactory.create(), projectUuid, pullRequests.size());
+        jobs.put(job.getId(), job);
+        executorService.execute(() -> run(job, List.copyOf(pullRequests)));
+        return job;
+    }
+
+    public Optional<Job> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(Job job, List<BranchDto> pullRequests) {
+        job.status = Status.RUNNING;
+        try {
+            for (int start = 0; start < pullRequests.size(); start += CHUNK_SIZE) {
+                deleteChunk(job, pullRequests.subList(start, Math.min(start + CHUNK_SIZE, pullRequests.size())));
+                pullRequestListCache.invalidate(job.getProjectUuid());
+            }
+            job.status = Status.COMPLETED;
+        } catch (RuntimeException ex) {
+            LOGGER.error("Could not complete bulk deletion of pull requests for project '{}'", job.getProjectUuid(), ex);
+            job.status = Status.FAILED;
+        }
+    }
+
+    private void deleteChunk(Job job, List<BranchDto> pullRequests) {
+        try (DbSession dbSession = dbClient.openSession(false)) {
+            for (BranchDto pullRequest : pullRequests) {
+                try {
+                    componentCleanerService.deleteBranch(dbSession, pullRequest);
+                    job.deleted.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    LOGGER.warn("Could not delete pull request '{}' for project '{}'", pullRequest.getKey(), job.getProjectUuid(), ex);
+                    job.failed.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void evictCompletedJobs() {
+        if (jobs.size() < MAXIMUM_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().removeIf(job -> job.status == Status.COMPLETED || job.status == Status.FAILED);
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    public static final class Job {
+
+        private final String id;
+        private final String projectUuid;
+        private final int total;
+        private final AtomicInteger deleted = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile Status status = Status.PENDING;
+
+        private Job(String id, String projectUuid, int total) {
+            this.id = id;
+            this.projectUuid = projectUuid;
+            this.total = total;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getProjectUuid() {
+            return projectUuid;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getDeleted() {
+            return deleted.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.sonar.api.server.ServerSide;
+import org.sonarqube.ws.ProjectPullRequests;
+
+import com.github.mc1arke.sonarqube.plugin.cache.ExpiringProjectCache;
+
+/**
+ * Holds the pull request listings most recently served for each project, so repeated reads of the same listing do not
+ * need to query branches, measures and analyses again. Entries are dropped when a pull request is created or deleted
+ * through this server, and otherwise expire after {@link #TIME_TO_LIVE} since analyses complete in the Compute Engine
+ * process, which cannot reach this cache. A pull request is created in a transaction its caller commits later, so no
+ * listings are held for {@link #CREATION_HOLD_OFF} afterwards. If that commit takes longer than the hold off, a listing
+ * without the new pull request can still be served until {@link #TIME_TO_LIVE} after the commit.
+ */
+@ServerSide
+public class PullRequestListCache {
+
+    static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+    static final Duration CREATION_HOLD_OFF = Duration.ofSeconds(30);
+    static final int MAXIMUM_PROJECTS = 1000;
+    static final int MAXIMUM_ENTRIES_PER_PROJECT = 100;
+
+    private final ExpiringProjectCache<Listing> listings;
+
+    public PullRequestListCache(Clock clock) {
+        this.listings = new ExpiringProjectCache<>(clock, TIME_TO_LIVE, MAXIMUM_PROJECTS, MAXIMUM_ENTRIES_PER_PROJECT);
+    }
+
+    public Listing get(String projectUuid, String query, Supplier<Listing> listingSupplier) {
+        return listings.get(projectUuid, query, () -> Optional.of(listingSupplier.get())).orElseThrow();
+    }
+
+    public void invalidate(String projectUuid) {
+        listings.invalidate(projectUuid);
+    }
+
+    /**
+     * Invalidates the project's listings and holds none for {@link #CREATION_HOLD_OFF}, for a pull request being created
+     * in a transaction that has not yet been committed.
+     */
+    public void invalidateWithHoldOff(String projectUuid) {
+        listings.invalidateWithHoldOff(projectUuid, CREATION_HOLD_OFF);
+    }
+
+    public static final class Listing {
+
+        private final ProjectPullRequests.ListWsResponse response;
+        private final int totalCount;
+        private final String contentHash;
+
+        public Listing(ProjectPullRequests.ListWsResponse response, int totalCount) {
+            this.response = response;
+            this.totalCount = totalCount;
+            this.contentHash = createContentHash(response, totalCount);
+        }
+
+        public ProjectPullRequests.ListWsResponse getResponse() {
+            return response;
+        }
+
+        public int getTotalCount() {
+            return totalCount;
+        }
+
+        /**
+         * The same listing is written as JSON or protobuf depending on the request, so the tag includes the media type
+         * to stop a client revalidating one representation against the tag of the other.
+         */
+        public String getEtag(String mediaType) {
+            return "\"" + contentHash + "-" + mediaType + "\"";
+        }
+
+        public boolean matches(@Nullable String ifNoneMatch, String mediaType) {
+            String etag = getEtag(mediaType);
+            return Optional.ofNullable(ifNoneMatch).stream()
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(String::trim)
+                .anyMatch(tag -> "*".equals(tag) || etag.equals(tag) || etag.equals(tag.replaceFirst("^W/", "")));
+        }
+
+        private static String createContentHash(ProjectPullRequests.ListWsResponse response, int totalCount) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(response.toByteArray());
+                digest.update(Integer.toString(totalCount).getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest.digest(), 0, 16);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+        }
+    }
+}
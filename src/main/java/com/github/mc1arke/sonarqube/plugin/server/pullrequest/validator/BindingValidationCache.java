@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import org.sonar.api.server.ServerSide;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+
+/**
+ * Remembers the outcome of recently validated project bindings so that reopening a project's settings does not repeat
+ * the calls each validator makes to the ALM. Entries are keyed on the update times of both the project binding and the
+ * ALM setting, so editing either is validated afresh straight away. Failures are held for less time than successes so a
+ * problem fixed on the ALM side, such as installing an app or granting access, is picked up quickly. Only the scope and
+ * message of a failure are held, and each caller is given its own exception, since callers on different threads may
+ * add suppressed exceptions or otherwise alter the one they receive.
+ */
+@ServerSide
+public class BindingValidationCache {
+
+    static final Duration SUCCESS_TIME_TO_LIVE = Duration.ofMinutes(1);
+    static final Duration FAILURE_TIME_TO_LIVE = Duration.ofSeconds(10);
+    static final int MAXIMUM_ENTRIES = 1000;
+
+    private final Clock clock;
+    private final Map<Key, Result> results = new ConcurrentHashMap<>();
+
+    public BindingValidationCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void validate(ProjectAlmSettingDto projectAlmSettingDto, AlmSettingDto almSettingDto, Validator validator) {
+        long now = clock.millis();
+        Key key = new Key(projectAlmSettingDto.getProjectUuid(), projectAlmSettingDto.getUpdatedAt(), almSettingDto.getUuid(), almSettingDto.getUpdatedAt());
+
+        Result cached = results.get(key);
+        if (cached == null || cached.expiresAt <= now) {
+            cached = validate(projectAlmSettingDto, almSettingDto, validator, now);
+            if (results.size() >= MAXIMUM_ENTRIES && !results.containsKey(key)) {
+                results.values().removeIf(result -> result.expiresAt <= now);
+                if (results.size() >= MAXIMUM_ENTRIES) {
+                    results.clear();
+                }
+            }
+            results.put(key, cached);
+        }
+
+        if (cached.failureMessage != null) {
+            throw new InvalidConfigurationException(cached.failureScope, cached.failureMessage);
+        }
+    }
+
+    private static Result validate(ProjectAlmSettingDto projectAlmSettingDto, AlmSettingDto almSettingDto, Validator validator, long now) {
+        try {
+            validator.validate(projectAlmSettingDto, almSettingDto);
+            return new Result(now + SUCCESS_TIME_TO_LIVE.toMillis(), null, null);
+        } catch (InvalidConfigurationException ex) {
+            return new Result(now + FAILURE_TIME_TO_LIVE.toMillis(), ex.getScope(), ex.getMessage());
+        }
+    }
+
+    private record Key(String projectUuid, long projectAlmSettingUpdatedAt, String almSettingUuid, long almSettingUpdatedAt) {
+    }
+
+    private record Result(long expiresAt, @Nullable InvalidConfigurationException.Scope failureScope, @Nullable String failureMessage) {
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.Startable;
+import org.sonar.api.server.ServerSide;
+import org.sonar.core.util.UuidFactory;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+import org.sonar.db.project.ProjectDto;
+
+import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+
+/**
+ * Validates every project binding on the server in the background. Bindings are grouped by the host of the ALM setting
+ * they use, and each group is worked through by a bounded number of lanes so no single ALM host receives more than a
+ * few concurrent requests, however many projects or ALM settings point at it. Only the most recent run is held, and a run requested
+ * whilst another is in progress returns the one already running.
+ */
+@ServerSide
+public class BulkBindingValidator implements Startable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkBindingValidator.class);
+
+    static final int MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST = 4;
+    static final int WORKER_THREADS = 8;
+
+    private final DbClient dbClient;
+    private final List<Validator> validators;
+    private final BindingValidationCache bindingValidationCache;
+    private final UuidFactory uuidFactory;
+    private final ExecutorService executorService;
+    private final AtomicReference<Job> latestJob = new AtomicReference<>();
+
+    public BulkBindingValidator(DbClient dbClient, List<Validator> validators, BindingValidationCache bindingValidationCache, UuidFactory uuidFactory) {
+        this(dbClient, validators, bindingValidationCache, uuidFactory, Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-binding-validation");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    BulkBindingValidator(DbClient dbClient, List<Validator> validators, BindingValidationCache bindingValidationCache, UuidFactory uuidFactory,
+                         ExecutorService executorService) {
+        this.dbClient = dbClient;
+        this.validators = validators;
+        this.bindingValidationCache = bindingValidationCache;
+        this.uuidFactory = uuidFactory;
+        this.executorService = executorService;
+    }
+
+    @Override
+    public void start() {
+        // the executor is created with this component, so there is nothing further to start
+    }
+
+    @Override
+    public void stop() {
+        executorService.shutdownNow();
+    }
+
+    public synchronized Job submit() {
+        Job current = latestJob.get();
+        if (current != null && (current.getStatus() == Status.PENDING || current.getStatus() == Status.RUNNING)) {
+            return current;
+        }
+        Job job = new Job(uuidFactory.create());
+        latestJob.set(job);
+        executorService.execute(() -> run(job));
+        return job;
+    }
+
+    public Optional<Job> getJob(String id) {
+        return Optional.ofNullable(latestJob.get()).filter(job -> job.getId().equals(id));
+    }
+
+    private void run(Job job) {
+        job.status = Status.RUNNING;
+        List<BindingGroup> groups;
+        try {
+            groups = loadBindingGroups();
+        } catch (RuntimeException ex) {
+            LOGGER.error("Could not load project bindings for validation", ex);
+            job.status = Status.FAILED;
+            return;
+        }
+        job.total = groups.stream().mapToInt(group -> group.bindings.size()).sum();
+
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (BindingGroup group : groups) {
+            Queue<Binding> queue = new ConcurrentLinkedQueue<>(group.bindings);
+            int laneCount = Math.min(MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST, group.bindings.size());
+            for (int i = 0; i < laneCount; i++) {
+                lanes.add(CompletableFuture.runAsync(() -> validateAll(job, queue), executorService));
+            }
+        }
+
+        CompletableFuture.allOf(lanes.toArray(new CompletableFuture[0])).whenComplete((result, ex) -> {
+            if (ex != null) {
+                LOGGER.error("Could not complete validation of project bindings", ex);
+                job.status = Status.FAILED;
+            } else {
+                job.status = Status.COMPLETED;
+            }
+        });
+    }
+
+    private List<BindingGroup> loadBindingGroups() {
+        try (DbSession dbSession = dbClient.openSession(false)) {
+            Map<String, List<Binding>> bindingsByHost = new LinkedHashMap<>();
+            for (AlmSettingDto almSettingDto : dbClient.almSettingDao().selectAll(dbSession)) {
+                List<ProjectAlmSettingDto> projectAlmSettings = dbClient.projectAlmSettingDao().selectByAlmSetting(dbSession, almSettingDto);
+                if (projectAlmSettings.isEmpty()) {
+                    continue;
+                }
+                Map<String, String> projectKeysByUuid = dbClient.projectDao()
+                    .selectByUuids(dbSession, projectAlmSettings.stream().map(ProjectAlmSettingDto::getProjectUuid).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(ProjectDto::getUuid, ProjectDto::getKey));
+                List<Binding> bindings = bindingsByHost.computeIfAbsent(hostKey(almSettingDto), key -> new ArrayList<>());
+                for (ProjectAlmSettingDto projectAlmSetting : projectAlmSettings) {
+                    bindings.add(new Binding(projectKeysByUuid.getOrDefault(projectAlmSetting.getProjectUuid(), projectAlmSetting.getProjectUuid()),
+                        projectAlmSetting, almSettingDto));
+                }
+            }
+            return bindingsByHost.values().stream().map(BindingGroup::new).toList();
+        }
+    }
+
+    /**
+     * Identifies the host an ALM setting sends requests to, so settings for several Github apps or Gitlab tokens on the
+     * same server share one set of lanes. Settings without a URL, such as Bitbucket Cloud, all use the ALM's public host.
+     */
+    static String hostKey(AlmSettingDto almSettingDto) {
+        String url = Optional.ofNullable(almSettingDto.getUrl()).map(String::trim).orElse("");
+        if (url.isEmpty()) {
+            return almSettingDto.getAlm().name();
+        }
+        try {
+            URI uri = URI.create(url);
+            if (null != uri.getHost()) {
+                int port = uri.getPort() == -1 && null != uri.getScheme() ? defaultPort(uri.getScheme()) : uri.getPort();
+                return uri.getHost().toLowerCase(Locale.ENGLISH) + ":" + port;
+            }
+        } catch (IllegalArgumentException ex) {
+            // a URL that can't be parsed is grouped by its own text, as its validation will fail without a request
+        }
+        return url.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static int defaultPort(String scheme) {
+        return "http".equalsIgnoreCase(scheme) ? 80 : 443;
+    }
+
+    private void validateAll(Job job, Queue<Binding> bindings) {
+        Binding binding;
+        while ((binding = bindings.poll()) != null) {
+            job.results.add(validate(binding, findValidator(binding.almSettingDto)));
+            job.completed.incrementAndGet();
+        }
+    }
+
+    private Result validate(Binding binding, Optional<Validator> validator) {
+        AlmSettingDto almSettingDto = binding.almSettingDto;
+        String almSettingKey = almSettingDto.getKey();
+        String alm = almSettingDto.getAlm().name();
+        if (validator.isEmpty()) {
+            return new Result(binding.projectKey, almSettingKey, alm, false, InvalidConfigurationException.Scope.PROJECT.name(),
+                String.format("The %s ALM is not supported by any validators", alm));
+        }
+        try {
+            bindingValidationCache.validate(binding.projectAlmSettingDto, almSettingDto, validator.get());
+            return new Result(binding.projectKey, almSettingKey, alm, true, null, null);
+        } catch (InvalidConfigurationException ex) {
+            return new Result(binding.projectKey, almSettingKey, alm, false, ex.getScope().name(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Could not validate binding for project '{}'", binding.projectKey, ex);
+            return new Result(binding.projectKey, almSettingKey, alm, false, InvalidConfigurationException.Scope.PROJECT.name(),
+                "Could not validate binding - " + ex.getMessage());
+        }
+    }
+
+    private Optional<Validator> findValidator(AlmSettingDto almSettingDto) {
+        return validators.stream()
+            .filter(validator -> validator.alm().contains(almSettingDto.getAlm()))
+            .findFirst();
+    }
+
+    private record BindingGroup(List<Binding> bindings) {
+    }
+
+    private record Binding(String projectKey, ProjectAlmSettingDto projectAlmSettingDto, AlmSettingDto almSettingDto) {
+    }
+
+    public record Result(String projectKey, String almSettingKey, String alm, boolean valid, String scope, String message) {
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    public static final class Job {
+
+        private final String id;
+        private final Queue<Result> results = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger completed = new AtomicInteger();
+        private volatile int total;
+        private volatile Status status = Status.PENDING;
+
+        private Job(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getCompleted() {
+            return completed.get();
+        }
+
+        public Collection<Result> getResults() {
+            return results;
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action;
 
 import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BindingValidationCache;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.Validator;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.Response;
@@ -39,10 +40,13 @@ import java.util.List;
 public class ValidateBindingAction extends ProjectWsAction {
 
     private final List<Validator> validators;
+    private final BindingValidationCache bindingValidationCache;
 
-    public ValidateBindingAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, List<Validator> validators) {
+    public ValidateBindingAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, List<Validator> validators,
+                                 BindingValidationCache bindingValidationCache) {
         super("validate_binding", dbClient, componentFinder, userSession, ProjectPermission.USER);
         this.validators = validators;
+        this.bindingValidationCache = bindingValidationCache;
     }
 
     @Override
@@ -55,10 +59,11 @@ public class ValidateBindingAction extends ProjectWsAction {
         DbClient dbClient = getDbClient();
         dbClient.projectAlmSettingDao()
                 .selectByProject(dbSession, project)
-                .ifPresent(projectAlmSettingDto -> validateProject(projectAlmSettingDto, dbSession, dbClient, validators));
+                .ifPresent(projectAlmSettingDto -> validateProject(projectAlmSettingDto, dbSession, dbClient, validators, bindingValidationCache));
     }
 
-    private static void validateProject(ProjectAlmSettingDto projectAlmSettingDto, DbSession dbSession, DbClient dbClient, List<Validator> validators) {
+    private static void validateProject(ProjectAlmSettingDto projectAlmSettingDto, DbSession dbSession, DbClient dbClient, List<Validator> validators,
+                                        BindingValidationCache bindingValidationCache) {
         try {
             AlmSettingDto almSettingDto = dbClient.almSettingDao().selectByUuid(dbSession, projectAlmSettingDto.getAlmSettingUuid())
                 .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.PROJECT, "The ALM setting bound to the project no longer exists"));
@@ -70,7 +75,7 @@ public class ValidateBindingAction extends ProjectWsAction {
                     .findFirst()
                     .orElseThrow(() -> new InvalidConfigurationException(InvalidConfigurationException.Scope.PROJECT, String.format("The %s ALM is not supported by any validators", targetAlm)));
 
-            validator.validate(projectAlmSettingDto, almSettingDto);
+            bindingValidationCache.validate(projectAlmSettingDto, almSettingDto, validator);
         } catch (InvalidConfigurationException ex) {
             throw new BadConfigurationException(ex.getScope().name(), ex.getMessage());
         }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.component.BranchDto;
+import org.sonar.db.component.BranchType;
+import org.sonar.db.component.SnapshotDto;
+import org.sonar.db.permission.ProjectPermission;
+import org.sonar.db.project.ProjectDto;
+import org.sonar.server.component.ComponentFinder;
+import org.sonar.server.user.UserSession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestBulkDeleter;
+
+public class BulkDeleteAction extends ProjectWsAction {
+
+    private static final String PULL_REQUESTS_PARAMETER = "pullRequests";
+    private static final String ANALYSED_BEFORE_PARAMETER = "analysedBefore";
+    private static final int ACCEPTED_STATUS = 202;
+
+    private final UserSession userSession;
+    private final PullRequestBulkDeleter pullRequestBulkDeleter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public BulkDeleteAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, PullRequestBulkDeleter pullRequestBulkDeleter) {
+        super("bulk_delete", dbClient, componentFinder);
+        this.userSession = userSession;
+        this.pullRequestBulkDeleter = pullRequestBulkDeleter;
+    }
+
+    @Override
+    protected void configureAction(WebService.NewAction action) {
+        action.setPost(true);
+        action.createParam(PULL_REQUESTS_PARAMETER);
+        action.createParam(ANALYSED_BEFORE_PARAMETER);
+    }
+
+    @Override
+    public void handleProjectRequest(ProjectDto project, Request request, Response response, DbSession dbSession) {
+        userSession.checkLoggedIn().checkEntityPermission(ProjectPermission.ADMIN, project);
+
+        List<String> pullRequestKeys = Optional.ofNullable(request.paramAsStrings(PULL_REQUESTS_PARAMETER)).orElse(List.of());
+        Date analysedBefore = request.paramAsDateTime(ANALYSED_BEFORE_PARAMETER);
+        if (pullRequestKeys.isEmpty() == (analysedBefore == null)) {
+            throw new IllegalArgumentException(String.format("Exactly one of '%s' or '%s' must be specified", PULL_REQUESTS_PARAMETER, ANALYSED_BEFORE_PARAMETER));
+        }
+
+        List<BranchDto> pullRequests = getDbClient().branchDao().selectByProject(dbSession, project).stream()
+            .filter(branch -> branch.getBranchType() == BranchType.PULL_REQUEST)
+            .toList();
+        if (!pullRequestKeys.isEmpty()) {
+            Set<String> keys = new HashSet<>(pullRequestKeys);
+            pullRequests = pullRequests.stream()
+                .filter(pullRequest -> keys.contains(pullRequest.getKey()))
+                .toList();
+        } else if (!pullRequests.isEmpty()) {
+            Set<String> analysedBeforeUuids = new HashSet<>(getDbClient().snapshotDao()
+                .selectLastAnalysesByRootComponentUuids(dbSession, pullRequests.stream().map(BranchDto::getUuid).toList()).stream()
+                .filter(snapshot -> snapshot.getCreatedAt() < analysedBefore.getTime())
+                .map(SnapshotDto::getRootComponentUuid)
+                .toList());
+            pullRequests = pullRequests.stream()
+                .filter(pullRequest -> analysedBeforeUuids.contains(pullRequest.getUuid()))
+                .toList();
+        }
+
+        PullRequestBulkDeleter.Job job = pullRequestBulkDeleter.submit(project.getUuid(), pullRequests);
+        writeJob(job, response, ACCEPTED_STATUS, objectMapper);
+    }
+
+    static void writeJob(PullRequestBulkDeleter.Job job, Response response, int status, ObjectMapper objectMapper) {
+        Response.Stream stream = response.stream();
+        try (OutputStream outputStream = stream.output()) {
+            stream.setMediaType("application/json");
+            stream.setStatus(status);
+            objectMapper.writeValue(outputStream, new JobResponse(job.getId(), job.getStatus().name(), job.getTotal(), job.getDeleted(), job.getFailed()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write bulk delete job", ex);
+        }
+    }
+
+    private record JobResponse(String id, String status, int total, int deleted, int failed) {
+    }
+}
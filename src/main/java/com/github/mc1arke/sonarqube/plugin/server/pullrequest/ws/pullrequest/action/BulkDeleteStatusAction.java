@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action;
+
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.permission.ProjectPermission;
+import org.sonar.db.project.ProjectDto;
+import org.sonar.server.component.ComponentFinder;
+import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.user.UserSession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestBulkDeleter;
+
+public class BulkDeleteStatusAction extends ProjectWsAction {
+
+    private static final String ID_PARAMETER = "id";
+    private static final int OK_STATUS = 200;
+
+    private final UserSession userSession;
+    private final PullRequestBulkDeleter pullRequestBulkDeleter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public BulkDeleteStatusAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, PullRequestBulkDeleter pullRequestBulkDeleter) {
+        super("bulk_delete_status", dbClient, componentFinder);
+        this.userSession = userSession;
+        this.pullRequestBulkDeleter = pullRequestBulkDeleter;
+    }
+
+    @Override
+    protected void configureAction(WebService.NewAction action) {
+        action.createParam(ID_PARAMETER)
+            .setRequired(true);
+    }
+
+    @Override
+    public void handleProjectRequest(ProjectDto project, Request request, Response response, DbSession dbSession) {
+        userSession.checkLoggedIn().checkEntityPermission(ProjectPermission.ADMIN, project);
+
+        String id = request.mandatoryParam(ID_PARAMETER);
+        PullRequestBulkDeleter.Job job = pullRequestBulkDeleter.getJob(id)
+            .filter(j -> j.getProjectUuid().equals(project.getUuid()))
+            .orElseThrow(() -> new NotFoundException(String.format("Bulk delete job '%s' is not found for project '%s'", id, project.getKey())));
+
+        BulkDeleteAction.writeJob(job, response, OK_STATUS, objectMapper);
+    }
+}
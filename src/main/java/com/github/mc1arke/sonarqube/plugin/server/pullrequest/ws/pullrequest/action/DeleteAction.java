@@ -17,6 +17,7 @@
  */
 package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action;
 
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestListCache;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.WebService;
@@ -37,11 +38,14 @@ public class DeleteAction extends ProjectWsAction {
 
     private final UserSession userSession;
     private final ComponentCleanerService componentCleanerService;
+    private final PullRequestListCache pullRequestListCache;
 
-    public DeleteAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, ComponentCleanerService componentCleanerService) {
+    public DeleteAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, ComponentCleanerService componentCleanerService,
+                        PullRequestListCache pullRequestListCache) {
         super("delete", dbClient, componentFinder);
         this.userSession = userSession;
         this.componentCleanerService = componentCleanerService;
+        this.pullRequestListCache = pullRequestListCache;
     }
 
     @Override
@@ -62,6 +66,7 @@ public class DeleteAction extends ProjectWsAction {
             .orElseThrow(() -> new NotFoundException(String.format("Pull request '%s' is not found for project '%s'", pullRequestId, project.getKey())));
 
         componentCleanerService.deleteBranch(dbSession, pullRequest);
+        pullRequestListCache.invalidate(project.getUuid());
         response.noContent();
     }
 }
@@ -19,6 +19,8 @@ package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.ac
 
 import static org.sonar.server.user.AbstractUserSession.insufficientPrivilegesException;
 
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -30,6 +32,7 @@ import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.StringUtils;
 import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.measures.Metric.Level;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.WebService;
@@ -51,57 +54,157 @@ import org.sonar.server.ws.WsUtils;
 import org.sonarqube.ws.ProjectPullRequests;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestListCache;
 import com.google.common.base.Strings;
 
 public class ListAction extends ProjectWsAction {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String ETAG_HEADER = "ETag";
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    private static final int NOT_MODIFIED_STATUS = 304;
+    private static final String PAGE_PARAMETER = "p";
+    private static final String PAGE_SIZE_PARAMETER = "ps";
+    private static final String STATUS_PARAMETER = "status";
+    private static final String TARGET_BRANCH_PARAMETER = "targetBranch";
+    private static final String ANALYSED_SINCE_PARAMETER = "analysedSince";
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UserSession userSession;
+    private final PullRequestListCache pullRequestListCache;
     private final ProtoBufWriter protoBufWriter;
 
     @Autowired
-    public ListAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession) {
-        this(dbClient, componentFinder, userSession, WsUtils::writeProtobuf);
+    public ListAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, PullRequestListCache pullRequestListCache) {
+        this(dbClient, componentFinder, userSession, pullRequestListCache, WsUtils::writeProtobuf);
     }
 
-    ListAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, ProtoBufWriter protoBufWriter) {
+    ListAction(DbClient dbClient, ComponentFinder componentFinder, UserSession userSession, PullRequestListCache pullRequestListCache, ProtoBufWriter protoBufWriter) {
         super("list", dbClient, componentFinder);
         this.userSession = userSession;
+        this.pullRequestListCache = pullRequestListCache;
         this.protoBufWriter = protoBufWriter;
     }
 
     @Override
     protected void configureAction(WebService.NewAction action) {
-        //no-op
+        action.createParam(PAGE_PARAMETER).setDefaultValue(1);
+        action.createParam(PAGE_SIZE_PARAMETER).setMaximumValue(MAX_PAGE_SIZE);
+        action.createParam(STATUS_PARAMETER).setPossibleValues(Level.OK.name(), Level.ERROR.name());
+        action.createParam(TARGET_BRANCH_PARAMETER);
+        action.createParam(ANALYSED_SINCE_PARAMETER);
     }
 
     @Override
     public void handleProjectRequest(ProjectDto project, Request request, Response response, DbSession dbSession) {
          checkPermission(project, userSession);
 
+        int page = Optional.ofNullable(request.paramAsInt(PAGE_PARAMETER)).orElse(1);
+        Integer pageSize = request.paramAsInt(PAGE_SIZE_PARAMETER);
+        String status = request.param(STATUS_PARAMETER);
+        String targetBranch = request.param(TARGET_BRANCH_PARAMETER);
+        Date analysedSince = request.paramAsDateTime(ANALYSED_SINCE_PARAMETER);
+        if (page < 1 || (pageSize != null && pageSize < 1)) {
+            throw new IllegalArgumentException("Page and page size must be greater than 0");
+        }
+
+        String query = String.join("|", String.valueOf(page), String.valueOf(pageSize), String.valueOf(status), String.valueOf(targetBranch),
+            analysedSince == null ? "null" : String.valueOf(analysedSince.getTime()));
+        PullRequestListCache.Listing listing = pullRequestListCache.get(project.getUuid(), query,
+            () -> createListing(project, dbSession, page, pageSize, status, targetBranch, analysedSince));
+
+        response.setHeader(TOTAL_COUNT_HEADER, String.valueOf(listing.getTotalCount()));
+        String mediaType = request.getMediaType();
+        response.setHeader(ETAG_HEADER, listing.getEtag(mediaType));
+        if (listing.matches(request.header(IF_NONE_MATCH_HEADER).orElse(null), mediaType)) {
+            response.stream().setStatus(NOT_MODIFIED_STATUS);
+            return;
+        }
+        protoBufWriter.write(listing.getResponse(), request, response);
+    }
+
+    private PullRequestListCache.Listing createListing(ProjectDto project, DbSession dbSession, int page, @Nullable Integer pageSize,
+                                                       @Nullable String status, @Nullable String targetBranch, @Nullable Date analysedSince) {
         BranchDao branchDao = getDbClient().branchDao();
         List<BranchDto> pullRequests = branchDao.selectByProject(dbSession, project).stream()
             .filter(b -> b.getBranchType() == BranchType.PULL_REQUEST)
+            .sorted(Comparator.comparing(BranchDto::getKey))
             .toList();
-        List<String> pullRequestUuids = pullRequests.stream().map(BranchDto::getUuid).toList();
 
         Map<String, BranchDto> mergeBranchesByUuid = branchDao
             .selectByUuids(dbSession, pullRequests.stream()
                 .map(BranchDto::getMergeBranchUuid)
                 .filter(Objects::nonNull)
+                .distinct()
                 .toList())
             .stream().collect(Collectors.toMap(BranchDto::getUuid, Function.identity()));
 
-        Map<String, MeasureDto> qualityGateMeasuresByComponentUuids = getDbClient().measureDao()
-            .selectByComponentUuidsAndMetricKeys(dbSession, pullRequestUuids, List.of(CoreMetrics.ALERT_STATUS_KEY)).stream()
-            .collect(Collectors.toMap(MeasureDto::getComponentUuid, Function.identity()));
-        Map<String, String> analysisDateByBranchUuid = getDbClient().snapshotDao().selectLastAnalysesByRootComponentUuids(dbSession, pullRequestUuids).stream()
-            .collect(Collectors.toMap(SnapshotDto::getRootComponentUuid, s -> DateUtils.formatDateTime(s.getCreatedAt())));
+        if (targetBranch != null) {
+            pullRequests = pullRequests.stream()
+                .filter(b -> findTarget(b, mergeBranchesByUuid).filter(targetBranch::equals).isPresent())
+                .toList();
+        }
+
+        // measures and analyses are only loaded for every candidate where a filter needs them, otherwise just for the requested page
+        Map<String, MeasureDto> qualityGateMeasuresByComponentUuids = null;
+        if (status != null) {
+            qualityGateMeasuresByComponentUuids = loadQualityGateMeasures(dbSession, pullRequests);
+            Map<String, MeasureDto> measures = qualityGateMeasuresByComponentUuids;
+            pullRequests = pullRequests.stream()
+                .filter(b -> Optional.ofNullable(measures.get(b.getUuid()))
+                    .map(m -> m.getString(CoreMetrics.ALERT_STATUS_KEY))
+                    .filter(status::equals)
+                    .isPresent())
+                .toList();
+        }
+
+        Map<String, SnapshotDto> lastAnalysesByBranchUuid = null;
+        if (analysedSince != null) {
+            lastAnalysesByBranchUuid = loadLastAnalyses(dbSession, pullRequests);
+            Map<String, SnapshotDto> analyses = lastAnalysesByBranchUuid;
+            pullRequests = pullRequests.stream()
+                .filter(b -> Optional.ofNullable(analyses.get(b.getUuid()))
+                    .filter(s -> s.getCreatedAt() >= analysedSince.getTime())
+                    .isPresent())
+                .toList();
+        }
+
+        int totalCount = pullRequests.size();
+        if (pageSize != null) {
+            int fromIndex = (int) Math.min((long) (page - 1) * pageSize, totalCount);
+            pullRequests = pullRequests.subList(fromIndex, Math.min(fromIndex + pageSize, totalCount));
+        }
+
+        if (qualityGateMeasuresByComponentUuids == null) {
+            qualityGateMeasuresByComponentUuids = loadQualityGateMeasures(dbSession, pullRequests);
+        }
+        if (lastAnalysesByBranchUuid == null) {
+            lastAnalysesByBranchUuid = loadLastAnalyses(dbSession, pullRequests);
+        }
 
         ProjectPullRequests.ListWsResponse.Builder protobufResponse = ProjectPullRequests.ListWsResponse.newBuilder();
-        pullRequests
-            .forEach(b -> addPullRequest(protobufResponse, b, mergeBranchesByUuid, qualityGateMeasuresByComponentUuids.get(b.getUuid()),
-                analysisDateByBranchUuid.get(b.getUuid())));
-        protoBufWriter.write(protobufResponse.build(), request, response);
+        for (BranchDto pullRequest : pullRequests) {
+            addPullRequest(protobufResponse, pullRequest, mergeBranchesByUuid, qualityGateMeasuresByComponentUuids.get(pullRequest.getUuid()),
+                Optional.ofNullable(lastAnalysesByBranchUuid.get(pullRequest.getUuid())).map(s -> DateUtils.formatDateTime(s.getCreatedAt())).orElse(null));
+        }
+        return new PullRequestListCache.Listing(protobufResponse.build(), totalCount);
+    }
+
+    private Map<String, MeasureDto> loadQualityGateMeasures(DbSession dbSession, List<BranchDto> pullRequests) {
+        if (pullRequests.isEmpty()) {
+            return Map.of();
+        }
+        return getDbClient().measureDao()
+            .selectByComponentUuidsAndMetricKeys(dbSession, pullRequests.stream().map(BranchDto::getUuid).toList(), List.of(CoreMetrics.ALERT_STATUS_KEY)).stream()
+            .collect(Collectors.toMap(MeasureDto::getComponentUuid, Function.identity()));
+    }
+
+    private Map<String, SnapshotDto> loadLastAnalyses(DbSession dbSession, List<BranchDto> pullRequests) {
+        if (pullRequests.isEmpty()) {
+            return Map.of();
+        }
+        return getDbClient().snapshotDao().selectLastAnalysesByRootComponentUuids(dbSession, pullRequests.stream().map(BranchDto::getUuid).toList()).stream()
+            .collect(Collectors.toMap(SnapshotDto::getRootComponentUuid, Function.identity()));
     }
 
     private static void checkPermission(ProjectDto project, UserSession userSession) {
@@ -134,19 +237,20 @@ public class ListAction extends ProjectWsAction {
             builder.setIsOrphan(true);
         }
 
-        Optional<String> pullRequestTarget = optionalPullRequestData.map(DbProjectBranches.PullRequestData::getTarget)
-                .filter(StringUtils::isNotEmpty);
-        if (pullRequestTarget.isPresent()) {
-            builder.setTarget(pullRequestTarget.get());
-        } else {
-            mergeBranch.ifPresent(branchDto -> builder.setTarget(branchDto.getKey()));
-        }
+        findTarget(branch, mergeBranchesByUuid).ifPresent(builder::setTarget);
 
         Optional.ofNullable(analysisDate).ifPresent(builder::setAnalysisDate);
         setQualityGate(builder, qualityGateMeasure);
         response.addPullRequests(builder);
     }
 
+    private static Optional<String> findTarget(BranchDto branch, Map<String, BranchDto> mergeBranchesByUuid) {
+        return Optional.ofNullable(branch.getPullRequestData())
+                .map(DbProjectBranches.PullRequestData::getTarget)
+                .filter(StringUtils::isNotEmpty)
+                .or(() -> Optional.ofNullable(mergeBranchesByUuid.get(branch.getMergeBranchUuid())).map(BranchDto::getKey));
+    }
+
     private static void setQualityGate(ProjectPullRequests.PullRequest.Builder builder, @Nullable MeasureDto qualityGateMeasure) {
         ProjectPullRequests.Status.Builder statusBuilder = ProjectPullRequests.Status.newBuilder();
         if (qualityGateMeasure != null) {
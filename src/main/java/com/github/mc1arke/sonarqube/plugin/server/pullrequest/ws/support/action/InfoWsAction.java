@@ -20,9 +20,13 @@ package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Optional;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationOutbox;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.Response.Stream;
@@ -35,11 +39,13 @@ public class InfoWsAction implements SupportWsAction {
 
     private final UserSession userSession;
     private final InternalProperties internalProperties;
+    private final PluginStatistics pluginStatistics;
     private final ObjectMapper objectMapper;
 
-    public InfoWsAction(UserSession userSession, InternalProperties internalProperties) {
+    public InfoWsAction(UserSession userSession, InternalProperties internalProperties, PluginStatistics pluginStatistics) {
         this.userSession = userSession;
         this.internalProperties = internalProperties;
+        this.pluginStatistics = pluginStatistics;
         this.objectMapper = new ObjectMapper()
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL)
                 .findAndRegisterModules();
@@ -60,14 +66,20 @@ public class InfoWsAction implements SupportWsAction {
             objectMapper.writeValue(outputStream, new InfoResponse(
                     new InfoResponse.Statistics(
                             internalProperties.read(InternalProperties.INSTALLATION_DATE)
-                                    .map(date -> DateUtils.formatDateTime(Long.parseLong(date))).orElse(null))
-                    )
+                                    .map(date -> DateUtils.formatDateTime(Long.parseLong(date))).orElse(null),
+                            internalProperties.read(PluginStatistics.INTERNAL_PROPERTY_KEY).orElse(null),
+                            Optional.ofNullable(pluginStatistics.snapshot())
+                                    .filter(snapshot -> !snapshot.counters().isEmpty() || !snapshot.timers().isEmpty())
+                                    .orElse(null)),
+                    internalProperties.read(DecorationOutbox.INTERNAL_PROPERTY_KEY)
+                            .filter(pendingDecorations -> !"[]".equals(pendingDecorations))
+                            .orElse(null))
             );
         }
     }
 
-    private record InfoResponse(Statistics statistics) {
-        private record Statistics(String installationDate) {
+    private record InfoResponse(Statistics statistics, @JsonRawValue String pendingDecorations) {
+        private record Statistics(String installationDate, @JsonRawValue String runtime, PluginStatistics.Snapshot webServer) {
         }
     }
 }
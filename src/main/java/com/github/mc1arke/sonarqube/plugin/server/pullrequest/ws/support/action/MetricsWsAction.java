@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+import com.github.mc1arke.sonarqube.plugin.statistics.PrometheusTextFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.Response.Stream;
+import org.sonar.api.server.ws.WebService.NewController;
+import org.sonar.server.property.InternalProperties;
+import org.sonar.server.user.UserSession;
+
+/**
+ * Exposes the plugin statistics in the Prometheus text format: the snapshot last published by the Compute Engine, and
+ * the statistics recorded by this web server, such as requests made to ALMs while validating bindings.
+ */
+public class MetricsWsAction implements SupportWsAction {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsWsAction.class);
+
+    private final UserSession userSession;
+    private final InternalProperties internalProperties;
+    private final PluginStatistics pluginStatistics;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public MetricsWsAction(UserSession userSession, InternalProperties internalProperties, PluginStatistics pluginStatistics) {
+        this.userSession = userSession;
+        this.internalProperties = internalProperties;
+        this.pluginStatistics = pluginStatistics;
+    }
+
+    @Override
+    public void define(NewController newController) {
+        newController.createAction("metrics").setHandler(this);
+    }
+
+    @Override
+    public void handle(Request request, Response response) throws IOException {
+        userSession.checkLoggedIn().checkIsSystemAdministrator();
+        Map<String, PluginStatistics.Snapshot> snapshots = new LinkedHashMap<>();
+        internalProperties.read(PluginStatistics.INTERNAL_PROPERTY_KEY)
+                .flatMap(this::readSnapshot)
+                .ifPresent(snapshot -> snapshots.put("compute_engine", snapshot));
+        snapshots.put("web", pluginStatistics.snapshot());
+
+        Stream stream = response.stream();
+        try (Writer writer = new OutputStreamWriter(stream.output(), StandardCharsets.UTF_8)) {
+            stream.setMediaType(PrometheusTextFormat.CONTENT_TYPE);
+            stream.setStatus(200);
+            PrometheusTextFormat.write(snapshots, writer);
+        }
+    }
+
+    private Optional<PluginStatistics.Snapshot> readSnapshot(String value) {
+        try {
+            return Optional.of(objectMapper.readValue(value, PluginStatistics.Snapshot.class));
+        } catch (JsonProcessingException ex) {
+            LOGGER.warn("Could not read Compute Engine statistics", ex);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BulkBindingValidator;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.Response.Stream;
+import org.sonar.api.server.ws.WebService.NewController;
+import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.user.UserSession;
+
+public class ValidateBindingsReportWsAction implements SupportWsAction {
+
+    private static final String ID_PARAMETER = "id";
+
+    private final UserSession userSession;
+    private final BulkBindingValidator bulkBindingValidator;
+    private final ObjectMapper objectMapper;
+
+    public ValidateBindingsReportWsAction(UserSession userSession, BulkBindingValidator bulkBindingValidator) {
+        this.userSession = userSession;
+        this.bulkBindingValidator = bulkBindingValidator;
+        this.objectMapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @Override
+    public void define(NewController newController) {
+        newController.createAction("validate_bindings_report")
+                .setHandler(this)
+                .createParam(ID_PARAMETER)
+                .setRequired(true);
+    }
+
+    @Override
+    public void handle(Request request, Response response) throws IOException {
+        userSession.checkLoggedIn().checkIsSystemAdministrator();
+        String id = request.mandatoryParam(ID_PARAMETER);
+        BulkBindingValidator.Job job = bulkBindingValidator.getJob(id)
+                .orElseThrow(() -> new NotFoundException(String.format("Binding validation '%s' is not found", id)));
+
+        Stream stream = response.stream();
+        try (OutputStream outputStream = stream.output();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            stream.setMediaType("application/json");
+            stream.setStatus(200);
+            generator.writeStartObject();
+            generator.writeStringField("id", job.getId());
+            generator.writeStringField("status", job.getStatus().name());
+            generator.writeNumberField("total", job.getTotal());
+            generator.writeNumberField("completed", job.getCompleted());
+            generator.writeArrayFieldStart("results");
+            for (BulkBindingValidator.Result result : job.getResults()) {
+                objectMapper.writeValue(generator, result);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BulkBindingValidator;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.Response.Stream;
+import org.sonar.api.server.ws.WebService.NewController;
+import org.sonar.server.user.UserSession;
+
+public class ValidateBindingsWsAction implements SupportWsAction {
+
+    private final UserSession userSession;
+    private final BulkBindingValidator bulkBindingValidator;
+    private final ObjectMapper objectMapper;
+
+    public ValidateBindingsWsAction(UserSession userSession, BulkBindingValidator bulkBindingValidator) {
+        this.userSession = userSession;
+        this.bulkBindingValidator = bulkBindingValidator;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public void define(NewController newController) {
+        newController.createAction("validate_bindings")
+                .setPost(true)
+                .setHandler(this);
+    }
+
+    @Override
+    public void handle(Request request, Response response) throws IOException {
+        userSession.checkLoggedIn().checkIsSystemAdministrator();
+        BulkBindingValidator.Job job = bulkBindingValidator.submit();
+        Stream stream = response.stream();
+        try (OutputStream outputStream = stream.output()) {
+            stream.setMediaType("application/json");
+            stream.setStatus(202);
+            objectMapper.writeValue(outputStream, new SubmitResponse(job.getId(), job.getStatus().name()));
+        }
+    }
+
+    private record SubmitResponse(String id, String status) {
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.statistics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.Startable;
+import org.sonar.api.ce.ComputeEngineSide;
+import org.sonar.api.server.ServerSide;
+import org.sonar.server.property.InternalProperties;
+
+/**
+ * Collects counters and latency histograms for the work the plugin does in the Compute Engine. Values are held in striped
+ * {@link LongAdder}s so recording from concurrent workers does not contend on a single field. The Compute Engine does
+ * not share memory with the web server, so a snapshot is written to an internal property after decorations, which is
+ * where {@code api/support/info} reads it from. Writes are limited to one per {@link #PUBLISH_INTERVAL}, so the
+ * published figures can be up to that far behind. The web server keeps its own instance for the ALM requests it makes
+ * while validating bindings, which is reported directly rather than published.
+ */
+@ServerSide
+@ComputeEngineSide
+public class PluginStatistics implements Startable {
+
+    public static final String INTERNAL_PROPERTY_KEY = "communityBranchPlugin.statistics";
+    static final Duration PUBLISH_INTERVAL = Duration.ofSeconds(30);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PluginStatistics.class);
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = {10, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final InternalProperties internalProperties;
+    private final Clock clock;
+    private final ScheduledExecutorService publishExecutor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private Long lastPublishedAt;
+    private boolean publishScheduled;
+
+    public PluginStatistics(InternalProperties internalProperties) {
+        this(internalProperties, Clock.systemUTC(), Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "community-branch-statistics-publish");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    PluginStatistics(InternalProperties internalProperties, Clock clock, ScheduledExecutorService publishExecutor) {
+        this.internalProperties = internalProperties;
+        this.clock = clock;
+        this.publishExecutor = publishExecutor;
+    }
+
+    @Override
+    public void start() {
+        // the executor only creates its thread when a publish is first deferred, so there is nothing further to start
+    }
+
+    @Override
+    public synchronized void stop() {
+        publishExecutor.shutdownNow();
+        if (publishScheduled) {
+            publishScheduled = false;
+            write();
+        }
+    }
+
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public void add(String counter, long amount) {
+        counters.computeIfAbsent(counter, k -> new LongAdder()).add(amount);
+    }
+
+    public void record(String timer, Duration duration) {
+        timers.computeIfAbsent(timer, k -> new Timer()).record(Math.max(0, duration.toMillis()));
+    }
+
+    public Snapshot snapshot() {
+        SortedMap<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, value) -> counterValues.put(name, value.sum()));
+        SortedMap<String, TimerSnapshot> timerValues = new TreeMap<>();
+        timers.forEach((name, timer) -> timerValues.put(name, timer.snapshot()));
+        return new Snapshot(counterValues, timerValues);
+    }
+
+    /**
+     * Writes a snapshot straight away if none has been written within the last {@link #PUBLISH_INTERVAL}, and otherwise
+     * schedules one for the end of that interval, which also covers any further calls made before then.
+     */
+    public synchronized void publish() {
+        if (publishScheduled) {
+            return;
+        }
+        long now = clock.millis();
+        if (null == lastPublishedAt || now - lastPublishedAt >= PUBLISH_INTERVAL.toMillis()) {
+            write();
+            return;
+        }
+        try {
+            publishExecutor.schedule(this::publishScheduled, lastPublishedAt + PUBLISH_INTERVAL.toMillis() - now, TimeUnit.MILLISECONDS);
+            publishScheduled = true;
+        } catch (RejectedExecutionException ex) {
+            // stopping, so there will be no later chance to publish
+            write();
+        }
+    }
+
+    private synchronized void publishScheduled() {
+        if (publishScheduled) {
+            publishScheduled = false;
+            write();
+        }
+    }
+
+    private void write() {
+        lastPublishedAt = clock.millis();
+        try {
+            internalProperties.write(INTERNAL_PROPERTY_KEY, objectMapper.writeValueAsString(snapshot()));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            LOGGER.warn("Could not publish plugin statistics", ex);
+        }
+    }
+
+    public record Snapshot(SortedMap<String, Long> counters, SortedMap<String, TimerSnapshot> timers) {
+    }
+
+    public record TimerSnapshot(long count, long totalMillis, long maxMillis, Map<String, Long> histogram) {
+    }
+
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKET_UPPER_BOUNDS_MILLIS.length + 1];
+
+        private Timer() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long millis) {
+            count.increment();
+            totalMillis.add(millis);
+            maxMillis.accumulate(millis);
+            int bucket = 0;
+            while (bucket < BUCKET_UPPER_BOUNDS_MILLIS.length && millis > BUCKET_UPPER_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        private TimerSnapshot snapshot() {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+                histogram.put("le" + BUCKET_UPPER_BOUNDS_MILLIS[i], buckets[i].sum());
+            }
+            histogram.put("inf", buckets[BUCKET_UPPER_BOUNDS_MILLIS.length].sum());
+            return new TimerSnapshot(count.sum(), totalMillis.sum(), maxMillis.get(), histogram);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.statistics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes {@link PluginStatistics.Snapshot}s in the Prometheus text exposition format. Statistic names are free-form
+ * (and, for HTTP requests, contain an endpoint template), so every statistic is exposed under a fixed metric name with
+ * the statistic name and the process that recorded it as labels.
+ */
+public final class PrometheusTextFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String COUNTER_METRIC = "community_branch_plugin_counter_total";
+    private static final String TIMER_METRIC = "community_branch_plugin_timer_seconds";
+    private static final String TIMER_MAX_METRIC = "community_branch_plugin_timer_max_seconds";
+
+    private PrometheusTextFormat() {
+    }
+
+    public static void write(Map<String, PluginStatistics.Snapshot> snapshotsByProcess, Writer writer) throws IOException {
+        writer.write("# TYPE " + COUNTER_METRIC + " counter\n");
+        for (Map.Entry<String, PluginStatistics.Snapshot> snapshot : snapshotsByProcess.entrySet()) {
+            for (Map.Entry<String, Long> counter : snapshot.getValue().counters().entrySet()) {
+                writeSample(writer, COUNTER_METRIC, snapshot.getKey(), counter.getKey(), null, Long.toString(counter.getValue()));
+            }
+        }
+
+        writer.write("# TYPE " + TIMER_METRIC + " histogram\n");
+        for (Map.Entry<String, PluginStatistics.Snapshot> snapshot : snapshotsByProcess.entrySet()) {
+            for (Map.Entry<String, PluginStatistics.TimerSnapshot> timer : snapshot.getValue().timers().entrySet()) {
+                long cumulativeCount = 0;
+                for (Map.Entry<String, Long> bucket : timer.getValue().histogram().entrySet()) {
+                    cumulativeCount += bucket.getValue();
+                    writeSample(writer, TIMER_METRIC + "_bucket", snapshot.getKey(), timer.getKey(), upperBound(bucket.getKey()), Long.toString(cumulativeCount));
+                }
+                writeSample(writer, TIMER_METRIC + "_sum", snapshot.getKey(), timer.getKey(), null, seconds(timer.getValue().totalMillis()));
+                writeSample(writer, TIMER_METRIC + "_count", snapshot.getKey(), timer.getKey(), null, Long.toString(timer.getValue().count()));
+            }
+        }
+
+        writer.write("# TYPE " + TIMER_MAX_METRIC + " gauge\n");
+        for (Map.Entry<String, PluginStatistics.Snapshot> snapshot : snapshotsByProcess.entrySet()) {
+            for (Map.Entry<String, PluginStatistics.TimerSnapshot> timer : snapshot.getValue().timers().entrySet()) {
+                writeSample(writer, TIMER_MAX_METRIC, snapshot.getKey(), timer.getKey(), null, seconds(timer.getValue().maxMillis()));
+            }
+        }
+    }
+
+    private static void writeSample(Writer writer, String metric, String process, String name, String upperBound, String value) throws IOException {
+        writer.write(metric);
+        writer.write("{process=\"");
+        writeEscaped(writer, process);
+        writer.write("\",name=\"");
+        writeEscaped(writer, name);
+        if (null != upperBound) {
+            writer.write("\",le=\"");
+            writer.write(upperBound);
+        }
+        writer.write("\"} ");
+        writer.write(value);
+        writer.write('\n');
+    }
+
+    private static void writeEscaped(Writer writer, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '\\' || character == '"') {
+                writer.write('\\');
+                writer.write(character);
+            } else if (character == '\n') {
+                writer.write("\\n");
+            } else {
+                writer.write(character);
+            }
+        }
+    }
+
+    private static String upperBound(String bucket) {
+        return bucket.startsWith("le") ? seconds(Long.parseLong(bucket.substring(2))) : "+Inf";
+    }
+
+    private static String seconds(long millis) {
+        return Double.toString(millis / 1000.0);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BytecodeCacheTest {
+
+    private static final byte[] ORIGINAL = {1, 2, 3};
+    private static final byte[] TRANSFORMED = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 61};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReturnCachedBytecodeForSameOriginalClass() {
+        BytecodeCache underTest = new BytecodeCache(directory, "1.0.0");
+
+        underTest.write("org.example.Target", ORIGINAL, TRANSFORMED);
+
+        assertThat(new BytecodeCache(directory, "1.0.0").read("org.example.Target", ORIGINAL)).contains(TRANSFORMED);
+    }
+
+    @Test
+    void shouldMissCacheWhenOriginalClassOrAgentBuildChanges() {
+        BytecodeCache underTest = new BytecodeCache(directory, "1.0.0");
+
+        underTest.write("org.example.Target", ORIGINAL, TRANSFORMED);
+
+        assertThat(underTest.read("org.example.Target", new byte[]{1, 2, 4})).isEmpty();
+        assertThat(new BytecodeCache(directory, "1.0.1").read("org.example.Target", ORIGINAL)).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceStaleEntriesForClass() throws IOException {
+        BytecodeCache underTest = new BytecodeCache(directory, "1.0.0");
+
+        underTest.write("org.example.Target", ORIGINAL, TRANSFORMED);
+        underTest.write("org.example.Target", new byte[]{1, 2, 4}, TRANSFORMED);
+        underTest.write("org.example.Other", ORIGINAL, TRANSFORMED);
+
+        try (Stream<Path> entries = Files.list(directory)) {
+            assertThat(entries.map(path -> path.getFileName().toString()))
+                    .hasSize(2)
+                    .anyMatch(name -> name.startsWith("org.example.Target-"))
+                    .anyMatch(name -> name.startsWith("org.example.Other-"));
+        }
+        assertThat(underTest.read("org.example.Target", ORIGINAL)).isEmpty();
+    }
+
+    @Test
+    void shouldDiscardEntryThatIsNotClassFile() throws IOException {
+        BytecodeCache underTest = new BytecodeCache(directory, "1.0.0");
+        underTest.write("org.example.Target", ORIGINAL, TRANSFORMED);
+        Path entry;
+        try (Stream<Path> entries = Files.list(directory)) {
+            entry = entries.findFirst().orElseThrow();
+        }
+        Files.write(entry, new byte[]{0, 0});
+
+        assertThat(underTest.read("org.example.Target", ORIGINAL)).isEmpty();
+        assertThat(entry).doesNotExist();
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() throws IOException {
+        BytecodeCache underTest = new BytecodeCache(null, null);
+
+        underTest.write("org.example.Target", ORIGINAL, TRANSFORMED);
+
+        assertThat(underTest.read("org.example.Target", ORIGINAL)).isEmpty();
+        try (Stream<Path> entries = Files.list(directory)) {
+            assertThat(entries).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldDefaultToDataDirectoryPassedToProcess() {
+        Map<String, String> properties = Map.of(BytecodeCache.DATA_PATH_PROPERTY, "/var/sonarqube/data",
+                BytecodeCache.HOME_PATH_PROPERTY, "/opt/sonarqube");
+
+        assertThat(BytecodeCache.defaultDirectory(properties::get))
+                .isEqualTo(Path.of("/var/sonarqube/data", "community-branch-plugin", "agent-cache"));
+    }
+
+    @Test
+    void shouldDefaultToDataDirectoryUnderHomePassedToProcess() {
+        Map<String, String> properties = Map.of(BytecodeCache.HOME_PATH_PROPERTY, "/opt/sonarqube");
+
+        assertThat(BytecodeCache.defaultDirectory(properties::get))
+                .isEqualTo(Path.of("/opt/sonarqube", "data", "community-branch-plugin", "agent-cache"));
+    }
+
+    @Test
+    void shouldDefaultToDataDirectoryUnderWorkingDirectoryWhenNoPathPassedToProcess() {
+        assertThat(BytecodeCache.defaultDirectory(key -> null))
+                .isEqualTo(Path.of("data", "community-branch-plugin", "agent-cache"));
+    }
+}
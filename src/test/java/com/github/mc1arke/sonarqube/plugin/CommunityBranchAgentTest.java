@@ -21,7 +21,7 @@ package com.github.mc1arke.sonarqube.plugin;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
@@ -32,10 +32,13 @@ import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.sonar.api.SonarRuntime;
 import org.sonar.core.documentation.DocumentationLinkGenerator;
@@ -69,12 +72,12 @@ class CommunityBranchAgentTest {
 
         ArgumentCaptor<ClassFileTransformer> classFileTransformerArgumentCaptor = ArgumentCaptor.captor();
         verify(instrumentation).retransformClasses(MultipleAlmFeature.class);
-        verify(instrumentation, times(4)).addTransformer(classFileTransformerArgumentCaptor.capture());
+        verify(instrumentation).addTransformer(classFileTransformerArgumentCaptor.capture());
 
 
-        try (InputStream inputStream = MultipleAlmFeature.class.getResourceAsStream(MultipleAlmFeature.class.getSimpleName() + ".class")) {
+        try (InputStream inputStream = CommunityBranchPluginBootstrap.class.getResourceAsStream(CommunityBranchPluginBootstrap.class.getSimpleName() + ".class")) {
             byte[] input = IOUtils.toByteArray(inputStream);
-            byte[] result = classFileTransformerArgumentCaptor.getAllValues().get(0).transform(getClass().getClassLoader(), CommunityBranchPluginBootstrap.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
+            byte[] result = classFileTransformerArgumentCaptor.getValue().transform(getClass().getClassLoader(), CommunityBranchPluginBootstrap.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
 
             Object instance =  classLoader.loadClass(CommunityBranchPluginBootstrap.class.getName(), result).getConstructor().newInstance();
 
@@ -94,11 +97,11 @@ class CommunityBranchAgentTest {
 
         ArgumentCaptor<ClassFileTransformer> classFileTransformerArgumentCaptor = ArgumentCaptor.captor();
         verify(instrumentation).retransformClasses(MultipleAlmFeature.class);
-        verify(instrumentation, times(4)).addTransformer(classFileTransformerArgumentCaptor.capture());
+        verify(instrumentation).addTransformer(classFileTransformerArgumentCaptor.capture());
 
         try (InputStream inputStream = MultipleAlmFeature.class.getResourceAsStream(MultipleAlmFeature.class.getSimpleName() + ".class")) {
             byte[] input = IOUtils.toByteArray(inputStream);
-            byte[] result = classFileTransformerArgumentCaptor.getAllValues().get(1).transform(classLoader, MultipleAlmFeature.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
+            byte[] result = classFileTransformerArgumentCaptor.getValue().transform(classLoader, MultipleAlmFeature.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
             Class<SonarQubeFeature> redefined = (Class<SonarQubeFeature>) classLoader.loadClass(MultipleAlmFeature.class.getName(), result);
 
             SonarRuntime sonarRuntime = mock();
@@ -119,11 +122,11 @@ class CommunityBranchAgentTest {
 
         ArgumentCaptor<ClassFileTransformer> classFileTransformerArgumentCaptor = ArgumentCaptor.captor();
         verify(instrumentation).retransformClasses(SetAction.class);
-        verify(instrumentation, times(4)).addTransformer(classFileTransformerArgumentCaptor.capture());
+        verify(instrumentation).addTransformer(classFileTransformerArgumentCaptor.capture());
 
         try (InputStream inputStream = SetAction.class.getResourceAsStream(SetAction.class.getSimpleName() + ".class")) {
             byte[] input = IOUtils.toByteArray(inputStream);
-            byte[] result = classFileTransformerArgumentCaptor.getAllValues().get(2).transform(classLoader, SetAction.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
+            byte[] result = classFileTransformerArgumentCaptor.getValue().transform(classLoader, SetAction.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
 
             Class<?> setActionClass = classLoader.loadClass(SetAction.class.getName(), result);
 
@@ -152,11 +155,11 @@ class CommunityBranchAgentTest {
 
         ArgumentCaptor<ClassFileTransformer> classFileTransformerArgumentCaptor = ArgumentCaptor.captor();
         verify(instrumentation).retransformClasses(UnsetAction.class);
-        verify(instrumentation, times(4)).addTransformer(classFileTransformerArgumentCaptor.capture());
+        verify(instrumentation).addTransformer(classFileTransformerArgumentCaptor.capture());
 
-        try (InputStream inputStream = SetAction.class.getResourceAsStream(SetAction.class.getSimpleName() + ".class")) {
+        try (InputStream inputStream = UnsetAction.class.getResourceAsStream(UnsetAction.class.getSimpleName() + ".class")) {
             byte[] input = IOUtils.toByteArray(inputStream);
-            byte[] result = classFileTransformerArgumentCaptor.getAllValues().get(3).transform(classLoader, UnsetAction.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
+            byte[] result = classFileTransformerArgumentCaptor.getValue().transform(classLoader, UnsetAction.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
 
             Class<?> unsetActionClass = classLoader.loadClass(UnsetAction.class.getName(), result);
             DbClient dbClient = mock();
@@ -182,7 +185,7 @@ class CommunityBranchAgentTest {
 
         ArgumentCaptor<ClassFileTransformer> classFileTransformerArgumentCaptor = ArgumentCaptor.captor();
         verify(instrumentation).retransformClasses(MultipleAlmFeature.class);
-        verify(instrumentation, times(4)).addTransformer(classFileTransformerArgumentCaptor.capture());
+        verify(instrumentation).addTransformer(classFileTransformerArgumentCaptor.capture());
 
         byte[] input = new byte[]{1, 2, 3, 4, 5, 6};
         byte[] result = classFileTransformerArgumentCaptor.getValue().transform(getClass().getClassLoader(), "com/github/mc1arke/Dummy", getClass(), getClass().getProtectionDomain(), input);
@@ -198,7 +201,7 @@ class CommunityBranchAgentTest {
 
         ArgumentCaptor<ClassFileTransformer> classFileTransformerArgumentCaptor = ArgumentCaptor.captor();
         verify(instrumentation).retransformClasses(PlatformEditionProvider.class);
-        verify(instrumentation, times(3)).addTransformer(classFileTransformerArgumentCaptor.capture());
+        verify(instrumentation).addTransformer(classFileTransformerArgumentCaptor.capture());
 
         byte[] input = new byte[]{1, 2, 3, 4, 5, 6};
         byte[] result = classFileTransformerArgumentCaptor.getValue().transform(getClass().getClassLoader(), "com/github/mc1arke/Dummy", getClass(), getClass().getProtectionDomain(), input);
@@ -215,11 +218,11 @@ class CommunityBranchAgentTest {
         ArgumentCaptor<ClassFileTransformer> classFileTransformerArgumentCaptor = ArgumentCaptor.captor();
         verify(instrumentation).retransformClasses(MultipleAlmFeature.class);
         verify(instrumentation).retransformClasses(PlatformEditionProvider.class);
-        verify(instrumentation, times(3)).addTransformer(classFileTransformerArgumentCaptor.capture());
+        verify(instrumentation).addTransformer(classFileTransformerArgumentCaptor.capture());
 
-        try (InputStream inputStream = MultipleAlmFeature.class.getResourceAsStream(MultipleAlmFeature.class.getSimpleName() + ".class")) {
+        try (InputStream inputStream = CommunityBranchPluginBootstrap.class.getResourceAsStream(CommunityBranchPluginBootstrap.class.getSimpleName() + ".class")) {
             byte[] input = IOUtils.toByteArray(inputStream);
-            byte[] result = classFileTransformerArgumentCaptor.getAllValues().get(0).transform(getClass().getClassLoader(), CommunityBranchPluginBootstrap.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
+            byte[] result = classFileTransformerArgumentCaptor.getValue().transform(getClass().getClassLoader(), CommunityBranchPluginBootstrap.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
 
             CustomClassloader classLoader = new CustomClassloader();
 
@@ -233,7 +236,7 @@ class CommunityBranchAgentTest {
 
         try (InputStream inputStream = PlatformEditionProvider.class.getResourceAsStream(PlatformEditionProvider.class.getSimpleName() + ".class")) {
             byte[] input = IOUtils.toByteArray(inputStream);
-            byte[] result = classFileTransformerArgumentCaptor.getAllValues().get(1).transform(getClass().getClassLoader(), PlatformEditionProvider.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
+            byte[] result = classFileTransformerArgumentCaptor.getValue().transform(getClass().getClassLoader(), PlatformEditionProvider.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
 
             CustomClassloader classLoader = new CustomClassloader();
 
@@ -243,7 +246,7 @@ class CommunityBranchAgentTest {
 
         try (InputStream inputStream = MultipleAlmFeature.class.getResourceAsStream(MultipleAlmFeature.class.getSimpleName() + ".class")) {
             byte[] input = IOUtils.toByteArray(inputStream);
-            byte[] result = classFileTransformerArgumentCaptor.getAllValues().get(2).transform(getClass().getClassLoader(), MultipleAlmFeature.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
+            byte[] result = classFileTransformerArgumentCaptor.getValue().transform(getClass().getClassLoader(), MultipleAlmFeature.class.getName().replaceAll("\\.", "/"), getClass(), getClass().getProtectionDomain(), input);
 
             CustomClassloader classLoader = new CustomClassloader();
 
@@ -255,6 +258,62 @@ class CommunityBranchAgentTest {
         }
     }
 
+    @Test
+    void shouldRemoveTransformerOnceAllTargetsTransformedForCeLaunch() throws UnmodifiableClassException, ClassNotFoundException, IllegalClassFormatException {
+        Instrumentation instrumentation = mock();
+
+        CommunityBranchAgent.premain("ce", instrumentation);
+
+        ArgumentCaptor<ClassFileTransformer> classFileTransformerArgumentCaptor = ArgumentCaptor.captor();
+        verify(instrumentation).addTransformer(classFileTransformerArgumentCaptor.capture());
+        ClassFileTransformer underTest = classFileTransformerArgumentCaptor.getValue();
+
+        byte[] input = new byte[]{1, 2, 3, 4, 5, 6};
+        underTest.transform(getClass().getClassLoader(), PlatformEditionProvider.class.getName().replace('.', '/'), null, null, input);
+        underTest.transform(getClass().getClassLoader(), MultipleAlmFeature.class.getName().replace('.', '/'), null, null, input);
+        underTest.transform(CommunityBranchAgent.class.getClassLoader(), CommunityBranchPluginBootstrap.class.getName().replace('.', '/'), null, null, input);
+        verify(instrumentation, never()).removeTransformer(underTest);
+
+        underTest.transform(new CustomClassloader(), CommunityBranchPluginBootstrap.class.getName().replace('.', '/'), null, null, input);
+        verify(instrumentation).removeTransformer(underTest);
+    }
+
+    @Test
+    void shouldUseCachedTransformationWithoutRecompiling(@TempDir Path cacheDirectory) throws IOException, IllegalClassFormatException {
+        Instrumentation instrumentation = mock();
+        BytecodeCache bytecodeCache = new BytecodeCache(cacheDirectory, "1.0.0");
+        byte[] cached = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 61};
+        byte[] input;
+        try (InputStream inputStream = MultipleAlmFeature.class.getResourceAsStream(MultipleAlmFeature.class.getSimpleName() + ".class")) {
+            input = IOUtils.toByteArray(inputStream);
+        }
+        bytecodeCache.write(MultipleAlmFeature.class.getName(), input, cached);
+
+        ClassFileTransformer underTest = new CommunityBranchAgent.EditionTransformer(instrumentation,
+                List.of(new CommunityBranchAgent.Target(MultipleAlmFeature.class.getName(), CommunityBranchAgent.Patch.AVAILABLE_FLAG)), bytecodeCache);
+        byte[] result = underTest.transform(getClass().getClassLoader(), MultipleAlmFeature.class.getName().replace('.', '/'), null, null, input);
+
+        assertThat(result).isEqualTo(cached);
+        verify(instrumentation).removeTransformer(underTest);
+    }
+
+    @Test
+    void shouldCacheTransformationOnFirstUse(@TempDir Path cacheDirectory) throws IOException, IllegalClassFormatException {
+        Instrumentation instrumentation = mock();
+        BytecodeCache bytecodeCache = new BytecodeCache(cacheDirectory, "1.0.0");
+        byte[] input;
+        try (InputStream inputStream = MultipleAlmFeature.class.getResourceAsStream(MultipleAlmFeature.class.getSimpleName() + ".class")) {
+            input = IOUtils.toByteArray(inputStream);
+        }
+
+        ClassFileTransformer underTest = new CommunityBranchAgent.EditionTransformer(instrumentation,
+                List.of(new CommunityBranchAgent.Target(MultipleAlmFeature.class.getName(), CommunityBranchAgent.Patch.AVAILABLE_FLAG)), bytecodeCache);
+        byte[] result = underTest.transform(getClass().getClassLoader(), MultipleAlmFeature.class.getName().replace('.', '/'), null, null, input);
+
+        assertThat(result).isNotEqualTo(input);
+        assertThat(bytecodeCache.read(MultipleAlmFeature.class.getName(), input)).contains(result);
+    }
+
     private static class CustomClassloader extends ClassLoader {
 
         public Class<?> loadClass(String name, byte[] value) {
@@ -19,12 +19,17 @@
 package com.github.mc1arke.sonarqube.plugin;
 
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultLinkHeaderReader;
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.DefaultAzureDevopsClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.DefaultBitbucketClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.HttpClientBuilderFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.github.GithubClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultGitlabClientFactory;
 import com.github.mc1arke.sonarqube.plugin.ce.CommunityReportAnalysisComponentProvider;
+import com.github.mc1arke.sonarqube.plugin.ce.ProjectBranchCache;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationOutbox;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PullRequestAnalysisQueue;
 import com.github.mc1arke.sonarqube.plugin.scanner.BranchConfigurationFactory;
 import com.github.mc1arke.sonarqube.plugin.scanner.CommunityBranchConfigurationLoader;
 import com.github.mc1arke.sonarqube.plugin.scanner.CommunityBranchParamsValidator;
@@ -41,7 +46,9 @@ import com.github.mc1arke.sonarqube.plugin.server.CommunityBranchFeatureExtensio
 import com.github.mc1arke.sonarqube.plugin.server.CommunityBranchSupportDelegate;
 import com.github.mc1arke.sonarqube.plugin.server.MonoRepoFeature;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.AzureDevopsValidator;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BindingValidationCache;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BitbucketValidator;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BulkBindingValidator;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.GithubValidator;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.GitlabValidator;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.DeleteBindingAction;
@@ -51,11 +58,19 @@ import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.SetGithubBindingAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.SetGitlabBindingAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action.ValidateBindingAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestBulkDeleter;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestListCache;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.PullRequestWs;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action.BulkDeleteAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action.BulkDeleteStatusAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action.DeleteAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action.ListAction;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.SupportWs;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action.InfoWsAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action.MetricsWsAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action.ValidateBindingsReportWsAction;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action.ValidateBindingsWsAction;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.sonar.api.Plugin;
@@ -115,8 +130,10 @@ class CommunityBranchPluginTest {
 
         testCase.load(context);
 
-        verify(context).addExtensions(CommunityReportAnalysisComponentProvider.class);
-        verify(context).addExtensions(any(PropertyDefinition.class), eq(MonoRepoFeature.class));
+        verify(context).addExtensions(CommunityReportAnalysisComponentProvider.class, ProjectBranchCache.class,
+                    PluginStatistics.class, HttpClientInstrumentation.class, HttpClientBuilderFactory.class,
+                    IssueAnnotationBuilder.class, DecorationOutbox.class, PullRequestAnalysisQueue.class);
+        verify(context).addExtensions(any(PropertyDefinition.class), any(PropertyDefinition.class), any(PropertyDefinition.class), any(PropertyDefinition.class), any(PropertyDefinition.class), any(PropertyDefinition.class), eq(MonoRepoFeature.class));
     }
 
 
@@ -138,10 +155,17 @@ class CommunityBranchPluginTest {
                 eq(SetBitbucketBindingAction.class),
                 eq(SetBitbucketCloudBindingAction.class),
                 eq(SetGitlabBindingAction.class),
+                eq(BindingValidationCache.class),
                 eq(ValidateBindingAction.class),
+                eq(PullRequestListCache.class),
+                eq(PullRequestBulkDeleter.class),
                 eq(DeleteAction.class),
                 eq(ListAction.class),
+                eq(BulkDeleteAction.class),
+                eq(BulkDeleteStatusAction.class),
                 eq(PullRequestWs.class),
+                eq(PluginStatistics.class),
+                eq(HttpClientInstrumentation.class),
                 eq(GithubValidator.class),
                 eq(GithubClientFactory.class),
                 eq(DefaultLinkHeaderReader.class),
@@ -152,12 +176,16 @@ class CommunityBranchPluginTest {
                 eq(DefaultGitlabClientFactory.class),
                 eq(DefaultAzureDevopsClientFactory.class),
                 eq(AzureDevopsValidator.class),
+                eq(BulkBindingValidator.class),
                 eq(InfoWsAction.class),
+                eq(MetricsWsAction.class),
+                eq(ValidateBindingsWsAction.class),
+                eq(ValidateBindingsReportWsAction.class),
                 eq(SupportWs.class),
                 any(PropertyDefinition.class),
                 any(PropertyDefinition.class));
 
-        verify(context).addExtensions(any(PropertyDefinition.class), eq(MonoRepoFeature.class));
+        verify(context).addExtensions(any(PropertyDefinition.class), any(PropertyDefinition.class), any(PropertyDefinition.class), any(PropertyDefinition.class), any(PropertyDefinition.class), any(PropertyDefinition.class), eq(MonoRepoFeature.class));
     }
 
     @Test
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class DecorationDeadlineTest {
+
+    @Test
+    void shouldLeaveTimeoutsUnchangedWithoutDeadline() {
+        assertThat(DecorationDeadline.remaining()).isEmpty();
+        assertThat(DecorationDeadline.isExceeded()).isFalse();
+        assertThat(DecorationDeadline.requestTimeoutMillis(30_000)).isEqualTo(30_000);
+        assertThat(DecorationDeadline.requestTimeoutMillis(0)).isZero();
+    }
+
+    @Test
+    void shouldCapTimeoutsToRemainingBudget() {
+        DecorationDeadline.callWithin(Duration.ofMinutes(1), () -> {
+            assertThat(DecorationDeadline.isExceeded()).isFalse();
+            assertThat(DecorationDeadline.requestTimeoutMillis(30_000)).isEqualTo(30_000);
+            assertThat(DecorationDeadline.requestTimeoutMillis(120_000)).isBetween(10_000, 60_000);
+            assertThat(DecorationDeadline.requestTimeoutMillis(0)).isBetween(10_000, 60_000);
+            return null;
+        });
+    }
+
+    @Test
+    void shouldNeverCapTimeoutsBelowMinimum() {
+        DecorationDeadline.callWithin(Duration.ZERO, () -> {
+            assertThat(DecorationDeadline.isExceeded()).isTrue();
+            assertThat(DecorationDeadline.remaining()).contains(Duration.ZERO);
+            assertThat(DecorationDeadline.requestTimeoutMillis(30_000)).isEqualTo(10_000);
+            assertThat(DecorationDeadline.requestTimeoutMillis(5_000)).isEqualTo(5_000);
+            return null;
+        });
+    }
+
+    @Test
+    void shouldRestorePreviousDeadlineOnCompletion() {
+        String result = DecorationDeadline.callWithin(Duration.ofMinutes(1), () -> {
+            DecorationDeadline.callWithin(Duration.ZERO, () -> {
+                assertThat(DecorationDeadline.isExceeded()).isTrue();
+                return null;
+            });
+            assertThat(DecorationDeadline.isExceeded()).isFalse();
+            return "result";
+        });
+
+        assertThat(result).isEqualTo("result");
+        assertThat(DecorationDeadline.remaining()).isEmpty();
+    }
+}
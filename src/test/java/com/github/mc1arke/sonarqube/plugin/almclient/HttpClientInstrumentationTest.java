@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.server.property.InternalProperties;
+
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+class HttpClientInstrumentationTest {
+
+    @RegisterExtension
+    static final WireMockExtension wireMockExtension = WireMockExtension.newInstance()
+            .failOnUnmatchedRequests(true)
+            .build();
+
+    private final PluginStatistics pluginStatistics = new PluginStatistics(mock(InternalProperties.class));
+    private final HttpClientInstrumentation underTest = new HttpClientInstrumentation(pluginStatistics);
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "https://gitlab.example.com/api/v4/projects/group%2Fproject/merge_requests/12/discussions?page=2 | /api/v4/projects/{id}/merge_requests/{id}/discussions",
+            "/api/v4/projects/42/merge_requests/12/discussions/6a9c1982f2e4d7b5c3a8f0e1d2c4b6a8e0f1d3c5/notes/7 | /api/v4/projects/{id}/merge_requests/{id}/discussions/{id}/notes/{id}",
+            "/api/v4/user | /api/v4/user",
+            "/rest/insights/1.0/projects/PROJ/repos/repository/commits/3c2b6b8a/reports/com.example.sonar/annotations | /rest/insights/1.0/projects/{id}/repos/{id}/commits/{id}/reports/{id}/annotations",
+            "/2.0/repositories/workspace/repository/commit/3c2b6b8a/statuses/build | /2.0/repositories/{id}/{id}/commit/{id}/statuses/{id}",
+            "https://dev.azure.com/organisation/Project/_apis/git/repositories/repository/pullRequests/5/threads?api-version=4.1 | /organisation/{id}/_apis/git/repositories/{id}/pullRequests/{id}/threads",
+            "/repos/owner/repository/check-runs/1 | /repos/{id}/{id}/check-runs/{id}",
+            "https://api.github.com | /",
+            " | /",
+    })
+    void shouldNormaliseRequestPathToTemplate(String uri, String expectedTemplate) {
+        assertThat(HttpClientInstrumentation.template("GET", null == uri ? "" : uri)).isEqualTo("GET " + expectedTemplate);
+    }
+
+    @Test
+    void shouldRecordApacheHttpClientResponses() throws IOException {
+        wireMockExtension.stubFor(get(urlPathEqualTo("/api/v4/projects/42/merge_requests/1/commits"))
+                .willReturn(okJson("[{\"id\": \"3c2b6b8a\"}]")));
+        wireMockExtension.stubFor(get(urlPathEqualTo("/api/v4/projects/43/merge_requests/2/commits"))
+                .willReturn(aResponse().withStatus(404).withChunkedDribbleDelay(2, 0).withBody("Not Found")));
+
+        try (CloseableHttpClient httpClient = underTest.instrument(HttpClientBuilder.create().disableContentCompression(), ALM.GITLAB).build()) {
+            for (String path : new String[] {"/api/v4/projects/42/merge_requests/1/commits", "/api/v4/projects/43/merge_requests/2/commits"}) {
+                try (CloseableHttpResponse response = httpClient.execute(new HttpGet(wireMockExtension.baseUrl() + path))) {
+                    EntityUtils.consume(response.getEntity());
+                }
+            }
+        }
+
+        String endpoint = "http.gitlab.GET /api/v4/projects/{id}/merge_requests/{id}/commits";
+        PluginStatistics.Snapshot snapshot = pluginStatistics.snapshot();
+        assertThat(snapshot.counters())
+                .containsEntry(endpoint + ".status.2xx", 1L)
+                .containsEntry(endpoint + ".status.4xx", 1L)
+                .containsEntry(endpoint + ".response_bytes", 29L);
+        assertThat(snapshot.timers().get(endpoint).count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRecordOkHttpResponses() throws IOException {
+        wireMockExtension.stubFor(get(urlPathEqualTo("/repos/owner/repository/pulls/1"))
+                .willReturn(okJson("{\"number\": 1}")));
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(underTest.interceptor(ALM.GITHUB))
+                .build();
+
+        try (Response response = okHttpClient.newCall(new Request.Builder().url(wireMockExtension.baseUrl() + "/repos/owner/repository/pulls/1").build()).execute()) {
+            assertThat(response.body().string()).isEqualTo("{\"number\": 1}");
+        }
+
+        String endpoint = "http.github.GET /repos/{id}/{id}/pulls/{id}";
+        PluginStatistics.Snapshot snapshot = pluginStatistics.snapshot();
+        assertThat(snapshot.counters())
+                .containsEntry(endpoint + ".status.2xx", 1L)
+                .containsEntry(endpoint + ".response_bytes", 13L);
+        assertThat(snapshot.timers().get(endpoint).count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordApacheHttpClientRequestBytesAndRateLimits() throws IOException {
+        wireMockExtension.stubFor(post(urlPathEqualTo("/api/v4/projects/42/statuses/3c2b6b8a"))
+                .willReturn(aResponse().withStatus(429).withHeader("Retry-After", "7")));
+
+        try (CloseableHttpClient httpClient = underTest.instrument(HttpClientBuilder.create(), ALM.GITLAB).build()) {
+            HttpPost httpPost = new HttpPost(wireMockExtension.baseUrl() + "/api/v4/projects/42/statuses/3c2b6b8a");
+            httpPost.setEntity(new ByteArrayEntity("{\"state\":\"success\"}".getBytes(), ContentType.APPLICATION_JSON));
+            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
+                EntityUtils.consume(response.getEntity());
+            }
+        }
+
+        String endpoint = "http.gitlab.POST /api/v4/projects/{id}/statuses/{id}";
+        PluginStatistics.Snapshot snapshot = pluginStatistics.snapshot();
+        assertThat(snapshot.counters())
+                .containsEntry(endpoint + ".request_bytes", 19L)
+                .containsEntry(endpoint + ".rate_limited", 1L);
+        assertThat(snapshot.timers().get(endpoint + ".rate_limit_wait").totalMillis()).isEqualTo(7000);
+    }
+
+    @Test
+    void shouldRecordOkHttpRequestBytesAndRateLimits() throws IOException {
+        long reset = System.currentTimeMillis() / 1000 + 3600;
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(underTest.interceptor(ALM.GITHUB))
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(403)
+                        .message("Forbidden")
+                        .header("X-RateLimit-Remaining", "0")
+                        .header("X-RateLimit-Reset", Long.toString(reset))
+                        .build())
+                .build();
+
+        okHttpClient.newCall(new Request.Builder().url("http://localhost/repos/owner/repository/check-runs")
+                .post(RequestBody.create("{\"name\":\"check\"}", MediaType.get("application/json")))
+                .build()).execute().close();
+
+        String endpoint = "http.github.POST /repos/{id}/{id}/check-runs";
+        PluginStatistics.Snapshot snapshot = pluginStatistics.snapshot();
+        assertThat(snapshot.counters())
+                .containsEntry(endpoint + ".request_bytes", 16L)
+                .containsEntry(endpoint + ".status.4xx", 1L)
+                .containsEntry(endpoint + ".rate_limited", 1L);
+        assertThat(snapshot.timers().get(endpoint + ".rate_limit_wait").totalMillis()).isBetween(3_500_000L, 3_600_000L);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+            "429 | null | 30   | null | 30000",
+            "429 | null | null | null | 0",
+            "429 | null | Wed, 21 Oct 2015 07:28:00 GMT | null | 0",
+            "403 | 0    | null | 1060 | 60000",
+            "403 | 0    | null | 990  | 0",
+    })
+    void shouldReadRateLimitWaitFromResponseHeaders(int status, String remaining, String retryAfter, String reset, long expectedMillis) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-RateLimit-Remaining", remaining);
+        headers.put("Retry-After", retryAfter);
+        headers.put("X-RateLimit-Reset", reset);
+
+        assertThat(HttpClientInstrumentation.rateLimitWait(status, headers::get, 1_000_000)).contains(Duration.ofMillis(expectedMillis));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+            "200 | null",
+            "403 | 12",
+            "403 | null",
+            "503 | 0",
+    })
+    void shouldNotTreatOtherResponsesAsRateLimited(int status, String remaining) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-RateLimit-Remaining", remaining);
+        headers.put("Retry-After", "30");
+
+        assertThat(HttpClientInstrumentation.rateLimitWait(status, headers::get, 1_000_000)).isEmpty();
+    }
+
+    @Test
+    void shouldRecordOkHttpFailures() {
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(underTest.interceptor(ALM.BITBUCKET))
+                .build();
+
+        assertThatThrownBy(() -> okHttpClient.newCall(new Request.Builder().url("http://localhost:1/rest/api/1.0/application-properties").build()).execute())
+                .isInstanceOf(ConnectException.class);
+
+        String endpoint = "http.bitbucket.GET /rest/api/1.0/application-properties";
+        assertThat(pluginStatistics.snapshot().counters()).containsEntry(endpoint + ".failed", 1L);
+        assertThat(pluginStatistics.snapshot().timers().get(endpoint).count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGroupEndpointsBeyondLimit() throws IOException {
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(underTest.interceptor(ALM.BITBUCKET))
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(204)
+                        .message("No Content")
+                        .build())
+                .build();
+
+        for (int i = 0; i <= HttpClientInstrumentation.MAX_ENDPOINTS_PER_ALM; i++) {
+            okHttpClient.newCall(new Request.Builder().url("http://localhost/endpoint" + (char) ('a' + i % 26) + (char) ('a' + i / 26)).build()).execute().close();
+        }
+
+        Map<String, Long> counters = pluginStatistics.snapshot().counters();
+        assertThat(counters).containsEntry("http.bitbucket." + HttpClientInstrumentation.OVERFLOW_ENDPOINT + ".status.2xx", 1L);
+        assertThat(counters.keySet())
+                .filteredOn(name -> name.endsWith(".status.2xx"))
+                .hasSize(HttpClientInstrumentation.MAX_ENDPOINTS_PER_ALM + 1);
+    }
+}
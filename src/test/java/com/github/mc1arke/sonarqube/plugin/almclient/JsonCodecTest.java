@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.almclient;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.apache.http.HttpEntity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JsonCodecTest {
+
+    private final ObjectMapper objectMapper = spy(new ObjectMapper());
+    private final JsonCodec underTest = new JsonCodec(objectMapper);
+
+    @Test
+    void shouldReadValueFromStream() throws IOException {
+        Item result = underTest.read(stream("{\"name\": \"value\"}"), Item.class);
+
+        assertThat(result.getName()).isEqualTo("value");
+    }
+
+    @Test
+    void shouldReadListFromStream() throws IOException {
+        List<Item> result = underTest.readList(stream("[{\"name\": \"first\"}, {\"name\": \"second\"}]"), Item.class);
+
+        assertThat(result).extracting(Item::getName).containsExactly("first", "second");
+    }
+
+    @Test
+    void shouldReuseReaderAndWriterForRepeatedTypes() throws IOException {
+        underTest.read(stream("{\"name\": \"first\"}"), Item.class);
+        underTest.read(stream("{\"name\": \"second\"}"), Item.class);
+        underTest.writeAsString(new Item("first"));
+        underTest.writeAsString(new Item("second"));
+
+        verify(objectMapper, times(1)).readerFor(any(JavaType.class));
+        verify(objectMapper, times(1)).writerFor(eq(Item.class));
+    }
+
+    @Test
+    void shouldLeaveTargetStreamOpenAfterWriting() throws IOException {
+        OutputStream outputStream = spy(new ByteArrayOutputStream());
+
+        underTest.write(new Item("value"), outputStream);
+
+        assertThat(outputStream).hasToString("{\"name\":\"value\"}");
+        verify(outputStream, never()).close();
+    }
+
+    @Test
+    void shouldSerialiseHttpEntityContent() throws IOException {
+        HttpEntity result = underTest.toHttpEntity(new Item("value"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.writeTo(outputStream);
+
+        assertThat(result.getContentType().getValue()).isEqualTo("application/json; charset=UTF-8");
+        assertThat(result.getContentLength()).isEqualTo(16);
+        assertThat(result.isRepeatable()).isTrue();
+        assertThat(result.isChunked()).isFalse();
+        assertThat(outputStream).hasToString("{\"name\":\"value\"}");
+        assertThat(result.getContent()).hasContent("{\"name\":\"value\"}");
+    }
+
+    @Test
+    void shouldSerialiseRequestBodyContent() throws IOException {
+        RequestBody result = underTest.toRequestBody(new Item("value"));
+
+        try (Buffer buffer = new Buffer()) {
+            result.writeTo(buffer);
+            assertThat(buffer.readUtf8()).isEqualTo("{\"name\":\"value\"}");
+        }
+        assertThat(result.contentLength()).isEqualTo(16);
+        assertThat(result.contentType()).hasToString("application/json");
+    }
+
+    @Test
+    void shouldReuseWriterForBodiesOfSameType() throws IOException {
+        underTest.toRequestBody(new Item("first"));
+        underTest.toHttpEntity(new Item("second"));
+
+        verify(objectMapper, times(1)).writerFor(eq(Item.class));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class Item {
+
+        private final String name;
+
+        @JsonCreator
+        Item(@JsonProperty("name") String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -18,7 +18,7 @@
  */
 package com.github.mc1arke.sonarqube.plugin.almclient.bitbucket;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.AnnotationUploadLimit;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.BitbucketConfiguration;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.BuildStatus;
@@ -30,8 +30,10 @@ import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.cloud.Cloud
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.cloud.CloudCreateReportRequest;
 import com.google.common.collect.Sets;
 import okhttp3.Call;
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 
@@ -58,9 +60,9 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 
 class BitbucketCloudClientUnitTest {
 
-    private final ObjectMapper mapper = mock();
+    private final JsonCodec jsonCodec = mock();
     private final OkHttpClient client = mock();
-    private final BitbucketCloudClient underTest = new BitbucketCloudClient(mapper, client, new BitbucketConfiguration("project", "repository"));
+    private final BitbucketCloudClient underTest = new BitbucketCloudClient(jsonCodec, client, new BitbucketConfiguration("project", "repository"));
 
     @BeforeEach
     void setup() {
@@ -80,7 +82,7 @@ class BitbucketCloudClientUnitTest {
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
 
-        when(mapper.writeValueAsString(report)).thenReturn("{payload}");
+        when(jsonCodec.toRequestBody(report)).thenReturn(RequestBody.create("{payload}", MediaType.get("application/json")));
 
         // when
         underTest.uploadReport("commit", report, "reportKey");
@@ -125,7 +127,7 @@ class BitbucketCloudClientUnitTest {
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
 
-        when(mapper.writeValueAsString(any())).thenReturn("{payload}");
+        when(jsonCodec.toRequestBody(any())).thenReturn(RequestBody.create("{payload}", MediaType.get("application/json")));
 
         // when
         underTest.uploadAnnotations("commit", annotations, "reportKey");
@@ -163,7 +165,7 @@ class BitbucketCloudClientUnitTest {
         when(responseBody.string()).thenReturn("error!");
         when(response.code()).thenReturn(400);
 
-        when(mapper.writeValueAsString(report)).thenReturn("{payload}");
+        when(jsonCodec.toRequestBody(report)).thenReturn(RequestBody.create("{payload}", MediaType.get("application/json")));
 
         // when,then
         assertThatThrownBy(() -> underTest.uploadReport("commit", report, "reportKey"))
@@ -253,7 +255,7 @@ class BitbucketCloudClientUnitTest {
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
 
-        when(mapper.writeValueAsString(any())).thenReturn("{payload}");
+        when(jsonCodec.toRequestBody(any())).thenReturn(RequestBody.create("{payload}", MediaType.get("application/json")));
 
         BuildStatus buildStatus = new BuildStatus(BuildStatus.State.INPROGRESS, "key", "name", "url");
 
@@ -266,7 +268,7 @@ class BitbucketCloudClientUnitTest {
         assertThat(request.method()).isEqualTo("POST");
         assertThat(request.url()).hasToString("https://api.bitbucket.org/2.0/repositories/project/repository/commit/commit/statuses/build");
 
-        verify(mapper).writeValueAsString(buildStatus);
+        verify(jsonCodec).toRequestBody(buildStatus);
     }
 
     @Test
@@ -19,7 +19,7 @@
 package com.github.mc1arke.sonarqube.plugin.almclient.bitbucket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.AnnotationUploadLimit;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.BuildStatus;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.CodeInsightsAnnotation;
@@ -57,6 +57,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -65,9 +67,9 @@ import static org.mockito.Mockito.when;
 
 class BitbucketServerClientUnitTest {
 
-    private final ObjectMapper mapper = spy();
+    private final JsonCodec jsonCodec = spy(new JsonCodec(new ObjectMapper()));
     private final OkHttpClient client = mock();
-    private final BitbucketServerClient underTest = new BitbucketServerClient(new BitbucketServerConfiguration("project", "repository", "https://my-server.org"), mapper, client);
+    private final BitbucketServerClient underTest = new BitbucketServerClient(new BitbucketServerConfiguration("project", "repository", "https://my-server.org"), jsonCodec, client);
 
     @Test
     void testSupportsCodeInsightsIsFalse() throws IOException {
@@ -76,18 +78,14 @@ class BitbucketServerClientUnitTest {
 
         Call call = mock();
         Response response = mock();
-        ObjectReader reader = mock();
         ResponseBody responseBody = mock();
 
         when(client.newCall(any())).thenReturn(call);
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
         when(response.body()).thenReturn(responseBody);
-        when(responseBody.string()).thenReturn("test");
 
-        when(mapper.reader()).thenReturn(reader);
-        when(reader.forType(ServerProperties.class)).thenReturn(reader);
-        when(reader.readValue(any(String.class))).thenReturn(serverProperties);
+        doReturn(serverProperties).when(jsonCodec).read(any(), eq(ServerProperties.class));
 
         // when
         boolean result = underTest.supportsCodeInsights();
@@ -103,18 +101,14 @@ class BitbucketServerClientUnitTest {
 
         Call call = mock();
         Response response = mock();
-        ObjectReader reader = mock();
         ResponseBody responseBody = mock();
 
         when(client.newCall(any())).thenReturn(call);
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
         when(response.body()).thenReturn(responseBody);
-        when(responseBody.string()).thenReturn("test");
 
-        when(mapper.reader()).thenReturn(reader);
-        when(reader.forType(ServerProperties.class)).thenReturn(reader);
-        when(reader.readValue(any(String.class))).thenReturn(serverProperties);
+        doReturn(serverProperties).when(jsonCodec).read(any(), eq(ServerProperties.class));
 
         // when
         boolean result = underTest.supportsCodeInsights();
@@ -130,18 +124,14 @@ class BitbucketServerClientUnitTest {
 
         Call call = mock();
         Response response = mock();
-        ObjectReader reader = mock();
         ResponseBody responseBody = mock();
 
         when(client.newCall(any())).thenReturn(call);
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
         when(response.body()).thenReturn(responseBody);
-        when(responseBody.string()).thenReturn("test");
 
-        when(mapper.reader()).thenReturn(reader);
-        when(reader.forType(ServerProperties.class)).thenReturn(reader);
-        when(reader.readValue(any(String.class))).thenReturn(serverProperties);
+        doReturn(serverProperties).when(jsonCodec).read(any(), eq(ServerProperties.class));
 
         // when
         boolean result = underTest.supportsCodeInsights();
@@ -171,7 +161,6 @@ class BitbucketServerClientUnitTest {
 
         Call call = mock();
         Response response = mock();
-        ObjectReader reader = mock();
         ResponseBody responseBody = mock();
         ArgumentCaptor<Request> captor = ArgumentCaptor.captor();
 
@@ -179,11 +168,8 @@ class BitbucketServerClientUnitTest {
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
         when(response.body()).thenReturn(responseBody);
-        when(responseBody.string()).thenReturn("{version: '5.0'}");
 
-        when(mapper.reader()).thenReturn(reader);
-        when(reader.forType(ServerProperties.class)).thenReturn(reader);
-        when(reader.readValue(any(String.class))).thenReturn(serverProperties);
+        doReturn(serverProperties).when(jsonCodec).read(any(), eq(ServerProperties.class));
 
         // when
         ServerProperties result = underTest.getServerProperties();
@@ -209,8 +195,6 @@ class BitbucketServerClientUnitTest {
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
 
-        when(mapper.writeValueAsString(report)).thenReturn("{payload}");
-
         // when
         underTest.uploadReport("commit", report, "reportKey");
 
@@ -231,20 +215,14 @@ class BitbucketServerClientUnitTest {
         Call call = mock();
         Response response = mock();
         ResponseBody responseBody = mock();
-        ObjectReader reader = mock();
 
         when(client.newCall(any())).thenReturn(call);
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(false);
         when(response.body()).thenReturn(responseBody);
-        when(responseBody.string()).thenReturn("error!");
         when(response.code()).thenReturn(400);
 
-        when(mapper.writeValueAsString(report)).thenReturn("{payload}");
-
-        when(mapper.reader()).thenReturn(reader);
-        when(reader.forType(ErrorResponse.class)).thenReturn(reader);
-        when(reader.readValue(any(String.class))).thenReturn(errorResponse);
+        doReturn(errorResponse).when(jsonCodec).read(any(), eq(ErrorResponse.class));
 
 
         // when,then
@@ -389,8 +367,6 @@ class BitbucketServerClientUnitTest {
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
 
-        when(mapper.writeValueAsString(any())).thenReturn("{payload}");
-
         BuildStatus buildStatus = new BuildStatus(BuildStatus.State.INPROGRESS, "key", "name", "url");
 
         // when
@@ -402,7 +378,7 @@ class BitbucketServerClientUnitTest {
         assertThat(request.method()).isEqualTo("POST");
         assertThat(request.url()).hasToString("https://my-server.org/rest/api/1.0/projects/project/repos/repository/commits/commit/builds");
 
-        verify(mapper).writeValueAsString(buildStatus);
+        verify(jsonCodec).toRequestBody(buildStatus);
     }
 
     @CsvSource({"shortReportKey, shortReportKey", "fiftyCharactersLongReportKey123456789012, fiftyCharactersLongReportKey123456789012",
@@ -423,7 +399,6 @@ class BitbucketServerClientUnitTest {
 
         Call call = mock();
         Response response = mock();
-        ObjectReader reader = mock();
         ResponseBody responseBody = mock();
         ArgumentCaptor<Request> captor = ArgumentCaptor.captor();
 
@@ -431,11 +406,8 @@ class BitbucketServerClientUnitTest {
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
         when(response.body()).thenReturn(responseBody);
-        when(responseBody.string()).thenReturn("{\"slug\": \"repo-slug\"}");
 
-        when(mapper.reader()).thenReturn(reader);
-        when(reader.forType(Repository.class)).thenReturn(reader);
-        when(reader.readValue(any(String.class))).thenReturn(repository);
+        doReturn(repository).when(jsonCodec).read(any(), eq(Repository.class));
 
         // when
         Repository result = underTest.retrieveRepository();
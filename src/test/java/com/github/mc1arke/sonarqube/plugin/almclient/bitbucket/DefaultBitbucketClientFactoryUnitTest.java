@@ -18,6 +18,7 @@
  */
 package com.github.mc1arke.sonarqube.plugin.almclient.bitbucket;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -32,7 +33,9 @@ import org.sonar.db.alm.setting.ALM;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -56,7 +59,7 @@ class DefaultBitbucketClientFactoryUnitTest {
         when(builder.addInterceptor(any())).thenReturn(builder);
 
         ResponseBody responseBody = mock();
-        when(responseBody.string()).thenReturn("{\"access_token\": \"dummy\"}");
+        when(responseBody.byteStream()).thenReturn(new ByteArrayInputStream("{\"access_token\": \"dummy\"}".getBytes(StandardCharsets.UTF_8)));
         when(builder.build().newCall(any()).execute().body()).thenReturn(responseBody);
 
         Settings settings = mock();
@@ -66,13 +69,13 @@ class DefaultBitbucketClientFactoryUnitTest {
         when(settings.getEncryption()).thenReturn(encryption);
         HttpClientBuilderFactory httpClientBuilderFactory = mock();
         when(httpClientBuilderFactory.createClientBuilder()).then(i -> builder);
-        BitbucketClient client = new DefaultBitbucketClientFactory(settings, httpClientBuilderFactory).createClient(projectAlmSettingDto, almSettingDto);
+        BitbucketClient client = new DefaultBitbucketClientFactory(settings, httpClientBuilderFactory, new HttpClientInstrumentation(mock())).createClient(projectAlmSettingDto, almSettingDto);
 
         // then
         assertThat(client).isInstanceOf(BitbucketCloudClient.class);
 
         ArgumentCaptor<Interceptor> interceptorArgumentCaptor = ArgumentCaptor.captor();
-        verify(builder, times(2)).addInterceptor(interceptorArgumentCaptor.capture());
+        verify(builder, times(3)).addInterceptor(interceptorArgumentCaptor.capture());
 
         Interceptor.Chain chain = mock();
         Request request = mock();
@@ -108,7 +111,7 @@ class DefaultBitbucketClientFactoryUnitTest {
         when(settings.getEncryption()).thenReturn(encryption);
         HttpClientBuilderFactory httpClientBuilderFactory = mock();
         when(httpClientBuilderFactory.createClientBuilder()).then(i -> mock(OkHttpClient.Builder.class, Mockito.RETURNS_DEEP_STUBS));
-        BitbucketClient client = new DefaultBitbucketClientFactory(settings, httpClientBuilderFactory).createClient(projectAlmSettingDto, almSettingDto);
+        BitbucketClient client = new DefaultBitbucketClientFactory(settings, httpClientBuilderFactory, new HttpClientInstrumentation(mock())).createClient(projectAlmSettingDto, almSettingDto);
 
         // then
         assertThat(client).isInstanceOf(BitbucketServerClient.class);
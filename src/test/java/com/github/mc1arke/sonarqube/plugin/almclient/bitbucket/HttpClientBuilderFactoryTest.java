@@ -33,4 +33,14 @@ class HttpClientBuilderFactoryTest {
 
         assertThat(builder1).isNotSameAs(builder2);
     }
+
+    @Test
+    void verifyBuildersShareConnectionPool() {
+        HttpClientBuilderFactory underTest = new HttpClientBuilderFactory();
+        OkHttpClient client1 = underTest.createClientBuilder().build();
+        OkHttpClient client2 = underTest.createClientBuilder().build();
+
+        assertThat(client1.connectionPool()).isSameAs(client2.connectionPool());
+        assertThat(client1.dispatcher()).isSameAs(client2.dispatcher());
+    }
 }
@@ -48,6 +48,7 @@ import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
 import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
 
 class GithubClientFactoryTest {
 
@@ -87,6 +88,7 @@ class GithubClientFactoryTest {
     private final Clock clock = Clock.fixed(Instant.ofEpochSecond(123456789123L), ZoneId.of("UTC"));
     private final GitHubBuilder githubBuilder = mock();
     private final Encryption encryption = mock();
+    private final HttpClientInstrumentation httpClientInstrumentation = new HttpClientInstrumentation(mock());
 
     @BeforeEach
     void setUp() {
@@ -101,7 +103,7 @@ class GithubClientFactoryTest {
     @Test
     void shouldThrowExceptionIfUrlMissingInAlmSettings() {
         when(almSettingDto.getUrl()).thenReturn(null);
-        GithubClientFactory underTest = new GithubClientFactory(clock, settings, () -> githubBuilder);
+        GithubClientFactory underTest = new GithubClientFactory(clock, settings, httpClientInstrumentation, () -> githubBuilder);
         assertThatThrownBy(() -> underTest.createClient(almSettingDto, projectAlmSettingDto))
                 .isInstanceOf(InvalidConfigurationException.class)
                 .hasMessage("No URL has been set for Github connections")
@@ -111,7 +113,7 @@ class GithubClientFactoryTest {
     @Test
     void shouldThrowExceptionIsPrivateKeyMissingInAlmSettings() {
         when(almSettingDto.getDecryptedPrivateKey(any())).thenReturn(null);
-        GithubClientFactory underTest = new GithubClientFactory(clock, settings, () -> githubBuilder);
+        GithubClientFactory underTest = new GithubClientFactory(clock, settings, httpClientInstrumentation, () -> githubBuilder);
         assertThatThrownBy(() -> underTest.createClient(almSettingDto, projectAlmSettingDto))
                 .isInstanceOf(InvalidConfigurationException.class)
                 .hasMessage("No private key has been set for Github connections")
@@ -121,7 +123,7 @@ class GithubClientFactoryTest {
     @Test
     void shouldThrowExceptionIfRepoMissingInAlmSettings() {
         when(projectAlmSettingDto.getAlmRepo()).thenReturn(null);
-        GithubClientFactory underTest = new GithubClientFactory(clock, settings, () -> githubBuilder);
+        GithubClientFactory underTest = new GithubClientFactory(clock, settings, httpClientInstrumentation, () -> githubBuilder);
         assertThatThrownBy(() -> underTest.createClient(almSettingDto, projectAlmSettingDto))
                 .isInstanceOf(InvalidConfigurationException.class)
                 .hasMessage("No repository name has been set for Github connections")
@@ -131,7 +133,7 @@ class GithubClientFactoryTest {
     @Test
     void shouldThrowExceptionIfAppIdMissingInAlmSettings() {
         when(almSettingDto.getAppId()).thenReturn(null);
-        GithubClientFactory underTest = new GithubClientFactory(clock, settings, () -> githubBuilder);
+        GithubClientFactory underTest = new GithubClientFactory(clock, settings, httpClientInstrumentation, () -> githubBuilder);
         assertThatThrownBy(() -> underTest.createClient(almSettingDto, projectAlmSettingDto))
                 .isInstanceOf(InvalidConfigurationException.class)
                 .hasMessage("No App ID has been set for Github connections")
@@ -140,7 +142,7 @@ class GithubClientFactoryTest {
 
     @Test
     void shouldThrowExceptionIfGithubCallFails() throws IOException {
-        GithubClientFactory underTest = new GithubClientFactory(clock, settings, () -> githubBuilder);
+        GithubClientFactory underTest = new GithubClientFactory(clock, settings, httpClientInstrumentation, () -> githubBuilder);
         GitHub github = mock();
         when(github.getApp()).thenThrow(new IOException("dummy"));
         when(githubBuilder.build()).thenReturn(github);
@@ -156,7 +158,7 @@ class GithubClientFactoryTest {
     @Test
     void shouldThrowExceptionIfRepoNameDoesNotContainSlash() {
         when(projectAlmSettingDto.getAlmRepo()).thenReturn("repo");
-        GithubClientFactory underTest = new GithubClientFactory(clock, settings, () -> githubBuilder);
+        GithubClientFactory underTest = new GithubClientFactory(clock, settings, httpClientInstrumentation, () -> githubBuilder);
         assertThatThrownBy(() -> underTest.createClient(almSettingDto, projectAlmSettingDto))
             .usingRecursiveComparison()
             .isEqualTo(new InvalidConfigurationException(InvalidConfigurationException.Scope.PROJECT, "Repository name must be in the format owner/repo"));
@@ -165,7 +167,7 @@ class GithubClientFactoryTest {
     @Test
     void shouldThrowExceptionIfRsaKeyIsNotParseable() {
         when(almSettingDto.getDecryptedPrivateKey(any())).thenReturn("invalid");
-        GithubClientFactory underTest = new GithubClientFactory(clock, settings, () -> githubBuilder);
+        GithubClientFactory underTest = new GithubClientFactory(clock, settings, httpClientInstrumentation, () -> githubBuilder);
         assertThatThrownBy(() -> underTest.createClient(almSettingDto, projectAlmSettingDto))
             .usingRecursiveComparison()
             .isEqualTo(new InvalidConfigurationException(InvalidConfigurationException.Scope.GLOBAL, "Private key could not be parsed"));
@@ -173,7 +175,7 @@ class GithubClientFactoryTest {
 
     @Test
     void shouldReturnValidGithubTokenWhenCalledWithCorrectParameters() throws IOException {
-        GithubClientFactory underTest = new GithubClientFactory(clock, settings, () -> githubBuilder);
+        GithubClientFactory underTest = new GithubClientFactory(clock, settings, httpClientInstrumentation, () -> githubBuilder);
         when(projectAlmSettingDto.getAlmRepo()).thenReturn("alm/slug");
 
         GitHub github = mock();
@@ -18,7 +18,8 @@
  */
 package com.github.mc1arke.sonarqube.plugin.almclient.gitlab;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
+import com.github.mc1arke.sonarqube.plugin.almclient.JsonCodec;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.model.MergeRequestNote;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
@@ -42,11 +43,11 @@ class GitlabRestClientTest {
 
     private final CloseableHttpClient closeableHttpClient = mock();
     private final LinkHeaderReader linkHeaderReader = mock();
-    private final ObjectMapper objectMapper = mock();
+    private final JsonCodec jsonCodec = mock();
 
     @Test
     void checkErrorThrownOnNonSuccessResponseStatus() throws IOException {
-        GitlabRestClient underTest = new GitlabRestClient("http://url.test/api", "token", linkHeaderReader, objectMapper, () -> closeableHttpClient);
+        GitlabRestClient underTest = new GitlabRestClient("http://url.test/api", "token", linkHeaderReader, jsonCodec, () -> closeableHttpClient);
 
         CloseableHttpResponse closeableHttpResponse = mock();
         StatusLine statusLine = mock();
@@ -58,9 +59,11 @@ class GitlabRestClientTest {
         when(mergeRequestNote.getContent()).thenReturn("note");
 
         assertThatThrownBy(() -> underTest.addMergeRequestDiscussion(101, 99, mergeRequestNote))
-                .isExactlyInstanceOf(IllegalStateException.class)
+                .isExactlyInstanceOf(AlmResponseException.class)
                 .hasMessage("An unexpected response code was returned from the Gitlab API - Expected: 201, Got: 500")
-                .hasNoCause();
+                .hasNoCause()
+                .extracting("statusCode")
+                .isEqualTo(500);
 
         ArgumentCaptor<HttpUriRequest> requestArgumentCaptor = ArgumentCaptor.captor();
         verify(closeableHttpClient).execute(requestArgumentCaptor.capture());
@@ -84,7 +87,7 @@ class GitlabRestClientTest {
 
         MergeRequestNote mergeRequestNote = new MergeRequestNote("Merge request note");
 
-        GitlabRestClient underTest = new GitlabRestClient("http://api.url", "token", linkHeaderReader, objectMapper, () -> closeableHttpClient);
+        GitlabRestClient underTest = new GitlabRestClient("http://api.url", "token", linkHeaderReader, jsonCodec, () -> closeableHttpClient);
         underTest.addMergeRequestDiscussion(123, 321, mergeRequestNote);
 
         ArgumentCaptor<HttpUriRequest> requestArgumentCaptor = ArgumentCaptor.captor();
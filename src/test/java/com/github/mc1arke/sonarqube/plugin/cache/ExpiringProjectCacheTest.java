@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class ExpiringProjectCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    private final Clock clock = mock();
+    private final ExpiringProjectCache<String> underTest = new ExpiringProjectCache<>(clock, TIME_TO_LIVE, 2, 2);
+
+    @Test
+    void shouldHoldFoundValuesUntilExpiry() {
+        Supplier<Optional<String>> loader = loader(Optional.of("value"));
+        when(clock.millis()).thenReturn(0L, TIME_TO_LIVE.toMillis() - 1, TIME_TO_LIVE.toMillis());
+
+        assertThat(underTest.get("project", "key", loader)).contains("value");
+        assertThat(underTest.get("project", "key", loader)).contains("value");
+        verify(loader, times(1)).get();
+
+        assertThat(underTest.get("project", "key", loader)).contains("value");
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    void shouldNotHoldMissingValues() {
+        Supplier<Optional<String>> loader = loader(Optional.empty());
+
+        assertThat(underTest.get("project", "key", loader)).isEmpty();
+        assertThat(underTest.get("project", "key", loader)).isEmpty();
+
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    void shouldDropAllProjectsWhenFullAndNoneExpired() {
+        Supplier<Optional<String>> loader = loader(Optional.of("value"));
+        when(clock.millis()).thenReturn(0L);
+
+        underTest.get("project1", "key", loader);
+        underTest.get("project2", "key", loader);
+        underTest.get("project3", "key", loader);
+        underTest.get("project3", "key", loader);
+        underTest.get("project1", "key", loader);
+
+        verify(loader, times(4)).get();
+    }
+
+    @Test
+    void shouldDropEntryClosestToExpiryWhenProjectFull() {
+        when(clock.millis()).thenReturn(0L, 1L, 2L, 3L, 4L, 5L);
+
+        underTest.get("project", "key1", loader(Optional.of("value1")));
+        underTest.get("project", "key2", loader(Optional.of("value2")));
+        underTest.get("project", "key3", loader(Optional.of("value3")));
+
+        Supplier<Optional<String>> loader = loader(Optional.of("reloaded"));
+        assertThat(underTest.get("project", "key3", loader)).contains("value3");
+        assertThat(underTest.get("project", "key2", loader)).contains("value2");
+        assertThat(underTest.get("project", "key1", loader)).contains("reloaded");
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    void shouldNotHoldValuesDuringHoldOff() {
+        Supplier<Optional<String>> loader = loader(Optional.of("value"));
+        when(clock.millis()).thenReturn(0L, 0L, TIME_TO_LIVE.toMillis() - 1, TIME_TO_LIVE.toMillis(), TIME_TO_LIVE.toMillis() + 1);
+
+        underTest.get("project", "key", loader);
+        underTest.invalidateWithHoldOff("project", TIME_TO_LIVE);
+        underTest.get("project", "key", loader);
+        verify(loader, times(2)).get();
+
+        underTest.get("project", "key", loader);
+        underTest.get("project", "key", loader);
+        verify(loader, times(3)).get();
+    }
+
+    private static Supplier<Optional<String>> loader(Optional<String> value) {
+        Supplier<Optional<String>> loader = mock();
+        when(loader.get()).thenReturn(value);
+        return loader;
+    }
+}
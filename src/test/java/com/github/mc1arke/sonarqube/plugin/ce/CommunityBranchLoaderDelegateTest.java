@@ -30,6 +30,7 @@ import org.sonar.db.component.BranchType;
 import org.sonar.scanner.protocol.output.ScannerReport;
 import org.sonar.server.project.Project;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Optional;
 
@@ -49,7 +50,9 @@ class CommunityBranchLoaderDelegateTest {
 
     private final MutableAnalysisMetadataHolder metadataHolder = mock();
     private final DbClient dbClient = mock();
-    private final BranchLoaderDelegate testCase = new CommunityBranchLoaderDelegate(dbClient, metadataHolder);
+    private final Clock clock = mock();
+    private final ProjectBranchCache projectBranchCache = new ProjectBranchCache(clock);
+    private final BranchLoaderDelegate testCase = new CommunityBranchLoaderDelegate(dbClient, metadataHolder, projectBranchCache);
 
     @Test
     void testNoBranchDetailsNoExistingBranchThrowsException() {
@@ -164,11 +167,11 @@ class CommunityBranchLoaderDelegateTest {
 
         verifyNoMoreInteractions(metadataHolder);
 
-        verify(dbClient, times(2)).branchDao();
-        verify(dbClient, times(2)).openSession(anyBoolean());
+        verify(dbClient).branchDao();
+        verify(dbClient).openSession(anyBoolean());
         verifyNoMoreInteractions(dbClient);
 
-        verify(branchDao, times(2)).selectByBranchKey(any(), any(), any());
+        verify(branchDao).selectByBranchKey(any(), any(), any());
         verifyNoMoreInteractions(branchDao);
     }
 
@@ -237,11 +240,11 @@ class CommunityBranchLoaderDelegateTest {
 
         verifyNoMoreInteractions(metadataHolder);
 
-        verify(dbClient, times(2)).branchDao();
-        verify(dbClient, times(2)).openSession(anyBoolean());
+        verify(dbClient).branchDao();
+        verify(dbClient).openSession(anyBoolean());
         verifyNoMoreInteractions(dbClient);
 
-        verify(branchDao, times(2)).selectByBranchKey(any(), any(), any());
+        verify(branchDao).selectByBranchKey(any(), any(), any());
         verifyNoMoreInteractions(branchDao);
     }
 
@@ -365,7 +368,7 @@ class CommunityBranchLoaderDelegateTest {
         verifyNoMoreInteractions(metadataHolder);
 
         verify(dbClient, times(2)).branchDao();
-        verify(dbClient, times(2)).openSession(anyBoolean());
+        verify(dbClient).openSession(anyBoolean());
         verifyNoMoreInteractions(dbClient);
 
         verify(branchDao, times(2)).selectByBranchKey(any(), any(), any());
@@ -402,4 +405,88 @@ class CommunityBranchLoaderDelegateTest {
             .hasNoCause();
     }
 
+    @Test
+    void testRepeatedLoadsForSameProjectReuseResolvedBranches() {
+        BranchDto sourceBranchDto = mock();
+        when(sourceBranchDto.getUuid()).thenReturn("branchUuid");
+        BranchDto targetBranchDto = mock();
+        when(targetBranchDto.getUuid()).thenReturn("targetBranchUuid");
+
+        BranchDao branchDao = mock();
+        when(branchDao.selectByBranchKey(any(), eq("projectUuid"), eq("branch"))).thenReturn(Optional.of(sourceBranchDto));
+        when(branchDao.selectByBranchKey(any(), eq("projectUuid"), eq("mergeBranchName"))).thenReturn(Optional.of(targetBranchDto));
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(metadataHolder.getProject()).thenReturn(new Project("projectUuid", "key", "name", "description", new ArrayList<>()));
+
+        ScannerReport.Metadata metadata =
+                ScannerReport.Metadata.getDefaultInstance().toBuilder().setBranchName("branch")
+                        .setBranchType(ScannerReport.Metadata.BranchType.BRANCH)
+                        .setReferenceBranchName("mergeBranchName")
+                        .build();
+
+        testCase.load(metadata);
+        testCase.load(metadata);
+
+        ArgumentCaptor<Branch> branchArgumentCaptor = ArgumentCaptor.captor();
+        verify(metadataHolder, times(2)).setBranch(branchArgumentCaptor.capture());
+        assertThat(branchArgumentCaptor.getAllValues()).extracting(Branch::getReferenceBranchUuid)
+                .containsExactly("targetBranchUuid", "targetBranchUuid");
+
+        verify(dbClient, times(2)).openSession(anyBoolean());
+        verify(branchDao).selectByBranchKey(any(), eq("projectUuid"), eq("branch"));
+        verify(branchDao).selectByBranchKey(any(), eq("projectUuid"), eq("mergeBranchName"));
+        verifyNoMoreInteractions(branchDao);
+    }
+
+    @Test
+    void testRepeatedLoadsForMainBranchReadRenamedBranch() {
+        BranchDto mainBranchDto = mock();
+        when(mainBranchDto.getBranchType()).thenReturn(BranchType.BRANCH);
+        when(mainBranchDto.getKey()).thenReturn("master", "main");
+        when(mainBranchDto.getUuid()).thenReturn("mainBranchUuid");
+        when(mainBranchDto.isMain()).thenReturn(true);
+
+        BranchDao branchDao = mock();
+        when(branchDao.selectMainBranchByProjectUuid(any(), eq("projectUuid"))).thenReturn(Optional.of(mainBranchDto));
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(metadataHolder.getProject()).thenReturn(new Project("projectUuid", "key", "name", "description", new ArrayList<>()));
+
+        ScannerReport.Metadata metadata = ScannerReport.Metadata.getDefaultInstance();
+
+        testCase.load(metadata);
+        testCase.load(metadata);
+
+        ArgumentCaptor<Branch> branchArgumentCaptor = ArgumentCaptor.captor();
+        verify(metadataHolder, times(2)).setBranch(branchArgumentCaptor.capture());
+        assertThat(branchArgumentCaptor.getAllValues()).extracting(Branch::getName).containsExactly("master", "main");
+
+        verify(branchDao, times(2)).selectMainBranchByProjectUuid(any(), eq("projectUuid"));
+        verifyNoMoreInteractions(branchDao);
+    }
+
+    @Test
+    void testNewBranchDropsCachedBranchesForProject() {
+        BranchDto targetBranchDto = mock();
+        when(targetBranchDto.getUuid()).thenReturn("targetBranchUuid");
+
+        BranchDao branchDao = mock();
+        when(branchDao.selectByBranchKey(any(), eq("projectUuid"), eq("branch"))).thenReturn(Optional.empty());
+        when(branchDao.selectByBranchKey(any(), eq("projectUuid"), eq("mergeBranchName"))).thenReturn(Optional.of(targetBranchDto));
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(metadataHolder.getProject()).thenReturn(new Project("projectUuid", "key", "name", "description", new ArrayList<>()));
+
+        ScannerReport.Metadata metadata =
+                ScannerReport.Metadata.getDefaultInstance().toBuilder().setBranchName("branch")
+                        .setBranchType(ScannerReport.Metadata.BranchType.BRANCH)
+                        .setReferenceBranchName("mergeBranchName")
+                        .build();
+
+        testCase.load(metadata);
+        testCase.load(metadata);
+
+        verify(branchDao, times(2)).selectByBranchKey(any(), eq("projectUuid"), eq("branch"));
+        verify(branchDao, times(2)).selectByBranchKey(any(), eq("projectUuid"), eq("mergeBranchName"));
+        verifyNoMoreInteractions(branchDao);
+    }
+
 }
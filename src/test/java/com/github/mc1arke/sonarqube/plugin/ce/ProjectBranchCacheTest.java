@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.db.component.BranchDto;
+import org.sonar.db.component.BranchType;
+
+class ProjectBranchCacheTest {
+
+    private final Clock clock = mock();
+    private final ProjectBranchCache underTest = new ProjectBranchCache(clock);
+
+    @Test
+    void shouldReuseFoundBranchForSameProjectAndKey() {
+        BranchDto branchDto = branchDto("uuid");
+        Supplier<Optional<BranchDto>> supplier = branchSupplier(Optional.of(branchDto));
+
+        assertThat(underTest.getBranch("project", "branch", supplier)).contains(new ProjectBranchCache.BranchReference("uuid", "key-uuid", BranchType.BRANCH, false));
+        assertThat(underTest.getBranch("project", "branch", supplier)).contains(new ProjectBranchCache.BranchReference("uuid", "key-uuid", BranchType.BRANCH, false));
+
+        verify(supplier, times(1)).get();
+    }
+
+    @Test
+    void shouldNotExposeChangesToLoadedBranchDto() {
+        BranchDto branchDto = branchDto("uuid");
+        Supplier<Optional<BranchDto>> supplier = branchSupplier(Optional.of(branchDto));
+
+        underTest.getBranch("project", "branch", supplier);
+        when(branchDto.getUuid()).thenReturn("changed");
+
+        assertThat(underTest.getBranch("project", "branch", supplier)).map(ProjectBranchCache.BranchReference::uuid).contains("uuid");
+    }
+
+    @Test
+    void shouldNotHoldMissingBranches() {
+        Supplier<Optional<BranchDto>> supplier = branchSupplier(Optional.empty());
+
+        assertThat(underTest.getBranch("project", "branch", supplier)).isEmpty();
+        assertThat(underTest.getBranch("project", "branch", supplier)).isEmpty();
+
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void shouldReloadBranchAfterInvalidation() {
+        Supplier<Optional<BranchDto>> supplier = branchSupplier(Optional.of(mock()));
+
+        underTest.getBranch("project", "branch", supplier);
+        underTest.invalidate("project");
+        underTest.getBranch("project", "branch", supplier);
+
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void shouldReloadBranchAfterExpiry() {
+        Supplier<Optional<BranchDto>> supplier = branchSupplier(Optional.of(mock()));
+        when(clock.millis()).thenReturn(1000L, 1000L + ProjectBranchCache.TIME_TO_LIVE.toMillis() - 1, 1000L + ProjectBranchCache.TIME_TO_LIVE.toMillis());
+
+        underTest.getBranch("project", "branch", supplier);
+        underTest.getBranch("project", "branch", supplier);
+        verify(supplier, times(1)).get();
+
+        underTest.getBranch("project", "branch", supplier);
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void shouldEvictExpiredProjectsWhenFull() {
+        Supplier<Optional<BranchDto>> supplier = branchSupplier(Optional.of(mock()));
+        when(clock.millis()).thenReturn(0L);
+        for (int i = 0; i < ProjectBranchCache.MAXIMUM_PROJECTS; i++) {
+            underTest.getBranch("project" + i, "branch", supplier);
+        }
+
+        when(clock.millis()).thenReturn(ProjectBranchCache.TIME_TO_LIVE.toMillis());
+        underTest.getBranch("newProject", "branch", supplier);
+        when(clock.millis()).thenReturn(ProjectBranchCache.TIME_TO_LIVE.toMillis() + 1);
+        underTest.getBranch("newProject", "branch", supplier);
+
+        verify(supplier, times(ProjectBranchCache.MAXIMUM_PROJECTS + 1)).get();
+    }
+
+    private static BranchDto branchDto(String uuid) {
+        BranchDto branchDto = mock();
+        when(branchDto.getUuid()).thenReturn(uuid);
+        when(branchDto.getKey()).thenReturn("key-" + uuid);
+        when(branchDto.getBranchType()).thenReturn(BranchType.BRANCH);
+        return branchDto;
+    }
+
+    private static Supplier<Optional<BranchDto>> branchSupplier(Optional<BranchDto> branch) {
+        Supplier<Optional<BranchDto>> supplier = mock();
+        when(supplier.get()).thenReturn(branch);
+        return supplier;
+    }
+}
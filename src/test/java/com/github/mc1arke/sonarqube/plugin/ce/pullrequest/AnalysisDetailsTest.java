@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2025 Michael Clarke
+ * Copyright (C) 2020-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -197,6 +197,25 @@ class AnalysisDetailsTest {
         AnalysisDetails underTest = new AnalysisDetails("pullRequest", "commit", List.of(), qualityGate, mock());
 
         assertThat(underTest.findQualityGateCondition("key2")).contains(conditions.get(2));
+        assertThat(underTest.findQualityGateCondition("key10")).isEmpty();
+    }
+
+    @Test
+    void shouldReturnFirstQualityGateConditionForDuplicatedMetricKey() {
+        QualityGate qualityGate = mock();
+
+        QualityGate.Condition condition1 = mock();
+        when(condition1.getMetricKey()).thenReturn("key");
+        QualityGate.Condition condition2 = mock();
+        when(condition2.getMetricKey()).thenReturn("key");
+        QualityGate.Condition condition3 = mock();
+
+        when(qualityGate.getConditions()).thenReturn(List.of(condition3, condition1, condition2));
+
+        AnalysisDetails underTest = new AnalysisDetails("pullRequest", "commit", List.of(), qualityGate, mock());
+
+        assertThat(underTest.findQualityGateCondition("key")).contains(condition1);
+        verify(qualityGate).getConditions();
     }
 
     @Test
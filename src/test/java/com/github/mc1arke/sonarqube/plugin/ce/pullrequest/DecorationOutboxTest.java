@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sonar.server.property.InternalProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DecorationOutboxTest {
+
+    private static final long FAILED_AT = 1700000000000L;
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(FAILED_AT).plus(DecorationOutbox.MAXIMUM_AGE).minusSeconds(60), ZoneOffset.UTC);
+    private final Map<String, String> storedProperties = new HashMap<>();
+    private final InternalProperties internalProperties = mock();
+
+    @BeforeEach
+    void setUp() {
+        when(internalProperties.read(anyString())).thenAnswer(invocation -> Optional.ofNullable(storedProperties.get(invocation.<String>getArgument(0))));
+        doAnswer(invocation -> storedProperties.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(internalProperties).write(anyString(), anyString());
+    }
+
+    @Test
+    void shouldPersistPendingDecorationsAcrossInstances() {
+        DecorationOutbox.PendingDecoration pendingDecoration = pendingDecoration("pr-1", "analysis-1");
+        new DecorationOutbox(internalProperties, clock).add(pendingDecoration);
+
+        assertThat(new DecorationOutbox(internalProperties, clock).getPendingDecorations()).containsExactly(pendingDecoration);
+    }
+
+    @Test
+    void shouldReplacePendingDecorationWithLaterAnalysisOfSamePullRequest() {
+        DecorationOutbox underTest = new DecorationOutbox(internalProperties, clock);
+        DecorationOutbox.PendingDecoration otherPullRequest = pendingDecoration("pr-2", "analysis-2");
+        DecorationOutbox.PendingDecoration latest = pendingDecoration("pr-1", "analysis-3");
+
+        underTest.add(pendingDecoration("pr-1", "analysis-1"));
+        underTest.add(otherPullRequest);
+        underTest.add(latest);
+
+        assertThat(underTest.getPendingDecorations()).containsExactly(latest, otherPullRequest);
+    }
+
+    @Test
+    void shouldRemovePendingDecorationOnceDecorated() {
+        DecorationOutbox underTest = new DecorationOutbox(internalProperties, clock);
+        underTest.add(pendingDecoration("pr-1", "analysis-1"));
+
+        underTest.remove("project-uuid", "pr-1");
+
+        assertThat(new DecorationOutbox(internalProperties, clock).getPendingDecorations()).isEmpty();
+    }
+
+    @Test
+    void shouldNotWriteWhenRemovingPullRequestWithoutPendingDecoration() {
+        new DecorationOutbox(internalProperties, clock).remove("project-uuid", "pr-1");
+
+        verify(internalProperties, never()).write(any(), any());
+    }
+
+    @Test
+    void shouldDropOldestPendingDecorationsBeyondMaximumEntries() {
+        DecorationOutbox underTest = new DecorationOutbox(internalProperties, clock);
+        for (int i = 0; i <= DecorationOutbox.MAXIMUM_ENTRIES; i++) {
+            underTest.add(pendingDecoration("pr-" + i, "analysis-" + i, FAILED_AT + i));
+        }
+
+        assertThat(new DecorationOutbox(internalProperties, clock).getPendingDecorations())
+                .hasSize(DecorationOutbox.MAXIMUM_ENTRIES)
+                .extracting(DecorationOutbox.PendingDecoration::pullRequestId)
+                .doesNotContain("pr-0")
+                .contains("pr-1", "pr-" + DecorationOutbox.MAXIMUM_ENTRIES);
+    }
+
+    @Test
+    void shouldDropPendingDecorationsOlderThanMaximumAgeWhenLoaded() {
+        DecorationOutbox.PendingDecoration recent = pendingDecoration("pr-2", "analysis-2", FAILED_AT + 120_000);
+        new DecorationOutbox(internalProperties, clock).add(pendingDecoration("pr-1", "analysis-1"));
+        new DecorationOutbox(internalProperties, clock).add(recent);
+
+        Clock later = Clock.offset(clock, Duration.ofMinutes(2));
+        assertThat(new DecorationOutbox(internalProperties, later).getPendingDecorations()).containsExactly(recent);
+        assertThat(new DecorationOutbox(internalProperties, clock).getPendingDecorations()).containsExactly(recent);
+    }
+
+    @Test
+    void shouldDiscardUnreadablePendingDecorations() {
+        storedProperties.put(DecorationOutbox.INTERNAL_PROPERTY_KEY, "not json");
+
+        assertThat(new DecorationOutbox(internalProperties, clock).getPendingDecorations()).isEmpty();
+    }
+
+    private static DecorationOutbox.PendingDecoration pendingDecoration(String pullRequestId, String analysisUuid) {
+        return pendingDecoration(pullRequestId, analysisUuid, FAILED_AT);
+    }
+
+    private static DecorationOutbox.PendingDecoration pendingDecoration(String pullRequestId, String analysisUuid, long failedAt) {
+        return new DecorationOutbox.PendingDecoration("project-uuid", "project-key", pullRequestId, analysisUuid,
+                "commit", "GITLAB", 4, failedAt, "Could not reach Gitlab");
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class DecorationPhasesTest {
+
+    private final DecorationPhases underTest = new DecorationPhases();
+
+    @Test
+    void shouldReturnResultOfTimedAction() {
+        assertThat(underTest.time("fetch_pull_request", () -> "pull request")).isEqualTo("pull request");
+        assertThat(underTest.toString()).matches("fetch_pull_request=\\d+ms");
+    }
+
+    @Test
+    void shouldCombineRepeatedPhasesInOrderOfFirstUse() {
+        underTest.run("fetch_user", () -> {});
+        underTest.run("post_comments", () -> {});
+        underTest.run("fetch_user", () -> {});
+
+        assertThat(underTest.toString()).matches("fetch_user=\\d+ms, post_comments=\\d+ms");
+    }
+
+    @Test
+    void shouldRecordPhaseWhenActionFails() {
+        IllegalStateException failure = new IllegalStateException("Whoops");
+        assertThatThrownBy(() -> underTest.run("fetch_discussions", () -> {
+            throw failure;
+        })).isSameAs(failure);
+
+        assertThat(underTest.toString()).matches("fetch_discussions=\\d+ms");
+    }
+
+    @Test
+    void shouldRecordEachPhaseUnderPrefix() {
+        PluginStatistics pluginStatistics = mock();
+        underTest.run("create_client", () -> {});
+        underTest.run("pipeline_status", () -> {});
+
+        underTest.recordTo(pluginStatistics, "decorations.gitlab.phases");
+
+        verify(pluginStatistics).record(eq("decorations.gitlab.phases.create_client"), any(Duration.class));
+        verify(pluginStatistics).record(eq("decorations.gitlab.phases.pipeline_status"), any(Duration.class));
+        verifyNoMoreInteractions(pluginStatistics);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.config.Configuration;
+import org.sonar.ce.task.projectanalysis.component.Component;
+
+import com.github.mc1arke.sonarqube.plugin.CommunityBranchPlugin;
+
+class IssueAnnotationBuilderTest {
+
+    private final Configuration configuration = mock();
+    private final IssueAnnotationBuilder underTest = new IssueAnnotationBuilder(configuration);
+
+    @AfterEach
+    void stopBuilder() {
+        underTest.stop();
+    }
+
+    @Test
+    void shouldBuildAnnotationsOnCallingThreadWhenParallelBuildingDisabled() {
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = createIssues(IssueAnnotationBuilder.MINIMUM_PARALLEL_ISSUE_COUNT * 2, 3);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<PostAnalysisIssueVisitor.ComponentIssue> result = underTest.build(issues, issue -> {
+            threads.add(Thread.currentThread());
+            return issue;
+        });
+
+        assertThat(result).containsExactlyElementsOf(issues);
+        assertThat(threads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    void shouldBuildAnnotationsOnCallingThreadForSmallIssueCounts() {
+        when(configuration.getBoolean(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED)).thenReturn(Optional.of(true));
+        when(configuration.getInt(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM)).thenReturn(Optional.of(4));
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = createIssues(IssueAnnotationBuilder.MINIMUM_PARALLEL_ISSUE_COUNT - 1, 3);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<PostAnalysisIssueVisitor.ComponentIssue> result = underTest.build(issues, issue -> {
+            threads.add(Thread.currentThread());
+            return issue;
+        });
+
+        assertThat(result).containsExactlyElementsOf(issues);
+        assertThat(threads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    void shouldPreserveIssueOrderWhenBuildingInParallel() {
+        when(configuration.getBoolean(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED)).thenReturn(Optional.of(true));
+        when(configuration.getInt(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM)).thenReturn(Optional.of(4));
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = createIssues(IssueAnnotationBuilder.MINIMUM_PARALLEL_ISSUE_COUNT * 4, 7);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<String> result = underTest.build(issues, issue -> {
+            threads.add(Thread.currentThread());
+            return issue.getComponent().getUuid() + ":" + issues.indexOf(issue);
+        });
+
+        assertThat(result).containsExactlyElementsOf(IntStream.range(0, issues.size())
+                .mapToObj(i -> issues.get(i).getComponent().getUuid() + ":" + i)
+                .toList());
+        assertThat(threads).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    void shouldDefaultParallelismToAvailableProcessors() {
+        when(configuration.getBoolean(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED)).thenReturn(Optional.of(true));
+        when(configuration.getInt(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM)).thenReturn(Optional.empty());
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = createIssues(IssueAnnotationBuilder.MINIMUM_PARALLEL_ISSUE_COUNT, 2);
+
+        assertThat(underTest.build(issues, issue -> issue)).containsExactlyElementsOf(issues);
+    }
+
+    @Test
+    void shouldReusePoolAcrossBuildsUntilStopped() {
+        when(configuration.getBoolean(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED)).thenReturn(Optional.of(true));
+        when(configuration.getInt(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM)).thenReturn(Optional.of(2));
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = createIssues(IssueAnnotationBuilder.MINIMUM_PARALLEL_ISSUE_COUNT, 2);
+        Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+
+        Function<PostAnalysisIssueVisitor.ComponentIssue, Object> recordPool = issue -> {
+            Optional.ofNullable(ForkJoinTask.getPool()).ifPresent(pools::add);
+            return issue;
+        };
+
+        underTest.build(issues, recordPool);
+        underTest.build(issues, recordPool);
+
+        assertThat(pools).hasSize(1);
+        ForkJoinPool pool = pools.iterator().next();
+        assertThat(pool.getParallelism()).isEqualTo(2);
+
+        underTest.stop();
+
+        assertThat(pool.isShutdown()).isTrue();
+
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        underTest.build(issues, issue -> {
+            threads.add(Thread.currentThread());
+            return issue;
+        });
+
+        assertThat(threads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    void shouldReplacePoolWhenParallelismChanges() {
+        when(configuration.getBoolean(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED)).thenReturn(Optional.of(true));
+        when(configuration.getInt(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM)).thenReturn(Optional.of(2), Optional.of(3));
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = createIssues(IssueAnnotationBuilder.MINIMUM_PARALLEL_ISSUE_COUNT, 2);
+        Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+
+        Function<PostAnalysisIssueVisitor.ComponentIssue, Object> recordPool = issue -> {
+            Optional.ofNullable(ForkJoinTask.getPool()).ifPresent(pools::add);
+            return issue;
+        };
+
+        underTest.build(issues, recordPool);
+        underTest.build(issues, recordPool);
+
+        assertThat(pools).extracting(ForkJoinPool::getParallelism).containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    void shouldShutDownReplacedPoolOnlyOnceItsBuildsFinish() throws Exception {
+        when(configuration.getBoolean(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED)).thenReturn(Optional.of(true));
+        when(configuration.getInt(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM)).thenReturn(Optional.of(2), Optional.of(3));
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = createIssues(IssueAnnotationBuilder.MINIMUM_PARALLEL_ISSUE_COUNT, 2);
+        Set<ForkJoinPool> firstPools = ConcurrentHashMap.newKeySet();
+        CountDownLatch firstBuildStarted = new CountDownLatch(1);
+        CountDownLatch secondBuildFinished = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<PostAnalysisIssueVisitor.ComponentIssue>> firstBuild = executorService.submit(() -> underTest.build(issues, issue -> {
+                Optional.ofNullable(ForkJoinTask.getPool()).ifPresent(pool -> {
+                    firstPools.add(pool);
+                    firstBuildStarted.countDown();
+                });
+                await(secondBuildFinished);
+                return issue;
+            }));
+            assertThat(firstBuildStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(underTest.build(issues, issue -> issue)).containsExactlyElementsOf(issues);
+            assertThat(firstPools).singleElement().satisfies(pool -> assertThat(pool.isShutdown()).isFalse());
+
+            secondBuildFinished.countDown();
+
+            assertThat(firstBuild.get(10, TimeUnit.SECONDS)).containsExactlyElementsOf(issues);
+            assertThat(firstPools).singleElement().satisfies(pool -> assertThat(pool.isShutdown()).isTrue());
+        } finally {
+            secondBuildFinished.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldPropagateFailureFromAnnotationFactory() {
+        when(configuration.getBoolean(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_ENABLED)).thenReturn(Optional.of(true));
+        when(configuration.getInt(CommunityBranchPlugin.PARALLEL_ANNOTATIONS_PARALLELISM)).thenReturn(Optional.of(2));
+        List<PostAnalysisIssueVisitor.ComponentIssue> issues = createIssues(IssueAnnotationBuilder.MINIMUM_PARALLEL_ISSUE_COUNT, 2);
+
+        assertThatThrownBy(() -> underTest.build(issues, issue -> {
+            throw new IllegalStateException("dummy");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static List<PostAnalysisIssueVisitor.ComponentIssue> createIssues(int issueCount, int componentCount) {
+        List<Component> components = IntStream.range(0, componentCount).mapToObj(i -> {
+            Component component = mock();
+            when(component.getUuid()).thenReturn("component" + i);
+            return component;
+        }).toList();
+        return IntStream.range(0, issueCount)
+                .mapToObj(i -> new PostAnalysisIssueVisitor.ComponentIssue(components.get(i % componentCount), null))
+                .toList();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.ce.CeQueueDao;
+import org.sonar.db.ce.CeQueueDto;
+import org.sonar.db.component.BranchDao;
+import org.sonar.db.component.BranchDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PullRequestAnalysisQueueTest {
+
+    private final DbClient dbClient = mock();
+    private final DbSession dbSession = mock();
+    private final BranchDao branchDao = mock();
+    private final CeQueueDao ceQueueDao = mock();
+    private final PullRequestAnalysisQueue underTest = new PullRequestAnalysisQueue(dbClient);
+
+    @BeforeEach
+    void setUp() {
+        when(dbClient.openSession(anyBoolean())).thenReturn(dbSession);
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(dbClient.ceQueueDao()).thenReturn(ceQueueDao);
+        BranchDto branchDto = mock();
+        when(branchDto.getUuid()).thenReturn("branch-uuid");
+        when(branchDao.selectByPullRequestKey(dbSession, "project-uuid", "123")).thenReturn(Optional.of(branchDto));
+    }
+
+    @Test
+    void shouldReportNewerAnalysisOnlyWhenTaskForPullRequestIsPending() {
+        CeQueueDto otherPullRequestTask = mock();
+        when(otherPullRequestTask.getStatus()).thenReturn(CeQueueDto.Status.PENDING);
+        when(otherPullRequestTask.getComponentUuid()).thenReturn("other-branch-uuid");
+        CeQueueDto inProgressTask = mock();
+        when(inProgressTask.getStatus()).thenReturn(CeQueueDto.Status.IN_PROGRESS);
+        when(inProgressTask.getComponentUuid()).thenReturn("branch-uuid");
+        when(ceQueueDao.selectByEntityUuid(dbSession, "project-uuid")).thenReturn(List.of(otherPullRequestTask, inProgressTask));
+
+        assertThat(underTest.isNewerAnalysisQueued("project-uuid", "123")).isFalse();
+
+        CeQueueDto pendingTask = mock();
+        when(pendingTask.getStatus()).thenReturn(CeQueueDto.Status.PENDING);
+        when(pendingTask.getComponentUuid()).thenReturn("branch-uuid");
+        when(ceQueueDao.selectByEntityUuid(dbSession, "project-uuid")).thenReturn(List.of(inProgressTask, pendingTask));
+
+        assertThat(underTest.isNewerAnalysisQueued("project-uuid", "123")).isTrue();
+        assertThat(underTest.isNewerAnalysisQueued("project-uuid", "456")).isFalse();
+    }
+}
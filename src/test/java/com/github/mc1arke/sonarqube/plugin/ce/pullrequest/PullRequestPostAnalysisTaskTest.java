@@ -18,8 +18,12 @@
  */
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest;
 
+import com.github.mc1arke.sonarqube.plugin.CommunityBranchPlugin;
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kohsuke.github.HttpException;
 import org.mockito.ArgumentCaptor;
 import org.sonar.api.ce.posttask.Analysis;
 import org.sonar.api.ce.posttask.Branch;
@@ -27,6 +31,7 @@ import org.sonar.api.ce.posttask.PostProjectAnalysisTask;
 import org.sonar.api.ce.posttask.Project;
 import org.sonar.api.ce.posttask.QualityGate;
 import org.sonar.api.ce.posttask.ScannerContext;
+import org.sonar.api.config.Configuration;
 import org.sonar.db.DbClient;
 import org.sonar.db.DbSession;
 import org.sonar.db.alm.setting.ALM;
@@ -38,6 +43,10 @@ import org.sonar.db.component.BranchDao;
 import org.sonar.db.component.BranchDto;
 import org.sonar.db.protobuf.DbProjectBranches;
 
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -46,13 +55,16 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -70,10 +82,15 @@ class PullRequestPostAnalysisTaskTest {
     private final Project project = mock();
     private final PostAnalysisIssueVisitor.ComponentIssue componentIssue = mock();
     private final List<PostAnalysisIssueVisitor.ComponentIssue> componentIssues = List.of(componentIssue);
+    private final PluginStatistics pluginStatistics = mock();
+    private final Configuration configuration = mock();
+    private final DecorationOutbox decorationOutbox = mock();
+    private final PullRequestAnalysisQueue pullRequestAnalysisQueue = spy(new PullRequestAnalysisQueue(dbClient));
 
     private final PullRequestPostAnalysisTask testCase =
             new PullRequestPostAnalysisTask(pullRequestBuildStatusDecorators,
-                    postAnalysisIssueVisitor, dbClient);
+                    postAnalysisIssueVisitor, dbClient, pluginStatistics, configuration, decorationOutbox,
+                    pullRequestAnalysisQueue);
 
     @BeforeEach
     void init() {
@@ -84,6 +101,7 @@ class PullRequestPostAnalysisTaskTest {
         doReturn(project).when(projectAnalysis).getProject();
         doReturn("uuid").when(project).getUuid();
         doReturn(componentIssues).when(postAnalysisIssueVisitor).getIssues();
+        doReturn(false).when(pullRequestAnalysisQueue).isNewerAnalysisQueued(any(), any());
     }
 
     @Test
@@ -488,12 +506,210 @@ class PullRequestPostAnalysisTaskTest {
         verify(dbSession, never()).commit();
         verify(branchDao, never()).upsert(any(), any());
 
+        verify(pluginStatistics).add("issues.processed", 1);
+        verify(pluginStatistics).increment("decorations.github.succeeded");
+        verify(pluginStatistics).record(eq("decorations.github"), any(Duration.class));
+        verify(pluginStatistics).publish();
+
         AnalysisDetails analysisDetails =
                 new AnalysisDetails("pull-request", "revision",
                                     componentIssues, qualityGate, projectAnalysis);
         assertThat(analysisDetailsArgumentCaptor.getValue()).usingRecursiveComparison().isEqualTo(analysisDetails);
     }
 
+    @Test
+    void shouldRecordFailedDecorationInStatistics() {
+        doReturn(Branch.Type.PULL_REQUEST).when(branch).getType();
+        doReturn(Optional.of("pull-request")).when(branch).getName();
+
+        doReturn("uuid").when(project).getUuid();
+        doReturn(project).when(projectAnalysis).getProject();
+
+        Analysis analysis = mock();
+        doReturn(Optional.of("revision")).when(analysis).getRevision();
+        doReturn(Optional.of(analysis)).when(projectAnalysis).getAnalysis();
+        doReturn(mock(QualityGate.class)).when(projectAnalysis).getQualityGate();
+
+        PullRequestBuildStatusDecorator decorator = mock();
+        doReturn(List.of(alm)).when(decorator).alm();
+        doThrow(new IllegalStateException("Whoops")).when(decorator).decorateQualityGateStatus(any(), any(), any());
+        pullRequestBuildStatusDecorators.add(decorator);
+
+        AlmSettingDto almSettingDto = mock();
+        when(almSettingDto.getAlm()).thenReturn(ALM.GITLAB);
+        AlmSettingDao almSettingDao = mock();
+        when(almSettingDao.selectByUuid(any(), any())).thenReturn(Optional.of(almSettingDto));
+        when(dbClient.almSettingDao()).thenReturn(almSettingDao);
+        ProjectAlmSettingDao projectAlmSettingDao = mock();
+        when(projectAlmSettingDao.selectByProject(any(), anyString())).thenReturn(Optional.of(mock(ProjectAlmSettingDto.class)));
+        when(dbClient.projectAlmSettingDao()).thenReturn(projectAlmSettingDao);
+        when(dbClient.openSession(anyBoolean())).thenReturn(mock());
+
+        assertThatThrownBy(() -> testCase.finished(context))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Whoops");
+
+        verify(pluginStatistics).add("issues.processed", 1);
+        verify(pluginStatistics).increment("decorations.gitlab.failed");
+        verify(pluginStatistics).record(eq("decorations.gitlab"), any(Duration.class));
+        verify(pluginStatistics).publish();
+        verify(pluginStatistics, never()).increment("decorations.gitlab.succeeded");
+        verify(decorator).decorateQualityGateStatus(any(), any(), any());
+
+        ArgumentCaptor<DecorationOutbox.PendingDecoration> pendingDecorationArgumentCaptor = ArgumentCaptor.captor();
+        verify(decorationOutbox).add(pendingDecorationArgumentCaptor.capture());
+        assertThat(pendingDecorationArgumentCaptor.getValue())
+                .usingRecursiveComparison()
+                .ignoringFields("failedAt")
+                .isEqualTo(new DecorationOutbox.PendingDecoration("uuid", null, "pull-request", null, "revision", "GITLAB", 1, 0, "Whoops"));
+    }
+
+    @Test
+    void shouldRetryDecorationThatFailedWithGitlabServerError() {
+        PullRequestBuildStatusDecorator decorator = setupGitlabDecoration();
+        doThrow(new AlmResponseException("An unexpected response code was returned from the Gitlab API - Expected: 201, Got: 502", 502))
+                .doReturn(DecorationResult.builder().build())
+                .when(decorator).decorateQualityGateStatus(any(), any(), any());
+        when(configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_INITIAL_DELAY)).thenReturn(Optional.of(0));
+
+        testCase.finished(context);
+
+        verify(decorator, times(2)).decorateQualityGateStatus(any(), any(), any());
+        verify(pluginStatistics).increment("decorations.gitlab.retried");
+        verify(pluginStatistics).increment("decorations.gitlab.succeeded");
+        verify(decorationOutbox).remove("uuid", "pull-request");
+        verify(decorationOutbox, never()).add(any());
+    }
+
+    @Test
+    void shouldAddDecorationToOutboxOnceRetriesExhausted() {
+        PullRequestBuildStatusDecorator decorator = setupGitlabDecoration();
+        doThrow(new IllegalStateException("Could not reach Gitlab", new ConnectException("Connection refused")))
+                .when(decorator).decorateQualityGateStatus(any(), any(), any());
+        when(configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_ATTEMPTS)).thenReturn(Optional.of(2));
+        when(configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_INITIAL_DELAY)).thenReturn(Optional.of(0));
+
+        assertThatThrownBy(() -> testCase.finished(context))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Could not reach Gitlab");
+
+        verify(decorator, times(3)).decorateQualityGateStatus(any(), any(), any());
+        verify(pluginStatistics, times(2)).increment("decorations.gitlab.retried");
+        verify(pluginStatistics).increment("decorations.gitlab.failed");
+        ArgumentCaptor<DecorationOutbox.PendingDecoration> pendingDecorationArgumentCaptor = ArgumentCaptor.captor();
+        verify(decorationOutbox).add(pendingDecorationArgumentCaptor.capture());
+        assertThat(pendingDecorationArgumentCaptor.getValue().attempts()).isEqualTo(3);
+        assertThat(pendingDecorationArgumentCaptor.getValue().failure()).isEqualTo("Could not reach Gitlab");
+    }
+
+    @Test
+    void shouldNotRetryDecorationWhenDelayExceedsRemainingDeadline() {
+        PullRequestBuildStatusDecorator decorator = setupGitlabDecoration();
+        doThrow(new IllegalStateException("Could not reach Gitlab", new SocketTimeoutException("Read timed out")))
+                .when(decorator).decorateQualityGateStatus(any(), any(), any());
+        when(configuration.getInt(CommunityBranchPlugin.DECORATION_TIMEOUT)).thenReturn(Optional.of(1));
+        when(configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_INITIAL_DELAY)).thenReturn(Optional.of(5));
+
+        assertThatThrownBy(() -> testCase.finished(context))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Could not reach Gitlab");
+
+        verify(decorator).decorateQualityGateStatus(any(), any(), any());
+        verify(pluginStatistics, never()).increment("decorations.gitlab.retried");
+        verify(pluginStatistics).increment("decorations.gitlab.failed");
+        verify(decorationOutbox).add(any());
+    }
+
+    @Test
+    void shouldNotRetryDecorationThatFailedWithGithubClientError() {
+        PullRequestBuildStatusDecorator decorator = setupDecoration(ALM.GITHUB);
+        doThrow(new AlmResponseException("Could not decorate Pull Request on Github", 404,
+                new HttpException("Not Found", 404, "Not Found", "https://api.github.com/repos/owner/repo")))
+                .when(decorator).decorateQualityGateStatus(any(), any(), any());
+        when(configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_INITIAL_DELAY)).thenReturn(Optional.of(0));
+
+        assertThatThrownBy(() -> testCase.finished(context))
+                .isInstanceOf(AlmResponseException.class)
+                .hasMessage("Could not decorate Pull Request on Github");
+
+        verify(decorator).decorateQualityGateStatus(any(), any(), any());
+        verify(pluginStatistics, never()).increment("decorations.github.retried");
+        verify(pluginStatistics).increment("decorations.github.failed");
+    }
+
+    @Test
+    void shouldNotRetryDecorationThatFailedWithUnclassifiedIoError() {
+        PullRequestBuildStatusDecorator decorator = setupGitlabDecoration();
+        doThrow(new IllegalStateException("Could not reach Gitlab", new IOException("Unexpected end of stream")))
+                .when(decorator).decorateQualityGateStatus(any(), any(), any());
+        when(configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_INITIAL_DELAY)).thenReturn(Optional.of(0));
+
+        assertThatThrownBy(() -> testCase.finished(context))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Could not reach Gitlab");
+
+        verify(decorator).decorateQualityGateStatus(any(), any(), any());
+        verify(pluginStatistics, never()).increment("decorations.gitlab.retried");
+    }
+
+    @Test
+    void shouldSkipDecorationWhenNewerAnalysisOfPullRequestIsQueued() {
+        PullRequestBuildStatusDecorator decorator = setupGitlabDecoration();
+        doReturn(true).when(pullRequestAnalysisQueue).isNewerAnalysisQueued("uuid", "pull-request");
+
+        testCase.finished(context);
+
+        verify(decorator, never()).decorateQualityGateStatus(any(), any(), any());
+        verify(pluginStatistics).increment("decorations.gitlab.superseded");
+        verify(decorationOutbox, never()).remove(any(), any());
+    }
+
+    @Test
+    void shouldStopRetryingDecorationOnceNewerAnalysisOfPullRequestIsQueued() {
+        PullRequestBuildStatusDecorator decorator = setupGitlabDecoration();
+        when(configuration.getInt(CommunityBranchPlugin.DECORATION_RETRY_INITIAL_DELAY)).thenReturn(Optional.of(0));
+        doReturn(false).doReturn(true).when(pullRequestAnalysisQueue).isNewerAnalysisQueued("uuid", "pull-request");
+        doThrow(new AlmResponseException("An unexpected response code was returned from the Gitlab API - Expected: 201, Got: 502", 502))
+                .when(decorator).decorateQualityGateStatus(any(), any(), any());
+
+        testCase.finished(context);
+
+        verify(decorator).decorateQualityGateStatus(any(), any(), any());
+        verify(pullRequestAnalysisQueue, times(2)).isNewerAnalysisQueued("uuid", "pull-request");
+        verify(pluginStatistics).increment("decorations.gitlab.superseded");
+        verify(pluginStatistics, never()).increment("decorations.gitlab.failed");
+        verify(decorationOutbox, never()).add(any());
+    }
+
+    private PullRequestBuildStatusDecorator setupGitlabDecoration() {
+        return setupDecoration(ALM.GITLAB);
+    }
+
+    private PullRequestBuildStatusDecorator setupDecoration(ALM alm) {
+        doReturn(Branch.Type.PULL_REQUEST).when(branch).getType();
+        doReturn(Optional.of("pull-request")).when(branch).getName();
+
+        Analysis analysis = mock();
+        doReturn(Optional.of("revision")).when(analysis).getRevision();
+        doReturn(Optional.of(analysis)).when(projectAnalysis).getAnalysis();
+        doReturn(mock(QualityGate.class)).when(projectAnalysis).getQualityGate();
+
+        PullRequestBuildStatusDecorator decorator = mock();
+        doReturn(List.of(ALM.GITLAB)).when(decorator).alm();
+        pullRequestBuildStatusDecorators.add(decorator);
+
+        AlmSettingDto almSettingDto = mock();
+        when(almSettingDto.getAlm()).thenReturn(alm);
+        AlmSettingDao almSettingDao = mock();
+        when(almSettingDao.selectByUuid(any(), any())).thenReturn(Optional.of(almSettingDto));
+        when(dbClient.almSettingDao()).thenReturn(almSettingDao);
+        ProjectAlmSettingDao projectAlmSettingDao = mock();
+        when(projectAlmSettingDao.selectByProject(any(), anyString())).thenReturn(Optional.of(mock(ProjectAlmSettingDto.class)));
+        when(dbClient.projectAlmSettingDao()).thenReturn(projectAlmSettingDao);
+        when(dbClient.openSession(anyBoolean())).thenReturn(mock());
+        return decorator;
+    }
+
     @Test
     void testCorrectDescriptionReturnedForTask() {
         assertThat(testCase.getDescription()).isEqualTo("Pull Request Decoration");
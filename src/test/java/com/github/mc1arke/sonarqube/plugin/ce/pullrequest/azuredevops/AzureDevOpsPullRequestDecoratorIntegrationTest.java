@@ -50,6 +50,7 @@ import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 import org.sonar.db.protobuf.DbIssues;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
 import com.github.mc1arke.sonarqube.plugin.almclient.azuredevops.DefaultAzureDevopsClientFactory;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationResult;
@@ -81,7 +82,7 @@ class AzureDevOpsPullRequestDecoratorIntegrationTest {
     private final Encryption encryption = mock();
     private final ReportGenerator reportGenerator = mock();
     private final MarkdownFormatterFactory formatterFactory = mock();
-    private final AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, new DefaultAzureDevopsClientFactory(settings), reportGenerator, formatterFactory);
+    private final AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, new DefaultAzureDevopsClientFactory(settings, new HttpClientInstrumentation(mock())), reportGenerator, formatterFactory, mock());
     private final AnalysisDetails analysisDetails = mock();
 
     private final PostAnalysisIssueVisitor.ComponentIssue componentIssue = mock();
@@ -56,6 +56,7 @@ import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.MarkdownFormatterFactory;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.ReportGenerator;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 
 class AzureDevOpsPullRequestDecoratorTest {
 
@@ -66,6 +67,7 @@ class AzureDevOpsPullRequestDecoratorTest {
     private final AzureDevopsClientFactory azureDevopsClientFactory = mock();
     private final ReportGenerator reportGenerator = mock();
     private final MarkdownFormatterFactory markdownFormatterFactory = mock();
+    private final PluginStatistics pluginStatistics = mock();
 
     private PullRequest mockPullRequest(AzureDevopsClient azureDevopsClient, String azureProject, String azureRepository, int pullRequestId) throws IOException {
         PullRequest pullRequest = mock();
@@ -89,7 +91,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(analysisDetails.getPullRequestId()).thenReturn("123");
         when(projectAlmSettingDto.getAlmRepo()).thenReturn("repo");
 
-        AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         assertThatThrownBy(() -> pullRequestDecorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
             .hasMessage("Repository slug must be provided")
@@ -103,7 +105,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(projectAlmSettingDto.getAlmRepo()).thenReturn("repo");
         when(projectAlmSettingDto.getAlmSlug()).thenReturn("slug");
 
-        AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         assertThatThrownBy(() -> pullRequestDecorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
             .hasMessage("Could not parse Pull Request Key")
@@ -118,7 +120,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(projectAlmSettingDto.getAlmSlug()).thenReturn("prj");
         when(projectAlmSettingDto.getAlmRepo()).thenReturn("repo");
 
-        AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         assertThatThrownBy(() -> pullRequestDecorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
             .hasMessage("Could not parse Pull Request Key")
@@ -127,7 +129,7 @@ class AzureDevOpsPullRequestDecoratorTest {
 
     @Test
     void shouldRemoveUserInfoFromRepositoryUrlForLinking() {
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         Repository repository = mock();
         when(repository.getRemoteUrl()).thenReturn("https://user@domain.com/path/to/repo");
@@ -141,7 +143,7 @@ class AzureDevOpsPullRequestDecoratorTest {
 
     @Test
     void testName() {
-        assertThat(new AzureDevOpsPullRequestDecorator(mock(), mock(), mock(), mock()).alm()).isEqualTo(Collections.singletonList(ALM.AZURE_DEVOPS));
+        assertThat(new AzureDevOpsPullRequestDecorator(mock(), mock(), mock(), mock(), mock()).alm()).isEqualTo(Collections.singletonList(ALM.AZURE_DEVOPS));
     }
 
     @Test
@@ -151,7 +153,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(analysisDetails.getPullRequestId()).thenReturn("123");
         when(projectAlmSettingDto.getAlmSlug()).thenReturn("prj");
 
-        AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator pullRequestDecorator = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         assertThatThrownBy(() -> pullRequestDecorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
             .hasMessage("Repository name must be provided")
@@ -194,7 +196,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(connectionData.getAuthenticatedUser()).thenReturn(authenticatedUser);
         when(azureDevopsClient.getConnectionData()).thenReturn(connectionData);
 
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         IdentityRef sonarqubeUser = mock();
         when(sonarqubeUser.getId()).thenReturn("sonarqube");
@@ -250,7 +252,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(repository.getRemoteUrl()).thenReturn("https://remote.url/path/to/repo");
         when(repository.getName()).thenReturn(azureRepository);
 
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         IdentityRef sonarqubeUser = mock();
         when(sonarqubeUser.getId()).thenReturn("sonarqube");
@@ -323,7 +325,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(repository.getRemoteUrl()).thenReturn("https://remote.url/path/to/repo");
         when(repository.getName()).thenReturn(azureRepository);
 
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         IdentityRef sonarqubeUser = mock();
         when(sonarqubeUser.getId()).thenReturn("sonarqube");
@@ -401,7 +403,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(repository.getRemoteUrl()).thenReturn("https://remote.url/path/to/repo");
         when(repository.getName()).thenReturn(azureRepository);
 
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         IdentityRef sonarqubeUser = mock();
         when(sonarqubeUser.getId()).thenReturn("sonarqube");
@@ -474,7 +476,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(repository.getRemoteUrl()).thenReturn("https://remote.url/path/to/repo");
         when(repository.getName()).thenReturn(azureRepository);
 
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         IdentityRef sonarqubeUser = mock();
         when(sonarqubeUser.getId()).thenReturn("sonarqube");
@@ -532,7 +534,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(azureDevopsClient.retrievePullRequestIterationIdForCommit(azureProject, azureRepository, pullRequestId, commitSha)).thenReturn(iterationId);
         when(azureDevopsClient.createThread(any(), any(), anyInt(), any())).thenReturn(mock());
 
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
         underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto);
 
         ArgumentCaptor<GitPullRequestStatus> statusCaptor = ArgumentCaptor.captor();
@@ -564,7 +566,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(azureDevopsClient.retrievePullRequestIterationIdForCommit(any(), any(), anyInt(), any())).thenThrow(new IOException("403 Forbidden"));
         when(azureDevopsClient.createThread(any(), any(), anyInt(), any())).thenReturn(mock());
 
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
         assertThatThrownBy(() -> underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
                 .isExactlyInstanceOf(IllegalStateException.class)
@@ -595,7 +597,7 @@ class AzureDevOpsPullRequestDecoratorTest {
         when(pullRequest.doesSupportIterations()).thenReturn(false);
         when(azureDevopsClient.createThread(any(), any(), anyInt(), any())).thenReturn(mock());
 
-        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory);
+        AzureDevOpsPullRequestDecorator underTest = new AzureDevOpsPullRequestDecorator(scmInfoRepository, azureDevopsClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
         underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto);
 
         ArgumentCaptor<GitPullRequestStatus> statusCaptor = ArgumentCaptor.captor();
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2025 Mathias Åhsberg, Michael Clarke
+ * Copyright (C) 2020-2026 Mathias Åhsberg, Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -19,9 +19,11 @@
 package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.bitbucket;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -57,6 +59,7 @@ import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.DataValue;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.ReportData;
 import com.github.mc1arke.sonarqube.plugin.almclient.bitbucket.model.ReportStatus;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PostAnalysisIssueVisitor;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisIssueSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
@@ -79,7 +82,7 @@ class BitbucketPullRequestDecoratorTest {
     private final ReportGenerator reportGenerator = mock();
     private final BitbucketClient client = mock();
     private final BitbucketClientFactory bitbucketClientFactory = mock();
-    private final BitbucketPullRequestDecorator underTest = new BitbucketPullRequestDecorator(bitbucketClientFactory, reportGenerator);
+    private final BitbucketPullRequestDecorator underTest = new BitbucketPullRequestDecorator(bitbucketClientFactory, reportGenerator, new IssueAnnotationBuilder(mock()));
 
     private final AlmSettingDto almSettingDto = mock();
     private final ProjectAlmSettingDto projectAlmSettingDto = mock();
@@ -130,6 +133,24 @@ class BitbucketPullRequestDecoratorTest {
                         new ReportData("Analysis details", null)));
     }
 
+    @Test
+    void shouldThrowExceptionIfBitbucketCouldNotBeReached() throws IOException {
+        IOException failure = new IOException("Connection reset");
+        when(client.supportsCodeInsights()).thenReturn(true);
+        mockValidAnalysis();
+        when(analysisSummary.getAcceptedIssues()).thenReturn(new AnalysisSummary.UrlIconMetric<>("acceptedIssuesUrl", "acceptedIssuesImageUrl", 0));
+        when(analysisSummary.getFixedIssues()).thenReturn(new AnalysisSummary.UrlIconMetric<>("fixedIssuesUrl", "fixedIssuesImageUrl", 0));
+        when(analysisSummary.getNewIssues()).thenReturn(new AnalysisSummary.UrlIconMetric<>("newIssuesUrl", "newIssuesImageUrl", 0L));
+        when(reportGenerator.createAnalysisSummary(any())).thenReturn(analysisSummary);
+        when(analysisDetails.getAnalysisProjectKey()).thenReturn("project-key");
+        doThrow(failure).when(client).uploadReport(any(), any(), any());
+
+        assertThatThrownBy(() -> underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Could not decorate pull request for project project-key")
+                .hasCause(failure);
+    }
+
     @Test
     void testNullPercentagesReplacedWithZeroValues() throws IOException {
         when(client.supportsCodeInsights()).thenReturn(true);
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2025 Michael Clarke
+ * Copyright (C) 2020-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -23,8 +23,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -49,6 +51,9 @@ import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHUser;
 import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
+import org.kohsuke.github.PagedIterable;
+import org.kohsuke.github.PagedIterator;
 import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.sonar.api.ce.posttask.QualityGate;
@@ -59,9 +64,11 @@ import org.sonar.db.alm.setting.ALM;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.AlmResponseException;
 import com.github.mc1arke.sonarqube.plugin.almclient.github.GithubClientFactory;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationResult;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.IssueAnnotationBuilder;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.PostAnalysisIssueVisitor;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Document;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Formatter;
@@ -76,7 +83,7 @@ class GithubPullRequestDecoratorTest {
     private final ReportGenerator reportGenerator = mock();
     private final MarkdownFormatterFactory markdownFormatterFactory = mock();
     private final Clock clock = Clock.fixed(Instant.ofEpochSecond(102030405), ZoneId.of("UTC"));
-    private final GithubPullRequestDecorator testCase = new GithubPullRequestDecorator(githubClientFactory, reportGenerator, markdownFormatterFactory, clock);
+    private final GithubPullRequestDecorator testCase = new GithubPullRequestDecorator(githubClientFactory, reportGenerator, markdownFormatterFactory, clock, new IssueAnnotationBuilder(mock()));
     private final ProjectAlmSettingDto projectAlmSettingDto = mock();
     private final AlmSettingDto almSettingDto = mock();
     private final AnalysisSummary analysisSummary = mock();
@@ -128,6 +135,20 @@ class GithubPullRequestDecoratorTest {
                 .isExactlyInstanceOf(IllegalStateException.class).hasCause(dummyException);
     }
 
+    @Test
+    void shouldThrowResponseExceptionWithStatusIfGithubRejectsRequest() throws IOException {
+        HttpException httpException = new HttpException("Not Found", 404, "Not Found", "https://api.github.com/repos/alm-repo");
+        when(gitHub.getRepository(any())).thenThrow(httpException);
+
+        assertThatThrownBy(() -> testCase.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
+                .hasMessage("Could not decorate Pull Request on Github")
+                .isExactlyInstanceOf(AlmResponseException.class)
+                .hasCause(httpException)
+                .satisfies(ex -> assertThat(((AlmResponseException) ex).isTransient()).isFalse())
+                .extracting("statusCode")
+                .isEqualTo(404);
+    }
+
     @Test
     void shouldDecoratePullRequestWithCorrectAnalysisAndSummaryCommentWhenEnabled() throws IOException {
         when(projectAlmSettingDto.getSummaryCommentEnabled()).thenReturn(true);
@@ -247,6 +268,66 @@ class GithubPullRequestDecoratorTest {
         verifyNoMoreInteractions(pullRequest);
     }
 
+    @Test
+    void shouldNotCreateAnotherCheckRunWhenRetriedAfterCheckRunWasCreated() throws IOException {
+        GHRepository repository = mock();
+        when(gitHub.getRepository(any())).thenReturn(repository);
+        GHCheckRunBuilder checkRunBuilder = mock(InvocationOnMock::getMock);
+        doReturn(null).when(checkRunBuilder).create();
+        when(repository.createCheckRun(any(), any())).thenReturn(checkRunBuilder);
+        GHCheckRun otherCheckRun = mock();
+        when(otherCheckRun.getExternalId()).thenReturn("other-analysis-id");
+        GHCheckRun createdCheckRun = mock();
+        when(createdCheckRun.getExternalId()).thenReturn("analysis-id");
+        PagedIterable<GHCheckRun> checkRuns = mock();
+        PagedIterator<GHCheckRun> checkRunIterator = mock();
+        when(checkRuns.iterator()).thenReturn(checkRunIterator);
+        when(checkRunIterator.hasNext()).thenReturn(true, true, false);
+        when(checkRunIterator.next()).thenReturn(otherCheckRun, createdCheckRun);
+        when(repository.getCheckRuns("commit-sha")).thenReturn(checkRuns);
+        GHPullRequest pullRequest = mock();
+        when(pullRequest.getHtmlUrl()).thenReturn(new URL("http://url.of/pull/request"));
+        when(repository.getPullRequest(123))
+                .thenThrow(new HttpException("Bad Gateway", 502, "Bad Gateway", "https://api.github.com/repos/alm-repo/pulls/123"))
+                .thenReturn(pullRequest);
+
+        assertThatThrownBy(() -> testCase.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
+                .isExactlyInstanceOf(AlmResponseException.class)
+                .satisfies(ex -> assertThat(((AlmResponseException) ex).isTransient()).isTrue());
+        DecorationResult decorationResult = testCase.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto);
+
+        assertThat(decorationResult.getPullRequestUrl()).contains("http://url.of/pull/request");
+        verify(repository).createCheckRun("SonarQube Code Analysis", "commit-sha");
+        verify(checkRunBuilder).create();
+        verify(repository).getCheckRuns("commit-sha");
+    }
+
+    @Test
+    void shouldCreateCheckRunWhenRetriedAfterEarlierAttemptCreatedNone() throws IOException {
+        GHRepository repository = mock();
+        when(gitHub.getRepository(any())).thenReturn(repository);
+        GHCheckRunBuilder checkRunBuilder = mock(InvocationOnMock::getMock);
+        doThrow(new HttpException("Bad Gateway", 502, "Bad Gateway", "https://api.github.com/repos/alm-repo/check-runs"))
+                .doReturn(null)
+                .when(checkRunBuilder).create();
+        when(repository.createCheckRun(any(), any())).thenReturn(checkRunBuilder);
+        PagedIterable<GHCheckRun> checkRuns = mock();
+        PagedIterator<GHCheckRun> checkRunIterator = mock();
+        when(checkRuns.iterator()).thenReturn(checkRunIterator);
+        when(repository.getCheckRuns("commit-sha")).thenReturn(checkRuns);
+        GHPullRequest pullRequest = mock();
+        when(pullRequest.getHtmlUrl()).thenReturn(new URL("http://url.of/pull/request"));
+        when(repository.getPullRequest(123)).thenReturn(pullRequest);
+
+        assertThatThrownBy(() -> testCase.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
+                .isExactlyInstanceOf(AlmResponseException.class);
+        testCase.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto);
+
+        verify(repository, times(2)).createCheckRun("SonarQube Code Analysis", "commit-sha");
+        verify(checkRunBuilder, times(2)).create();
+        verify(repository).getCheckRuns("commit-sha");
+    }
+
     private static GHIssueComment createComment(String body, String userType, long userId, long commentId) throws IOException {
         GHIssueComment comment = mock();
         when(comment.getBody()).thenReturn(body);
@@ -55,6 +55,7 @@ import org.sonar.ce.task.projectanalysis.scm.ScmInfoRepository;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.HttpClientInstrumentation;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.DefaultGitlabClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.LinkHeaderReader;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.AnalysisDetails;
@@ -265,7 +266,7 @@ class GitlabMergeRequestDecoratorIntegrationTest {
         Encryption encryption = mock();
         when(settings.getEncryption()).thenReturn(encryption);
         GitlabMergeRequestDecorator pullRequestDecorator =
-                new GitlabMergeRequestDecorator(scmInfoRepository, new DefaultGitlabClientFactory(linkHeaderReader, settings), reportGenerator, mock());
+                new GitlabMergeRequestDecorator(scmInfoRepository, new DefaultGitlabClientFactory(linkHeaderReader, settings, new HttpClientInstrumentation(mock())), reportGenerator, mock(), mock());
 
 
         assertThat(pullRequestDecorator.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto).getPullRequestUrl()).isEqualTo(Optional.of("http://gitlab.example.com/my-group/my-project/merge_requests/1"));
@@ -23,15 +23,18 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -51,6 +54,7 @@ import org.sonar.db.alm.setting.ALM;
 import org.sonar.db.alm.setting.AlmSettingDto;
 import org.sonar.db.alm.setting.ProjectAlmSettingDto;
 
+import com.github.mc1arke.sonarqube.plugin.almclient.DecorationDeadline;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.GitlabClient;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.GitlabClientFactory;
 import com.github.mc1arke.sonarqube.plugin.almclient.gitlab.model.Commit;
@@ -69,6 +73,7 @@ import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.MarkdownFormatt
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisIssueSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.AnalysisSummary;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report.ReportGenerator;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 
 class GitlabMergeRequestDecoratorTest {
 
@@ -99,8 +104,9 @@ class GitlabMergeRequestDecoratorTest {
     private final ReportGenerator reportGenerator = mock();
     private final MarkdownFormatterFactory markdownFormatterFactory = mock();
     private final AnalysisSummary analysisSummary = mock();
+    private final PluginStatistics pluginStatistics = mock();
 
-    private final GitlabMergeRequestDecorator underTest = new GitlabMergeRequestDecorator(scmInfoRepository, gitlabClientFactory, reportGenerator, markdownFormatterFactory);
+    private final GitlabMergeRequestDecorator underTest = new GitlabMergeRequestDecorator(scmInfoRepository, gitlabClientFactory, reportGenerator, markdownFormatterFactory, pluginStatistics);
 
     @BeforeEach
     void setUp() throws IOException {
@@ -516,6 +522,71 @@ class GitlabMergeRequestDecoratorTest {
         assertThat(mergeRequestNoteArgumentCaptor.getAllValues().get(1)).isNotInstanceOf(CommitNote.class);
     }
 
+    @Test
+    void shouldSkipInlineCommentsButPostSummaryAndStatusOnceDeadlinePassed() throws IOException {
+        PostAnalysisIssueVisitor.LightIssue lightIssue = mock();
+        when(lightIssue.key()).thenReturn("issueKey1");
+        when(lightIssue.issueStatus()).thenReturn(IssueStatus.OPEN);
+        when(lightIssue.getLine()).thenReturn(999);
+
+        Component component = mock();
+
+        PostAnalysisIssueVisitor.ComponentIssue componentIssue = mock();
+        when(componentIssue.getIssue()).thenReturn(lightIssue);
+        when(componentIssue.getComponent()).thenReturn(component);
+        when(componentIssue.getScmPath()).thenReturn(Optional.of("path-to-file"));
+
+        when(analysisDetails.getScmReportableIssues()).thenReturn(Collections.singletonList(componentIssue));
+        when(gitlabClient.getMergeRequestDiscussions(anyLong(), anyLong())).thenReturn(new ArrayList<>());
+
+        Changeset changeset = mock();
+        when(changeset.getRevision()).thenReturn("DEF");
+
+        ScmInfo scmInfo = mock();
+        when(scmInfo.hasChangesetForLine(999)).thenReturn(true);
+        when(scmInfo.getChangesetForLine(999)).thenReturn(changeset);
+        when(scmInfoRepository.getScmInfo(component)).thenReturn(Optional.of(scmInfo));
+
+        DecorationDeadline.callWithin(Duration.ZERO, () -> underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto));
+
+        ArgumentCaptor<MergeRequestNote> mergeRequestNoteArgumentCaptor = ArgumentCaptor.captor();
+        verify(gitlabClient).addMergeRequestDiscussion(eq(PROJECT_ID), eq(MERGE_REQUEST_IID), mergeRequestNoteArgumentCaptor.capture());
+        assertThat(mergeRequestNoteArgumentCaptor.getValue()).isNotInstanceOf(CommitNote.class);
+        verify(gitlabClient).setMergeRequestPipelineStatus(eq(PROJECT_ID), any(), any());
+    }
+
+    @Test
+    void shouldLeaveRemainingOutdatedDiscussionsOpenOnceDeadlinePassesDuringReconciliation() throws IOException {
+        List<Discussion> discussions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Note note = mock();
+            when(note.getAuthor()).thenReturn(sonarqubeUser);
+            when(note.getBody()).thenReturn("Sonarqube reported issue\n[View in SonarQube](https://dummy.url.with.subdomain/path/to/sonarqube?paramters=many&values=complex%20and+encoded&issues=old-issue-" + i + "&id=" + PROJECT_KEY + ")");
+            when(note.isResolvable()).thenReturn(true);
+
+            Discussion discussion = mock();
+            when(discussion.getId()).thenReturn("discussionId" + i);
+            when(discussion.getNotes()).thenReturn(Collections.singletonList(note));
+            discussions.add(discussion);
+        }
+        when(gitlabClient.getMergeRequestDiscussions(anyLong(), anyLong())).thenReturn(discussions);
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            return null;
+        }).when(gitlabClient).resolveMergeRequestDiscussion(anyLong(), anyLong(), any());
+
+        DecorationDeadline.callWithin(Duration.ofMillis(100), () -> underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto));
+
+        verify(gitlabClient).resolveMergeRequestDiscussion(anyLong(), anyLong(), eq("discussionId0"));
+        verify(gitlabClient, times(1)).resolveMergeRequestDiscussion(anyLong(), anyLong(), any());
+        verify(gitlabClient, never()).addMergeRequestDiscussionNote(anyLong(), anyLong(), any(), any());
+        verify(gitlabClient, never()).getMergeRequestCommits(anyLong(), anyLong());
+        ArgumentCaptor<MergeRequestNote> mergeRequestNoteArgumentCaptor = ArgumentCaptor.captor();
+        verify(gitlabClient).addMergeRequestDiscussion(eq(PROJECT_ID), eq(MERGE_REQUEST_IID), mergeRequestNoteArgumentCaptor.capture());
+        assertThat(mergeRequestNoteArgumentCaptor.getValue()).isNotInstanceOf(CommitNote.class);
+        verify(gitlabClient).setMergeRequestPipelineStatus(eq(PROJECT_ID), any(), any());
+    }
+
     @Test
     void shouldNotStartNewDiscussionForIssueWithExistingCommentFromCommitInMergeRequest() throws IOException {
         PostAnalysisIssueVisitor.LightIssue lightIssue = mock();
@@ -710,6 +781,30 @@ class GitlabMergeRequestDecoratorTest {
                 .isEqualTo(new MergeRequestNote("Different Summary comment"));
     }
 
+    @Test
+    void shouldRecordEachDecorationPhaseInStatistics() {
+        underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto);
+
+        for (String phase : List.of("create_client", "fetch_pull_request", "fetch_user", "fetch_discussions", "reconcile_discussions",
+                "fetch_commits", "match_issues", "generate_report", "post_comments", "post_summary", "pipeline_status")) {
+            verify(pluginStatistics).record(eq("decorations.gitlab.phases." + phase), any());
+        }
+        verifyNoMoreInteractions(pluginStatistics);
+    }
+
+    @Test
+    void shouldRecordPhasesReachedBeforeDecorationFailed() throws IOException {
+        when(gitlabClient.getCurrentUser()).thenThrow(new IOException("dummy"));
+
+        assertThatThrownBy(() -> underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(pluginStatistics).record(eq("decorations.gitlab.phases.create_client"), any());
+        verify(pluginStatistics).record(eq("decorations.gitlab.phases.fetch_pull_request"), any());
+        verify(pluginStatistics).record(eq("decorations.gitlab.phases.fetch_user"), any());
+        verifyNoMoreInteractions(pluginStatistics);
+    }
+
     @Test
     void shouldReturnWebUrlFromMergeRequestIfScannerPropertyNotSet() {
         assertThat(underTest.decorateQualityGateStatus(analysisDetails, almSettingDto, projectAlmSettingDto))
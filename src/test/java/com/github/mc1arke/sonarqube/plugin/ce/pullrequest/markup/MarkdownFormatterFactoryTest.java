@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2019-2022 Michael Clarke
+ * Copyright (C) 2019-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -21,6 +21,11 @@ package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -100,4 +105,58 @@ class MarkdownFormatterFactoryTest {
         assertEquals("no html &lt;p&gt; allowed", testCase.textFormatter().format(new Text("no html <p> allowed")));
         assertEquals("&lt;/i&gt;no html &lt;p&gt; allowed&lt;i&gt;", testCase.textFormatter().format(new Text("</i>no html <p> allowed<i>")));
     }
+
+    @Test
+    void shouldWriteDocumentDirectlyToAppendable() throws IOException {
+        MarkdownFormatterFactory testCase = new MarkdownFormatterFactory();
+        Document document = new Document(new Heading(3, new Text("Heading")), new Paragraph(new Bold(new Text("Bold")), new Text(" "), new Link("url", new Image("alt", "src"))), new List(List.Style.BULLET, new ListItem(new Text("<item>"))));
+
+        StringWriter output = new StringWriter();
+        testCase.documentFormatter().format(document, output);
+
+        assertEquals("### Heading" + System.lineSeparator() +
+                "**Bold** [![alt](src)](url)" + System.lineSeparator() + System.lineSeparator() +
+                "- &lt;item&gt;" + System.lineSeparator() + System.lineSeparator(), output.toString());
+        assertEquals(output.toString(), testCase.documentFormatter().format(document));
+    }
+
+    @Test
+    void shouldPropagateFailureFromUnderlyingWriter() {
+        MarkdownFormatterFactory testCase = new MarkdownFormatterFactory();
+        Formatter<Paragraph> paragraphFormatter = testCase.paragraphFormatter();
+        Paragraph paragraph = new Paragraph(new Text("Text"));
+        Writer writer = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("dummy");
+            }
+
+            @Override
+            public void flush() {
+                // no-op
+            }
+
+            @Override
+            public void close() {
+                // no-op
+            }
+        };
+
+        assertThatThrownBy(() -> paragraphFormatter.format(paragraph, writer))
+                .isExactlyInstanceOf(IOException.class)
+                .hasMessage("dummy");
+    }
+
+    @Test
+    void shouldWrapFailureFromAppendableWhenFormattingToString() {
+        Formatter<Text> formatter = (node, output) -> {
+            throw new IOException("dummy");
+        };
+        Text text = new Text("Text");
+
+        assertThatThrownBy(() -> formatter.format(text))
+                .isExactlyInstanceOf(UncheckedIOException.class)
+                .hasMessage("Could not format node")
+                .hasCauseExactlyInstanceOf(IOException.class);
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022-2024 Michael Clarke
+ * Copyright (C) 2022-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -20,10 +20,13 @@ package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
@@ -31,6 +34,7 @@ import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Document;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Formatter;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.FormatterFactory;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Link;
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.MarkdownFormatterFactory;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Paragraph;
 import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.markup.Text;
 
@@ -63,4 +67,45 @@ class AnalysisIssueSummaryTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldWriteOutputDocumentToAppendable() throws IOException {
+        AnalysisIssueSummary underTest = AnalysisIssueSummary.builder()
+                .withMessage("message")
+                .withIssueUrl("issueUrl")
+                .build();
+
+        FormatterFactory formatterFactory = mock();
+        Formatter<Document> documentFormatter = mock();
+        when(formatterFactory.documentFormatter()).thenReturn(documentFormatter);
+        StringBuilder output = new StringBuilder();
+
+        underTest.format(formatterFactory, output);
+
+        ArgumentCaptor<Document> documentArgumentCaptor = ArgumentCaptor.captor();
+        verify(documentFormatter).format(documentArgumentCaptor.capture(), same(output));
+
+        assertThat(documentArgumentCaptor.getValue())
+                .usingRecursiveComparison()
+                .isEqualTo(
+                    new Document(
+                            new Paragraph(new Text("message")),
+                            new Paragraph(new Link("issueUrl", new Text("View in SonarQube")))
+                )
+        );
+    }
+
+    @Test
+    void shouldWriteSameContentToAppendableAsToString() throws IOException {
+        AnalysisIssueSummary underTest = AnalysisIssueSummary.builder()
+                .withMessage("message")
+                .withIssueUrl("issueUrl")
+                .build();
+        MarkdownFormatterFactory formatterFactory = new MarkdownFormatterFactory();
+        StringBuilder output = new StringBuilder();
+
+        underTest.format(formatterFactory, output);
+
+        assertThat(output).hasToString(underTest.format(formatterFactory));
+    }
+
+}
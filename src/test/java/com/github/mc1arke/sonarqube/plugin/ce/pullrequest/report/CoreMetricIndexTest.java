@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.measures.Metric;
+
+class CoreMetricIndexTest {
+
+    @Test
+    void shouldFindCoreMetricByKey() {
+        assertThat(CoreMetricIndex.findMetric(CoreMetrics.NEW_COVERAGE_KEY)).contains(CoreMetrics.NEW_COVERAGE);
+    }
+
+    @Test
+    void shouldResolveMqrMetricKeyToCoreEquivalent() {
+        assertThat(CoreMetricIndex.findMetric("software_quality_maintainability_rating")).contains(CoreMetrics.SQALE_RATING);
+    }
+
+    @Test
+    void shouldReturnEmptyOptionalForUnknownKey() {
+        assertThat(CoreMetricIndex.findMetric("unknown-key")).isEmpty();
+    }
+
+    @Test
+    void shouldPreferDirectMatchOverEquivalentMetric() {
+        Map<String, Metric<?>> index = CoreMetricIndex.buildIndex(List.of(CoreMetrics.SQALE_RATING, CoreMetrics.LINES));
+
+        assertThat(index)
+                .containsEntry(CoreMetrics.SQALE_RATING_KEY, CoreMetrics.SQALE_RATING)
+                .containsEntry("software_quality_maintainability_rating", CoreMetrics.SQALE_RATING)
+                .containsEntry(CoreMetrics.LINES_KEY, CoreMetrics.LINES);
+    }
+
+}
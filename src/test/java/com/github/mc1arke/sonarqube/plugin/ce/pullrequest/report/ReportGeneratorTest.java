@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022-2025 Michael Clarke
+ * Copyright (C) 2022-2026 Michael Clarke
  *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
@@ -21,6 +21,8 @@ package com.github.mc1arke.sonarqube.plugin.ce.pullrequest.report;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -31,6 +33,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.sonar.api.ce.posttask.Project;
@@ -258,4 +261,59 @@ class ReportGeneratorTest {
                 .isEqualTo(expected);
     }
 
+    @Test
+    void shouldReuseEncodedUrlsForIssuesInSameAnalysis() {
+        Server server = mock();
+        when(server.getPublicRootUrl()).thenReturn("http://localhost:9000");
+        ReportGenerator underTest = new ReportGenerator(server, mock(), mock(), mock(), mock());
+
+        AnalysisDetails analysisDetails = mock();
+        when(analysisDetails.getAnalysisProjectKey()).thenReturn("project key");
+        when(analysisDetails.getPullRequestId()).thenReturn("123");
+
+        List<String> issueUrls = Stream.of(SoftwareQuality.RELIABILITY, SoftwareQuality.SECURITY, SoftwareQuality.MAINTAINABILITY)
+                .map(softwareQuality -> {
+                    PostAnalysisIssueVisitor.LightIssue lightIssue = mock();
+                    when(lightIssue.key()).thenReturn("issue-" + softwareQuality);
+                    when(lightIssue.impacts()).thenReturn(Map.of(softwareQuality, Severity.LOW));
+                    PostAnalysisIssueVisitor.ComponentIssue componentIssue = mock();
+                    when(componentIssue.getIssue()).thenReturn(lightIssue);
+                    return underTest.createAnalysisIssueSummary(componentIssue, analysisDetails).getIssueUrl();
+                })
+                .toList();
+
+        assertThat(issueUrls).containsExactly(
+                "http://localhost:9000/project/issues?id=project+key&pullRequest=123&issues=issue-RELIABILITY&open=issue-RELIABILITY",
+                "http://localhost:9000/security_hotspots?id=project+key&pullRequest=123&hotspots=issue-SECURITY",
+                "http://localhost:9000/project/issues?id=project+key&pullRequest=123&issues=issue-MAINTAINABILITY&open=issue-MAINTAINABILITY");
+        verify(server, times(1)).getPublicRootUrl();
+        verify(analysisDetails, times(1)).getAnalysisProjectKey();
+        verify(analysisDetails, times(1)).getPullRequestId();
+    }
+
+    @Test
+    void shouldRebuildUrlsForDifferentAnalysis() {
+        Server server = mock();
+        when(server.getPublicRootUrl()).thenReturn("http://localhost:9000");
+        ReportGenerator underTest = new ReportGenerator(server, mock(), mock(), mock(), mock());
+
+        PostAnalysisIssueVisitor.LightIssue lightIssue = mock();
+        when(lightIssue.key()).thenReturn("issue-key");
+        when(lightIssue.impacts()).thenReturn(Map.of(SoftwareQuality.RELIABILITY, Severity.LOW));
+        PostAnalysisIssueVisitor.ComponentIssue componentIssue = mock();
+        when(componentIssue.getIssue()).thenReturn(lightIssue);
+
+        AnalysisDetails analysisDetails1 = mock();
+        when(analysisDetails1.getAnalysisProjectKey()).thenReturn("project-1");
+        when(analysisDetails1.getPullRequestId()).thenReturn("1");
+        AnalysisDetails analysisDetails2 = mock();
+        when(analysisDetails2.getAnalysisProjectKey()).thenReturn("project-2");
+        when(analysisDetails2.getPullRequestId()).thenReturn("2");
+
+        assertThat(underTest.createAnalysisIssueSummary(componentIssue, analysisDetails1).getIssueUrl())
+                .isEqualTo("http://localhost:9000/project/issues?id=project-1&pullRequest=1&issues=issue-key&open=issue-key");
+        assertThat(underTest.createAnalysisIssueSummary(componentIssue, analysisDetails2).getIssueUrl())
+                .isEqualTo("http://localhost:9000/project/issues?id=project-2&pullRequest=2&issues=issue-key&open=issue-key");
+    }
+
 }
@@ -92,6 +92,17 @@ class ClassReferenceElevatedClassLoaderFactoryTest {
         assertThat(elevatedClass.getClassLoader()).isNotSameAs(elevatedLoader);
     }
 
+    @Test
+    void shouldReuseClassLoaderForSamePluginClassLoader() throws ClassNotFoundException, MalformedURLException {
+        URLClassLoader pluginClassLoader = new URLClassLoader(findSonarqubePluginJars());
+        Class<? extends Plugin> pluginClass = (Class<? extends Plugin>) pluginClassLoader.loadClass(TARGET_PLUGIN_CLASS);
+        ClassReferenceElevatedClassLoaderFactory testCase = new ClassReferenceElevatedClassLoaderFactory(getClass().getName());
+
+        ClassLoader elevatedLoader = testCase.createClassLoader(pluginClass);
+
+        assertThat(testCase.createClassLoader(pluginClass)).isSameAs(elevatedLoader);
+    }
+
     private static URL[] findSonarqubePluginJars() throws MalformedURLException {
         List<URL> pluginUrls = new ArrayList<>();
         File[] sonarQubeDistributions = new File("sonarqube-lib/").listFiles();
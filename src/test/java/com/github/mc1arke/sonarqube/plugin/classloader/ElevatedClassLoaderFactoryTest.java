@@ -27,6 +27,9 @@ import org.sonar.api.Plugin;
 import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 class ElevatedClassLoaderFactoryTest {
@@ -75,6 +78,66 @@ class ElevatedClassLoaderFactoryTest {
         }
     }
 
+    @Test
+    void shouldTryPluginJarsFirstForEveryClassNotAlreadyMissedThere() throws IOException, ClassNotFoundException {
+        ElevatedClassLoaderFactory testCase = new ElevatedClassLoaderFactoryImpl();
+        List<String> coreLookups = new ArrayList<>();
+
+        try (URLClassLoader coreClassLoader = new URLClassLoader(new URL[]{}) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                coreLookups.add(name);
+                throw new ClassNotFoundException(name);
+            }
+        }; URLClassLoader pluginClassLoader = new URLClassLoader(new URL[]{}) {
+            @Override
+            public Class<?> loadClass(String name) throws ClassNotFoundException {
+                return this.getClass();
+            }
+        }) {
+            ClassLoader createdClassLoader = testCase.createClassLoader(pluginClassLoader, coreClassLoader);
+
+            assertThat(createdClassLoader.loadClass("org.example.sibling.First")).isEqualTo(pluginClassLoader.getClass());
+            assertThat(createdClassLoader.loadClass("org.example.sibling.First")).isEqualTo(pluginClassLoader.getClass());
+            assertThat(createdClassLoader.loadClass("org.example.sibling.Second")).isEqualTo(pluginClassLoader.getClass());
+
+            assertThat(coreLookups).containsExactly("org.example.sibling.First", "org.example.sibling.Second");
+        }
+    }
+
+    @Test
+    void shouldNotRepeatLookupsForMissingClasses() throws IOException {
+        ElevatedClassLoaderFactory testCase = new ElevatedClassLoaderFactoryImpl();
+        AtomicInteger pluginLookups = new AtomicInteger();
+
+        try (URLClassLoader coreClassLoader = new URLClassLoader(new URL[]{});
+             URLClassLoader pluginClassLoader = new URLClassLoader(new URL[]{}) {
+            @Override
+            public Class<?> loadClass(String name) throws ClassNotFoundException {
+                pluginLookups.incrementAndGet();
+                throw new ClassNotFoundException(name);
+            }
+        }) {
+            ClassLoader createdClassLoader = testCase.createClassLoader(pluginClassLoader, coreClassLoader);
+
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> createdClassLoader.loadClass("org.example.Missing"))
+                    .isInstanceOf(ClassNotFoundException.class)
+                    .hasMessage("org.example.Missing");
+            }
+
+            assertThat(pluginLookups).hasValue(1);
+        }
+    }
+
+    @Test
+    void shouldCreateParallelCapableClassLoader() throws IOException {
+        ElevatedClassLoaderFactory testCase = new ElevatedClassLoaderFactoryImpl();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{})) {
+            assertThat(testCase.createClassLoader(classLoader, classLoader).isRegisteredAsParallelCapable()).isTrue();
+        }
+    }
 
     private static class ElevatedClassLoaderFactoryImpl implements ElevatedClassLoaderFactory {
 
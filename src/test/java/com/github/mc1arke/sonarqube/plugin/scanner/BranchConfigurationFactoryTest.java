@@ -158,4 +158,44 @@ class BranchConfigurationFactoryTest {
         assertThatThrownBy(() -> underTest.createPullRequestConfiguration("key", "source", "target", projectBranches)).hasMessage("The branch 'target' of type PULL_REQUEST does not have a target");
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldFollowChainOfPullRequestTargetsToReferenceBranch() {
+        ProjectBranches projectBranches = mock();
+        when(projectBranches.isEmpty()).thenReturn(false);
+        when(projectBranches.get("pr2")).thenReturn(new BranchInfo("pr2", BranchType.PULL_REQUEST, false, "pr1"));
+        when(projectBranches.get("pr1")).thenReturn(new BranchInfo("pr1", BranchType.PULL_REQUEST, false, "feature"));
+        when(projectBranches.get("feature")).thenReturn(new BranchInfo("feature", BranchType.BRANCH, false, null));
+
+        BranchConfigurationFactory underTest = new BranchConfigurationFactory();
+        BranchConfiguration actual = underTest.createPullRequestConfiguration("key", "source", "pr2", projectBranches);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(new CommunityBranchConfiguration("source", BranchType.PULL_REQUEST, "feature", "pr2", "key"));
+    }
+
+    @Test
+    void shouldThrowExceptionIfPullRequestTargetChainIsCyclic() {
+        ProjectBranches projectBranches = mock();
+        when(projectBranches.isEmpty()).thenReturn(false);
+        when(projectBranches.get("pr1")).thenReturn(new BranchInfo("pr1", BranchType.PULL_REQUEST, false, "pr2"));
+        when(projectBranches.get("pr2")).thenReturn(new BranchInfo("pr2", BranchType.PULL_REQUEST, false, "pr1"));
+
+        BranchConfigurationFactory underTest = new BranchConfigurationFactory();
+        assertThatThrownBy(() -> underTest.createPullRequestConfiguration("key", "source", "pr1", projectBranches))
+                .isInstanceOf(MessageException.class)
+                .hasMessage("The branch 'pr1' has a cyclic chain of targets: pr1 -> pr2 -> pr1");
+    }
+
+    @Test
+    void shouldThrowExceptionIfPullRequestTargetChainReachesMissingBranch() {
+        ProjectBranches projectBranches = mock();
+        when(projectBranches.isEmpty()).thenReturn(false);
+        when(projectBranches.get("pr2")).thenReturn(new BranchInfo("pr2", BranchType.PULL_REQUEST, false, "pr1"));
+        when(projectBranches.get("pr1")).thenReturn(new BranchInfo("pr1", BranchType.PULL_REQUEST, false, "deleted"));
+
+        BranchConfigurationFactory underTest = new BranchConfigurationFactory();
+        assertThatThrownBy(() -> underTest.createPullRequestConfiguration("key", "source", "pr2", projectBranches))
+                .isInstanceOf(MessageException.class)
+                .hasMessage("The branch 'pr1' of type PULL_REQUEST has a target 'deleted' which does not exist");
+    }
+
+}
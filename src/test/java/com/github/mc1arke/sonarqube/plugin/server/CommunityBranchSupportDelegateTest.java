@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -51,6 +52,8 @@ import org.sonar.db.component.ComponentDto;
 import org.sonar.server.ce.queue.BranchSupport;
 import org.sonar.server.setting.ProjectConfigurationLoader;
 
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestListCache;
+
 /**
  * @author Michael Clarke
  */
@@ -60,7 +63,8 @@ class CommunityBranchSupportDelegateTest {
     private final SequenceUuidFactory sequenceUuidFactory = mock();
     private final DbClient dbClient = mock();
     private final ProjectConfigurationLoader projectConfigurationLoader = mock();
-    private final CommunityBranchSupportDelegate underTest = new CommunityBranchSupportDelegate(sequenceUuidFactory, dbClient, clock, projectConfigurationLoader);
+    private final PullRequestListCache pullRequestListCache = mock();
+    private final CommunityBranchSupportDelegate underTest = new CommunityBranchSupportDelegate(sequenceUuidFactory, dbClient, clock, projectConfigurationLoader, pullRequestListCache);
 
     @Test
     void shouldReturnValidComponentKeyForBranchParameters() {
@@ -136,7 +140,11 @@ class CommunityBranchSupportDelegateTest {
        return Stream.of(
            Arguments.of("branchName", null, BranchType.BRANCH, new String[0], false),
            Arguments.of(null, "pullRequestKey", BranchType.PULL_REQUEST, new String[0], false),
-           Arguments.of("complex-name", null, BranchType.BRANCH, new String[]{"abc", "def", "comp.*"}, true)
+           Arguments.of("complex-name", null, BranchType.BRANCH, new String[]{"abc", "def", "comp.*"}, true),
+           Arguments.of("complex-name", null, BranchType.BRANCH, new String[]{"abc", "complex"}, false),
+           Arguments.of("release-release", null, BranchType.BRANCH, new String[]{"abc", "(release)-\\1"}, true),
+           Arguments.of("release-hotfix", null, BranchType.BRANCH, new String[]{"abc", "(release)-\\1"}, false),
+           Arguments.of("a|b", null, BranchType.BRANCH, new String[]{"\\Qa|b", "def"}, true)
        );
     }
 
@@ -199,6 +207,46 @@ class CommunityBranchSupportDelegateTest {
             .setKey(branchType == BranchType.BRANCH ? branchName : pullRequestKey)
             .setUuid("uuid0")
             .setIsMain(false));
+        verify(pullRequestListCache, times(branchType == BranchType.PULL_REQUEST ? 1 : 0)).invalidateWithHoldOff("projectUuid");
+    }
+
+    @Test
+    void shouldUseUpdatedRetentionPatternsWhenConfigurationChanges() {
+        DbSession dbSession = mock();
+
+        ComponentDto componentDto = mock();
+        when(componentDto.getKey()).thenReturn("componentKey");
+        ComponentDto copyComponentDto = mock();
+        when(componentDto.copy()).thenReturn(copyComponentDto);
+        when(copyComponentDto.setBranchUuid(any())).thenReturn(copyComponentDto);
+        when(copyComponentDto.setUuidPath(any())).thenReturn(copyComponentDto);
+        when(copyComponentDto.setUuid(any())).thenReturn(copyComponentDto);
+        when(copyComponentDto.setCreatedAt(any())).thenReturn(copyComponentDto);
+
+        BranchDto branchDto = mock();
+        when(branchDto.getProjectUuid()).thenReturn("projectUuid");
+
+        BranchSupport.ComponentKey componentKey = mock();
+        when(componentKey.getKey()).thenReturn("componentKey");
+        when(componentKey.getBranchName()).thenReturn(Optional.of("release-1"));
+        when(componentKey.getPullRequestKey()).thenReturn(Optional.empty());
+
+        BranchDao branchDao = mock();
+        when(dbClient.componentDao()).thenReturn(mock());
+        when(dbClient.branchDao()).thenReturn(branchDao);
+
+        Configuration configuration = mock();
+        when(configuration.getStringArray(any())).thenReturn(new String[]{"release-.*"}, new String[]{"release-.*"}, new String[]{"main"});
+        when(projectConfigurationLoader.loadProjectConfiguration(any(), any())).thenReturn(configuration);
+
+        underTest.createBranchComponent(dbSession, componentKey, componentDto, branchDto);
+        underTest.createBranchComponent(dbSession, componentKey, componentDto, branchDto);
+        underTest.createBranchComponent(dbSession, componentKey, componentDto, branchDto);
+
+        ArgumentCaptor<BranchDto> branchDtoArgumentCaptor = ArgumentCaptor.captor();
+        verify(branchDao, times(3)).insert(eq(dbSession), branchDtoArgumentCaptor.capture());
+        assertThat(branchDtoArgumentCaptor.getAllValues()).extracting(BranchDto::isExcludeFromPurge)
+            .containsExactly(true, true, false);
     }
 
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.core.util.SequenceUuidFactory;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.component.BranchDto;
+import org.sonar.server.component.ComponentCleanerService;
+
+class PullRequestBulkDeleterTest {
+
+    private final DbClient dbClient = mock();
+    private final DbSession dbSession = mock();
+    private final ComponentCleanerService componentCleanerService = mock();
+    private final PullRequestListCache pullRequestListCache = mock();
+    private final ExecutorService executorService = mock();
+    private final PullRequestBulkDeleter underTest = new PullRequestBulkDeleter(dbClient, componentCleanerService, pullRequestListCache,
+        new SequenceUuidFactory(), executorService);
+
+    PullRequestBulkDeleterTest() {
+        when(dbClient.openSession(anyBoolean())).thenReturn(dbSession);
+    }
+
+    @Test
+    void shouldDeletePullRequestsInChunks() {
+        runSubmittedJobs();
+        List<BranchDto> pullRequests = IntStream.range(0, PullRequestBulkDeleter.CHUNK_SIZE + 1)
+            .mapToObj(i -> new BranchDto().setKey("pr" + i))
+            .toList();
+
+        PullRequestBulkDeleter.Job job = underTest.submit("projectUuid", pullRequests);
+
+        assertThat(job.getStatus()).isEqualTo(PullRequestBulkDeleter.Status.COMPLETED);
+        assertThat(job.getTotal()).isEqualTo(PullRequestBulkDeleter.CHUNK_SIZE + 1);
+        assertThat(job.getDeleted()).isEqualTo(PullRequestBulkDeleter.CHUNK_SIZE + 1);
+        assertThat(job.getFailed()).isZero();
+        pullRequests.forEach(pullRequest -> verify(componentCleanerService).deleteBranch(dbSession, pullRequest));
+        verify(dbClient, times(2)).openSession(false);
+        verify(dbSession, times(2)).close();
+        verify(pullRequestListCache, times(2)).invalidate("projectUuid");
+    }
+
+    @Test
+    void shouldCountFailedDeletionsAndContinue() {
+        runSubmittedJobs();
+        BranchDto failing = new BranchDto().setKey("pr1");
+        BranchDto succeeding = new BranchDto().setKey("pr2");
+        doThrow(new IllegalStateException("Dummy")).when(componentCleanerService).deleteBranch(any(), eq(failing));
+
+        PullRequestBulkDeleter.Job job = underTest.submit("projectUuid", List.of(failing, succeeding));
+
+        assertThat(job.getStatus()).isEqualTo(PullRequestBulkDeleter.Status.COMPLETED);
+        assertThat(job.getDeleted()).isEqualTo(1);
+        assertThat(job.getFailed()).isEqualTo(1);
+        verify(componentCleanerService).deleteBranch(dbSession, succeeding);
+    }
+
+    @Test
+    void shouldMarkJobFailedIfSessionCannotBeOpened() {
+        runSubmittedJobs();
+        when(dbClient.openSession(anyBoolean())).thenThrow(new IllegalStateException("Dummy"));
+
+        PullRequestBulkDeleter.Job job = underTest.submit("projectUuid", List.of(new BranchDto().setKey("pr1")));
+
+        assertThat(job.getStatus()).isEqualTo(PullRequestBulkDeleter.Status.FAILED);
+        assertThat(job.getDeleted()).isZero();
+    }
+
+    @Test
+    void shouldHoldPendingJobUntilExecuted() {
+        PullRequestBulkDeleter.Job job = underTest.submit("projectUuid", List.of(new BranchDto().setKey("pr1")));
+
+        assertThat(job.getStatus()).isEqualTo(PullRequestBulkDeleter.Status.PENDING);
+        assertThat(underTest.getJob(job.getId())).containsSame(job);
+        assertThat(underTest.getJob("unknown")).isEmpty();
+        verify(executorService).execute(any());
+    }
+
+    @Test
+    void shouldDropCompletedJobsOnceLimitReached() {
+        runSubmittedJobs();
+        PullRequestBulkDeleter.Job first = underTest.submit("projectUuid", List.of());
+        for (int i = 1; i < PullRequestBulkDeleter.MAXIMUM_RETAINED_JOBS; i++) {
+            underTest.submit("projectUuid", List.of());
+        }
+
+        PullRequestBulkDeleter.Job latest = underTest.submit("projectUuid", List.of());
+
+        assertThat(underTest.getJob(first.getId())).isEmpty();
+        assertThat(underTest.getJob(latest.getId())).containsSame(latest);
+    }
+
+    @Test
+    void shouldShutdownExecutorOnStop() {
+        underTest.start();
+        underTest.stop();
+
+        verify(executorService).shutdownNow();
+    }
+
+    private void runSubmittedJobs() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executorService).execute(any());
+    }
+}
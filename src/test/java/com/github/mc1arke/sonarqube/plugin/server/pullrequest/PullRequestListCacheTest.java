@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.sonarqube.ws.MediaTypes;
+import org.sonarqube.ws.ProjectPullRequests;
+
+class PullRequestListCacheTest {
+
+    private final Clock clock = mock();
+    private final PullRequestListCache underTest = new PullRequestListCache(clock);
+
+    @Test
+    void shouldReuseListingForSameProjectAndQuery() {
+        Supplier<PullRequestListCache.Listing> supplier = listingSupplier("pr1");
+
+        PullRequestListCache.Listing first = underTest.get("project", "query", supplier);
+        PullRequestListCache.Listing second = underTest.get("project", "query", supplier);
+
+        assertThat(second).isSameAs(first);
+        verify(supplier, times(1)).get();
+    }
+
+    @Test
+    void shouldBuildSeparateListingsForDifferentQueries() {
+        Supplier<PullRequestListCache.Listing> supplier = listingSupplier("pr1");
+
+        underTest.get("project", "query1", supplier);
+        underTest.get("project", "query2", supplier);
+
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void shouldRebuildListingAfterInvalidation() {
+        Supplier<PullRequestListCache.Listing> supplier = listingSupplier("pr1");
+
+        underTest.get("project", "query", supplier);
+        underTest.invalidate("project");
+        underTest.get("project", "query", supplier);
+
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void shouldRebuildListingAfterExpiry() {
+        Supplier<PullRequestListCache.Listing> supplier = listingSupplier("pr1");
+        when(clock.millis()).thenReturn(1000L, 1000L + PullRequestListCache.TIME_TO_LIVE.toMillis() - 1, 1000L + PullRequestListCache.TIME_TO_LIVE.toMillis());
+
+        underTest.get("project", "query", supplier);
+        underTest.get("project", "query", supplier);
+        verify(supplier, times(1)).get();
+
+        underTest.get("project", "query", supplier);
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void shouldEvictExpiredProjectsWhenFull() {
+        when(clock.millis()).thenReturn(0L);
+        for (int i = 0; i < PullRequestListCache.MAXIMUM_PROJECTS; i++) {
+            underTest.get("project" + i, "query", listingSupplier("pr1"));
+        }
+
+        when(clock.millis()).thenReturn(PullRequestListCache.TIME_TO_LIVE.toMillis());
+        underTest.get("another", "query", listingSupplier("pr1"));
+
+        Supplier<PullRequestListCache.Listing> supplier = listingSupplier("pr1");
+        underTest.get("another", "query", supplier);
+        verify(supplier, times(0)).get();
+        underTest.get("project0", "query", supplier);
+        verify(supplier, times(1)).get();
+    }
+
+    @Test
+    void shouldBoundListingsHeldForSingleProject() {
+        when(clock.millis()).thenReturn(0L);
+        Supplier<PullRequestListCache.Listing> supplier = listingSupplier("pr1");
+        for (int i = 0; i < PullRequestListCache.MAXIMUM_ENTRIES_PER_PROJECT * 3; i++) {
+            underTest.get("project", "analysedSince=" + i, supplier);
+        }
+        verify(supplier, times(PullRequestListCache.MAXIMUM_ENTRIES_PER_PROJECT * 3)).get();
+
+        int held = 0;
+        for (int i = 0; i < PullRequestListCache.MAXIMUM_ENTRIES_PER_PROJECT * 3; i++) {
+            Supplier<PullRequestListCache.Listing> probe = listingSupplier("pr1");
+            underTest.get("project", "analysedSince=" + i, probe);
+            held += mockingDetails(probe).getInvocations().isEmpty() ? 1 : 0;
+        }
+        assertThat(held).isLessThanOrEqualTo(PullRequestListCache.MAXIMUM_ENTRIES_PER_PROJECT);
+    }
+
+    @Test
+    void shouldSweepExpiredListingsForProjectOnInsert() {
+        when(clock.millis()).thenReturn(0L);
+        for (int i = 0; i < PullRequestListCache.MAXIMUM_ENTRIES_PER_PROJECT; i++) {
+            underTest.get("project", "page=" + i, listingSupplier("pr1"));
+        }
+
+        when(clock.millis()).thenReturn(PullRequestListCache.TIME_TO_LIVE.toMillis() - 1);
+        underTest.get("project", "recent", listingSupplier("pr1"));
+        when(clock.millis()).thenReturn(PullRequestListCache.TIME_TO_LIVE.toMillis());
+        underTest.get("project", "new", listingSupplier("pr1"));
+
+        Supplier<PullRequestListCache.Listing> supplier = listingSupplier("pr1");
+        underTest.get("project", "recent", supplier);
+        underTest.get("project", "new", supplier);
+        verify(supplier, times(0)).get();
+    }
+
+    @Test
+    void shouldNotHoldListingsDuringCreationHoldOff() {
+        Supplier<PullRequestListCache.Listing> supplier = listingSupplier("pr1");
+        when(clock.millis()).thenReturn(0L, 0L, PullRequestListCache.CREATION_HOLD_OFF.toMillis() - 1, PullRequestListCache.CREATION_HOLD_OFF.toMillis());
+
+        underTest.get("project", "query", supplier);
+        underTest.invalidateWithHoldOff("project");
+        underTest.get("project", "query", supplier);
+        verify(supplier, times(2)).get();
+
+        underTest.get("project", "query", supplier);
+        underTest.get("project", "query", supplier);
+        verify(supplier, times(3)).get();
+    }
+
+    @Test
+    void shouldGenerateStableEtagFromListingContentAndMediaType() {
+        PullRequestListCache.Listing listing = listingSupplier("pr1").get();
+
+        assertThat(listing.getEtag(MediaTypes.JSON))
+            .isEqualTo(listingSupplier("pr1").get().getEtag(MediaTypes.JSON))
+            .isNotEqualTo(listing.getEtag(MediaTypes.PROTOBUF))
+            .isNotEqualTo(listingSupplier("pr2").get().getEtag(MediaTypes.JSON))
+            .isNotEqualTo(new PullRequestListCache.Listing(listing.getResponse(), 2).getEtag(MediaTypes.JSON))
+            .startsWith("\"")
+            .endsWith("\"");
+    }
+
+    @Test
+    void shouldMatchIfNoneMatchHeaderValues() {
+        PullRequestListCache.Listing listing = listingSupplier("pr1").get();
+        String etag = listing.getEtag(MediaTypes.JSON);
+
+        assertThat(listing.matches(null, MediaTypes.JSON)).isFalse();
+        assertThat(listing.matches("\"other\"", MediaTypes.JSON)).isFalse();
+        assertThat(listing.matches(etag, MediaTypes.JSON)).isTrue();
+        assertThat(listing.matches(etag, MediaTypes.PROTOBUF)).isFalse();
+        assertThat(listing.matches("W/" + etag, MediaTypes.JSON)).isTrue();
+        assertThat(listing.matches("\"other\", " + etag, MediaTypes.JSON)).isTrue();
+        assertThat(listing.matches("*", MediaTypes.JSON)).isTrue();
+    }
+
+    private static Supplier<PullRequestListCache.Listing> listingSupplier(String key) {
+        Supplier<PullRequestListCache.Listing> supplier = mock();
+        when(supplier.get()).then(i -> new PullRequestListCache.Listing(ProjectPullRequests.ListWsResponse.newBuilder()
+            .addPullRequests(ProjectPullRequests.PullRequest.newBuilder().setKey(key))
+            .build(), 1));
+        return supplier;
+    }
+}
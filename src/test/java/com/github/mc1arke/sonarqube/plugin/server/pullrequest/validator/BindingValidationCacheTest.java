@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+
+import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+
+class BindingValidationCacheTest {
+
+    private final Clock clock = mock();
+    private final Validator validator = mock();
+    private final BindingValidationCache underTest = new BindingValidationCache(clock);
+
+    @Test
+    void shouldReuseSuccessfulValidationUntilExpiry() {
+        ProjectAlmSettingDto projectAlmSettingDto = projectAlmSetting("project", 1L);
+        AlmSettingDto almSettingDto = almSetting(1L);
+        when(clock.millis()).thenReturn(1000L, 1000L + BindingValidationCache.SUCCESS_TIME_TO_LIVE.toMillis() - 1,
+            1000L + BindingValidationCache.SUCCESS_TIME_TO_LIVE.toMillis());
+
+        underTest.validate(projectAlmSettingDto, almSettingDto, validator);
+        underTest.validate(projectAlmSettingDto, almSettingDto, validator);
+        verify(validator, times(1)).validate(projectAlmSettingDto, almSettingDto);
+
+        underTest.validate(projectAlmSettingDto, almSettingDto, validator);
+        verify(validator, times(2)).validate(projectAlmSettingDto, almSettingDto);
+    }
+
+    @Test
+    void shouldRethrowCachedFailureUntilShorterExpiry() {
+        ProjectAlmSettingDto projectAlmSettingDto = projectAlmSetting("project", 1L);
+        AlmSettingDto almSettingDto = almSetting(1L);
+        doThrow(new InvalidConfigurationException(InvalidConfigurationException.Scope.PROJECT, "dummy")).when(validator).validate(any(), any());
+        when(clock.millis()).thenReturn(1000L, 1000L + BindingValidationCache.FAILURE_TIME_TO_LIVE.toMillis() - 1,
+            1000L + BindingValidationCache.FAILURE_TIME_TO_LIVE.toMillis());
+
+        assertThatThrownBy(() -> underTest.validate(projectAlmSettingDto, almSettingDto, validator)).hasMessage("dummy");
+        assertThatThrownBy(() -> underTest.validate(projectAlmSettingDto, almSettingDto, validator)).hasMessage("dummy");
+        verify(validator, times(1)).validate(projectAlmSettingDto, almSettingDto);
+
+        assertThatThrownBy(() -> underTest.validate(projectAlmSettingDto, almSettingDto, validator)).hasMessage("dummy");
+        verify(validator, times(2)).validate(projectAlmSettingDto, almSettingDto);
+    }
+
+    @Test
+    void shouldThrowNewExceptionForEachCachedFailure() {
+        ProjectAlmSettingDto projectAlmSettingDto = projectAlmSetting("project", 1L);
+        AlmSettingDto almSettingDto = almSetting(1L);
+        doThrow(new InvalidConfigurationException(InvalidConfigurationException.Scope.GLOBAL, "dummy")).when(validator).validate(any(), any());
+        when(clock.millis()).thenReturn(1000L);
+
+        Throwable first = catchThrowable(() -> underTest.validate(projectAlmSettingDto, almSettingDto, validator));
+        Throwable second = catchThrowable(() -> underTest.validate(projectAlmSettingDto, almSettingDto, validator));
+
+        assertThat(second).isNotSameAs(first)
+            .isInstanceOf(InvalidConfigurationException.class)
+            .hasMessage("dummy")
+            .extracting("scope").isEqualTo(InvalidConfigurationException.Scope.GLOBAL);
+        verify(validator, times(1)).validate(projectAlmSettingDto, almSettingDto);
+    }
+
+    @Test
+    void shouldValidateAgainWhenBindingOrAlmSettingChanges() {
+        AlmSettingDto almSettingDto = almSetting(1L);
+
+        underTest.validate(projectAlmSetting("project", 1L), almSettingDto, validator);
+        underTest.validate(projectAlmSetting("project", 2L), almSettingDto, validator);
+        underTest.validate(projectAlmSetting("project", 2L), almSetting(2L), validator);
+        underTest.validate(projectAlmSetting("otherProject", 2L), almSetting(2L), validator);
+
+        verify(validator, times(4)).validate(any(), any());
+    }
+
+    @Test
+    void shouldNotCacheUnexpectedExceptions() {
+        ProjectAlmSettingDto projectAlmSettingDto = projectAlmSetting("project", 1L);
+        AlmSettingDto almSettingDto = almSetting(1L);
+        doThrow(new IllegalStateException("dummy")).when(validator).validate(any(), any());
+
+        assertThatThrownBy(() -> underTest.validate(projectAlmSettingDto, almSettingDto, validator)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> underTest.validate(projectAlmSettingDto, almSettingDto, validator)).isInstanceOf(IllegalStateException.class);
+
+        verify(validator, times(2)).validate(projectAlmSettingDto, almSettingDto);
+    }
+
+    private static ProjectAlmSettingDto projectAlmSetting(String projectUuid, long updatedAt) {
+        ProjectAlmSettingDto projectAlmSettingDto = mock();
+        when(projectAlmSettingDto.getProjectUuid()).thenReturn(projectUuid);
+        when(projectAlmSettingDto.getUpdatedAt()).thenReturn(updatedAt);
+        return projectAlmSettingDto;
+    }
+
+    private static AlmSettingDto almSetting(long updatedAt) {
+        AlmSettingDto almSettingDto = mock();
+        when(almSettingDto.getUuid()).thenReturn("almSettingUuid");
+        when(almSettingDto.getUpdatedAt()).thenReturn(updatedAt);
+        return almSettingDto;
+    }
+}
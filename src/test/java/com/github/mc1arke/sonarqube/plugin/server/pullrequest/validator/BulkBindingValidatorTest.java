@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.core.util.SequenceUuidFactory;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.alm.setting.ALM;
+import org.sonar.db.alm.setting.AlmSettingDao;
+import org.sonar.db.alm.setting.AlmSettingDto;
+import org.sonar.db.alm.setting.ProjectAlmSettingDao;
+import org.sonar.db.alm.setting.ProjectAlmSettingDto;
+import org.sonar.db.project.ProjectDao;
+import org.sonar.db.project.ProjectDto;
+
+import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+
+class BulkBindingValidatorTest {
+
+    private final DbClient dbClient = mock();
+    private final AlmSettingDao almSettingDao = mock();
+    private final ProjectAlmSettingDao projectAlmSettingDao = mock();
+    private final ProjectDao projectDao = mock();
+    private final Validator githubValidator = mock();
+    private final ExecutorService executorService = mock();
+    private final List<Runnable> submittedTasks = new ArrayList<>();
+    private final BulkBindingValidator underTest = new BulkBindingValidator(dbClient, List.of(githubValidator),
+        new BindingValidationCache(mock(Clock.class)), new SequenceUuidFactory(), executorService);
+
+    BulkBindingValidatorTest() {
+        when(dbClient.openSession(anyBoolean())).thenReturn(mock(DbSession.class));
+        when(dbClient.almSettingDao()).thenReturn(almSettingDao);
+        when(dbClient.projectAlmSettingDao()).thenReturn(projectAlmSettingDao);
+        when(dbClient.projectDao()).thenReturn(projectDao);
+        when(githubValidator.alm()).thenReturn(List.of(ALM.GITHUB));
+        doAnswer(invocation -> submittedTasks.add(invocation.getArgument(0))).when(executorService).execute(any());
+    }
+
+    @Test
+    void shouldValidateEveryBindingAndReportResults() {
+        AlmSettingDto github = almSetting("github", ALM.GITHUB);
+        AlmSettingDto gitlab = almSetting("gitlab", ALM.GITLAB);
+        ProjectAlmSettingDto validBinding = binding("uuid1");
+        ProjectAlmSettingDto invalidBinding = binding("uuid2");
+        ProjectAlmSettingDto unsupportedBinding = binding("uuid3");
+        when(almSettingDao.selectAll(any())).thenReturn(List.of(github, gitlab));
+        when(projectAlmSettingDao.selectByAlmSetting(any(), eq(github))).thenReturn(List.of(validBinding, invalidBinding));
+        when(projectAlmSettingDao.selectByAlmSetting(any(), eq(gitlab))).thenReturn(List.of(unsupportedBinding));
+        when(projectDao.selectByUuids(any(), any())).thenReturn(List.of(project("uuid1", "project1"), project("uuid2", "project2"), project("uuid3", "project3")));
+        doThrow(new InvalidConfigurationException(InvalidConfigurationException.Scope.GLOBAL, "Bad key")).when(githubValidator).validate(eq(invalidBinding), any());
+
+        BulkBindingValidator.Job job = underTest.submit();
+        assertThat(job.getStatus()).isEqualTo(BulkBindingValidator.Status.PENDING);
+        runSubmittedTasks();
+
+        assertThat(job.getStatus()).isEqualTo(BulkBindingValidator.Status.COMPLETED);
+        assertThat(job.getTotal()).isEqualTo(3);
+        assertThat(job.getCompleted()).isEqualTo(3);
+        assertThat(job.getResults()).containsExactlyInAnyOrder(
+            new BulkBindingValidator.Result("project1", "github", "GITHUB", true, null, null),
+            new BulkBindingValidator.Result("project2", "github", "GITHUB", false, "GLOBAL", "Bad key"),
+            new BulkBindingValidator.Result("project3", "gitlab", "GITLAB", false, "PROJECT", "The GITLAB ALM is not supported by any validators"));
+    }
+
+    @Test
+    void shouldBoundConcurrentValidationsPerHost() {
+        AlmSettingDto github = almSetting("github", ALM.GITHUB);
+        List<ProjectAlmSettingDto> bindings = new ArrayList<>();
+        for (int i = 0; i < BulkBindingValidator.MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST * 3; i++) {
+            bindings.add(binding("uuid" + i));
+        }
+        when(almSettingDao.selectAll(any())).thenReturn(List.of(github));
+        when(projectAlmSettingDao.selectByAlmSetting(any(), eq(github))).thenReturn(bindings);
+
+        BulkBindingValidator.Job job = underTest.submit();
+        submittedTasks.remove(0).run();
+
+        assertThat(submittedTasks).hasSize(BulkBindingValidator.MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST);
+        runSubmittedTasks();
+        assertThat(job.getCompleted()).isEqualTo(bindings.size());
+        verify(githubValidator, times(bindings.size())).validate(any(), eq(github));
+    }
+
+    @Test
+    void shouldShareLanesBetweenAlmSettingsForSameHost() {
+        AlmSettingDto firstApp = almSetting("first-app", ALM.GITHUB, "https://github.example.com/api/v3");
+        AlmSettingDto secondApp = almSetting("second-app", ALM.GITHUB, "https://GITHUB.example.com:443/api/v3/");
+        AlmSettingDto otherHost = almSetting("other-host", ALM.GITHUB, "https://other.example.com/api/v3");
+        when(almSettingDao.selectAll(any())).thenReturn(List.of(firstApp, secondApp, otherHost));
+        for (AlmSettingDto almSettingDto : List.of(firstApp, secondApp, otherHost)) {
+            List<ProjectAlmSettingDto> bindings = new ArrayList<>();
+            for (int i = 0; i < BulkBindingValidator.MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST; i++) {
+                bindings.add(binding(almSettingDto.getKey() + i));
+            }
+            when(projectAlmSettingDao.selectByAlmSetting(any(), eq(almSettingDto))).thenReturn(bindings);
+        }
+
+        BulkBindingValidator.Job job = underTest.submit();
+        submittedTasks.remove(0).run();
+
+        assertThat(submittedTasks).hasSize(BulkBindingValidator.MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST * 2);
+        runSubmittedTasks();
+        assertThat(job.getCompleted()).isEqualTo(BulkBindingValidator.MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST * 3);
+        verify(githubValidator, times(BulkBindingValidator.MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST)).validate(any(), eq(firstApp));
+        verify(githubValidator, times(BulkBindingValidator.MAXIMUM_CONCURRENT_VALIDATIONS_PER_HOST)).validate(any(), eq(secondApp));
+    }
+
+    @Test
+    void shouldGroupAlmSettingsWithoutUrlByAlm() {
+        assertThat(BulkBindingValidator.hostKey(almSetting("cloud", ALM.BITBUCKET_CLOUD)))
+            .isEqualTo(BulkBindingValidator.hostKey(almSetting("other-cloud", ALM.BITBUCKET_CLOUD, " ")))
+            .isNotEqualTo(BulkBindingValidator.hostKey(almSetting("gitlab", ALM.GITLAB)));
+        assertThat(BulkBindingValidator.hostKey(almSetting("http", ALM.GITLAB, "http://gitlab.example.com")))
+            .isEqualTo("gitlab.example.com:80")
+            .isNotEqualTo(BulkBindingValidator.hostKey(almSetting("https", ALM.GITLAB, "https://gitlab.example.com")));
+    }
+
+    @Test
+    void shouldReturnRunningJobInsteadOfStartingAnother() {
+        when(almSettingDao.selectAll(any())).thenReturn(List.of());
+
+        BulkBindingValidator.Job first = underTest.submit();
+        BulkBindingValidator.Job second = underTest.submit();
+        assertThat(second).isSameAs(first);
+
+        runSubmittedTasks();
+        assertThat(first.getStatus()).isEqualTo(BulkBindingValidator.Status.COMPLETED);
+
+        BulkBindingValidator.Job third = underTest.submit();
+        assertThat(third).isNotSameAs(first);
+        assertThat(underTest.getJob(third.getId())).containsSame(third);
+        assertThat(underTest.getJob(first.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldMarkJobFailedIfBindingsCannotBeLoaded() {
+        when(almSettingDao.selectAll(any())).thenThrow(new IllegalStateException("Dummy"));
+
+        BulkBindingValidator.Job job = underTest.submit();
+        runSubmittedTasks();
+
+        assertThat(job.getStatus()).isEqualTo(BulkBindingValidator.Status.FAILED);
+    }
+
+    @Test
+    void shouldShutdownExecutorOnStop() {
+        underTest.start();
+        underTest.stop();
+
+        verify(executorService).shutdownNow();
+    }
+
+    private void runSubmittedTasks() {
+        while (!submittedTasks.isEmpty()) {
+            submittedTasks.remove(0).run();
+        }
+    }
+
+    private static AlmSettingDto almSetting(String key, ALM alm) {
+        return almSetting(key, alm, null);
+    }
+
+    private static AlmSettingDto almSetting(String key, ALM alm, String url) {
+        AlmSettingDto almSettingDto = mock();
+        when(almSettingDto.getUrl()).thenReturn(url);
+        when(almSettingDto.getKey()).thenReturn(key);
+        when(almSettingDto.getUuid()).thenReturn(key + "Uuid");
+        when(almSettingDto.getAlm()).thenReturn(alm);
+        return almSettingDto;
+    }
+
+    private static ProjectAlmSettingDto binding(String projectUuid) {
+        ProjectAlmSettingDto projectAlmSettingDto = mock();
+        when(projectAlmSettingDto.getProjectUuid()).thenReturn(projectUuid);
+        return projectAlmSettingDto;
+    }
+
+    private static ProjectDto project(String uuid, String key) {
+        return new ProjectDto().setUuid(uuid).setKey(key);
+    }
+}
@@ -19,6 +19,7 @@
 package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.binding.action;
 
 import com.github.mc1arke.sonarqube.plugin.InvalidConfigurationException;
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BindingValidationCache;
 import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.Validator;
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.Test;
@@ -38,6 +39,7 @@ import org.sonar.server.component.ComponentFinder;
 import org.sonar.server.exceptions.BadConfigurationException;
 import org.sonar.server.user.UserSession;
 
+import java.time.Clock;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -56,10 +58,12 @@ class ValidateBindingActionTest {
     private final DbClient dbClient = mock();
     private final ComponentFinder componentFinder = mock();
     private final UserSession userSession = mock();
+    private final Clock clock = mock();
+    private final BindingValidationCache bindingValidationCache = new BindingValidationCache(clock);
 
     @Test
     void testConfigureActionNoOperation() {
-        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.emptyList());
+        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.emptyList(), bindingValidationCache);
         WebService.NewAction newAction = mock();
         underTest.configureAction(newAction);
         verifyNoInteractions(newAction);
@@ -67,7 +71,7 @@ class ValidateBindingActionTest {
 
     @Test
     void testHandleProjectRequestSuccessWithNoFurtherOperationsWhenNoAlmConfigurationExistsForProject() {
-        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.emptyList());
+        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.emptyList(), bindingValidationCache);
 
         ProjectDto projectDto = mock();
         Request request = mock();
@@ -87,7 +91,7 @@ class ValidateBindingActionTest {
 
     @Test
     void testHandleProjectRequestThrowsExceptionWhenAlmForProjectDoesNotExist() {
-        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.emptyList());
+        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.emptyList(), bindingValidationCache);
 
         ProjectDto projectDto = mock();
         Request request = mock();
@@ -113,7 +117,7 @@ class ValidateBindingActionTest {
 
     @Test
     void testHandleProjectRequestThrowsExceptionWhenNoValidatorExistsForAlm() {
-        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.emptyList());
+        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.emptyList(), bindingValidationCache);
 
         ProjectDto projectDto = mock();
         Request request = mock();
@@ -144,7 +148,7 @@ class ValidateBindingActionTest {
         Validator validator = mock();
         when(validator.alm()).thenReturn(Collections.singletonList(ALM.AZURE_DEVOPS));
         doThrow(new InvalidConfigurationException(InvalidConfigurationException.Scope.PROJECT, "dummy")).when(validator).validate(any(), any());
-        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.singletonList(validator));
+        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.singletonList(validator), bindingValidationCache);
 
         ProjectDto projectDto = mock();
         Request request = mock();
@@ -174,7 +178,7 @@ class ValidateBindingActionTest {
     void testHandleProjectRequestHappyPath() {
         Validator validator = mock();
         when(validator.alm()).thenReturn(Collections.singletonList(ALM.AZURE_DEVOPS));
-        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.singletonList(validator));
+        ValidateBindingAction underTest = new ValidateBindingAction(dbClient, componentFinder, userSession, Collections.singletonList(validator), bindingValidationCache);
 
         ProjectDto projectDto = mock();
         Request request = mock();
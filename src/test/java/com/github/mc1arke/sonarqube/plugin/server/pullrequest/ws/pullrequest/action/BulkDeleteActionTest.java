@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.db.DbClient;
+import org.sonar.db.component.BranchDao;
+import org.sonar.db.component.BranchDto;
+import org.sonar.db.component.BranchType;
+import org.sonar.db.component.SnapshotDao;
+import org.sonar.db.component.SnapshotDto;
+import org.sonar.db.entity.EntityDto;
+import org.sonar.db.project.ProjectDto;
+import org.sonar.server.component.ComponentFinder;
+import org.sonar.server.exceptions.UnauthorizedException;
+import org.sonar.server.user.UserSession;
+
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestBulkDeleter;
+
+class BulkDeleteActionTest {
+
+    private final DbClient dbClient = mock();
+    private final UserSession userSession = mock();
+    private final ComponentFinder componentFinder = mock();
+    private final PullRequestBulkDeleter pullRequestBulkDeleter = mock();
+    private final BulkDeleteAction underTest = new BulkDeleteAction(dbClient, componentFinder, userSession, pullRequestBulkDeleter);
+
+    @Test
+    void shouldDefineEndpointWithAllParameters() {
+        WebService.NewController newController = mock();
+        WebService.NewAction newAction = mock();
+        when(newAction.setHandler(any())).thenReturn(newAction);
+        when(newController.createAction(any())).thenReturn(newAction);
+        WebService.NewParam projectParam = mock();
+        WebService.NewParam pullRequestsParam = mock();
+        WebService.NewParam analysedBeforeParam = mock();
+        when(newAction.createParam(any())).thenReturn(projectParam, pullRequestsParam, analysedBeforeParam);
+
+        underTest.define(newController);
+
+        verify(newController).createAction("bulk_delete");
+        verify(newAction).setHandler(underTest);
+        verify(newAction).setPost(true);
+        verify(newAction).createParam("project");
+        verify(newAction).createParam("pullRequests");
+        verify(newAction).createParam("analysedBefore");
+        verifyNoMoreInteractions(newAction);
+        verify(projectParam).setRequired(true);
+        verifyNoMoreInteractions(projectParam, pullRequestsParam, analysedBeforeParam);
+        verifyNoMoreInteractions(newController);
+    }
+
+    @Test
+    void shouldSubmitNamedPullRequests() {
+        Request request = mockRequest();
+        when(request.paramAsStrings("pullRequests")).thenReturn(List.of("1", "3"));
+        mockBranches(pullRequest("1", "uuid1"), pullRequest("2", "uuid2"), pullRequest("3", "uuid3"),
+            new BranchDto().setBranchType(BranchType.BRANCH).setKey("1").setUuid("branchUuid"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Response response = mockResponse(output);
+
+        underTest.handle(request, response);
+
+        ArgumentCaptor<List<BranchDto>> pullRequestsCaptor = ArgumentCaptor.captor();
+        verify(pullRequestBulkDeleter).submit(eq("projectUuid"), pullRequestsCaptor.capture());
+        assertThat(pullRequestsCaptor.getValue()).extracting(BranchDto::getUuid).containsExactly("uuid1", "uuid3");
+        verify(response.stream()).setStatus(202);
+        verify(response.stream()).setMediaType("application/json");
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"jobId\",\"status\":\"PENDING\",\"total\":2,\"deleted\":0,\"failed\":0}");
+    }
+
+    @Test
+    void shouldSubmitPullRequestsLastAnalysedBeforeDate() {
+        Request request = mockRequest();
+        when(request.paramAsDateTime("analysedBefore")).thenReturn(new Date(1000L));
+        mockBranches(pullRequest("1", "uuid1"), pullRequest("2", "uuid2"), pullRequest("3", "uuid3"));
+        SnapshotDao snapshotDao = mock();
+        when(dbClient.snapshotDao()).thenReturn(snapshotDao);
+        when(snapshotDao.selectLastAnalysesByRootComponentUuids(any(), any())).thenReturn(List.of(
+            new SnapshotDto().setRootComponentUuid("uuid1").setCreatedAt(999L),
+            new SnapshotDto().setRootComponentUuid("uuid2").setCreatedAt(1000L)));
+        Response response = mockResponse(new ByteArrayOutputStream());
+
+        underTest.handle(request, response);
+
+        ArgumentCaptor<List<BranchDto>> pullRequestsCaptor = ArgumentCaptor.captor();
+        verify(pullRequestBulkDeleter).submit(eq("projectUuid"), pullRequestsCaptor.capture());
+        assertThat(pullRequestsCaptor.getValue()).extracting(BranchDto::getUuid).containsExactly("uuid1");
+        verify(snapshotDao).selectLastAnalysesByRootComponentUuids(any(), eq(List.of("uuid1", "uuid2", "uuid3")));
+    }
+
+    @Test
+    void shouldRejectRequestWithoutSelector() {
+        Request request = mockRequest();
+
+        assertThatThrownBy(() -> underTest.handle(request, mock()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Exactly one of 'pullRequests' or 'analysedBefore' must be specified");
+
+        verify(pullRequestBulkDeleter, never()).submit(any(), any());
+    }
+
+    @Test
+    void shouldRejectRequestWithBothSelectors() {
+        Request request = mockRequest();
+        when(request.paramAsStrings("pullRequests")).thenReturn(List.of("1"));
+        when(request.paramAsDateTime("analysedBefore")).thenReturn(new Date(1000L));
+
+        assertThatThrownBy(() -> underTest.handle(request, mock()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Exactly one of 'pullRequests' or 'analysedBefore' must be specified");
+
+        verify(pullRequestBulkDeleter, never()).submit(any(), any());
+    }
+
+    @Test
+    void shouldNotSubmitIfUserNotProjectAdmin() {
+        Request request = mockRequest();
+        when(userSession.checkEntityPermission(any(), any(EntityDto.class))).thenThrow(new UnauthorizedException("Dummy"));
+
+        assertThatThrownBy(() -> underTest.handle(request, mock())).isInstanceOf(UnauthorizedException.class).hasMessage("Dummy");
+
+        verify(pullRequestBulkDeleter, never()).submit(any(), any());
+    }
+
+    private Request mockRequest() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("projectUuid"));
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        return request;
+    }
+
+    private void mockBranches(BranchDto... branches) {
+        BranchDao branchDao = mock();
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(branchDao.selectByProject(any(), any())).thenReturn(List.of(branches));
+        when(pullRequestBulkDeleter.submit(any(), any())).thenAnswer(invocation -> {
+            PullRequestBulkDeleter.Job job = mock();
+            when(job.getId()).thenReturn("jobId");
+            when(job.getStatus()).thenReturn(PullRequestBulkDeleter.Status.PENDING);
+            when(job.getTotal()).thenReturn(invocation.<List<BranchDto>>getArgument(1).size());
+            return job;
+        });
+    }
+
+    private static Response mockResponse(ByteArrayOutputStream output) {
+        Response response = mock();
+        Response.Stream stream = mock();
+        when(response.stream()).thenReturn(stream);
+        when(stream.output()).thenReturn(output);
+        return response;
+    }
+
+    private static BranchDto pullRequest(String key, String uuid) {
+        return new BranchDto().setBranchType(BranchType.PULL_REQUEST).setKey(key).setUuid(uuid);
+    }
+}
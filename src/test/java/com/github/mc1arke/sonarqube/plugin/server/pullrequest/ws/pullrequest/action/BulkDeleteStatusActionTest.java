@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.action;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.db.DbClient;
+import org.sonar.db.project.ProjectDto;
+import org.sonar.server.component.ComponentFinder;
+import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.user.UserSession;
+
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestBulkDeleter;
+
+class BulkDeleteStatusActionTest {
+
+    private final DbClient dbClient = mock();
+    private final UserSession userSession = mock();
+    private final ComponentFinder componentFinder = mock();
+    private final PullRequestBulkDeleter pullRequestBulkDeleter = mock();
+    private final BulkDeleteStatusAction underTest = new BulkDeleteStatusAction(dbClient, componentFinder, userSession, pullRequestBulkDeleter);
+
+    @Test
+    void shouldDefineEndpointWithAllParameters() {
+        WebService.NewController newController = mock();
+        WebService.NewAction newAction = mock();
+        when(newAction.setHandler(any())).thenReturn(newAction);
+        when(newController.createAction(any())).thenReturn(newAction);
+        WebService.NewParam projectParam = mock();
+        WebService.NewParam idParam = mock();
+        when(newAction.createParam(any())).thenReturn(projectParam, idParam);
+
+        underTest.define(newController);
+
+        verify(newController).createAction("bulk_delete_status");
+        verify(newAction).setHandler(underTest);
+        verify(newAction).createParam("project");
+        verify(newAction).createParam("id");
+        verifyNoMoreInteractions(newAction);
+        verify(projectParam).setRequired(true);
+        verify(idParam).setRequired(true);
+        verifyNoMoreInteractions(projectParam, idParam);
+        verifyNoMoreInteractions(newController);
+    }
+
+    @Test
+    void shouldWriteJobProgress() {
+        Request request = mockRequest();
+        PullRequestBulkDeleter.Job job = mockJob("projectUuid");
+        when(pullRequestBulkDeleter.getJob("jobId")).thenReturn(Optional.of(job));
+        Response response = mock();
+        Response.Stream stream = mock();
+        when(response.stream()).thenReturn(stream);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(stream.output()).thenReturn(output);
+
+        underTest.handle(request, response);
+
+        verify(stream).setStatus(200);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"jobId\",\"status\":\"RUNNING\",\"total\":10,\"deleted\":4,\"failed\":1}");
+    }
+
+    @Test
+    void shouldNotExposeJobFromAnotherProject() {
+        Request request = mockRequest();
+        PullRequestBulkDeleter.Job job = mockJob("otherProjectUuid");
+        when(pullRequestBulkDeleter.getJob("jobId")).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> underTest.handle(request, mock()))
+            .isInstanceOf(NotFoundException.class)
+            .hasMessage("Bulk delete job 'jobId' is not found for project 'projectKey'");
+    }
+
+    @Test
+    void shouldThrowNotFoundForUnknownJob() {
+        Request request = mockRequest();
+        when(pullRequestBulkDeleter.getJob("jobId")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> underTest.handle(request, mock()))
+            .isInstanceOf(NotFoundException.class)
+            .hasMessage("Bulk delete job 'jobId' is not found for project 'projectKey'");
+    }
+
+    private Request mockRequest() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(request.mandatoryParam("id")).thenReturn("jobId");
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("projectUuid"));
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        return request;
+    }
+
+    private static PullRequestBulkDeleter.Job mockJob(String projectUuid) {
+        PullRequestBulkDeleter.Job job = mock();
+        when(job.getId()).thenReturn("jobId");
+        when(job.getProjectUuid()).thenReturn(projectUuid);
+        when(job.getStatus()).thenReturn(PullRequestBulkDeleter.Status.RUNNING);
+        when(job.getTotal()).thenReturn(10);
+        when(job.getDeleted()).thenReturn(4);
+        when(job.getFailed()).thenReturn(1);
+        return job;
+    }
+}
@@ -44,13 +44,16 @@ import org.sonar.server.component.ComponentFinder;
 import org.sonar.server.exceptions.UnauthorizedException;
 import org.sonar.server.user.UserSession;
 
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestListCache;
+
 class DeleteActionTest {
 
     private final DbClient dbClient = mock();
     private final UserSession userSession = mock();
     private final ComponentFinder componentFinder = mock();
     private final ComponentCleanerService componentCleanerService = mock();
-    private final DeleteAction underTest = new DeleteAction(dbClient, componentFinder, userSession, componentCleanerService);
+    private final PullRequestListCache pullRequestListCache = mock();
+    private final DeleteAction underTest = new DeleteAction(dbClient, componentFinder, userSession, componentCleanerService, pullRequestListCache);
 
     @Test
     void shouldDefineEndpointWithAllParameters() {
@@ -100,6 +103,7 @@ class DeleteActionTest {
         underTest.handle(request, response);
 
         verify(componentCleanerService).deleteBranch(any(), eq(pullRequest));
+        verify(pullRequestListCache).invalidate("uuid0");
         verify(response).noContent();
     }
 
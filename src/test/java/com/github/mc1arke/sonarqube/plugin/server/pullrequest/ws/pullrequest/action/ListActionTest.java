@@ -20,13 +20,19 @@ package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.pullrequest.ac
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -48,15 +54,20 @@ import org.sonar.db.protobuf.DbProjectBranches;
 import org.sonar.server.component.ComponentFinder;
 import org.sonar.server.exceptions.ForbiddenException;
 import org.sonar.server.user.UserSession;
+import org.sonarqube.ws.MediaTypes;
 import org.sonarqube.ws.ProjectPullRequests;
 
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.PullRequestListCache;
+
 class ListActionTest {
 
     private final DbClient dbClient = mock();
     private final UserSession userSession = mock();
     private final ComponentFinder componentFinder = mock();
     private final ProtoBufWriter protoBufWriter = mock();
-    private final ListAction underTest = new ListAction(dbClient, componentFinder, userSession, protoBufWriter);
+    private final Clock clock = mock();
+    private final PullRequestListCache pullRequestListCache = new PullRequestListCache(clock);
+    private final ListAction underTest = new ListAction(dbClient, componentFinder, userSession, pullRequestListCache, protoBufWriter);
 
     @Test
     void shouldDefineEndpointWithProjectParameter() {
@@ -65,16 +76,35 @@ class ListActionTest {
         when(newAction.setHandler(any())).thenReturn(newAction);
         when(newController.createAction(any())).thenReturn(newAction);
         WebService.NewParam projectParam = mock();
-        when(newAction.createParam(any())).thenReturn(projectParam);
+        when(newAction.createParam("project")).thenReturn(projectParam);
+        WebService.NewParam pageParam = mock();
+        when(newAction.createParam("p")).thenReturn(pageParam);
+        WebService.NewParam pageSizeParam = mock();
+        when(newAction.createParam("ps")).thenReturn(pageSizeParam);
+        WebService.NewParam statusParam = mock();
+        when(newAction.createParam("status")).thenReturn(statusParam);
+        WebService.NewParam targetBranchParam = mock();
+        when(newAction.createParam("targetBranch")).thenReturn(targetBranchParam);
+        WebService.NewParam analysedSinceParam = mock();
+        when(newAction.createParam("analysedSince")).thenReturn(analysedSinceParam);
 
         underTest.define(newController);
 
         verify(newController).createAction("list");
         verify(newAction).setHandler(underTest);
         verify(newAction).createParam("project");
+        verify(newAction).createParam("p");
+        verify(newAction).createParam("ps");
+        verify(newAction).createParam("status");
+        verify(newAction).createParam("targetBranch");
+        verify(newAction).createParam("analysedSince");
         verifyNoMoreInteractions(newAction);
         verify(projectParam).setRequired(true);
         verifyNoMoreInteractions(projectParam);
+        verify(pageParam).setDefaultValue(1);
+        verify(pageSizeParam).setMaximumValue(500);
+        verify(statusParam).setPossibleValues("OK", "ERROR");
+        verifyNoMoreInteractions(pageParam, pageSizeParam, statusParam, targetBranchParam, analysedSinceParam);
 
         verifyNoMoreInteractions(newController);
     }
@@ -189,6 +219,225 @@ class ListActionTest {
         verify(protoBufWriter).write(messageArgumentCaptor.capture(), eq(request), eq(response));
 
         assertThat(messageArgumentCaptor.getValue()).usingRecursiveComparison().isEqualTo(expected);
+        verify(response).setHeader("X-Total-Count", "4");
+    }
+
+    @Test
+    void shouldOnlyLoadMeasuresAndAnalysesForRequestedPage() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(request.paramAsInt("p")).thenReturn(2);
+        when(request.paramAsInt("ps")).thenReturn(2);
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("uuid0"));
+        when(userSession.hasPermission(any())).thenReturn(true);
+
+        BranchDao branchDao = mock();
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(branchDao.selectByProject(any(), any())).thenReturn(List.of(
+            pullRequest("pr5", "uuid5", "target"),
+            pullRequest("pr1", "uuid1", "target"),
+            pullRequest("pr4", "uuid4", "target"),
+            pullRequest("pr2", "uuid2", "target"),
+            pullRequest("pr3", "uuid3", "target")));
+        MeasureDao measureDao = mock();
+        when(dbClient.measureDao()).thenReturn(measureDao);
+        SnapshotDao snapshotDao = mock();
+        when(dbClient.snapshotDao()).thenReturn(snapshotDao);
+
+        Response response = mock();
+
+        underTest.handle(request, response);
+
+        ArgumentCaptor<ProjectPullRequests.ListWsResponse> messageArgumentCaptor = ArgumentCaptor.captor();
+        verify(protoBufWriter).write(messageArgumentCaptor.capture(), eq(request), eq(response));
+
+        assertThat(messageArgumentCaptor.getValue().getPullRequestsList()).extracting(ProjectPullRequests.PullRequest::getKey).containsExactly("pr3", "pr4");
+        verify(measureDao).selectByComponentUuidsAndMetricKeys(any(), eq(List.of("uuid3", "uuid4")), eq(List.of(CoreMetrics.ALERT_STATUS_KEY)));
+        verify(snapshotDao).selectLastAnalysesByRootComponentUuids(any(), eq(List.of("uuid3", "uuid4")));
+        verify(response).setHeader("X-Total-Count", "5");
+    }
+
+    @Test
+    void shouldReturnEmptyPageWithoutQueryingMeasuresWhenPageIsBeyondResults() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(request.paramAsInt("p")).thenReturn(3);
+        when(request.paramAsInt("ps")).thenReturn(2);
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("uuid0"));
+        when(userSession.hasPermission(any())).thenReturn(true);
+
+        BranchDao branchDao = mock();
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(branchDao.selectByProject(any(), any())).thenReturn(List.of(
+            pullRequest("pr1", "uuid1", "target"),
+            pullRequest("pr2", "uuid2", "target")));
+
+        Response response = mock();
+
+        underTest.handle(request, response);
+
+        ArgumentCaptor<ProjectPullRequests.ListWsResponse> messageArgumentCaptor = ArgumentCaptor.captor();
+        verify(protoBufWriter).write(messageArgumentCaptor.capture(), eq(request), eq(response));
+
+        assertThat(messageArgumentCaptor.getValue().getPullRequestsList()).isEmpty();
+        verify(dbClient, never()).measureDao();
+        verify(dbClient, never()).snapshotDao();
+        verify(response).setHeader("X-Total-Count", "2");
+    }
+
+    @Test
+    void shouldFilterByTargetBranchStatusAndAnalysisDate() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(request.param("targetBranch")).thenReturn("main");
+        when(request.param("status")).thenReturn("OK");
+        when(request.paramAsDateTime("analysedSince")).thenReturn(new Date(2000L));
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("uuid0"));
+        when(userSession.hasPermission(any())).thenReturn(true);
+
+        BranchDao branchDao = mock();
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(branchDao.selectByProject(any(), any())).thenReturn(List.of(
+            pullRequest("pr1", "uuid1", "main"),
+            pullRequest("pr2", "uuid2", "develop"),
+            pullRequest("pr3", "uuid3", "main"),
+            pullRequest("pr4", "uuid4", "main"),
+            pullRequest("pr5", "uuid5", "main")));
+        MeasureDao measureDao = mock();
+        when(dbClient.measureDao()).thenReturn(measureDao);
+        when(measureDao.selectByComponentUuidsAndMetricKeys(any(), any(), any())).thenReturn(List.of(
+            new MeasureDto().setComponentUuid("uuid1").addValue(CoreMetrics.ALERT_STATUS_KEY, "OK"),
+            new MeasureDto().setComponentUuid("uuid3").addValue(CoreMetrics.ALERT_STATUS_KEY, "ERROR"),
+            new MeasureDto().setComponentUuid("uuid4").addValue(CoreMetrics.ALERT_STATUS_KEY, "OK"),
+            new MeasureDto().setComponentUuid("uuid5").addValue(CoreMetrics.ALERT_STATUS_KEY, "OK")));
+        SnapshotDao snapshotDao = mock();
+        when(dbClient.snapshotDao()).thenReturn(snapshotDao);
+        when(snapshotDao.selectLastAnalysesByRootComponentUuids(any(), any())).thenReturn(List.of(
+            new SnapshotDto().setRootComponentUuid("uuid1").setCreatedAt(3000L),
+            new SnapshotDto().setRootComponentUuid("uuid4").setCreatedAt(1000L)));
+
+        Response response = mock();
+
+        underTest.handle(request, response);
+
+        ArgumentCaptor<ProjectPullRequests.ListWsResponse> messageArgumentCaptor = ArgumentCaptor.captor();
+        verify(protoBufWriter).write(messageArgumentCaptor.capture(), eq(request), eq(response));
+
+        assertThat(messageArgumentCaptor.getValue().getPullRequestsList()).extracting(ProjectPullRequests.PullRequest::getKey).containsExactly("pr1");
+        verify(measureDao).selectByComponentUuidsAndMetricKeys(any(), eq(List.of("uuid1", "uuid3", "uuid4", "uuid5")), any());
+        verify(snapshotDao).selectLastAnalysesByRootComponentUuids(any(), eq(List.of("uuid1", "uuid4", "uuid5")));
+        verify(response).setHeader("X-Total-Count", "1");
+    }
+
+    @Test
+    void shouldServeRepeatedRequestsFromCacheUntilInvalidated() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("uuid0"));
+        when(userSession.hasPermission(any())).thenReturn(true);
+
+        BranchDao branchDao = mock();
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(branchDao.selectByProject(any(), any())).thenReturn(List.of(pullRequest("pr1", "uuid1", "target")));
+        when(dbClient.measureDao()).thenReturn(mock());
+        when(dbClient.snapshotDao()).thenReturn(mock());
+
+        Response response = mock();
+
+        underTest.handle(request, response);
+        underTest.handle(request, response);
+
+        verify(branchDao, times(1)).selectByProject(any(), any());
+        verify(protoBufWriter, times(2)).write(any(), eq(request), eq(response));
+
+        pullRequestListCache.invalidate("uuid0");
+        underTest.handle(request, response);
+
+        verify(branchDao, times(2)).selectByProject(any(), any());
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenEtagMatches() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(request.getMediaType()).thenReturn(MediaTypes.JSON);
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("uuid0"));
+        when(userSession.hasPermission(any())).thenReturn(true);
+
+        BranchDao branchDao = mock();
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(branchDao.selectByProject(any(), any())).thenReturn(List.of(pullRequest("pr1", "uuid1", "target")));
+        when(dbClient.measureDao()).thenReturn(mock());
+        when(dbClient.snapshotDao()).thenReturn(mock());
+
+        Response response = mock();
+        underTest.handle(request, response);
+
+        ArgumentCaptor<String> etagCaptor = ArgumentCaptor.captor();
+        verify(response).setHeader(eq("ETag"), etagCaptor.capture());
+
+        Request conditionalRequest = mock();
+        when(conditionalRequest.mandatoryParam("project")).thenReturn("project");
+        when(conditionalRequest.getMediaType()).thenReturn(MediaTypes.JSON);
+        when(conditionalRequest.header("If-None-Match")).thenReturn(Optional.of(etagCaptor.getValue()));
+        Response conditionalResponse = mock();
+        Response.Stream stream = mock();
+        when(conditionalResponse.stream()).thenReturn(stream);
+
+        underTest.handle(conditionalRequest, conditionalResponse);
+
+        verify(conditionalResponse).setHeader("ETag", etagCaptor.getValue());
+        verify(stream).setStatus(304);
+        verify(protoBufWriter, never()).write(any(), eq(conditionalRequest), any());
+    }
+
+    @Test
+    void shouldReturnListingWhenEtagWasIssuedForOtherMediaType() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(request.getMediaType()).thenReturn(MediaTypes.JSON);
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("uuid0"));
+        when(userSession.hasPermission(any())).thenReturn(true);
+
+        BranchDao branchDao = mock();
+        when(dbClient.branchDao()).thenReturn(branchDao);
+        when(branchDao.selectByProject(any(), any())).thenReturn(List.of(pullRequest("pr1", "uuid1", "target")));
+        when(dbClient.measureDao()).thenReturn(mock());
+        when(dbClient.snapshotDao()).thenReturn(mock());
+
+        Response response = mock();
+        underTest.handle(request, response);
+
+        ArgumentCaptor<String> etagCaptor = ArgumentCaptor.captor();
+        verify(response).setHeader(eq("ETag"), etagCaptor.capture());
+
+        Request conditionalRequest = mock();
+        when(conditionalRequest.mandatoryParam("project")).thenReturn("project");
+        when(conditionalRequest.getMediaType()).thenReturn(MediaTypes.PROTOBUF);
+        when(conditionalRequest.header("If-None-Match")).thenReturn(Optional.of(etagCaptor.getValue()));
+        Response conditionalResponse = mock();
+
+        underTest.handle(conditionalRequest, conditionalResponse);
+
+        verify(conditionalResponse).setHeader(eq("ETag"), argThat(etag -> !etag.equals(etagCaptor.getValue())));
+        verify(protoBufWriter).write(any(), eq(conditionalRequest), eq(conditionalResponse));
+    }
+
+    @Test
+    void shouldRejectPageSizeLessThanOne() {
+        Request request = mock();
+        when(request.mandatoryParam("project")).thenReturn("project");
+        when(request.paramAsInt("ps")).thenReturn(0);
+        when(componentFinder.getProjectByKey(any(), any())).thenReturn(new ProjectDto().setKey("projectKey").setUuid("uuid0"));
+        when(userSession.hasPermission(any())).thenReturn(true);
+
+        Response response = mock();
+
+        assertThatThrownBy(() -> underTest.handle(request, response))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Page and page size must be greater than 0");
+
+        verifyNoMoreInteractions(protoBufWriter);
     }
 
     @Test
@@ -203,4 +452,16 @@ class ListActionTest {
         verifyNoMoreInteractions(protoBufWriter);
     }
 
-}
\ No newline at end of file
+    private static BranchDto pullRequest(String key, String uuid, String target) {
+        return new BranchDto()
+            .setBranchType(BranchType.PULL_REQUEST)
+            .setKey(key)
+            .setUuid(uuid)
+            .setMergeBranchUuid("mergeBranch")
+            .setPullRequestData(DbProjectBranches.PullRequestData.newBuilder()
+                .setBranch(key + "Branch")
+                .setTarget(target)
+                .build());
+    }
+
+}
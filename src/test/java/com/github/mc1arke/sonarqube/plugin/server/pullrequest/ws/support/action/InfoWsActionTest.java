@@ -21,6 +21,8 @@ import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
+import com.github.mc1arke.sonarqube.plugin.ce.pullrequest.DecorationOutbox;
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
 import org.junit.jupiter.api.Test;
 import org.sonar.api.server.authentication.UnauthorizedException;
 import org.sonar.api.server.ws.Request;
@@ -45,7 +47,8 @@ class InfoWsActionTest {
     void shouldThrowExceptionIfNotSignedIn() {
         UserSession userSession = mock();
         InternalProperties internalProperties = mock();
-        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties);
+        PluginStatistics pluginStatistics = mock();
+        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties, pluginStatistics);
         Request request = mock();
         Response response = mock();
 
@@ -63,7 +66,8 @@ class InfoWsActionTest {
     void shouldThrowExceptionIfNotAdmin() {
         UserSession userSession = mock();
         InternalProperties internalProperties = mock();
-        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties);
+        PluginStatistics pluginStatistics = mock();
+        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties, pluginStatistics);
         Request request = mock();
         Response response = mock();
 
@@ -83,7 +87,8 @@ class InfoWsActionTest {
     void shouldWriteResponseWithDateIfValueSetAndUserIsAdmin() throws Exception {
         UserSession userSession = mock();
         InternalProperties internalProperties = mock();
-        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties);
+        PluginStatistics pluginStatistics = mock();
+        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties, pluginStatistics);
         Request request = mock();
         Response response = mock();
         Response.Stream stream = mock();
@@ -104,6 +109,8 @@ class InfoWsActionTest {
         verify(userSession).checkIsSystemAdministrator();
         verify(response).stream();
         verify(internalProperties).read(InternalProperties.INSTALLATION_DATE);
+        verify(internalProperties).read(PluginStatistics.INTERNAL_PROPERTY_KEY);
+        verify(internalProperties).read(DecorationOutbox.INTERNAL_PROPERTY_KEY);
         verify(stream).setMediaType("application/json");
         verify(stream).setStatus(200);
         verify(stream).output();
@@ -115,7 +122,8 @@ class InfoWsActionTest {
     void shouldWriteResponseWithoutDateIfValueNotSetAndUserIsAdmin() throws Exception {
         UserSession userSession = mock();
         InternalProperties internalProperties = mock();
-        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties);
+        PluginStatistics pluginStatistics = mock();
+        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties, pluginStatistics);
         Request request = mock();
         Response response = mock();
         Response.Stream stream = mock();
@@ -136,17 +144,97 @@ class InfoWsActionTest {
         verify(userSession).checkIsSystemAdministrator();
         verify(response).stream();
         verify(internalProperties).read(InternalProperties.INSTALLATION_DATE);
+        verify(internalProperties).read(PluginStatistics.INTERNAL_PROPERTY_KEY);
+        verify(internalProperties).read(DecorationOutbox.INTERNAL_PROPERTY_KEY);
         verify(stream).setMediaType("application/json");
         verify(stream).setStatus(200);
         verify(stream).output();
         verifyNoMoreInteractions(userSession, internalProperties, request, response, stream);
     }
 
+    @Test
+    void shouldWriteRuntimeStatisticsIfPublished() throws Exception {
+        UserSession userSession = mock();
+        InternalProperties internalProperties = mock();
+        PluginStatistics pluginStatistics = mock();
+        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties, pluginStatistics);
+        Request request = mock();
+        Response response = mock();
+        Response.Stream stream = mock();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(stream.output()).thenReturn(outputStream);
+
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        when(userSession.checkIsSystemAdministrator()).thenReturn(userSession);
+        when(response.stream()).thenReturn(stream);
+        when(internalProperties.read(InternalProperties.INSTALLATION_DATE)).thenReturn(Optional.empty());
+        when(internalProperties.read(PluginStatistics.INTERNAL_PROPERTY_KEY)).thenReturn(Optional.of("{\"counters\":{\"decorations.github.succeeded\":3},\"timers\":{}}"));
+
+        underTest.handle(request, response);
+
+        String output = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(output).isEqualTo("{\"statistics\":{\"runtime\":{\"counters\":{\"decorations.github.succeeded\":3},\"timers\":{}}}}");
+
+        verify(internalProperties).read(InternalProperties.INSTALLATION_DATE);
+        verify(internalProperties).read(PluginStatistics.INTERNAL_PROPERTY_KEY);
+        verify(internalProperties).read(DecorationOutbox.INTERNAL_PROPERTY_KEY);
+        verifyNoMoreInteractions(internalProperties);
+    }
+
+    @Test
+    void shouldWritePendingDecorationsIfRecorded() throws Exception {
+        UserSession userSession = mock();
+        InternalProperties internalProperties = mock();
+        PluginStatistics pluginStatistics = mock();
+        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties, pluginStatistics);
+        Request request = mock();
+        Response response = mock();
+        Response.Stream stream = mock();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(stream.output()).thenReturn(outputStream);
+
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        when(userSession.checkIsSystemAdministrator()).thenReturn(userSession);
+        when(response.stream()).thenReturn(stream);
+        when(internalProperties.read(any())).thenReturn(Optional.empty());
+        when(internalProperties.read(DecorationOutbox.INTERNAL_PROPERTY_KEY)).thenReturn(Optional.of("[{\"projectKey\":\"project\",\"pullRequestId\":\"12\"}]"));
+
+        underTest.handle(request, response);
+
+        String output = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(output).isEqualTo("{\"statistics\":{},\"pendingDecorations\":[{\"projectKey\":\"project\",\"pullRequestId\":\"12\"}]}");
+    }
+
+    @Test
+    void shouldWriteWebServerStatisticsIfRecorded() throws Exception {
+        UserSession userSession = mock();
+        InternalProperties internalProperties = mock();
+        PluginStatistics pluginStatistics = new PluginStatistics(internalProperties);
+        pluginStatistics.increment("http.gitlab.GET /api/v4/user.status.2xx");
+        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties, pluginStatistics);
+        Request request = mock();
+        Response response = mock();
+        Response.Stream stream = mock();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(stream.output()).thenReturn(outputStream);
+
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        when(userSession.checkIsSystemAdministrator()).thenReturn(userSession);
+        when(response.stream()).thenReturn(stream);
+        when(internalProperties.read(any())).thenReturn(Optional.empty());
+
+        underTest.handle(request, response);
+
+        String output = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(output).isEqualTo("{\"statistics\":{\"webServer\":{\"counters\":{\"http.gitlab.GET /api/v4/user.status.2xx\":1},\"timers\":{}}}}");
+    }
+
     @Test
     void shouldDefineAction() {
         UserSession userSession = mock();
         InternalProperties internalProperties = mock();
-        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties);
+        PluginStatistics pluginStatistics = mock();
+        InfoWsAction underTest = new InfoWsAction(userSession, internalProperties, pluginStatistics);
         NewController newController = mock();
         NewAction actionDefinition = mock();
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import com.github.mc1arke.sonarqube.plugin.statistics.PluginStatistics;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.server.authentication.UnauthorizedException;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService.NewAction;
+import org.sonar.api.server.ws.WebService.NewController;
+import org.sonar.server.property.InternalProperties;
+import org.sonar.server.user.UserSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class MetricsWsActionTest {
+
+    private final UserSession userSession = mock();
+    private final InternalProperties internalProperties = mock();
+    private final PluginStatistics pluginStatistics = new PluginStatistics(internalProperties);
+    private final MetricsWsAction underTest = new MetricsWsAction(userSession, internalProperties, pluginStatistics);
+
+    @Test
+    void shouldThrowExceptionIfNotAdmin() {
+        Request request = mock();
+        Response response = mock();
+
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        when(userSession.checkIsSystemAdministrator()).thenThrow(new UnauthorizedException("Not admin"));
+
+        assertThatThrownBy(() -> underTest.handle(request, response))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("Not admin");
+
+        verifyNoMoreInteractions(internalProperties, request, response);
+    }
+
+    @Test
+    void shouldWriteComputeEngineAndWebServerStatistics() throws Exception {
+        Request request = mock();
+        Response response = mock();
+        Response.Stream stream = mock();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(stream.output()).thenReturn(outputStream);
+        when(response.stream()).thenReturn(stream);
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        when(userSession.checkIsSystemAdministrator()).thenReturn(userSession);
+        when(internalProperties.read(PluginStatistics.INTERNAL_PROPERTY_KEY)).thenReturn(Optional.of("{\"counters\":{\"decorations.github.succeeded\":3},\"timers\":{}}"));
+        pluginStatistics.increment("http.github.GET /app.status.2xx");
+
+        underTest.handle(request, response);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("# TYPE community_branch_plugin_counter_total counter\n"
+                + "community_branch_plugin_counter_total{process=\"compute_engine\",name=\"decorations.github.succeeded\"} 3\n"
+                + "community_branch_plugin_counter_total{process=\"web\",name=\"http.github.GET /app.status.2xx\"} 1\n"
+                + "# TYPE community_branch_plugin_timer_seconds histogram\n"
+                + "# TYPE community_branch_plugin_timer_max_seconds gauge\n");
+        verify(stream).setMediaType("text/plain; version=0.0.4; charset=utf-8");
+        verify(stream).setStatus(200);
+    }
+
+    @Test
+    void shouldSkipComputeEngineStatisticsIfUnreadable() throws Exception {
+        Request request = mock();
+        Response response = mock();
+        Response.Stream stream = mock();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(stream.output()).thenReturn(outputStream);
+        when(response.stream()).thenReturn(stream);
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        when(userSession.checkIsSystemAdministrator()).thenReturn(userSession);
+        when(internalProperties.read(PluginStatistics.INTERNAL_PROPERTY_KEY)).thenReturn(Optional.of("not json"));
+
+        underTest.handle(request, response);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("# TYPE community_branch_plugin_counter_total counter\n"
+                + "# TYPE community_branch_plugin_timer_seconds histogram\n"
+                + "# TYPE community_branch_plugin_timer_max_seconds gauge\n");
+    }
+
+    @Test
+    void shouldDefineAction() {
+        NewController newController = mock();
+        NewAction actionDefinition = mock();
+
+        when(newController.createAction(any())).thenReturn(actionDefinition);
+
+        underTest.define(newController);
+
+        verify(newController).createAction("metrics");
+        verify(actionDefinition).setHandler(underTest);
+        verifyNoMoreInteractions(newController, actionDefinition);
+    }
+}
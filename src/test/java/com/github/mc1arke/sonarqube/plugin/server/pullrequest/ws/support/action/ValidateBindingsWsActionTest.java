@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.server.pullrequest.ws.support.action;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.github.mc1arke.sonarqube.plugin.server.pullrequest.validator.BulkBindingValidator;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.server.authentication.UnauthorizedException;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService.NewAction;
+import org.sonar.api.server.ws.WebService.NewController;
+import org.sonar.server.user.UserSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ValidateBindingsWsActionTest {
+
+    private final UserSession userSession = mock();
+    private final BulkBindingValidator bulkBindingValidator = mock();
+    private final ValidateBindingsWsAction underTest = new ValidateBindingsWsAction(userSession, bulkBindingValidator);
+
+    @Test
+    void shouldThrowExceptionIfNotAdmin() {
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        when(userSession.checkIsSystemAdministrator()).thenThrow(new UnauthorizedException("Not admin"));
+
+        assertThatThrownBy(() -> underTest.handle(mock(Request.class), mock(Response.class)))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("Not admin");
+
+        verifyNoInteractions(bulkBindingValidator);
+    }
+
+    @Test
+    void shouldSubmitValidationAndWriteJobId() throws Exception {
+        when(userSession.checkLoggedIn()).thenReturn(userSession);
+        BulkBindingValidator.Job job = mock();
+        when(job.getId()).thenReturn("jobId");
+        when(job.getStatus()).thenReturn(BulkBindingValidator.Status.PENDING);
+        when(bulkBindingValidator.submit()).thenReturn(job);
+        Response response = mock();
+        Response.Stream stream = mock();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(response.stream()).thenReturn(stream);
+        when(stream.output()).thenReturn(outputStream);
+
+        underTest.handle(mock(Request.class), response);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"jobId\",\"status\":\"PENDING\"}");
+        verify(stream).setMediaType("application/json");
+        verify(stream).setStatus(202);
+    }
+
+    @Test
+    void shouldDefinePostAction() {
+        NewController newController = mock();
+        NewAction newAction = mock();
+        when(newController.createAction(any())).thenReturn(newAction);
+        when(newAction.setPost(anyBoolean())).thenReturn(newAction);
+
+        underTest.define(newController);
+
+        verify(newController).createAction("validate_bindings");
+        verify(newAction).setPost(true);
+        verify(newAction).setHandler(underTest);
+    }
+}
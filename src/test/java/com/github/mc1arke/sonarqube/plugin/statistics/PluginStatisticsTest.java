@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.statistics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.sonar.server.property.InternalProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PluginStatisticsTest {
+
+    private final InternalProperties internalProperties = mock();
+    private final PluginStatistics underTest = new PluginStatistics(internalProperties);
+
+    @Test
+    void shouldSumCounters() {
+        underTest.increment("decorations.github.succeeded");
+        underTest.increment("decorations.github.succeeded");
+        underTest.add("issues.processed", 12);
+
+        assertThat(underTest.snapshot().counters()).containsExactly(
+                Map.entry("decorations.github.succeeded", 2L),
+                Map.entry("issues.processed", 12L));
+    }
+
+    @Test
+    void shouldRecordTimerIntoHistogramBuckets() {
+        underTest.record("decorations.gitlab", Duration.ofMillis(5));
+        underTest.record("decorations.gitlab", Duration.ofMillis(10));
+        underTest.record("decorations.gitlab", Duration.ofMillis(700));
+        underTest.record("decorations.gitlab", Duration.ofMinutes(1));
+
+        PluginStatistics.TimerSnapshot timer = underTest.snapshot().timers().get("decorations.gitlab");
+        assertThat(timer.count()).isEqualTo(4);
+        assertThat(timer.totalMillis()).isEqualTo(60715);
+        assertThat(timer.maxMillis()).isEqualTo(60000);
+        assertThat(timer.histogram())
+                .containsEntry("le10", 2L)
+                .containsEntry("le50", 0L)
+                .containsEntry("le1000", 1L)
+                .containsEntry("inf", 1L);
+    }
+
+    @Test
+    void shouldPublishSnapshotAsJson() {
+        underTest.increment("issues.processed");
+
+        underTest.publish();
+
+        verify(internalProperties).write(PluginStatistics.INTERNAL_PROPERTY_KEY, "{\"counters\":{\"issues.processed\":1},\"timers\":{}}");
+    }
+
+    @Test
+    void shouldNotPropagateFailureToPublish() {
+        doThrow(new IllegalStateException("Whoops")).when(internalProperties).write(any(), any());
+
+        underTest.publish();
+
+        verify(internalProperties).write(any(), any());
+    }
+
+    @Test
+    void shouldDeferPublishWithinIntervalOfLastWrite() {
+        Clock clock = mock();
+        ScheduledExecutorService publishExecutor = mock();
+        PluginStatistics underTest = new PluginStatistics(internalProperties, clock, publishExecutor);
+        when(clock.millis()).thenReturn(1000L, 1000L, 5000L, 6000L);
+
+        underTest.publish();
+        verify(internalProperties, times(1)).write(eq(PluginStatistics.INTERNAL_PROPERTY_KEY), any());
+
+        underTest.increment("issues.processed");
+        underTest.publish();
+        underTest.publish();
+
+        ArgumentCaptor<Runnable> scheduledPublish = ArgumentCaptor.captor();
+        verify(publishExecutor).schedule(scheduledPublish.capture(), eq(26000L), eq(TimeUnit.MILLISECONDS));
+        verify(internalProperties, times(1)).write(eq(PluginStatistics.INTERNAL_PROPERTY_KEY), any());
+
+        scheduledPublish.getValue().run();
+        verify(internalProperties).write(PluginStatistics.INTERNAL_PROPERTY_KEY, "{\"counters\":{\"issues.processed\":1},\"timers\":{}}");
+        verify(internalProperties, times(2)).write(eq(PluginStatistics.INTERNAL_PROPERTY_KEY), any());
+    }
+
+    @Test
+    void shouldPublishImmediatelyOnceIntervalHasPassed() {
+        Clock clock = mock();
+        ScheduledExecutorService publishExecutor = mock();
+        PluginStatistics underTest = new PluginStatistics(internalProperties, clock, publishExecutor);
+        when(clock.millis()).thenReturn(1000L, 1000L, 1000L + PluginStatistics.PUBLISH_INTERVAL.toMillis());
+
+        underTest.publish();
+        underTest.publish();
+
+        verify(internalProperties, times(2)).write(eq(PluginStatistics.INTERNAL_PROPERTY_KEY), any());
+        verifyNoInteractions(publishExecutor);
+    }
+
+    @Test
+    void shouldWriteDeferredPublishWhenStopped() {
+        Clock clock = mock();
+        ScheduledExecutorService publishExecutor = mock();
+        PluginStatistics underTest = new PluginStatistics(internalProperties, clock, publishExecutor);
+        when(clock.millis()).thenReturn(1000L);
+
+        underTest.publish();
+        underTest.publish();
+        underTest.stop();
+
+        verify(publishExecutor).shutdownNow();
+        verify(internalProperties, times(2)).write(eq(PluginStatistics.INTERNAL_PROPERTY_KEY), any());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 Michael Clarke
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package com.github.mc1arke.sonarqube.plugin.statistics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.server.property.InternalProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PrometheusTextFormatTest {
+
+    @Test
+    void shouldWriteCountersAndCumulativeHistogramsWithEscapedLabels() throws IOException {
+        PluginStatistics pluginStatistics = new PluginStatistics(mock(InternalProperties.class));
+        pluginStatistics.increment("decorations.gitlab.succeeded");
+        pluginStatistics.record("http.gitlab.GET /api/v4/user", Duration.ofMillis(40));
+        pluginStatistics.record("http.gitlab.GET /api/v4/user", Duration.ofSeconds(45));
+        PluginStatistics webStatistics = new PluginStatistics(mock(InternalProperties.class));
+        webStatistics.add("name with \"quotes\" and \\", 2);
+        Map<String, PluginStatistics.Snapshot> snapshots = new LinkedHashMap<>();
+        snapshots.put("compute_engine", pluginStatistics.snapshot());
+        snapshots.put("web", webStatistics.snapshot());
+
+        StringWriter writer = new StringWriter();
+        PrometheusTextFormat.write(snapshots, writer);
+
+        String labels = "{process=\"compute_engine\",name=\"http.gitlab.GET /api/v4/user\"";
+        assertThat(writer.toString()).isEqualTo("# TYPE community_branch_plugin_counter_total counter\n"
+                + "community_branch_plugin_counter_total{process=\"compute_engine\",name=\"decorations.gitlab.succeeded\"} 1\n"
+                + "community_branch_plugin_counter_total{process=\"web\",name=\"name with \\\"quotes\\\" and \\\\\"} 2\n"
+                + "# TYPE community_branch_plugin_timer_seconds histogram\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"0.01\"} 0\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"0.05\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"0.1\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"0.25\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"0.5\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"1.0\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"2.5\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"5.0\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"10.0\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"30.0\"} 1\n"
+                + "community_branch_plugin_timer_seconds_bucket" + labels + ",le=\"+Inf\"} 2\n"
+                + "community_branch_plugin_timer_seconds_sum" + labels + "} 45.04\n"
+                + "community_branch_plugin_timer_seconds_count" + labels + "} 2\n"
+                + "# TYPE community_branch_plugin_timer_max_seconds gauge\n"
+                + "community_branch_plugin_timer_max_seconds" + labels + "} 45.0\n");
+    }
+}